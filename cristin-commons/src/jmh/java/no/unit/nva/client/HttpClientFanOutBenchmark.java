@@ -0,0 +1,224 @@
+package no.unit.nva.client;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpClient.Version;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares HTTP/1.1 and HTTP/2 for an enrichment fan-out of 100 parallel GETs against a local
+ * stand-in for upstream (WireMock serving cleartext HTTP/2 with a fixed delay). Connections are
+ * counted by a TCP proxy in front of the stand-in: connectionsOpened is the number opened during
+ * one fan-out, and connectionsHeld the number open when it completes. The shared client is how
+ * clients are used now, one per container, the new client is how every ApiClient used to create
+ * its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 30)
+public class HttpClientFanOutBenchmark {
+
+  private static final int HITS = 100;
+  private static final int UPSTREAM_DELAY_IN_MILLIS = 20;
+  private static final String PROJECT_BODY = "{\"cristin_project_id\":\"1\"}";
+
+  @Param({"HTTP_1_1", "HTTP_2"})
+  public String version;
+
+  private WireMockServer upstream;
+  private ConnectionCountingProxy proxy;
+  private List<URI> uris;
+  private HttpClientSettings settings;
+  private HttpClient sharedClient;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    upstream = new WireMockServer(options().dynamicPort().http2PlainDisabled(false));
+    upstream.start();
+    upstream.stubFor(
+        get(urlPathMatching("/v2/projects/.*"))
+            .willReturn(
+                aResponse()
+                    .withStatus(200)
+                    .withBody(PROJECT_BODY)
+                    .withFixedDelay(UPSTREAM_DELAY_IN_MILLIS)));
+    proxy = new ConnectionCountingProxy(upstream.port());
+    uris =
+        IntStream.range(0, HITS)
+            .mapToObj(id -> URI.create(proxy.baseUrl() + "/v2/projects/" + id))
+            .toList();
+    var defaults = HttpClientSettings.defaults();
+    settings =
+        new HttpClientSettings(
+            Version.valueOf(version),
+            defaults.connectTimeout(),
+            defaults.keepAliveTimeout(),
+            defaults.connectionPoolSize(),
+            defaults.maxStreams());
+    sharedClient = HttpClientProvider.configuredHttpClientBuilder(settings).build();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    sharedClient.close();
+    proxy.close();
+    upstream.stop();
+  }
+
+  @Benchmark
+  public List<HttpResponse<String>> fanOutWithSharedClient(Connections connections) {
+    var openedBefore = proxy.openedConnections();
+    var responses = fetchAll(sharedClient);
+    connections.record(proxy.openedConnections() - openedBefore, proxy.heldConnections());
+    return responses;
+  }
+
+  @Benchmark
+  public List<HttpResponse<String>> fanOutWithNewClient(Connections connections) {
+    var openedBefore = proxy.openedConnections();
+    try (var client = HttpClientProvider.configuredHttpClientBuilder(settings).build()) {
+      var responses = fetchAll(client);
+      connections.record(proxy.openedConnections() - openedBefore, proxy.heldConnections());
+      return responses;
+    }
+  }
+
+  private List<HttpResponse<String>> fetchAll(HttpClient client) {
+    var futures =
+        uris.stream()
+            .map(uri -> HttpRequest.newBuilder(uri).GET().build())
+            .map(request -> client.sendAsync(request, BodyHandlers.ofString()))
+            .toList();
+    return futures.stream().map(CompletableFuture::join).toList();
+  }
+
+  /** Connections opened to upstream, reported next to the timing results. */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Connections {
+
+    public long connectionsOpened;
+    public long connectionsHeld;
+
+    private void record(long opened, long held) {
+      connectionsOpened += opened;
+      connectionsHeld += held;
+    }
+  }
+
+  /** Forwards TCP connections to upstream and counts them. */
+  private static final class ConnectionCountingProxy implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final ServerSocket serverSocket;
+    private final int upstreamPort;
+    private final AtomicLong opened;
+    private final AtomicLong held;
+
+    private ConnectionCountingProxy(int upstreamPort) throws IOException {
+      this.serverSocket = new ServerSocket(0, HITS, InetAddress.getLoopbackAddress());
+      this.upstreamPort = upstreamPort;
+      this.opened = new AtomicLong();
+      this.held = new AtomicLong();
+      Thread.ofPlatform().daemon().start(this::acceptConnections);
+    }
+
+    private String baseUrl() {
+      return "http://localhost:" + serverSocket.getLocalPort();
+    }
+
+    private long openedConnections() {
+      return opened.get();
+    }
+
+    private long heldConnections() {
+      return held.get();
+    }
+
+    private void acceptConnections() {
+      while (!serverSocket.isClosed()) {
+        try {
+          var client = serverSocket.accept();
+          var server = new Socket(InetAddress.getLoopbackAddress(), upstreamPort);
+          opened.incrementAndGet();
+          held.incrementAndGet();
+          Thread.ofPlatform().daemon().start(() -> pipe(client, server));
+          Thread.ofPlatform()
+              .daemon()
+              .start(
+                  () -> {
+                    pipe(server, client);
+                    held.decrementAndGet();
+                  });
+        } catch (IOException exception) {
+          return;
+        }
+      }
+    }
+
+    private static void pipe(Socket from, Socket to) {
+      try (InputStream input = from.getInputStream();
+          OutputStream output = to.getOutputStream()) {
+        var buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = input.read(buffer)) != -1) {
+          output.write(buffer, 0, read);
+          output.flush();
+        }
+      } catch (IOException exception) {
+        // Connection closed by either side
+      } finally {
+        closeQuietly(from);
+        closeQuietly(to);
+      }
+    }
+
+    private static void closeQuietly(Socket socket) {
+      try {
+        socket.close();
+      } catch (IOException exception) {
+        // Already closed
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      serverSocket.close();
+    }
+  }
+}
@@ -0,0 +1,108 @@
+package no.unit.nva.client;
+
+import static no.unit.nva.client.RetryConfigProvider.defaultRetryRegistry;
+
+import io.github.resilience4j.retry.Retry;
+import java.net.URI;
+import java.net.http.HttpClient.Version;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import javax.net.ssl.SSLSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the cost of guarding one upstream call when a retry registry is built per request (as
+ * ApiClient used to do) against looking up the shared per-endpoint policy. Run with the gc
+ * profiler and compare gc.alloc.rate.norm to see allocation per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UpstreamResiliencePoliciesBenchmark {
+
+  private static final URI PERSON_URI =
+      URI.create("https://api.cristin-test.uio.no/v2/persons/12345?lang=en,nb,nn");
+
+  private UpstreamResiliencePolicies policies;
+  private Supplier<HttpResponse<String>> upstreamCall;
+
+  @Setup
+  public void setup() {
+    policies = new UpstreamResiliencePolicies("/v2");
+    var response = new OkResponse();
+    upstreamCall = () -> response;
+  }
+
+  @Benchmark
+  public HttpResponse<String> retryRegistryPerRequest() {
+    var retry = defaultRetryRegistry().retry("executeRequest");
+    return Retry.decorateSupplier(retry, upstreamCall).get();
+  }
+
+  @Benchmark
+  public HttpResponse<String> sharedRetryPolicy() {
+    var retry = policies.forUri(PERSON_URI).getRetry();
+    return Retry.decorateSupplier(retry, upstreamCall).get();
+  }
+
+  @Benchmark
+  public HttpResponse<String> sharedFullPolicy() {
+    return policies.forUri(PERSON_URI).decorateSupplier(upstreamCall).get();
+  }
+
+  private static final class OkResponse implements HttpResponse<String> {
+
+    private static final int HTTP_OK = 200;
+
+    @Override
+    public int statusCode() {
+      return HTTP_OK;
+    }
+
+    @Override
+    public HttpRequest request() {
+      return null;
+    }
+
+    @Override
+    public Optional<HttpResponse<String>> previousResponse() {
+      return Optional.empty();
+    }
+
+    @Override
+    public HttpHeaders headers() {
+      return HttpHeaders.of(Map.of(), (name, value) -> true);
+    }
+
+    @Override
+    public String body() {
+      return "{}";
+    }
+
+    @Override
+    public Optional<SSLSession> sslSession() {
+      return Optional.empty();
+    }
+
+    @Override
+    public URI uri() {
+      return PERSON_URI;
+    }
+
+    @Override
+    public Version version() {
+      return Version.HTTP_1_1;
+    }
+  }
+}
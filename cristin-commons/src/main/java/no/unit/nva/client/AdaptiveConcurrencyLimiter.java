@@ -0,0 +1,185 @@
+package no.unit.nva.client;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Limits how many asynchronous calls to upstream are in flight at the same time. The limit adapts
+ * to how upstream behaves (AIMD): it grows by one for every successful call completing while the
+ * limit is in use, and is cut by a fixed ratio when a call fails, is rejected by the given
+ * predicate, or when the short term latency grows well above the long term latency (a sign of
+ * requests queueing up in upstream, as in TCP Vegas). The limit is cut at most once per limit's
+ * worth of completed calls, so one slow burst does not collapse it. Calls over the limit wait in a
+ * queue without holding a thread and are started in order as permits are released.
+ *
+ * <p>One instance should be shared by every fan-out in the container, see {@link
+ * UpstreamResiliencePolicies#getFanOutLimiter()}.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+  public static final int DEFAULT_INITIAL_LIMIT = 20;
+  public static final int DEFAULT_MIN_LIMIT = 2;
+  public static final int DEFAULT_MAX_LIMIT = 100;
+  public static final double BACKOFF_RATIO = 0.9;
+  public static final double LATENCY_TOLERANCE = 2.0;
+  public static final double SHORT_TERM_SMOOTHING = 0.1;
+  public static final double LONG_TERM_SMOOTHING = 0.01;
+
+  private final transient int minLimit;
+  private final transient int maxLimit;
+  private final transient Queue<CompletableFuture<Void>> waiting;
+  private final transient LongSupplier nanoClock;
+  private transient double limit;
+  private transient int inFlight;
+  private transient double shortTermLatency;
+  private transient double longTermLatency;
+  private transient int samplesSinceDecrease;
+
+  /** Creates a limiter with default initial, min and max limits. */
+  public AdaptiveConcurrencyLimiter() {
+    this(DEFAULT_INITIAL_LIMIT, DEFAULT_MIN_LIMIT, DEFAULT_MAX_LIMIT);
+  }
+
+  /**
+   * Creates a limiter.
+   *
+   * @param initialLimit concurrency allowed before any call has completed
+   * @param minLimit the limit is never cut below this
+   * @param maxLimit the limit never grows above this
+   */
+  public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+    this(initialLimit, minLimit, maxLimit, System::nanoTime);
+  }
+
+  /**
+   * Creates a limiter measuring latency with given clock.
+   *
+   * @param initialLimit concurrency allowed before any call has completed
+   * @param minLimit the limit is never cut below this
+   * @param maxLimit the limit never grows above this
+   * @param nanoClock source of time in nanoseconds
+   */
+  public AdaptiveConcurrencyLimiter(
+      int initialLimit, int minLimit, int maxLimit, LongSupplier nanoClock) {
+    if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+      throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+    }
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.limit = initialLimit;
+    this.waiting = new ArrayDeque<>();
+    this.samplesSinceDecrease = Integer.MAX_VALUE;
+    this.nanoClock = nanoClock;
+  }
+
+  /**
+   * Starts the call when a permit is available.
+   *
+   * @param call starts the asynchronous call
+   * @param isDropped tells if a completed result means upstream is overloaded, e.g. a 5xx response
+   * @return future completing with the result of the call
+   */
+  public <T> CompletableFuture<T> submit(
+      Supplier<CompletableFuture<T>> call, Predicate<? super T> isDropped) {
+    return acquire().thenCompose(ignored -> startWithPermit(call, isDropped));
+  }
+
+  /** Current concurrency limit. */
+  public synchronized int getLimit() {
+    return (int) limit;
+  }
+
+  /** Calls currently running against upstream. */
+  public synchronized int getInFlight() {
+    return inFlight;
+  }
+
+  /** Calls waiting for a permit. */
+  public synchronized int getQueued() {
+    return waiting.size();
+  }
+
+  @Override
+  public synchronized String toString() {
+    return String.format(
+        "AdaptiveConcurrencyLimiter[limit=%d, inFlight=%d, queued=%d]",
+        (int) limit, inFlight, waiting.size());
+  }
+
+  private <T> CompletableFuture<T> startWithPermit(
+      Supplier<CompletableFuture<T>> call, Predicate<? super T> isDropped) {
+    final long start = nanoClock.getAsLong();
+    CompletableFuture<T> future;
+    try {
+      future = call.get();
+    } catch (RuntimeException exception) {
+      future = CompletableFuture.failedFuture(exception);
+    }
+    return future.whenComplete(
+        (result, throwable) ->
+            release(nanoClock.getAsLong() - start, throwable != null || isDropped.test(result)));
+  }
+
+  private CompletableFuture<Void> acquire() {
+    synchronized (this) {
+      if (waiting.isEmpty() && inFlight < limit) {
+        inFlight++;
+        return CompletableFuture.completedFuture(null);
+      }
+      var permit = new CompletableFuture<Void>();
+      waiting.add(permit);
+      return permit;
+    }
+  }
+
+  private void release(long latency, boolean dropped) {
+    List<CompletableFuture<Void>> granted;
+    synchronized (this) {
+      adjustLimit(latency, dropped, inFlight);
+      inFlight--;
+      granted = grantWaitingPermits();
+    }
+    // Started outside the lock, as the next calls may complete synchronously and release again
+    granted.forEach(permit -> permit.complete(null));
+  }
+
+  private void adjustLimit(long latency, boolean dropped, int concurrency) {
+    updateLatency(latency);
+    if (samplesSinceDecrease < Integer.MAX_VALUE) {
+      samplesSinceDecrease++;
+    }
+    if (dropped || shortTermLatency > longTermLatency * LATENCY_TOLERANCE) {
+      if (samplesSinceDecrease >= limit) {
+        limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+        samplesSinceDecrease = 0;
+      }
+    } else if (concurrency * 2 >= limit) {
+      limit = Math.min(maxLimit, limit + 1);
+    }
+  }
+
+  private void updateLatency(long latency) {
+    if (longTermLatency == 0) {
+      shortTermLatency = latency;
+      longTermLatency = latency;
+    } else {
+      shortTermLatency += SHORT_TERM_SMOOTHING * (latency - shortTermLatency);
+      longTermLatency += LONG_TERM_SMOOTHING * (latency - longTermLatency);
+    }
+  }
+
+  private List<CompletableFuture<Void>> grantWaitingPermits() {
+    var granted = new ArrayList<CompletableFuture<Void>>();
+    while (!waiting.isEmpty() && inFlight < limit) {
+      inFlight++;
+      granted.add(waiting.poll());
+    }
+    return granted;
+  }
+}
@@ -0,0 +1,111 @@
+package no.unit.nva.client;
+
+import static java.util.Objects.isNull;
+
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.Retry.AsyncContext;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Retries asynchronous calls without blocking. Each attempt is composed onto the previous one, the
+ * result of an attempt is evaluated by the retry policy when it completes, and the backoff before
+ * the next attempt is a delay on a shared scheduler instead of a sleeping thread. A call that fails
+ * before returning a future is treated like a failed future.
+ *
+ * <p>The scheduler thread only completes the backoff, the next attempt is started on the common
+ * pool so that a slow start (e.g. opening a connection) never holds up other retries.
+ */
+public class AsyncRetryExecutor {
+
+  public static final String SCHEDULER_THREAD_NAME = "upstream-retry-scheduler";
+  private static final long NO_RETRY = 0;
+
+  private final transient ScheduledExecutorService scheduler;
+
+  public AsyncRetryExecutor(ScheduledExecutorService scheduler) {
+    this.scheduler = scheduler;
+  }
+
+  /** Creates an executor with its own single daemon thread used only to schedule retries. */
+  public static AsyncRetryExecutor withDaemonScheduler() {
+    return new AsyncRetryExecutor(
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              var thread = new Thread(runnable, SCHEDULER_THREAD_NAME);
+              thread.setDaemon(true);
+              return thread;
+            }));
+  }
+
+  /**
+   * Executes the call, retrying according to the retry policy.
+   *
+   * @param retry the retry policy, its result predicate is applied to the completed result
+   * @param supplier starts one attempt of the call
+   * @return future completing with the first accepted result or the last failure
+   */
+  public <T> CompletableFuture<T> execute(Retry retry, Supplier<CompletableFuture<T>> supplier) {
+    AsyncContext<T> context = retry.asyncContext();
+    return attempt(context, supplier);
+  }
+
+  private <T> CompletableFuture<T> attempt(
+      AsyncContext<T> context, Supplier<CompletableFuture<T>> supplier) {
+    return start(supplier)
+        .handle(
+            (result, throwable) ->
+                isNull(throwable)
+                    ? onResult(context, supplier, result)
+                    : onError(context, supplier, throwable))
+        .thenCompose(Function.identity());
+  }
+
+  private <T> CompletableFuture<T> start(Supplier<CompletableFuture<T>> supplier) {
+    try {
+      return supplier.get();
+    } catch (RuntimeException exception) {
+      return CompletableFuture.failedFuture(exception);
+    }
+  }
+
+  private <T> CompletableFuture<T> onResult(
+      AsyncContext<T> context, Supplier<CompletableFuture<T>> supplier, T result) {
+    var delay = context.onResult(result);
+    if (delay < NO_RETRY) {
+      context.onComplete();
+      return CompletableFuture.completedFuture(result);
+    }
+    return retryAfter(delay, context, supplier);
+  }
+
+  private <T> CompletableFuture<T> onError(
+      AsyncContext<T> context, Supplier<CompletableFuture<T>> supplier, Throwable throwable) {
+    var cause = unwrap(throwable);
+    var delay = context.onError(cause);
+    if (delay < NO_RETRY) {
+      return CompletableFuture.failedFuture(cause);
+    }
+    return retryAfter(delay, context, supplier);
+  }
+
+  private <T> CompletableFuture<T> retryAfter(
+      long delay, AsyncContext<T> context, Supplier<CompletableFuture<T>> supplier) {
+    var backoff = new CompletableFuture<Void>();
+    scheduler.schedule(() -> backoff.complete(null), delay, TimeUnit.MILLISECONDS);
+    return backoff.thenComposeAsync(ignored -> attempt(context, supplier));
+  }
+
+  private static Throwable unwrap(Throwable throwable) {
+    return (throwable instanceof CompletionException || throwable instanceof ExecutionException)
+            && !isNull(throwable.getCause())
+        ? throwable.getCause()
+        : throwable;
+  }
+}
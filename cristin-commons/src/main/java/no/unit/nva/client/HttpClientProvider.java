@@ -1,17 +1,53 @@
 package no.unit.nva.client;
 
 import java.net.http.HttpClient;
-import java.net.http.HttpClient.Version;
-import java.time.Duration;
+import nva.commons.core.Environment;
 
+/**
+ * Creates the HttpClients used against upstream. Clients are configured from {@link
+ * HttpClientSettings}, and the default client is created once and shared by every client in the
+ * container, so connections are pooled and reused across requests and ApiClient instances.
+ */
 public class HttpClientProvider {
 
-  /** Default HttpClient without authentication for general use. */
+  /** Default HttpClient without authentication for general use, shared within the container. */
   public static HttpClient defaultHttpClient() {
+    return DefaultHttpClientHolder.DEFAULT_HTTP_CLIENT;
+  }
+
+  /**
+   * Builder for a HttpClient configured with settings from environment. Use for clients needing
+   * more configuration, e.g. an authenticator, and keep the built client for reuse.
+   *
+   * @return builder with version, timeouts and redirects set
+   */
+  public static HttpClient.Builder configuredHttpClientBuilder() {
+    return configuredHttpClientBuilder(SettingsHolder.SETTINGS);
+  }
+
+  /**
+   * Builder for a HttpClient configured with given settings.
+   *
+   * @param settings version, timeout and connection pool settings
+   * @return builder with version, timeouts and redirects set
+   */
+  public static HttpClient.Builder configuredHttpClientBuilder(HttpClientSettings settings) {
+    settings.applyConnectionPoolProperties();
     return HttpClient.newBuilder()
         .followRedirects(HttpClient.Redirect.ALWAYS)
-        .version(Version.HTTP_1_1)
-        .connectTimeout(Duration.ofSeconds(15))
-        .build();
+        .version(settings.version())
+        .connectTimeout(settings.connectTimeout());
+  }
+
+  /** Defers reading environment until a client is first needed. */
+  private static final class SettingsHolder {
+
+    private static final HttpClientSettings SETTINGS =
+        HttpClientSettings.fromEnvironment(new Environment());
+  }
+
+  private static final class DefaultHttpClientHolder {
+
+    private static final HttpClient DEFAULT_HTTP_CLIENT = configuredHttpClientBuilder().build();
   }
 }
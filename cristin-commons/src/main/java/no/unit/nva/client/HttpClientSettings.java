@@ -0,0 +1,133 @@
+package no.unit.nva.client;
+
+import java.net.http.HttpClient.Version;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+import nva.commons.core.Environment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Settings for the HttpClient used against upstream, read from environment. HTTP/2 is negotiated
+ * by default, falling back to HTTP/1.1 when upstream does not support it, so parallel requests can
+ * share one connection instead of opening one each.
+ *
+ * <p>Keep-alive, pool size and stream limits are JDK wide system properties read when the first
+ * HttpClient is created, so they are only applied if not already set, and only take effect if
+ * applied before any HttpClient exists in the container.
+ *
+ * @param version preferred HTTP version
+ * @param connectTimeout timeout for opening a connection
+ * @param keepAliveTimeout how long idle connections are kept in the pool
+ * @param connectionPoolSize max idle HTTP/1.1 connections kept, 0 for no limit
+ * @param maxStreams max concurrent streams per HTTP/2 connection
+ */
+public record HttpClientSettings(
+    Version version,
+    Duration connectTimeout,
+    Duration keepAliveTimeout,
+    int connectionPoolSize,
+    int maxStreams) {
+
+  private static final Logger logger = LoggerFactory.getLogger(HttpClientSettings.class);
+
+  public static final String HTTP_VERSION_ENV = "UPSTREAM_HTTP_VERSION";
+  public static final String CONNECT_TIMEOUT_SECONDS_ENV = "UPSTREAM_CONNECT_TIMEOUT_SECONDS";
+  public static final String KEEP_ALIVE_TIMEOUT_SECONDS_ENV = "UPSTREAM_KEEP_ALIVE_TIMEOUT_SECONDS";
+  public static final String CONNECTION_POOL_SIZE_ENV = "UPSTREAM_CONNECTION_POOL_SIZE";
+  public static final String MAX_STREAMS_ENV = "UPSTREAM_MAX_STREAMS";
+
+  public static final Version DEFAULT_VERSION = Version.HTTP_2;
+  public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(15);
+  public static final Duration DEFAULT_KEEP_ALIVE_TIMEOUT = Duration.ofSeconds(30);
+  public static final int DEFAULT_CONNECTION_POOL_SIZE = 0;
+  public static final int DEFAULT_MAX_STREAMS = 100;
+
+  public static final String KEEP_ALIVE_TIMEOUT_PROPERTY = "jdk.httpclient.keepalive.timeout";
+  public static final String KEEP_ALIVE_TIMEOUT_H2_PROPERTY = "jdk.httpclient.keepalive.timeout.h2";
+  public static final String CONNECTION_POOL_SIZE_PROPERTY = "jdk.httpclient.connectionPoolSize";
+  public static final String MAX_STREAMS_PROPERTY = "jdk.httpclient.maxstreams";
+  public static final String INVALID_SETTING = "Invalid value {} for {}, using default {}";
+
+  /** Settings with default values. */
+  public static HttpClientSettings defaults() {
+    return new HttpClientSettings(
+        DEFAULT_VERSION,
+        DEFAULT_CONNECT_TIMEOUT,
+        DEFAULT_KEEP_ALIVE_TIMEOUT,
+        DEFAULT_CONNECTION_POOL_SIZE,
+        DEFAULT_MAX_STREAMS);
+  }
+
+  /**
+   * Reads settings from environment, using defaults for missing or invalid values.
+   *
+   * @param environment the environment to read from
+   * @return settings
+   */
+  public static HttpClientSettings fromEnvironment(Environment environment) {
+    Function<String, Optional<String>> read = environment::readEnvOpt;
+    return new HttpClientSettings(
+        readSetting(read, HTTP_VERSION_ENV, Version::valueOf, DEFAULT_VERSION),
+        readSetting(
+            read,
+            CONNECT_TIMEOUT_SECONDS_ENV,
+            HttpClientSettings::toSeconds,
+            DEFAULT_CONNECT_TIMEOUT),
+        readSetting(
+            read,
+            KEEP_ALIVE_TIMEOUT_SECONDS_ENV,
+            HttpClientSettings::toSeconds,
+            DEFAULT_KEEP_ALIVE_TIMEOUT),
+        readSetting(
+            read,
+            CONNECTION_POOL_SIZE_ENV,
+            HttpClientSettings::toCount,
+            DEFAULT_CONNECTION_POOL_SIZE),
+        readSetting(read, MAX_STREAMS_ENV, HttpClientSettings::toCount, DEFAULT_MAX_STREAMS));
+  }
+
+  /** Sets the JDK wide connection pool properties not already set. */
+  public void applyConnectionPoolProperties() {
+    setIfAbsent(KEEP_ALIVE_TIMEOUT_PROPERTY, String.valueOf(keepAliveTimeout.toSeconds()));
+    setIfAbsent(KEEP_ALIVE_TIMEOUT_H2_PROPERTY, String.valueOf(keepAliveTimeout.toSeconds()));
+    setIfAbsent(CONNECTION_POOL_SIZE_PROPERTY, String.valueOf(connectionPoolSize));
+    setIfAbsent(MAX_STREAMS_PROPERTY, String.valueOf(maxStreams));
+  }
+
+  private static <T> T readSetting(
+      Function<String, Optional<String>> read,
+      String name,
+      Function<String, T> parser,
+      T defaultValue) {
+    var value = read.apply(name);
+    if (value.isEmpty()) {
+      return defaultValue;
+    }
+    try {
+      return parser.apply(value.get().trim());
+    } catch (IllegalArgumentException exception) {
+      logger.warn(INVALID_SETTING, value.get(), name, defaultValue);
+      return defaultValue;
+    }
+  }
+
+  private static Duration toSeconds(String value) {
+    return Duration.ofSeconds(toCount(value));
+  }
+
+  private static int toCount(String value) {
+    var count = Integer.parseInt(value);
+    if (count < 0) {
+      throw new IllegalArgumentException(value);
+    }
+    return count;
+  }
+
+  private static void setIfAbsent(String property, String value) {
+    if (System.getProperty(property) == null) {
+      System.setProperty(property, value);
+    }
+  }
+}
@@ -6,15 +6,14 @@ import io.github.resilience4j.retry.RetryConfig;
 import io.github.resilience4j.retry.RetryRegistry;
 import java.net.http.HttpResponse;
 import java.time.Duration;
-import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
 
 @SuppressWarnings("rawtypes")
 public class RetryConfigProvider {
 
   /**
-   * Creates an object that helps in retrying failed http requests. Can be used when calling
-   * upstream.
+   * Creates an object that helps in retrying failed http requests. Prefer the shared registry in
+   * {@link UpstreamResiliencePolicies} when calling upstream from an ApiClient.
    */
   public static RetryRegistry defaultRetryRegistry() {
     return RetryRegistry.of(defaultRetryConfigFactory());
@@ -28,7 +27,8 @@ public class RetryConfigProvider {
     return RetryRegistry.of(defaultRetryConfigFactoryAsync());
   }
 
-  private static RetryConfig defaultRetryConfigFactory() {
+  /** Retry configuration for blocking http requests, retrying on exceptions and server errors. */
+  public static RetryConfig defaultRetryConfigFactory() {
     return RetryConfig.<HttpResponse>custom()
         .maxAttempts(3)
         .waitDuration(Duration.ofMillis(100))
@@ -43,23 +43,17 @@ public class RetryConfigProvider {
             || httpResponse.statusCode() >= 500 && httpResponse.statusCode() <= 599;
   }
 
-  private static RetryConfig defaultRetryConfigFactoryAsync() {
-    return RetryConfig.<CompletableFuture<HttpResponse>>custom()
+  /**
+   * Retry configuration for async http requests, retrying on exceptions and server errors. The
+   * result predicate is applied to the completed response, so it never blocks on a future. Use
+   * with {@link AsyncRetryExecutor}.
+   */
+  public static RetryConfig defaultRetryConfigFactoryAsync() {
+    return RetryConfig.<HttpResponse>custom()
         .maxAttempts(3)
         .waitDuration(Duration.ofMillis(100))
-        .retryOnResult(resultStatusIsServerErrorAsync())
+        .retryOnResult(resultStatusIsServerError())
         .retryExceptions(Exception.class)
         .build();
   }
-
-  private static Predicate<CompletableFuture<HttpResponse>> resultStatusIsServerErrorAsync() {
-    return httpResponse -> {
-      try {
-        return isNull(httpResponse)
-            || httpResponse.get().statusCode() >= 500 && httpResponse.get().statusCode() <= 599;
-      } catch (Exception e) {
-        return true;
-      }
-    };
-  }
 }
@@ -0,0 +1,88 @@
+package no.unit.nva.client;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Lets concurrent callers asking for the same key share one asynchronous call. The first caller
+ * starts the call, callers arriving while it is in flight get the same result, and the key is
+ * released as soon as the call completes, so results are never reused by later callers. Each
+ * caller gets its own copy of the shared future, so one caller cancelling or completing it does
+ * not affect the others.
+ *
+ * <p>One instance should be shared by every client in the container, see {@link
+ * UpstreamResiliencePolicies#getInFlightRequests()}.
+ */
+public class SingleFlight<K, V> {
+
+  private final transient Map<K, CompletableFuture<V>> inFlight;
+  private final transient LongAdder startedCalls;
+  private final transient LongAdder coalescedCalls;
+
+  public SingleFlight() {
+    this.inFlight = new ConcurrentHashMap<>();
+    this.startedCalls = new LongAdder();
+    this.coalescedCalls = new LongAdder();
+  }
+
+  /**
+   * Joins the call in flight for the key, or starts it if there is none.
+   *
+   * @param key identifies the call, e.g. the request URI and credentials
+   * @param call starts the asynchronous call
+   * @return future completing with the result of the shared call
+   */
+  public CompletableFuture<V> execute(K key, Supplier<CompletableFuture<V>> call) {
+    var shared = new CompletableFuture<V>();
+    var existing = inFlight.putIfAbsent(key, shared);
+    if (existing != null) {
+      coalescedCalls.increment();
+      return existing.copy();
+    }
+    startedCalls.increment();
+    start(call)
+        .whenComplete(
+            (result, throwable) -> {
+              inFlight.remove(key, shared);
+              if (throwable == null) {
+                shared.complete(result);
+              } else {
+                shared.completeExceptionally(throwable);
+              }
+            });
+    return shared.copy();
+  }
+
+  /** Calls started, i.e. calls actually sent upstream. */
+  public long getStartedCount() {
+    return startedCalls.sum();
+  }
+
+  /** Calls that joined a call already in flight, i.e. calls saved. */
+  public long getCoalescedCount() {
+    return coalescedCalls.sum();
+  }
+
+  /** Calls currently in flight. */
+  public int getInFlightCount() {
+    return inFlight.size();
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "SingleFlight[started=%d, coalesced=%d, inFlight=%d]",
+        getStartedCount(), getCoalescedCount(), getInFlightCount());
+  }
+
+  private CompletableFuture<V> start(Supplier<CompletableFuture<V>> call) {
+    try {
+      return call.get();
+    } catch (RuntimeException exception) {
+      return CompletableFuture.failedFuture(exception);
+    }
+  }
+}
@@ -0,0 +1,150 @@
+package no.unit.nva.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * The set of resilience policies guarding calls to one upstream endpoint. Instances are created
+ * and cached by {@link UpstreamResiliencePolicies} and must not be created per request.
+ */
+public class UpstreamPolicy {
+
+  private final transient String endpoint;
+  private final transient Retry retry;
+  private final transient Retry asyncRetry;
+  private final transient CircuitBreaker circuitBreaker;
+  private final transient Bulkhead bulkhead;
+  private final transient TimeLimiter timeLimiter;
+  private final transient AsyncRetryExecutor asyncRetryExecutor;
+
+  /** Default constructor. */
+  public UpstreamPolicy(
+      String endpoint,
+      Retry retry,
+      Retry asyncRetry,
+      CircuitBreaker circuitBreaker,
+      Bulkhead bulkhead,
+      TimeLimiter timeLimiter,
+      AsyncRetryExecutor asyncRetryExecutor) {
+    this.endpoint = endpoint;
+    this.retry = retry;
+    this.asyncRetry = asyncRetry;
+    this.circuitBreaker = circuitBreaker;
+    this.bulkhead = bulkhead;
+    this.timeLimiter = timeLimiter;
+    this.asyncRetryExecutor = asyncRetryExecutor;
+  }
+
+  public String getEndpoint() {
+    return endpoint;
+  }
+
+  public Retry getRetry() {
+    return retry;
+  }
+
+  public Retry getAsyncRetry() {
+    return asyncRetry;
+  }
+
+  public CircuitBreaker getCircuitBreaker() {
+    return circuitBreaker;
+  }
+
+  public Bulkhead getBulkhead() {
+    return bulkhead;
+  }
+
+  public TimeLimiter getTimeLimiter() {
+    return timeLimiter;
+  }
+
+  /**
+   * Decorates a blocking call with retry, circuit breaker and bulkhead, in that order from the
+   * outside in.
+   *
+   * @param supplier the blocking call to upstream
+   * @return decorated supplier
+   */
+  public <T> Supplier<T> decorateSupplier(Supplier<T> supplier) {
+    var withBulkhead = Bulkhead.decorateSupplier(bulkhead, supplier);
+    var withCircuitBreaker = CircuitBreaker.decorateSupplier(circuitBreaker, withBulkhead);
+    return Retry.decorateSupplier(retry, withCircuitBreaker);
+  }
+
+  /**
+   * Executes an asynchronous call guarded by all policies. Each attempt is decorated with circuit
+   * breaker, bulkhead and time limiter, and failed attempts are retried without blocking. Any
+   * failure, including a rejected or failed start of the call, is reported through the returned
+   * future.
+   *
+   * @param supplier starts the asynchronous call to upstream
+   * @return future completing with the response
+   */
+  public <T> CompletableFuture<T> executeAsync(Supplier<CompletableFuture<T>> supplier) {
+    return asyncRetryExecutor.execute(asyncRetry, decorateCompletableFuture(supplier));
+  }
+
+  /**
+   * Decorates an asynchronous call with circuit breaker, bulkhead and time limiter. Permission is
+   * acquired before the call is started. The bulkhead is never waited for, as the calling thread
+   * may be a pool thread, so a call finding it full gets a failed future at once. Retry is left to
+   * the caller, see {@link #executeAsync(Supplier)}.
+   *
+   * @param supplier the asynchronous call to upstream
+   * @return decorated supplier
+   */
+  public <T> Supplier<CompletableFuture<T>> decorateCompletableFuture(
+      Supplier<CompletableFuture<T>> supplier) {
+    return () -> {
+      if (!bulkhead.tryAcquirePermission()) {
+        return CompletableFuture.failedFuture(
+            BulkheadFullException.createBulkheadFullException(bulkhead));
+      }
+      try {
+        circuitBreaker.acquirePermission();
+      } catch (RuntimeException rejected) {
+        bulkhead.onComplete();
+        throw rejected;
+      }
+      final long start = circuitBreaker.getCurrentTimestamp();
+      CompletableFuture<T> future;
+      try {
+        future = supplier.get();
+      } catch (RuntimeException exception) {
+        bulkhead.onComplete();
+        circuitBreaker.onError(elapsedSince(start), circuitBreaker.getTimestampUnit(), exception);
+        throw exception;
+      }
+      return future
+          .orTimeout(timeoutInMillis(), TimeUnit.MILLISECONDS)
+          .whenComplete((result, throwable) -> recordOutcome(start, result, throwable));
+    };
+  }
+
+  private <T> void recordOutcome(long start, T result, Throwable throwable) {
+    bulkhead.onComplete();
+    var duration = elapsedSince(start);
+    if (throwable == null) {
+      timeLimiter.onSuccess();
+      circuitBreaker.onResult(duration, circuitBreaker.getTimestampUnit(), result);
+    } else {
+      timeLimiter.onError(throwable);
+      circuitBreaker.onError(duration, circuitBreaker.getTimestampUnit(), throwable);
+    }
+  }
+
+  private long elapsedSince(long start) {
+    return circuitBreaker.getCurrentTimestamp() - start;
+  }
+
+  private long timeoutInMillis() {
+    return timeLimiter.getTimeLimiterConfig().getTimeoutDuration().toMillis();
+  }
+}
@@ -0,0 +1,240 @@
+package no.unit.nva.client;
+
+import static java.util.Objects.isNull;
+import static no.unit.nva.client.RetryConfigProvider.defaultRetryConfigFactory;
+import static no.unit.nva.client.RetryConfigProvider.defaultRetryConfigFactoryAsync;
+import static no.unit.nva.cristin.model.Constants.CRISTIN_API_URL;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import nva.commons.core.StringUtils;
+
+/**
+ * Holds the resilience policies (retry, circuit breaker, bulkhead and time limiter) used when
+ * calling Cristin. One instance lives for the lifetime of the Lambda container, and policies are
+ * created once per upstream endpoint, keyed by the Cristin path of the request. This keeps
+ * allocation out of the request path and makes the state and metrics of each policy available
+ * through the registries.
+ */
+public final class UpstreamResiliencePolicies {
+
+  public static final String DEFAULT_ENDPOINT = "default";
+  public static final String ASYNC_SUFFIX = "-async";
+  public static final String ASYNC_RETRY_CONFIG = "async";
+
+  /** Known Cristin endpoints. Longer paths must come before the paths they start with. */
+  public static final List<String> KNOWN_ENDPOINTS =
+      List.of(
+          "persons/affiliations/positions",
+          "persons/orcid",
+          "projects/categories",
+          "fundings/sources",
+          "biobanks",
+          "countries",
+          "institutions",
+          "keywords",
+          "persons",
+          "projects",
+          "units");
+
+  public static final int CIRCUIT_BREAKER_SLIDING_WINDOW_SIZE = 100;
+  public static final int CIRCUIT_BREAKER_MINIMUM_NUMBER_OF_CALLS = 50;
+  public static final float CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD = 80;
+  public static final Duration CIRCUIT_BREAKER_WAIT_IN_OPEN_STATE = Duration.ofSeconds(5);
+  public static final int BULKHEAD_MAX_CONCURRENT_CALLS = 100;
+  public static final Duration BULKHEAD_MAX_WAIT = Duration.ofSeconds(10);
+  public static final Duration TIME_LIMITER_TIMEOUT = Duration.ofSeconds(30);
+  private static final String PATH_DELIMITER = "/";
+  private static final int FIRST_SERVER_ERROR = 500;
+  private static final int LAST_SERVER_ERROR = 599;
+
+  private final transient String basePath;
+  private final transient RetryRegistry retryRegistry;
+  private final transient CircuitBreakerRegistry circuitBreakerRegistry;
+  private final transient BulkheadRegistry bulkheadRegistry;
+  private final transient TimeLimiterRegistry timeLimiterRegistry;
+  private final transient AsyncRetryExecutor asyncRetryExecutor;
+  private final transient AdaptiveConcurrencyLimiter fanOutLimiter;
+  private final transient SingleFlight<String, HttpResponse<String>> inFlightRequests;
+  private final transient Map<String, UpstreamPolicy> policies;
+
+  /**
+   * Creates a set of policies for an upstream having its endpoints below given base path.
+   *
+   * @param basePath the path part of the upstream base URL, e.g. /v2
+   */
+  public UpstreamResiliencePolicies(String basePath) {
+    this(basePath, AsyncRetryExecutor.withDaemonScheduler());
+  }
+
+  /**
+   * Creates a set of policies for an upstream having its endpoints below given base path.
+   *
+   * @param basePath the path part of the upstream base URL, e.g. /v2
+   * @param asyncRetryExecutor schedules retries of asynchronous calls
+   */
+  public UpstreamResiliencePolicies(String basePath, AsyncRetryExecutor asyncRetryExecutor) {
+    this.basePath = normalizeBasePath(basePath);
+    this.retryRegistry = RetryRegistry.of(retryConfigs());
+    this.circuitBreakerRegistry = CircuitBreakerRegistry.of(circuitBreakerConfig());
+    this.bulkheadRegistry = BulkheadRegistry.of(bulkheadConfig());
+    this.timeLimiterRegistry = TimeLimiterRegistry.of(timeLimiterConfig());
+    this.asyncRetryExecutor = asyncRetryExecutor;
+    this.fanOutLimiter = new AdaptiveConcurrencyLimiter();
+    this.inFlightRequests = new SingleFlight<>();
+    this.policies = new ConcurrentHashMap<>();
+  }
+
+  /** The policies shared by every ApiClient in this container. */
+  public static UpstreamResiliencePolicies defaultPolicies() {
+    return DefaultPoliciesHolder.DEFAULT_POLICIES;
+  }
+
+  /**
+   * Policy for the endpoint the URI belongs to. Unknown endpoints share a default policy.
+   *
+   * @param uri upstream request URI
+   * @return the shared policy for the endpoint
+   */
+  public UpstreamPolicy forUri(URI uri) {
+    return forEndpoint(endpointOf(uri));
+  }
+
+  /**
+   * Policy for a named endpoint, created on first use.
+   *
+   * @param endpoint one of {@link #KNOWN_ENDPOINTS} or {@link #DEFAULT_ENDPOINT}
+   * @return the shared policy for the endpoint
+   */
+  public UpstreamPolicy forEndpoint(String endpoint) {
+    return policies.computeIfAbsent(endpoint, this::createPolicy);
+  }
+
+  /**
+   * Resolves which Cristin endpoint a URI belongs to.
+   *
+   * @param uri upstream request URI
+   * @return name of endpoint or {@link #DEFAULT_ENDPOINT} if not known
+   */
+  public String endpointOf(URI uri) {
+    var path = relativePath(uri);
+    return KNOWN_ENDPOINTS.stream()
+        .filter(endpoint -> path.equals(endpoint) || path.startsWith(endpoint + PATH_DELIMITER))
+        .findFirst()
+        .orElse(DEFAULT_ENDPOINT);
+  }
+
+  public RetryRegistry getRetryRegistry() {
+    return retryRegistry;
+  }
+
+  public CircuitBreakerRegistry getCircuitBreakerRegistry() {
+    return circuitBreakerRegistry;
+  }
+
+  public BulkheadRegistry getBulkheadRegistry() {
+    return bulkheadRegistry;
+  }
+
+  public TimeLimiterRegistry getTimeLimiterRegistry() {
+    return timeLimiterRegistry;
+  }
+
+  /** Limits the concurrent calls of every enrichment fan-out, shared across endpoints. */
+  public AdaptiveConcurrencyLimiter getFanOutLimiter() {
+    return fanOutLimiter;
+  }
+
+  /** Identical GET requests in flight, shared by concurrent callers across endpoints. */
+  public SingleFlight<String, HttpResponse<String>> getInFlightRequests() {
+    return inFlightRequests;
+  }
+
+  private UpstreamPolicy createPolicy(String endpoint) {
+    return new UpstreamPolicy(
+        endpoint,
+        retryRegistry.retry(endpoint),
+        retryRegistry.retry(endpoint + ASYNC_SUFFIX, ASYNC_RETRY_CONFIG),
+        circuitBreakerRegistry.circuitBreaker(endpoint),
+        bulkheadRegistry.bulkhead(endpoint),
+        timeLimiterRegistry.timeLimiter(endpoint),
+        asyncRetryExecutor);
+  }
+
+  private String relativePath(URI uri) {
+    var path = Optional.ofNullable(uri).map(URI::getPath).orElse(StringUtils.EMPTY_STRING);
+    if (!basePath.isEmpty() && path.startsWith(basePath)) {
+      path = path.substring(basePath.length());
+    }
+    return path.startsWith(PATH_DELIMITER) ? path.substring(1) : path;
+  }
+
+  private static String normalizeBasePath(String basePath) {
+    if (isNull(basePath) || PATH_DELIMITER.equals(basePath)) {
+      return StringUtils.EMPTY_STRING;
+    }
+    return basePath.endsWith(PATH_DELIMITER)
+        ? basePath.substring(0, basePath.length() - 1)
+        : basePath;
+  }
+
+  private static Map<String, RetryConfig> retryConfigs() {
+    return Map.of(
+        DEFAULT_ENDPOINT, defaultRetryConfigFactory(),
+        ASYNC_RETRY_CONFIG, defaultRetryConfigFactoryAsync());
+  }
+
+  private static CircuitBreakerConfig circuitBreakerConfig() {
+    return CircuitBreakerConfig.custom()
+        .slidingWindowSize(CIRCUIT_BREAKER_SLIDING_WINDOW_SIZE)
+        .minimumNumberOfCalls(CIRCUIT_BREAKER_MINIMUM_NUMBER_OF_CALLS)
+        .failureRateThreshold(CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD)
+        .waitDurationInOpenState(CIRCUIT_BREAKER_WAIT_IN_OPEN_STATE)
+        .recordResult(UpstreamResiliencePolicies::isServerError)
+        .build();
+  }
+
+  private static boolean isServerError(Object result) {
+    return result instanceof HttpResponse<?> response
+        && response.statusCode() >= FIRST_SERVER_ERROR
+        && response.statusCode() <= LAST_SERVER_ERROR;
+  }
+
+  private static BulkheadConfig bulkheadConfig() {
+    return BulkheadConfig.custom()
+        .maxConcurrentCalls(BULKHEAD_MAX_CONCURRENT_CALLS)
+        .maxWaitDuration(BULKHEAD_MAX_WAIT)
+        .build();
+  }
+
+  private static TimeLimiterConfig timeLimiterConfig() {
+    return TimeLimiterConfig.custom().timeoutDuration(TIME_LIMITER_TIMEOUT).build();
+  }
+
+  /** Defers reading the Cristin URL from environment until the default policies are used. */
+  private static final class DefaultPoliciesHolder {
+
+    private static final UpstreamResiliencePolicies DEFAULT_POLICIES =
+        new UpstreamResiliencePolicies(cristinBasePath());
+
+    private static String cristinBasePath() {
+      return Optional.ofNullable(CRISTIN_API_URL)
+          .map(URI::create)
+          .map(URI::getPath)
+          .orElse(null);
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package no.unit.nva.cristin.common;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/** SHA-256 digests, used to version snapshots, change logs and responses by their content. */
+public final class Sha256 {
+
+  public static final String ALGORITHM = "SHA-256";
+
+  private Sha256() {
+    // NO-OP
+  }
+
+  /**
+   * A new digest, e.g. for digesting a stream while it is read.
+   *
+   * @return the digest
+   */
+  public static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance(ALGORITHM);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Hex encoded digest of given bytes.
+   *
+   * @param bytes bytes to digest
+   * @return lower case hex encoded digest
+   */
+  public static String hexOf(byte[] bytes) {
+    return HexFormat.of().formatHex(newDigest().digest(bytes));
+  }
+
+  /**
+   * Hex encoded digest of the bytes given to a digest so far. The digest is reset.
+   *
+   * @param digest the digest
+   * @return lower case hex encoded digest
+   */
+  public static String hexOf(MessageDigest digest) {
+    return HexFormat.of().formatHex(digest.digest());
+  }
+}
@@ -0,0 +1,10 @@
+package no.unit.nva.cristin.common.cache;
+
+/**
+ * Who a cached entity was fetched for. Entities fetched with authentication may contain sensitive
+ * data, e.g. national identity numbers, and must never be served to open requests.
+ */
+public enum CacheScope {
+  OPEN,
+  AUTHORIZED
+}
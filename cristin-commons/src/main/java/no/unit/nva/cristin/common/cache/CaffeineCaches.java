@@ -0,0 +1,27 @@
+package no.unit.nva.cristin.common.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/** Settings shared by the in-memory caches of a Lambda container. */
+final class CaffeineCaches {
+
+  private CaffeineCaches() {}
+
+  /**
+   * Builder for a cache expiring entries a fixed time after they were written, recording stats.
+   *
+   * @param timeToLive how long an entry is served after it was written
+   * @param nanoClock source of time in nanoseconds
+   * @return the builder, to be given a bound and built
+   */
+  static Caffeine<Object, Object> expiringAfterWrite(Duration timeToLive, LongSupplier nanoClock) {
+    return Caffeine.newBuilder()
+        .expireAfterWrite(timeToLive)
+        .ticker(nanoClock::getAsLong)
+        // Run maintenance on the calling thread, a frozen Lambda container runs nothing else
+        .executor(Runnable::run)
+        .recordStats();
+  }
+}
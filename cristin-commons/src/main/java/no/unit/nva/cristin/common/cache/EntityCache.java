@@ -0,0 +1,136 @@
+package no.unit.nva.cristin.common.cache;
+
+import static no.unit.nva.cristin.model.Constants.OBJECT_MAPPER;
+import static nva.commons.core.attempt.Try.attempt;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.benmanes.caffeine.cache.Cache;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps enriched Cristin entities in memory between requests to a warm Lambda container. Entries
+ * are keyed by Cristin identifier and {@link CacheScope}, so data fetched with authentication is
+ * never returned for an open request. The cache is bounded by the approximate size of the cached
+ * entities in bytes, evicts using W-TinyLFU, and expires entries a fixed time after they were
+ * fetched. Hit, miss and eviction counts are recorded.
+ *
+ * <p>Entities are held as serialized JSON and every lookup returns a new copy, so a caller changing
+ * an entity it got from the cache does not change it for later requests. An entity that cannot be
+ * serialized is not cached.
+ *
+ * @param <V> type of cached entity
+ */
+public class EntityCache<V> {
+
+  public static final long DEFAULT_MAX_WEIGHT_IN_BYTES = 32L * 1024 * 1024;
+  public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(5);
+  private static final int KEY_OVERHEAD_IN_BYTES = 64;
+
+  private final transient ObjectReader reader;
+  private final transient Cache<CacheKey, byte[]> cache;
+
+  /**
+   * Creates a cache with default size and time to live.
+   *
+   * @param type type of cached entity, used to read the copies handed out
+   */
+  public EntityCache(Class<V> type) {
+    this(type, DEFAULT_MAX_WEIGHT_IN_BYTES, DEFAULT_TIME_TO_LIVE, System::nanoTime);
+  }
+
+  /**
+   * Creates a cache.
+   *
+   * @param type type of cached entity, used to read the copies handed out
+   * @param maxWeightInBytes approximate upper bound for the size of cached entities
+   * @param timeToLive how long an entity is served after it was fetched
+   * @param nanoClock source of time in nanoseconds
+   */
+  public EntityCache(
+      Class<V> type, long maxWeightInBytes, Duration timeToLive, LongSupplier nanoClock) {
+    this.reader = OBJECT_MAPPER.readerFor(type);
+    this.cache =
+        CaffeineCaches.expiringAfterWrite(timeToLive, nanoClock)
+            .maximumWeight(maxWeightInBytes)
+            .weigher((CacheKey key, byte[] entity) -> KEY_OVERHEAD_IN_BYTES + entity.length)
+            .build();
+  }
+
+  /**
+   * Look up one entity.
+   *
+   * @param scope scope of the request
+   * @param identifier Cristin identifier
+   * @return the entity if cached for given scope
+   */
+  public Optional<V> get(CacheScope scope, String identifier) {
+    return Optional.ofNullable(cache.getIfPresent(new CacheKey(scope, identifier)))
+        .map(this::copyOf);
+  }
+
+  /**
+   * Look up several entities.
+   *
+   * @param scope scope of the request
+   * @param identifiers Cristin identifiers
+   * @return cached entities by identifier, identifiers not cached are left out
+   */
+  public Map<String, V> getAll(CacheScope scope, Collection<String> identifiers) {
+    var keys = identifiers.stream().map(identifier -> new CacheKey(scope, identifier)).toList();
+    return cache.getAllPresent(keys).entrySet().stream()
+        .collect(
+            Collectors.toMap(
+                entry -> entry.getKey().identifier(), entry -> copyOf(entry.getValue())));
+  }
+
+  /**
+   * Cache an entity.
+   *
+   * @param scope scope of the request the entity was fetched for
+   * @param identifier Cristin identifier
+   * @param entity the enriched entity
+   */
+  public void put(CacheScope scope, String identifier, V entity) {
+    attempt(() -> OBJECT_MAPPER.writeValueAsBytes(entity))
+        .toOptional()
+        .ifPresent(serialized -> cache.put(new CacheKey(scope, identifier), serialized));
+  }
+
+  public void invalidate(CacheScope scope, String identifier) {
+    cache.invalidate(new CacheKey(scope, identifier));
+  }
+
+  public long getHitCount() {
+    return cache.stats().hitCount();
+  }
+
+  public long getMissCount() {
+    return cache.stats().missCount();
+  }
+
+  public long getEvictionCount() {
+    return cache.stats().evictionCount();
+  }
+
+  public long getEstimatedSize() {
+    return cache.estimatedSize();
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "EntityCache[size=%d, hits=%d, misses=%d, evictions=%d]",
+        getEstimatedSize(), getHitCount(), getMissCount(), getEvictionCount());
+  }
+
+  private V copyOf(byte[] serialized) {
+    return attempt(() -> reader.<V>readValue(serialized)).orElseThrow();
+  }
+
+  private record CacheKey(CacheScope scope, String identifier) {}
+}
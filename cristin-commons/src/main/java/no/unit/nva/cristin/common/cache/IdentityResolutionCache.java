@@ -0,0 +1,119 @@
+package no.unit.nva.cristin.common.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Remembers which Cristin identifier a secret identifier, e.g. a national identity number, was
+ * resolved to, so that resolving it again within a short time needs no query upstream. The secret
+ * identifier is never held: entries are keyed by its HMAC under a key drawn at random when the
+ * cache is created, which is held in memory only, so a key cannot be traced back to the identifier
+ * outside the container that computed it. Hit and miss counts are recorded, and {@link #toString()}
+ * shows counts only, so it is safe to log.
+ */
+public class IdentityResolutionCache {
+
+  public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(5);
+  public static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+  public static final String HMAC_ALGORITHM = "HmacSHA256";
+  private static final int KEY_LENGTH_IN_BYTES = 32;
+
+  private final transient SecretKeySpec hmacKey;
+  private final transient Cache<String, String> cache;
+
+  /** Creates a cache with default size and time to live. */
+  public IdentityResolutionCache() {
+    this(DEFAULT_MAXIMUM_SIZE, DEFAULT_TIME_TO_LIVE, System::nanoTime);
+  }
+
+  /**
+   * Creates a cache.
+   *
+   * @param maximumSize upper bound for the number of identifiers remembered
+   * @param timeToLive how long a resolved identifier is used after it was resolved
+   * @param nanoClock source of time in nanoseconds
+   */
+  public IdentityResolutionCache(long maximumSize, Duration timeToLive, LongSupplier nanoClock) {
+    this.hmacKey = new SecretKeySpec(randomKey(), HMAC_ALGORITHM);
+    this.cache =
+        CaffeineCaches.expiringAfterWrite(timeToLive, nanoClock).maximumSize(maximumSize).build();
+  }
+
+  /**
+   * Look up the Cristin identifier a secret identifier was resolved to.
+   *
+   * @param secretIdentifier e.g. a national identity number
+   * @return the Cristin identifier if resolved within the time to live
+   */
+  public Optional<String> get(String secretIdentifier) {
+    return Optional.ofNullable(cache.getIfPresent(hashOf(secretIdentifier)));
+  }
+
+  /**
+   * Remember what a secret identifier was resolved to.
+   *
+   * @param secretIdentifier e.g. a national identity number
+   * @param cristinIdentifier the Cristin identifier it was resolved to
+   */
+  public void put(String secretIdentifier, String cristinIdentifier) {
+    cache.put(hashOf(secretIdentifier), cristinIdentifier);
+  }
+
+  public void invalidate(String secretIdentifier) {
+    cache.invalidate(hashOf(secretIdentifier));
+  }
+
+  public long getHitCount() {
+    return cache.stats().hitCount();
+  }
+
+  public long getMissCount() {
+    return cache.stats().missCount();
+  }
+
+  public double getHitRate() {
+    return cache.stats().hitRate();
+  }
+
+  public long getEstimatedSize() {
+    return cache.estimatedSize();
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        Locale.ROOT,
+        "IdentityResolutionCache[size=%d, hits=%d, misses=%d, hitRate=%.2f]",
+        getEstimatedSize(),
+        getHitCount(),
+        getMissCount(),
+        getHitRate());
+  }
+
+  private String hashOf(String secretIdentifier) {
+    try {
+      // Mac instances are not thread safe, and creating one is cheap compared to a lookup upstream
+      var mac = Mac.getInstance(HMAC_ALGORITHM);
+      mac.init(hmacKey);
+      return HexFormat.of()
+          .formatHex(mac.doFinal(secretIdentifier.getBytes(StandardCharsets.UTF_8)));
+    } catch (GeneralSecurityException exception) {
+      throw new IllegalStateException(exception);
+    }
+  }
+
+  private static byte[] randomKey() {
+    var key = new byte[KEY_LENGTH_IN_BYTES];
+    new SecureRandom().nextBytes(key);
+    return key;
+  }
+}
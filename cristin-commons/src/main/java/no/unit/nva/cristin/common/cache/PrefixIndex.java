@@ -0,0 +1,182 @@
+package no.unit.nva.cristin.common.cache;
+
+import static java.util.Objects.isNull;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Finds entries by the start of a word in one of their names, ignoring case, e.g. funding sources
+ * or keywords by their labels in any language. Names are held normalized, and every word start of
+ * every name is a key running from the word to the end of the name. The keys are held as sorted
+ * arrays of positions into the names, so a prefix, also one spanning several words, is looked up by
+ * binary search without scanning the names or holding a copy of them per word.
+ *
+ * <p>An index is not changed once built, so it can be read by several threads while a new one is
+ * built from newer entries.
+ *
+ * @param <T> type of entry
+ */
+public final class PrefixIndex<T> {
+
+  private static final String NO_TEXT = "";
+
+  private final transient List<T> entries;
+  private final transient String[] names;
+  private final transient int[] entryOfName;
+  private final transient int[] keyName;
+  private final transient int[] keyStart;
+
+  private PrefixIndex(
+      List<T> entries, String[] names, int[] entryOfName, int[] keyName, int[] keyStart) {
+    this.entries = entries;
+    this.names = names;
+    this.entryOfName = entryOfName;
+    this.keyName = keyName;
+    this.keyStart = keyStart;
+  }
+
+  /**
+   * Builds an index of the names of given entries.
+   *
+   * @param entries the entries, in the order matches are returned
+   * @param namesOf names of an entry, null names are skipped
+   * @param <T> type of entry
+   * @return the index
+   */
+  public static <T> PrefixIndex<T> of(List<T> entries, Function<T, Collection<String>> namesOf) {
+    var names = new ArrayList<String>();
+    var entryOfName = new ArrayList<Integer>();
+    addNames(entries, namesOf, names, entryOfName);
+    var nameArray = names.toArray(String[]::new);
+    var keys = sortedKeys(nameArray);
+    return new PrefixIndex<>(
+        entries,
+        nameArray,
+        toIntArray(entryOfName),
+        keys.stream().mapToInt(Key::name).toArray(),
+        keys.stream().mapToInt(Key::start).toArray());
+  }
+
+  /**
+   * Whether this index was built from given list instance.
+   *
+   * @param entries list of entries
+   * @return true if the index holds the same list
+   */
+  public boolean isBuiltFrom(List<T> entries) {
+    return this.entries == entries;
+  }
+
+  /**
+   * Entries having a name with a word starting with given prefix.
+   *
+   * @param prefix start of a word in the name, case is ignored
+   * @return matching entries in the order of the entries indexed, all if prefix is blank
+   */
+  public List<T> search(String prefix) {
+    var normalized = normalize(prefix);
+    if (normalized.isEmpty()) {
+      return entries;
+    }
+    var matches = new BitSet(entries.size());
+    for (var key = firstKeyNotBefore(normalized);
+        key < keyName.length && names[keyName[key]].startsWith(normalized, keyStart[key]);
+        key++) {
+      matches.set(entryOfName[keyName[key]]);
+    }
+    return matches.stream().mapToObj(entries::get).toList();
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  private int firstKeyNotBefore(String text) {
+    var low = 0;
+    var high = keyName.length;
+    while (low < high) {
+      var middle = (low + high) >>> 1;
+      if (compareSuffixes(names[keyName[middle]], keyStart[middle], text, 0) < 0) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  private static <T> void addNames(
+      List<T> entries,
+      Function<T, Collection<String>> namesOf,
+      List<String> names,
+      List<Integer> entryOfName) {
+    for (var position = 0; position < entries.size(); position++) {
+      var entryNames = namesOf.apply(entries.get(position));
+      if (isNull(entryNames)) {
+        continue;
+      }
+      for (var name : entryNames) {
+        var normalized = normalize(name);
+        if (!normalized.isEmpty()) {
+          names.add(normalized);
+          entryOfName.add(position);
+        }
+      }
+    }
+  }
+
+  private static List<Key> sortedKeys(String[] names) {
+    var keys = new ArrayList<Key>();
+    for (var name = 0; name < names.length; name++) {
+      for (var start = 0; start < names[name].length(); start++) {
+        if (isWordStart(names[name], start)) {
+          keys.add(new Key(name, start));
+        }
+      }
+    }
+    keys.sort(bySuffix(names));
+    return keys;
+  }
+
+  private static Comparator<Key> bySuffix(String[] names) {
+    return (first, second) ->
+        compareSuffixes(names[first.name()], first.start(), names[second.name()], second.start());
+  }
+
+  private static boolean isWordStart(String name, int index) {
+    return Character.isLetterOrDigit(name.charAt(index))
+        && (index == 0 || !Character.isLetterOrDigit(name.charAt(index - 1)));
+  }
+
+  private static int compareSuffixes(String first, int firstStart, String second, int secondStart) {
+    var firstLength = first.length() - firstStart;
+    var secondLength = second.length() - secondStart;
+    var length = Math.min(firstLength, secondLength);
+    for (var i = 0; i < length; i++) {
+      var difference = first.charAt(firstStart + i) - second.charAt(secondStart + i);
+      if (difference != 0) {
+        return difference;
+      }
+    }
+    return firstLength - secondLength;
+  }
+
+  private static int[] toIntArray(List<Integer> values) {
+    return values.stream().mapToInt(Integer::intValue).toArray();
+  }
+
+  private static String normalize(String text) {
+    return isNull(text)
+        ? NO_TEXT
+        : Normalizer.normalize(text.strip(), Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+  }
+
+  private record Key(int name, int start) {}
+}
@@ -0,0 +1,292 @@
+package no.unit.nva.cristin.common.cache;
+
+import static java.util.Objects.isNull;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import nva.commons.apigateway.exceptions.ApiGatewayException;
+import nva.commons.apigateway.exceptions.BadGatewayException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps a code list from Cristin that rarely changes, e.g. countries or position codes, in memory
+ * together with a lookup from code to entry. A list older than the refresh interval is still
+ * handed out while a new one is loaded in the background, and only a caller finding no list, or a
+ * list past its maximum age, waits for the load. A caller that must not wait asks with {@link
+ * #getAllIfLoaded()}, which starts the load and returns at once. Concurrent callers share one load.
+ * If a background load fails, the held list is used until it reaches its maximum age and the load
+ * is tried again by the next caller.
+ *
+ * <p>Handlers hold one client per container, so a client holding a cache loads its list once per
+ * container and again only when it is due for refresh. A client whose loader is one of its own
+ * methods holds a {@link #lazy(String, Function)} cache, created with the loader on first use.
+ *
+ * @param <T> type of entry in the list
+ */
+public class ReferenceDataCache<T> {
+
+  private static final Logger logger = LoggerFactory.getLogger(ReferenceDataCache.class);
+
+  public static final Duration DEFAULT_REFRESH_AFTER = Duration.ofMinutes(15);
+  public static final Duration DEFAULT_MAX_AGE = Duration.ofHours(24);
+  public static final String LOAD_INTERRUPTED = "Interrupted while loading %s";
+  public static final String BACKGROUND_REFRESH_FAILED =
+      "Refreshing {} in background failed, using held list";
+  public static final String LOAD_FAILED = "Loading {} failed";
+
+  private final transient String name;
+  private final transient Loader<T> loader;
+  private final transient Function<T, String> codeOf;
+  private final transient Duration refreshAfter;
+  private final transient Duration maxAge;
+  private final transient Executor executor;
+  private final transient LongSupplier nanoClock;
+  private transient ReferenceData<T> data;
+  private transient CompletableFuture<ReferenceData<T>> loadInFlight;
+
+  /**
+   * Creates a cache with default refresh interval and maximum age, loading on a virtual thread.
+   *
+   * @param name of the list, used in logs and error messages
+   * @param loader loads the list from upstream
+   * @param codeOf code of an entry, used for lookups
+   */
+  public ReferenceDataCache(String name, Loader<T> loader, Function<T, String> codeOf) {
+    this(
+        name,
+        loader,
+        codeOf,
+        DEFAULT_REFRESH_AFTER,
+        DEFAULT_MAX_AGE,
+        Thread.ofVirtual()::start,
+        System::nanoTime);
+  }
+
+  /**
+   * Creates a cache.
+   *
+   * @param name of the list, used in logs and error messages
+   * @param loader loads the list from upstream
+   * @param codeOf code of an entry, used for lookups
+   * @param refreshAfter age at which the list is loaded again in the background
+   * @param maxAge age at which the list is no longer handed out
+   * @param executor runs the loads
+   * @param nanoClock source of time in nanoseconds
+   */
+  public ReferenceDataCache(
+      String name,
+      Loader<T> loader,
+      Function<T, String> codeOf,
+      Duration refreshAfter,
+      Duration maxAge,
+      Executor executor,
+      LongSupplier nanoClock) {
+    this.name = name;
+    this.loader = loader;
+    this.codeOf = codeOf;
+    this.refreshAfter = refreshAfter;
+    this.maxAge = maxAge;
+    this.executor = executor;
+    this.nanoClock = nanoClock;
+  }
+
+  /**
+   * A cache created on first use, with the loader given then. The loader is bound to the client
+   * using the cache rather than the client being constructed, which may be a different instance,
+   * e.g. a copy made by a test spy.
+   *
+   * @param name of the list, used in logs and error messages
+   * @param codeOf code of an entry, used for lookups
+   * @param <T> type of entry in the list
+   * @return holder of the cache
+   */
+  public static <T> Lazy<T> lazy(String name, Function<T, String> codeOf) {
+    return new Lazy<>(name, codeOf);
+  }
+
+  /**
+   * All entries, in the order upstream returned them.
+   *
+   * @return unmodifiable list of entries
+   * @throws ApiGatewayException if no list is held and loading it failed
+   */
+  public List<T> getAll() throws ApiGatewayException {
+    return current().entries();
+  }
+
+  /**
+   * All entries if a list is held, without waiting for a load. If no list is held, a load is
+   * started in the background, so a later call finds the list.
+   *
+   * @return unmodifiable list of entries, empty if no list is held
+   */
+  public synchronized Optional<List<T>> getAllIfLoaded() {
+    if (held().isEmpty()) {
+      startLoad();
+    }
+    // An executor running the load at once has stored the list by now
+    return held().map(ReferenceData::entries);
+  }
+
+  /**
+   * Look up one entry by code. If upstream returned several entries with the same code, the first
+   * is used.
+   *
+   * @param code code of the entry
+   * @return the entry, empty if the list has no entry with given code
+   * @throws ApiGatewayException if no list is held and loading it failed
+   */
+  public Optional<T> get(String code) throws ApiGatewayException {
+    return Optional.ofNullable(current().byCode().get(code));
+  }
+
+  private ReferenceData<T> current() throws ApiGatewayException {
+    CompletableFuture<ReferenceData<T>> load;
+    synchronized (this) {
+      var held = held();
+      if (held.isPresent()) {
+        return held.get();
+      }
+      load = startLoad();
+    }
+    return await(load);
+  }
+
+  private Optional<ReferenceData<T>> held() {
+    var now = nanoClock.getAsLong();
+    if (isNull(data) || now - data.loadedAt() >= maxAge.toNanos()) {
+      return Optional.empty();
+    }
+    if (now - data.loadedAt() >= refreshAfter.toNanos()) {
+      startLoad();
+    }
+    return Optional.of(data);
+  }
+
+  private CompletableFuture<ReferenceData<T>> startLoad() {
+    if (!isNull(loadInFlight)) {
+      return loadInFlight;
+    }
+    var load = CompletableFuture.supplyAsync(this::load, executor);
+    loadInFlight = load;
+    // May complete at once, clearing loadInFlight again
+    load.whenComplete((loaded, failure) -> loadCompleted(load, failure));
+    return load;
+  }
+
+  private ReferenceData<T> load() {
+    var loadedAt = nanoClock.getAsLong();
+    try {
+      return store(ReferenceData.of(loader.load(), codeOf, loadedAt));
+    } catch (ApiGatewayException exception) {
+      throw new CompletionException(exception);
+    }
+  }
+
+  private synchronized ReferenceData<T> store(ReferenceData<T> loaded) {
+    data = loaded;
+    return loaded;
+  }
+
+  private synchronized void loadCompleted(
+      CompletableFuture<ReferenceData<T>> load, Throwable failure) {
+    if (loadInFlight == load) {
+      loadInFlight = null;
+    }
+    if (isNull(failure)) {
+      return;
+    }
+    if (isNull(data)) {
+      logger.warn(LOAD_FAILED, name, failure);
+    } else {
+      logger.warn(BACKGROUND_REFRESH_FAILED, name, failure);
+    }
+  }
+
+  private ReferenceData<T> await(CompletableFuture<ReferenceData<T>> load)
+      throws ApiGatewayException {
+    try {
+      return load.get();
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      throw new BadGatewayException(String.format(LOAD_INTERRUPTED, name));
+    } catch (ExecutionException exception) {
+      var cause = exception.getCause();
+      if (cause instanceof ApiGatewayException apiGatewayException) {
+        throw apiGatewayException;
+      }
+      if (cause instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IllegalStateException(cause);
+    }
+  }
+
+  /**
+   * Loads a code list from upstream.
+   *
+   * @param <T> type of entry in the list
+   */
+  @FunctionalInterface
+  public interface Loader<T> {
+
+    List<T> load() throws ApiGatewayException;
+  }
+
+  /**
+   * Holds a cache created on first use.
+   *
+   * @param <T> type of entry in the list
+   */
+  public static final class Lazy<T> {
+
+    private final transient String name;
+    private final transient Function<T, String> codeOf;
+    private transient ReferenceDataCache<T> cache;
+
+    private Lazy(String name, Function<T, String> codeOf) {
+      this.name = name;
+      this.codeOf = codeOf;
+    }
+
+    /**
+     * The cache, created with given loader if this is the first use.
+     *
+     * @param loader loads the list from upstream, ignored once the cache is created
+     * @return the cache
+     */
+    public synchronized ReferenceDataCache<T> get(Loader<T> loader) {
+      if (isNull(cache)) {
+        cache = new ReferenceDataCache<>(name, loader, codeOf);
+      }
+      return cache;
+    }
+  }
+
+  private record ReferenceData<T>(List<T> entries, Map<String, T> byCode, long loadedAt) {
+
+    private static <T> ReferenceData<T> of(
+        List<T> entries, Function<T, String> codeOf, long loadedAt) {
+      var byCode = new LinkedHashMap<String, T>();
+      for (var entry : entries) {
+        var code = codeOf.apply(entry);
+        if (!isNull(code)) {
+          byCode.putIfAbsent(code, entry);
+        }
+      }
+      return new ReferenceData<>(
+          List.copyOf(entries), Collections.unmodifiableMap(byCode), loadedAt);
+    }
+  }
+}
@@ -4,11 +4,8 @@ import static io.vavr.control.Try.of;
 import static io.vavr.control.Try.ofSupplier;
 import static java.net.HttpURLConnection.HTTP_MULT_CHOICE;
 import static java.net.HttpURLConnection.HTTP_OK;
-import static no.unit.nva.client.RetryConfigProvider.defaultRetryRegistry;
-import static no.unit.nva.client.RetryConfigProvider.defaultRetryRegistryAsync;
 import static no.unit.nva.cristin.common.ErrorMessages.ERROR_MESSAGE_BACKEND_FAILED_WITH_EXCEPTION;
 import static no.unit.nva.cristin.common.ErrorMessages.ERROR_MESSAGE_BACKEND_FETCH_FAILED;
-import static no.unit.nva.cristin.common.client.CristinAuthenticator.basicAuthHeader;
 import static no.unit.nva.cristin.model.Constants.CRISTIN_BOT_FILTER_BYPASS_HEADER_NAME;
 import static no.unit.nva.cristin.model.Constants.CRISTIN_BOT_FILTER_BYPASS_HEADER_VALUE;
 import static no.unit.nva.cristin.model.Constants.OBJECT_MAPPER;
@@ -16,24 +13,29 @@ import static no.unit.nva.cristin.model.JsonPropertyNames.NUMBER_OF_RESULTS;
 import static no.unit.nva.cristin.model.JsonPropertyNames.PAGE;
 import static no.unit.nva.utils.UriUtils.addLanguage;
 import static no.unit.nva.utils.UriUtils.maskSensitiveData;
+import static no.unit.nva.utils.UriUtils.normalizeForComparison;
 import static nva.commons.core.StringUtils.EMPTY_STRING;
 import static nva.commons.core.attempt.Try.attempt;
 
-import io.github.resilience4j.retry.Retry;
+import com.fasterxml.jackson.databind.ObjectReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandler;
 import java.net.http.HttpResponse.BodyHandlers;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
+import no.unit.nva.client.UpstreamResiliencePolicies;
 import no.unit.nva.cristin.common.ErrorMessages;
 import no.unit.nva.exception.FailedHttpRequestException;
 import no.unit.nva.exception.UnauthorizedException;
@@ -52,6 +54,9 @@ public class ApiClient {
   private static final Logger logger = LoggerFactory.getLogger(ApiClient.class);
 
   private static final int FIRST_NON_SUCCESS_CODE = 300;
+  private static final String IN_FLIGHT_KEY_DELIMITER = " ";
+  private static final String STREAMED_BODY = "<streamed body>";
+  private static final Map<Class<?>, ObjectReader> OBJECT_READERS = new ConcurrentHashMap<>();
 
   public static final int FIRST_EFFORT = 0;
   public static final int MAX_EFFORTS = 2;
@@ -66,9 +71,15 @@ public class ApiClient {
       "Upstream returned 403 Forbidden. Try again later";
 
   private final transient HttpClient client;
+  private final transient UpstreamResiliencePolicies resiliencePolicies;
 
   public ApiClient(HttpClient client) {
+    this(client, UpstreamResiliencePolicies.defaultPolicies());
+  }
+
+  public ApiClient(HttpClient client, UpstreamResiliencePolicies resiliencePolicies) {
     this.client = client;
+    this.resiliencePolicies = resiliencePolicies;
   }
 
   /**
@@ -88,30 +99,74 @@ public class ApiClient {
   }
 
   /**
-   * Build and perform asynchronous GET request for given URI with authentication header.
+   * Build and perform asynchronous GET request for given URI with authentication header. If
+   * upstream rejects the credentials and they have been refreshed since, the request is sent once
+   * more with the refreshed credentials.
    *
    * @param uri to fetch from
    * @return response containing data from requested URI or error
    */
   public CompletableFuture<HttpResponse<String>> authenticatedFetchGetResultAsync(URI uri) {
-    var httpRequest =
-        HttpRequest.newBuilder(addLanguage(uri))
-            .GET()
-            .header(AUTHORIZATION, basicAuthHeader())
-            .header(CRISTIN_BOT_FILTER_BYPASS_HEADER_NAME, CRISTIN_BOT_FILTER_BYPASS_HEADER_VALUE)
-            .build();
+    var authHeader = basicAuthHeader();
 
-    return fetchAsyncResponseWithRetry(httpRequest);
+    return fetchAsyncResponseWithRetry(authenticatedGetRequest(uri, authHeader))
+        .thenCompose(
+            response ->
+                credentialsWereRefreshedAfterRejection(response, authHeader)
+                    ? fetchAsyncResponseWithRetry(authenticatedGetRequest(uri, basicAuthHeader()))
+                    : CompletableFuture.completedFuture(response));
+  }
+
+  private static HttpRequest authenticatedGetRequest(URI uri, String authHeader) {
+    return HttpRequest.newBuilder(addLanguage(uri))
+        .GET()
+        .header(AUTHORIZATION, authHeader)
+        .header(CRISTIN_BOT_FILTER_BYPASS_HEADER_NAME, CRISTIN_BOT_FILTER_BYPASS_HEADER_VALUE)
+        .build();
+  }
+
+  /**
+   * Tells if upstream rejected the credentials in the request and newer credentials are available,
+   * so that the request should be sent again.
+   *
+   * @param response from upstream
+   * @param authHeader the basic auth header sent in the request
+   * @return true if the request should be sent again with the current credentials
+   */
+  protected boolean credentialsWereRefreshedAfterRejection(
+      HttpResponse<?> response, String authHeader) {
+    return response.statusCode() == HttpURLConnection.HTTP_UNAUTHORIZED
+        && credentialsProvider().refreshAfterRejection(authHeader);
+  }
+
+  /** Credentials used in authenticated requests, shared by the clients in this container. */
+  protected CristinCredentialsProvider credentialsProvider() {
+    return CristinAuthenticator.credentialsProvider();
+  }
+
+  /** Value part of the basic auth header used in authenticated requests. */
+  protected String basicAuthHeader() {
+    return credentialsProvider().basicAuthHeader();
   }
 
   private CompletableFuture<HttpResponse<String>> fetchAsyncResponseWithRetry(
       HttpRequest httpRequest) {
-    var retryRegistryAsync = defaultRetryRegistryAsync();
-    var retryWithDefaultConfigAsync = retryRegistryAsync.retry("executeRequestAsync");
-    Supplier<CompletableFuture<HttpResponse<String>>> supplier =
-        () -> executeRequestAsync(httpRequest);
+    var policy = resiliencePolicies.forUri(httpRequest.uri());
+    return resiliencePolicies
+        .getInFlightRequests()
+        .execute(
+            inFlightRequestKey(httpRequest),
+            () -> policy.executeAsync(() -> executeRequestAsync(httpRequest)));
+  }
 
-    return ofSupplier(Retry.decorateSupplier(retryWithDefaultConfigAsync, supplier)).get();
+  /**
+   * Identical GET requests in flight are sent once. Requests are identical when they have the same
+   * normalized URI and are sent with the same credentials.
+   */
+  private static String inFlightRequestKey(HttpRequest httpRequest) {
+    return httpRequest.headers().firstValue(AUTHORIZATION).orElse(EMPTY_STRING)
+        + IN_FLIGHT_KEY_DELIMITER
+        + normalizeForComparison(httpRequest.uri());
   }
 
   private CompletableFuture<HttpResponse<String>> executeRequestAsync(HttpRequest httpRequest) {
@@ -140,12 +195,30 @@ public class ApiClient {
    * @return response containing data from requested URI or error
    */
   public HttpResponse<String> fetchGetResultWithAuthentication(URI uri) throws ApiGatewayException {
-    HttpRequest httpRequest =
-        HttpRequest.newBuilder(addLanguage(uri))
-            .header(AUTHORIZATION, basicAuthHeader())
-            .header(CRISTIN_BOT_FILTER_BYPASS_HEADER_NAME, CRISTIN_BOT_FILTER_BYPASS_HEADER_VALUE)
-            .build();
-    return getSuccessfulResponseOrThrowException(httpRequest);
+    return fetchWithAuthentication(uri, BodyHandlers.ofString(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Build and perform blocking synchronous GET request for given URI with authentication header,
+   * keeping the body as the raw UTF-8 bytes. See {@link #fetchGetResultAsBytes(URI)}.
+   *
+   * @param uri to fetch from
+   * @return response containing data from requested URI or error
+   */
+  public HttpResponse<byte[]> fetchGetResultWithAuthenticationAsBytes(URI uri)
+      throws ApiGatewayException {
+    return fetchWithAuthentication(uri, BodyHandlers.ofByteArray());
+  }
+
+  private <T> HttpResponse<T> fetchWithAuthentication(URI uri, BodyHandler<T> bodyHandler)
+      throws FailedHttpRequestException {
+    var authHeader = basicAuthHeader();
+    var request = authenticatedGetRequest(uri, authHeader);
+    var response = getSuccessfulResponseOrThrowException(request, bodyHandler);
+    return credentialsWereRefreshedAfterRejection(response, authHeader)
+        ? getSuccessfulResponseOrThrowException(
+            authenticatedGetRequest(uri, basicAuthHeader()), bodyHandler)
+        : response;
   }
 
   /**
@@ -164,9 +237,15 @@ public class ApiClient {
 
   protected HttpResponse<String> getSuccessfulResponseOrThrowException(HttpRequest httpRequest)
       throws FailedHttpRequestException {
+    return getSuccessfulResponseOrThrowException(
+        httpRequest, BodyHandlers.ofString(StandardCharsets.UTF_8));
+  }
+
+  private <T> HttpResponse<T> getSuccessfulResponseOrThrowException(
+      HttpRequest httpRequest, BodyHandler<T> bodyHandler) throws FailedHttpRequestException {
 
     try {
-      return fetchResponseWithRetry(httpRequest);
+      return fetchResponseWithRetry(httpRequest, bodyHandler);
     } catch (Exception ex) {
       var uri = maskSensitiveData(httpRequest.uri());
       logError(ERROR_MESSAGE_BACKEND_FAILED_WITH_EXCEPTION, uri, ex);
@@ -174,23 +253,57 @@ public class ApiClient {
     }
   }
 
-  private HttpResponse<String> fetchResponseWithRetry(HttpRequest httpRequest) {
-    var retryRegistry = defaultRetryRegistry();
-    var retryWithDefaultConfig = retryRegistry.retry("executeRequest");
-    Supplier<HttpResponse<String>> supplier = () -> executeRequest(httpRequest);
+  /**
+   * Build and perform blocking synchronous GET request for given URI, keeping the body as the raw
+   * UTF-8 bytes. Use for large responses that are only deserialized, as it avoids decoding the
+   * body into a String first.
+   *
+   * @param uri to fetch from
+   * @return response containing data from requested URI or error
+   */
+  public HttpResponse<byte[]> fetchGetResultAsBytes(URI uri) throws ApiGatewayException {
+    HttpRequest httpRequest =
+        HttpRequest.newBuilder(addLanguage(uri))
+            .header(CRISTIN_BOT_FILTER_BYPASS_HEADER_NAME, CRISTIN_BOT_FILTER_BYPASS_HEADER_VALUE)
+            .build();
+    return getSuccessfulResponseOrThrowException(httpRequest, BodyHandlers.ofByteArray());
+  }
 
-    return ofSupplier(Retry.decorateSupplier(retryWithDefaultConfig, supplier))
+  private <T> HttpResponse<T> fetchResponseWithRetry(
+      HttpRequest httpRequest, BodyHandler<T> bodyHandler) {
+    var policy = resiliencePolicies.forUri(httpRequest.uri());
+    Supplier<HttpResponse<T>> supplier = () -> executeRequest(httpRequest, bodyHandler);
+
+    return ofSupplier(policy.decorateSupplier(supplier))
         .getOrElseThrow(throwable -> new RuntimeException(throwable.getMessage()));
   }
 
-  private HttpResponse<String> executeRequest(HttpRequest httpRequest) {
-    return of(() -> client.send(httpRequest, BodyHandlers.ofString(StandardCharsets.UTF_8)))
+  private <T> HttpResponse<T> executeRequest(HttpRequest httpRequest, BodyHandler<T> bodyHandler) {
+    return of(() -> client.send(httpRequest, bodyHandler))
         .getOrElseThrow(throwable -> new RuntimeException(throwable.getMessage()));
   }
 
   /** Parse json string into model class. */
   public static <T> T fromJson(String body, Class<T> classOfT) throws IOException {
-    return OBJECT_MAPPER.readValue(body, classOfT);
+    return readerFor(classOfT).readValue(body);
+  }
+
+  /** Parse UTF-8 encoded json into model class. */
+  public static <T> T fromJson(byte[] body, Class<T> classOfT) throws IOException {
+    return readerFor(classOfT).readValue(body);
+  }
+
+  /** Parse json from stream into model class. The stream is closed when read. */
+  public static <T> T fromJson(InputStream body, Class<T> classOfT) throws IOException {
+    return readerFor(classOfT).readValue(body);
+  }
+
+  /**
+   * Readers are immutable and cached per model class, so the deserializer of a class is looked up
+   * once per container instead of once per response.
+   */
+  private static ObjectReader readerFor(Class<?> classOfT) {
+    return OBJECT_READERS.computeIfAbsent(classOfT, OBJECT_MAPPER::readerFor);
   }
 
   /**
@@ -201,20 +314,54 @@ public class ApiClient {
     return endRequestTime - startRequestTime;
   }
 
-  protected <T> T getDeserializedResponse(HttpResponse<String> response, Class<T> classOfT)
+  /**
+   * Deserialize the body of a response into model class. The body can be a String, UTF-8 encoded
+   * bytes or an InputStream, so that large responses can be read without being held as a String.
+   *
+   * @param response from upstream
+   * @param classOfT model class to deserialize into
+   * @return deserialized body
+   * @throws BadGatewayException if the body could not be deserialized
+   */
+  protected <T> T getDeserializedResponse(HttpResponse<?> response, Class<T> classOfT)
       throws BadGatewayException {
 
-    return attempt(() -> fromJson(response.body(), classOfT))
+    return attempt(() -> deserializeBody(response.body(), classOfT))
         .orElseThrow(failure -> logAndThrowDeserializationError(response, failure));
   }
 
+  private static <T> T deserializeBody(Object body, Class<T> classOfT) throws IOException {
+    return switch (body) {
+      case byte[] bytes -> fromJson(bytes, classOfT);
+      case InputStream stream -> fromJson(stream, classOfT);
+      case null, default -> fromJson((String) body, classOfT);
+    };
+  }
+
   private <T> BadGatewayException logAndThrowDeserializationError(
-      HttpResponse<String> response, Failure<T> failure) {
+      HttpResponse<?> response, Failure<T> failure) {
     logError(
-        ErrorMessages.ERROR_MESSAGE_READING_RESPONSE_FAIL, response.body(), failure.getException());
+        ErrorMessages.ERROR_MESSAGE_READING_RESPONSE_FAIL,
+        bodyAsString(response),
+        failure.getException());
     return new BadGatewayException(ERROR_MESSAGE_BACKEND_FETCH_FAILED);
   }
 
+  /**
+   * Body of a response as a String, for logging and error messages. A streamed body is not
+   * available once it has been read.
+   *
+   * @param response from upstream
+   * @return the body as a String
+   */
+  protected static String bodyAsString(HttpResponse<?> response) {
+    return switch (response.body()) {
+      case byte[] bytes -> new String(bytes, StandardCharsets.UTF_8);
+      case InputStream ignored -> STREAMED_BODY;
+      case null, default -> String.valueOf(response.body());
+    };
+  }
+
   protected void logError(String message, String data, Exception failure) {
     logger.error(
         String.format(
@@ -228,10 +375,7 @@ public class ApiClient {
    * @return responses for given URIs
    */
   public List<HttpResponse<String>> fetchQueryResultsOneByOne(List<URI> uris) {
-    List<CompletableFuture<HttpResponse<String>>> responsesContainer =
-        uris.stream().map(this::fetchGetResultAsync).collect(Collectors.toList());
-
-    return collectSuccessfulResponses(responsesContainer);
+    return collectSuccessfulResponses(fetchWithLimitedConcurrency(uris, this::fetchGetResultAsync));
   }
 
   /**
@@ -241,10 +385,20 @@ public class ApiClient {
    * @return responses for given URIs
    */
   public List<HttpResponse<String>> authorizedFetchQueryResultsOneByOne(List<URI> uris) {
-    List<CompletableFuture<HttpResponse<String>>> responsesContainer =
-        uris.stream().map(this::authenticatedFetchGetResultAsync).collect(Collectors.toList());
-
-    return collectSuccessfulResponses(responsesContainer);
+    return collectSuccessfulResponses(
+        fetchWithLimitedConcurrency(uris, this::authenticatedFetchGetResultAsync));
+  }
+
+  private List<CompletableFuture<HttpResponse<String>>> fetchWithLimitedConcurrency(
+      List<URI> uris, Function<URI, CompletableFuture<HttpResponse<String>>> fetch) {
+    var limiter = resiliencePolicies.getFanOutLimiter();
+    return uris.stream()
+        .map(
+            uri ->
+                limiter.submit(
+                    () -> fetch.apply(uri),
+                    response -> remoteServerHasInternalProblems(response.statusCode())))
+        .toList();
   }
 
   private List<HttpResponse<String>> collectSuccessfulResponses(
@@ -293,6 +447,18 @@ public class ApiClient {
     }
   }
 
+  /**
+   * Same as {@link #checkHttpStatusCode(URI, int, String)} for a response kept as bytes. The body
+   * is only decoded when the status is a failure, as it is then logged.
+   */
+  protected void checkHttpStatusCode(URI uri, HttpResponse<byte[]> response)
+      throws NotFoundException, BadGatewayException, BadRequestException, UnauthorizedException {
+    if (responseIsFailure(response.statusCode())) {
+      checkHttpStatusCode(
+          uri, response.statusCode(), new String(response.body(), StandardCharsets.UTF_8));
+    }
+  }
+
   private String getUriAsString(URI uri) {
     return Optional.ofNullable(uri).map(URI::toString).orElse(EMPTY_STRING);
   }
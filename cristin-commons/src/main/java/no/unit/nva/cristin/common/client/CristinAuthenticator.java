@@ -1,13 +1,14 @@
 package no.unit.nva.cristin.common.client;
 
+import static java.util.Objects.nonNull;
+import static no.unit.nva.client.HttpClientProvider.configuredHttpClientBuilder;
 import static nva.commons.core.attempt.Try.attempt;
 
 import java.net.Authenticator;
 import java.net.PasswordAuthentication;
 import java.net.http.HttpClient;
-import java.net.http.HttpClient.Version;
-import java.time.Duration;
-import java.util.Base64;
+import java.util.concurrent.atomic.AtomicReference;
+import no.unit.nva.cristin.common.client.CristinCredentialsProvider.Credentials;
 import nva.commons.secrets.SecretsReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,53 +30,81 @@ public class CristinAuthenticator {
       "Using basic auth header in upstream request";
 
   /**
-   * Creates an Authenticator from credentials stored in AWS SecretsManager.
+   * The credentials shared by every client in this container, resolved from AWS SecretsManager.
+   *
+   * @return provider of Cristin credentials
+   */
+  public static CristinCredentialsProvider credentialsProvider() {
+    return CredentialsProviderHolder.CREDENTIALS_PROVIDER;
+  }
+
+  /**
+   * Creates an Authenticator from credentials stored in AWS SecretsManager. The HttpClient only
+   * asks for credentials when upstream answers 401 Unauthorized, so being asked again for
+   * credentials already given means they were rejected, and they are refreshed before answering.
    *
    * @return Authenticator from resolved credentials
    */
   private static Authenticator getBasicAuthenticator() {
 
     return new Authenticator() {
+      private final transient AtomicReference<String> givenHeader = new AtomicReference<>();
+
       @Override
       protected PasswordAuthentication getPasswordAuthentication() {
-        return new PasswordAuthentication(getUserName(), getPassWord().toCharArray());
+        var provider = credentialsProvider();
+        var previouslyGiven = givenHeader.get();
+        if (nonNull(previouslyGiven)) {
+          provider.refreshAfterRejection(previouslyGiven);
+        }
+        var credentials = provider.getCredentials();
+        givenHeader.set(provider.basicAuthHeader());
+        return new PasswordAuthentication(
+            credentials.username(), credentials.password().toCharArray());
       }
     };
   }
 
   /**
-   * Create an HTTPClient with authentication.
+   * HTTPClient with authentication, created once and shared within the container.
    *
    * @return HTTPClient with authentication
    */
   public static HttpClient getHttpClient() {
     logger.info(USING_AN_AUTHORIZED_HTTP_CLIENT);
 
-    return HttpClient.newBuilder()
-        .followRedirects(HttpClient.Redirect.ALWAYS)
-        .version(Version.HTTP_1_1)
-        .authenticator(getBasicAuthenticator())
-        .connectTimeout(Duration.ofSeconds(15))
-        .build();
+    return AuthorizedHttpClientHolder.AUTHORIZED_HTTP_CLIENT;
   }
 
   /**
-   * Create value part of a basic authHeader.
+   * Create value part of a basic authHeader from the shared credentials.
    *
    * @return String containing encoded header
    */
   public static String basicAuthHeader() {
     logger.info(USING_A_BASIC_AUTH_HEADER);
 
-    return "Basic "
-        + Base64.getEncoder().encodeToString((getUserName() + ":" + getPassWord()).getBytes());
+    return credentialsProvider().basicAuthHeader();
   }
 
-  private static String getPassWord() {
-    return attempt(() -> SECRETS_READER.fetchSecret(SECRET_NAME, PASSWORD_KEY)).orElseThrow();
+  private static Credentials readCredentialsFromSecretsManager() {
+    var username =
+        attempt(() -> SECRETS_READER.fetchSecret(SECRET_NAME, USERNAME_KEY)).orElseThrow();
+    var password =
+        attempt(() -> SECRETS_READER.fetchSecret(SECRET_NAME, PASSWORD_KEY)).orElseThrow();
+    return new Credentials(username, password);
   }
 
-  private static String getUserName() {
-    return attempt(() -> SECRETS_READER.fetchSecret(SECRET_NAME, USERNAME_KEY)).orElseThrow();
+  private static final class AuthorizedHttpClientHolder {
+
+    private static final HttpClient AUTHORIZED_HTTP_CLIENT =
+        configuredHttpClientBuilder().authenticator(getBasicAuthenticator()).build();
+  }
+
+  /** Defers reading the secret until credentials are first needed. */
+  private static final class CredentialsProviderHolder {
+
+    private static final CristinCredentialsProvider CREDENTIALS_PROVIDER =
+        new CristinCredentialsProvider(CristinAuthenticator::readCredentialsFromSecretsManager);
   }
 }
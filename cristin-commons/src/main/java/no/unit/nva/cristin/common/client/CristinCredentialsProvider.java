@@ -0,0 +1,131 @@
+package no.unit.nva.cristin.common.client;
+
+import static java.util.Objects.isNull;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Holds the credentials used in requests to Cristin API. The credentials are resolved once and
+ * kept, together with the encoded basic auth header, until the refresh interval has passed. When
+ * Cristin rejects the credentials they are resolved again, at most once per {@link
+ * #MIN_INTERVAL_BETWEEN_FORCED_REFRESHES}, so that rotated credentials are picked up without
+ * waiting for the refresh interval. If resolving fails while credentials are held, the old
+ * credentials are kept and resolving is tried again on the next request.
+ *
+ * <p>One instance should be shared by every client in the container, see {@link
+ * CristinAuthenticator#credentialsProvider()}.
+ */
+public class CristinCredentialsProvider {
+
+  private static final Logger logger = LoggerFactory.getLogger(CristinCredentialsProvider.class);
+
+  public static final Duration DEFAULT_REFRESH_INTERVAL = Duration.ofMinutes(15);
+  public static final Duration MIN_INTERVAL_BETWEEN_FORCED_REFRESHES = Duration.ofSeconds(30);
+  public static final String BASIC = "Basic ";
+  public static final String REFRESHING_CREDENTIALS_FAILED =
+      "Refreshing Cristin credentials failed, keeping the credentials held";
+  private static final String USERNAME_PASSWORD_DELIMITER = ":";
+
+  private final transient Supplier<Credentials> credentialsSource;
+  private final transient long refreshIntervalInNanos;
+  private final transient LongSupplier nanoClock;
+  private transient Credentials credentials;
+  private transient String basicAuthHeader;
+  private transient long resolvedAt;
+  private transient long lastForcedRefresh;
+
+  /**
+   * Creates a provider refreshing credentials at the default interval.
+   *
+   * @param credentialsSource resolves the credentials, e.g. from AWS SecretsManager
+   */
+  public CristinCredentialsProvider(Supplier<Credentials> credentialsSource) {
+    this(credentialsSource, DEFAULT_REFRESH_INTERVAL, System::nanoTime);
+  }
+
+  /**
+   * Creates a provider.
+   *
+   * @param credentialsSource resolves the credentials, e.g. from AWS SecretsManager
+   * @param refreshInterval how long resolved credentials are used before resolving them again
+   * @param nanoClock source of time in nanoseconds
+   */
+  public CristinCredentialsProvider(
+      Supplier<Credentials> credentialsSource, Duration refreshInterval, LongSupplier nanoClock) {
+    this.credentialsSource = credentialsSource;
+    this.refreshIntervalInNanos = refreshInterval.toNanos();
+    this.nanoClock = nanoClock;
+    this.lastForcedRefresh =
+        nanoClock.getAsLong() - MIN_INTERVAL_BETWEEN_FORCED_REFRESHES.toNanos();
+  }
+
+  /** Current credentials, resolved if missing or older than the refresh interval. */
+  public synchronized Credentials getCredentials() {
+    if (isNull(credentials)) {
+      resolve();
+    } else if (nanoClock.getAsLong() - resolvedAt >= refreshIntervalInNanos) {
+      refreshKeepingHeldOnFailure();
+    }
+    return credentials;
+  }
+
+  /** Value part of a basic auth header made from the current credentials. */
+  public synchronized String basicAuthHeader() {
+    getCredentials();
+    return basicAuthHeader;
+  }
+
+  /**
+   * Resolves the credentials again after upstream rejected a request using given header, unless
+   * they have already been refreshed since that request or were force refreshed very recently.
+   *
+   * @param rejectedHeader the basic auth header upstream answered 401 Unauthorized to
+   * @return true if the current credentials differ from the rejected ones and a retry makes sense
+   */
+  public synchronized boolean refreshAfterRejection(String rejectedHeader) {
+    var now = nanoClock.getAsLong();
+    if (rejectedHeader.equals(basicAuthHeader)
+        && now - lastForcedRefresh >= MIN_INTERVAL_BETWEEN_FORCED_REFRESHES.toNanos()) {
+      lastForcedRefresh = now;
+      refreshKeepingHeldOnFailure();
+    }
+    return !rejectedHeader.equals(basicAuthHeader);
+  }
+
+  private void refreshKeepingHeldOnFailure() {
+    try {
+      resolve();
+    } catch (RuntimeException exception) {
+      logger.warn(REFRESHING_CREDENTIALS_FAILED, exception);
+    }
+  }
+
+  private void resolve() {
+    var resolved = credentialsSource.get();
+    credentials = resolved;
+    basicAuthHeader = resolved.toBasicAuthHeader();
+    resolvedAt = nanoClock.getAsLong();
+  }
+
+  /** Username and password for Cristin API. */
+  public record Credentials(String username, String password) {
+
+    private String toBasicAuthHeader() {
+      var usernameAndPassword = username + USERNAME_PASSWORD_DELIMITER + password;
+      return BASIC
+          + Base64.getEncoder()
+              .encodeToString(usernameAndPassword.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public String toString() {
+      return "Credentials[username=" + username + ", password=****]";
+    }
+  }
+}
@@ -184,17 +184,7 @@ public class SearchResponse<E> implements JsonSerializable {
   public SearchResponse<E> usingHeadersAndQueryParams(
       HttpHeaders headers, Map<String, String> queryParams) throws BadRequestException {
 
-    this.size = getSizeHeader(headers);
-    this.firstRecord =
-        this.size > 0
-            ? indexOfFirstEntryInPageCalculatedFromParams(queryParams)
-            : FIRST_RECORD_ZERO_WHEN_NO_HITS;
-
-    int currentPage = Integer.parseInt(queryParams.get(PAGE));
-
-    if (outOfScope(currentPage)) {
-      throw new BadRequestException(String.format(ERROR_MESSAGE_PAGE_OUT_OF_SCOPE, this.size));
-    }
+    int currentPage = usingSizeAndQueryParams(getSizeHeader(headers), queryParams);
 
     String linkHeader = headers.firstValue(LINK).orElse(EMPTY_STRING);
 
@@ -209,6 +199,49 @@ public class SearchResponse<E> implements JsonSerializable {
     return this;
   }
 
+  /**
+   * Assigns value to some field values using the total number of hits and query parameters, for
+   * hits counted and paged locally instead of by upstream.
+   *
+   * @param totalCount total number of hits for the query
+   * @param queryParams the query params from request
+   * @return SearchResponse object with some field values set using the supplied parameters
+   * @throws BadRequestException if page requested is invalid
+   */
+  public SearchResponse<E> usingTotalCountAndQueryParams(
+      int totalCount, Map<String, String> queryParams) throws BadRequestException {
+
+    int currentPage = usingSizeAndQueryParams(totalCount, queryParams);
+
+    if (matchesCriteriaForNextRel(queryParams)) {
+      this.nextResults = generateIdUriWithPageFromParams(currentPage + 1, queryParams);
+    }
+
+    if (matchesCriteriaForPrevRel(currentPage)) {
+      this.previousResults = generateIdUriWithPageFromParams(currentPage - 1, queryParams);
+    }
+
+    return this;
+  }
+
+  private int usingSizeAndQueryParams(int totalCount, Map<String, String> queryParams)
+      throws BadRequestException {
+
+    this.size = totalCount;
+    this.firstRecord =
+        this.size > 0
+            ? indexOfFirstEntryInPageCalculatedFromParams(queryParams)
+            : FIRST_RECORD_ZERO_WHEN_NO_HITS;
+
+    int currentPage = Integer.parseInt(queryParams.get(PAGE));
+
+    if (outOfScope(currentPage)) {
+      throw new BadRequestException(String.format(ERROR_MESSAGE_PAGE_OUT_OF_SCOPE, this.size));
+    }
+
+    return currentPage;
+  }
+
   private boolean outOfScope(int currentPage) {
     return this.size < this.firstRecord || this.size == 0 && currentPage > 1;
   }
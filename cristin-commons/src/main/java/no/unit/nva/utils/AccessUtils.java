@@ -1,7 +1,6 @@
 package no.unit.nva.utils;
 
 import static java.net.http.HttpRequest.newBuilder;
-import static java.net.http.HttpResponse.BodyHandlers.ofString;
 import static nva.commons.apigateway.AccessRight.MANAGE_CUSTOMERS;
 import static nva.commons.apigateway.AccessRight.MANAGE_OWN_AFFILIATION;
 import static nva.commons.core.attempt.Try.attempt;
@@ -12,10 +11,8 @@ import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
-import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.Base64;
-import no.unit.nva.commons.json.JsonUtils;
 import nva.commons.apigateway.RequestInfo;
 import nva.commons.apigateway.exceptions.ForbiddenException;
 import nva.commons.core.Environment;
@@ -78,14 +75,12 @@ public class AccessUtils {
     return requestInfo.userIsAuthorized(MANAGE_CUSTOMERS);
   }
 
-  /** Fetches an internal backend token from Cognito. */
+  /**
+   * Returns an internal backend token from Cognito. The token is kept for the lifetime of the
+   * container and refreshed before it expires, see {@link BackendAccessTokenCache}.
+   */
   public static String getBackendAccessToken() throws IOException, InterruptedException {
-
-    try (var client = createHttpClient()) {
-      var response = client.send(createTokenRequest(), ofString(StandardCharsets.UTF_8));
-      var jsonTree = JsonUtils.dtoObjectMapper.readTree(response.body());
-      return jsonTree.get(ACCESS_TOKEN).textValue();
-    }
+    return BackendAccessTokenHolder.TOKEN_CACHE.getAccessToken();
   }
 
   private static HttpClient createHttpClient() {
@@ -132,4 +127,11 @@ public class AccessUtils {
   public static String getUserPoolId() {
     return new Environment().readEnv(COGNITO_USER_POOL_ID_KEY);
   }
+
+  /** Defers creating the token client until a backend token is first needed. */
+  private static final class BackendAccessTokenHolder {
+
+    private static final BackendAccessTokenCache TOKEN_CACHE =
+        new BackendAccessTokenCache(createHttpClient(), AccessUtils::createTokenRequest);
+  }
 }
@@ -0,0 +1,158 @@
+package no.unit.nva.utils;
+
+import static java.net.http.HttpResponse.BodyHandlers.ofString;
+import static java.util.Objects.isNull;
+import static no.unit.nva.utils.AccessUtils.ACCESS_TOKEN;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import no.unit.nva.commons.json.JsonUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the backend client credentials token from Cognito until shortly before it expires. A token
+ * close to expiry is still handed out while a new one is fetched in the background, and only a
+ * caller finding no usable token waits for the fetch. Concurrent callers share one fetch, and all
+ * fetches use the same HttpClient. If a background fetch fails, the held token is used until it
+ * expires and the fetch is tried again by the next caller.
+ */
+public class BackendAccessTokenCache {
+
+  private static final Logger logger = LoggerFactory.getLogger(BackendAccessTokenCache.class);
+
+  public static final String EXPIRES_IN = "expires_in";
+  public static final Duration DEFAULT_EXPIRES_IN = Duration.ofMinutes(5);
+  public static final Duration EXPIRY_MARGIN = Duration.ofSeconds(30);
+  public static final Duration PROACTIVE_REFRESH_WINDOW = Duration.ofMinutes(5);
+  public static final String TOKEN_REQUEST_FAILED = "Token request failed with status code: ";
+  public static final String BACKGROUND_REFRESH_FAILED =
+      "Refreshing backend access token in background failed, using held token";
+
+  private final transient HttpClient httpClient;
+  private final transient Supplier<HttpRequest> tokenRequest;
+  private final transient LongSupplier nanoClock;
+  private transient String accessToken;
+  private transient long expiresAt;
+  private transient CompletableFuture<String> fetchInFlight;
+
+  /**
+   * Creates a cache.
+   *
+   * @param httpClient client used for every token request
+   * @param tokenRequest creates a client credentials request to the token endpoint
+   */
+  public BackendAccessTokenCache(HttpClient httpClient, Supplier<HttpRequest> tokenRequest) {
+    this(httpClient, tokenRequest, System::nanoTime);
+  }
+
+  /**
+   * Creates a cache measuring token lifetime with given clock.
+   *
+   * @param httpClient client used for every token request
+   * @param tokenRequest creates a client credentials request to the token endpoint
+   * @param nanoClock source of time in nanoseconds
+   */
+  public BackendAccessTokenCache(
+      HttpClient httpClient, Supplier<HttpRequest> tokenRequest, LongSupplier nanoClock) {
+    this.httpClient = httpClient;
+    this.tokenRequest = tokenRequest;
+    this.nanoClock = nanoClock;
+  }
+
+  /**
+   * Returns a usable access token, waiting for a new one only when no held token is usable.
+   *
+   * @return access token
+   * @throws IOException if fetching a new token failed
+   * @throws InterruptedException if interrupted while waiting for a new token
+   */
+  public String getAccessToken() throws IOException, InterruptedException {
+    CompletableFuture<String> fetch;
+    synchronized (this) {
+      var now = nanoClock.getAsLong();
+      if (hasUsableToken(now)) {
+        if (now >= expiresAt - PROACTIVE_REFRESH_WINDOW.toNanos()) {
+          startFetch();
+        }
+        return accessToken;
+      }
+      fetch = startFetch();
+    }
+    return awaitToken(fetch);
+  }
+
+  private boolean hasUsableToken(long now) {
+    return !isNull(accessToken) && now < expiresAt - EXPIRY_MARGIN.toNanos();
+  }
+
+  private CompletableFuture<String> startFetch() {
+    if (!isNull(fetchInFlight)) {
+      return fetchInFlight;
+    }
+    var requestedAt = nanoClock.getAsLong();
+    var fetch =
+        httpClient
+            .sendAsync(tokenRequest.get(), ofString(StandardCharsets.UTF_8))
+            .thenApply(response -> storeToken(response, requestedAt));
+    fetchInFlight = fetch;
+    // May complete at once, clearing fetchInFlight again
+    fetch.whenComplete((token, failure) -> fetchCompleted(fetch, failure));
+    return fetch;
+  }
+
+  private synchronized String storeToken(HttpResponse<String> response, long requestedAt) {
+    if (response.statusCode() != HttpURLConnection.HTTP_OK) {
+      throw new CompletionException(new IOException(TOKEN_REQUEST_FAILED + response.statusCode()));
+    }
+    var json = readJson(response.body());
+    var expiresIn =
+        json.hasNonNull(EXPIRES_IN)
+            ? Duration.ofSeconds(json.get(EXPIRES_IN).asLong())
+            : DEFAULT_EXPIRES_IN;
+    accessToken = json.get(ACCESS_TOKEN).textValue();
+    // Counted from when the request was sent, the token may have been issued any time after that
+    expiresAt = requestedAt + expiresIn.toNanos();
+    return accessToken;
+  }
+
+  private synchronized void fetchCompleted(CompletableFuture<String> fetch, Throwable failure) {
+    if (fetchInFlight == fetch) {
+      fetchInFlight = null;
+    }
+    if (!isNull(failure) && !isNull(accessToken)) {
+      logger.warn(BACKGROUND_REFRESH_FAILED, failure);
+    }
+  }
+
+  private static JsonNode readJson(String body) {
+    try {
+      return JsonUtils.dtoObjectMapper.readTree(body);
+    } catch (IOException exception) {
+      throw new CompletionException(exception);
+    }
+  }
+
+  private static String awaitToken(CompletableFuture<String> fetch)
+      throws IOException, InterruptedException {
+    try {
+      return fetch.get();
+    } catch (ExecutionException exception) {
+      var cause = exception.getCause();
+      throw cause instanceof IOException ioException
+          ? ioException
+          : new IOException(cause.getMessage(), cause);
+    }
+  }
+}
@@ -12,6 +12,8 @@ import static nva.commons.core.attempt.Try.attempt;
 import java.net.URI;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
 import java.util.Map;
 import java.util.regex.Pattern;
 import nva.commons.core.paths.UriWrapper;
@@ -22,6 +24,7 @@ public final class UriUtils {
   public static final String PROJECT = "project";
   public static final String PERSON = "person";
   private static final String NATIONAL_IDENTITY_PATTERN = "national_id=(\\d+)(\\d{2})";
+  private static final String QUERY_PARAMETER_DELIMITER = "&";
 
   private UriUtils() {
     // NO-OP
@@ -127,6 +130,36 @@ public final class UriUtils {
     return URLDecoder.decode(uri, StandardCharsets.UTF_8);
   }
 
+  /**
+   * Creates a string equal for URIs addressing the same resource, having scheme and host in lower
+   * case, a normalized path, sorted query parameters and no fragment.
+   *
+   * @param uri the URI to normalize
+   * @return normalized form of the URI
+   */
+  public static String normalizeForComparison(URI uri) {
+    var normalized = uri.normalize();
+    var builder = new StringBuilder();
+    if (nonNull(normalized.getScheme())) {
+      builder.append(normalized.getScheme().toLowerCase(Locale.ROOT)).append("://");
+    }
+    if (nonNull(normalized.getRawAuthority())) {
+      builder.append(normalized.getRawAuthority().toLowerCase(Locale.ROOT));
+    }
+    if (nonNull(normalized.getRawPath())) {
+      builder.append(normalized.getRawPath());
+    }
+    if (nonNull(normalized.getRawQuery())) {
+      var sortedParameters =
+          Arrays.stream(normalized.getRawQuery().split(QUERY_PARAMETER_DELIMITER))
+              .filter(parameter -> !parameter.isEmpty())
+              .sorted()
+              .toList();
+      builder.append('?').append(String.join(QUERY_PARAMETER_DELIMITER, sortedParameters));
+    }
+    return builder.toString();
+  }
+
   public static String maskSensitiveData(URI uri) {
     var pattern = Pattern.compile(NATIONAL_IDENTITY_PATTERN);
     var matcher = pattern.matcher(uri.toString());
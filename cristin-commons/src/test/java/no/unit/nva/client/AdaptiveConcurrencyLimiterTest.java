@@ -0,0 +1,115 @@
+package no.unit.nva.client;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimiterTest {
+
+  private static final String OK = "ok";
+  private static final String OVERLOADED = "overloaded";
+  private static final int INITIAL_LIMIT = 4;
+  private static final LongSupplier FIXED_CLOCK = () -> 0L;
+  private static final long FAST_CALL_NANOS = 1_000_000L;
+
+  @Test
+  void shouldQueueCallsOverLimitAndStartThemWhenPermitsAreReleased() {
+    var limiter = new AdaptiveConcurrencyLimiter(INITIAL_LIMIT, 1, INITIAL_LIMIT, FIXED_CLOCK);
+    var upstream = new ArrayList<CompletableFuture<String>>();
+
+    var results = submit(limiter, upstream, INITIAL_LIMIT + 2);
+
+    assertThat(upstream.size(), equalTo(INITIAL_LIMIT));
+    assertThat(limiter.getInFlight(), equalTo(INITIAL_LIMIT));
+    assertThat(limiter.getQueued(), equalTo(2));
+
+    upstream.getFirst().complete(OK);
+
+    assertThat(results.getFirst().isDone(), is(true));
+    assertThat(upstream.size(), equalTo(INITIAL_LIMIT + 1));
+    assertThat(limiter.getQueued(), equalTo(1));
+  }
+
+  @Test
+  void shouldIncreaseLimitWhenCallsSucceedAtFullConcurrency() {
+    var limiter = new AdaptiveConcurrencyLimiter(INITIAL_LIMIT, 1, 100, FIXED_CLOCK);
+    var upstream = new ArrayList<CompletableFuture<String>>();
+
+    submit(limiter, upstream, INITIAL_LIMIT);
+    upstream.forEach(call -> call.complete(OK));
+
+    assertThat(limiter.getLimit(), greaterThan(INITIAL_LIMIT));
+    assertThat(limiter.getInFlight(), equalTo(0));
+  }
+
+  @Test
+  void shouldDecreaseLimitWhenUpstreamIsOverloaded() {
+    var limiter = new AdaptiveConcurrencyLimiter(INITIAL_LIMIT * 4, 1, 100, FIXED_CLOCK);
+    var upstream = new ArrayList<CompletableFuture<String>>();
+
+    submit(limiter, upstream, INITIAL_LIMIT);
+    upstream.forEach(call -> call.complete(OVERLOADED));
+
+    assertThat(limiter.getLimit(), lessThan(INITIAL_LIMIT * 4));
+  }
+
+  @Test
+  void shouldDecreaseLimitWhenCallFails() {
+    var limiter = new AdaptiveConcurrencyLimiter(INITIAL_LIMIT * 4, 1, 100, FIXED_CLOCK);
+    var upstream = new ArrayList<CompletableFuture<String>>();
+
+    var results = submit(limiter, upstream, 1);
+    upstream.getFirst().completeExceptionally(new IllegalStateException());
+
+    assertThat(results.getFirst().isCompletedExceptionally(), is(true));
+    assertThat(limiter.getLimit(), lessThan(INITIAL_LIMIT * 4));
+    assertThat(limiter.getInFlight(), equalTo(0));
+  }
+
+  @Test
+  void shouldDecreaseLimitWhenUpstreamLatencyGrows() {
+    var clock = new AtomicLong();
+    var limiter = new AdaptiveConcurrencyLimiter(INITIAL_LIMIT * 4, 1, 100, clock::get);
+    var upstream = new ArrayList<CompletableFuture<String>>();
+
+    submit(limiter, upstream, INITIAL_LIMIT * 4);
+    clock.addAndGet(FAST_CALL_NANOS);
+    upstream.getFirst().complete(OK);
+    var limitAfterFastCall = limiter.getLimit();
+    clock.addAndGet(FAST_CALL_NANOS * 100);
+    upstream.forEach(call -> call.complete(OK));
+
+    assertThat(limiter.getLimit(), lessThan(limitAfterFastCall));
+  }
+
+  @Test
+  void shouldRejectInvalidLimits() {
+    assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(1, 2, 3));
+  }
+
+  private static List<CompletableFuture<String>> submit(
+      AdaptiveConcurrencyLimiter limiter, List<CompletableFuture<String>> upstream, int calls) {
+    return IntStream.range(0, calls)
+        .mapToObj(
+            ignored ->
+                limiter.submit(
+                    () -> {
+                      var call = new CompletableFuture<String>();
+                      upstream.add(call);
+                      return call;
+                    },
+                    OVERLOADED::equals))
+        .toList();
+  }
+}
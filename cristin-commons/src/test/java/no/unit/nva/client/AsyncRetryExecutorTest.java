@@ -0,0 +1,88 @@
+package no.unit.nva.client;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AsyncRetryExecutorTest {
+
+  private static final String SERVER_ERROR = "server error";
+  private static final String OK = "ok";
+  private static final int MAX_ATTEMPTS = 3;
+
+  private AsyncRetryExecutor executor;
+  private Retry retry;
+  private AtomicInteger attempts;
+
+  @BeforeEach
+  void setup() {
+    executor = AsyncRetryExecutor.withDaemonScheduler();
+    retry =
+        Retry.of(
+            "test",
+            RetryConfig.<String>custom()
+                .maxAttempts(MAX_ATTEMPTS)
+                .waitDuration(Duration.ofMillis(10))
+                .retryOnResult(SERVER_ERROR::equals)
+                .retryExceptions(Exception.class)
+                .build());
+    attempts = new AtomicInteger();
+  }
+
+  @Test
+  void shouldRetryWhenResultOfCompletedFutureIsRejected() throws Exception {
+    var result = executor.execute(retry, respondWith(SERVER_ERROR, SERVER_ERROR, OK));
+
+    assertThat(result.get(), equalTo(OK));
+    assertThat(attempts.get(), equalTo(MAX_ATTEMPTS));
+  }
+
+  @Test
+  void shouldReturnLastResultWhenAllAttemptsAreRejected() throws Exception {
+    var result = executor.execute(retry, respondWith(SERVER_ERROR, SERVER_ERROR, SERVER_ERROR));
+
+    assertThat(result.get(), equalTo(SERVER_ERROR));
+    assertThat(attempts.get(), equalTo(MAX_ATTEMPTS));
+  }
+
+  @Test
+  void shouldNotBlockCallerWhileWaitingForAttemptToComplete() throws Exception {
+    var pending = new CompletableFuture<String>();
+    var result = executor.execute(retry, () -> pending);
+
+    assertThat(result.isDone(), is(false));
+    pending.complete(OK);
+    assertThat(result.get(), equalTo(OK));
+  }
+
+  @Test
+  void shouldReportFailureToStartCallThroughFuture() {
+    Supplier<CompletableFuture<String>> failingCall =
+        () -> {
+          attempts.incrementAndGet();
+          throw new IllegalStateException();
+        };
+
+    var result = executor.execute(retry, failingCall);
+
+    var exception = assertThrows(ExecutionException.class, result::get);
+    assertThat(exception.getCause(), instanceOf(IllegalStateException.class));
+    assertThat(attempts.get(), equalTo(MAX_ATTEMPTS));
+  }
+
+  private Supplier<CompletableFuture<String>> respondWith(String... responses) {
+    return () -> CompletableFuture.completedFuture(responses[attempts.getAndIncrement()]);
+  }
+}
@@ -0,0 +1,64 @@
+package no.unit.nva.client;
+
+import static no.unit.nva.client.HttpClientSettings.CONNECTION_POOL_SIZE_ENV;
+import static no.unit.nva.client.HttpClientSettings.CONNECT_TIMEOUT_SECONDS_ENV;
+import static no.unit.nva.client.HttpClientSettings.HTTP_VERSION_ENV;
+import static no.unit.nva.client.HttpClientSettings.KEEP_ALIVE_TIMEOUT_SECONDS_ENV;
+import static no.unit.nva.client.HttpClientSettings.MAX_STREAMS_ENV;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.net.http.HttpClient.Version;
+import java.time.Duration;
+import java.util.Optional;
+import nva.commons.core.Environment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class HttpClientSettingsTest {
+
+  private Environment environment;
+
+  @BeforeEach
+  void setup() {
+    environment = mock(Environment.class);
+    when(environment.readEnvOpt(anyString())).thenReturn(Optional.empty());
+  }
+
+  @Test
+  void shouldUseDefaultsWhenNothingIsSetInEnvironment() {
+    assertThat(
+        HttpClientSettings.fromEnvironment(environment), equalTo(HttpClientSettings.defaults()));
+  }
+
+  @Test
+  void shouldReadSettingsFromEnvironment() {
+    when(environment.readEnvOpt(HTTP_VERSION_ENV)).thenReturn(Optional.of("HTTP_1_1"));
+    when(environment.readEnvOpt(CONNECT_TIMEOUT_SECONDS_ENV)).thenReturn(Optional.of("5"));
+    when(environment.readEnvOpt(KEEP_ALIVE_TIMEOUT_SECONDS_ENV)).thenReturn(Optional.of(" 60 "));
+    when(environment.readEnvOpt(CONNECTION_POOL_SIZE_ENV)).thenReturn(Optional.of("20"));
+    when(environment.readEnvOpt(MAX_STREAMS_ENV)).thenReturn(Optional.of("50"));
+
+    var settings = HttpClientSettings.fromEnvironment(environment);
+
+    assertThat(
+        settings,
+        equalTo(
+            new HttpClientSettings(
+                Version.HTTP_1_1, Duration.ofSeconds(5), Duration.ofSeconds(60), 20, 50)));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"-1", "abc", "1.5", ""})
+  void shouldFallBackToDefaultForInvalidValues(String value) {
+    when(environment.readEnvOpt(anyString())).thenReturn(Optional.of(value));
+
+    assertThat(
+        HttpClientSettings.fromEnvironment(environment), equalTo(HttpClientSettings.defaults()));
+  }
+}
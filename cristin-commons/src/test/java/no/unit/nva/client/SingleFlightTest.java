@@ -0,0 +1,91 @@
+package no.unit.nva.client;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+  private static final String KEY = "https://api.cristin-test.uio.no/v2/units/185.90.0.0";
+
+  private SingleFlight<String, String> singleFlight;
+  private AtomicInteger calls;
+  private CompletableFuture<String> pending;
+
+  @BeforeEach
+  void setup() {
+    singleFlight = new SingleFlight<>();
+    calls = new AtomicInteger();
+    pending = new CompletableFuture<>();
+  }
+
+  @Test
+  void shouldShareCallInFlightBetweenCallersWithSameKey() throws Exception {
+    var first = singleFlight.execute(KEY, this::pendingCall);
+    var second = singleFlight.execute(KEY, this::pendingCall);
+    pending.complete("result");
+
+    assertThat(first.get(), equalTo("result"));
+    assertThat(second.get(), equalTo("result"));
+    assertThat(calls.get(), equalTo(1));
+    assertThat(singleFlight.getStartedCount(), equalTo(1L));
+    assertThat(singleFlight.getCoalescedCount(), equalTo(1L));
+  }
+
+  @Test
+  void shouldStartNewCallWhenPreviousCallHasCompleted() throws Exception {
+    singleFlight.execute(KEY, () -> completedCall("first")).get();
+
+    var second = singleFlight.execute(KEY, () -> completedCall("second"));
+
+    assertThat(second.get(), equalTo("second"));
+    assertThat(calls.get(), equalTo(2));
+    assertThat(singleFlight.getInFlightCount(), equalTo(0));
+  }
+
+  @Test
+  void shouldNotShareCallsWithDifferentKeys() {
+    singleFlight.execute(KEY, this::pendingCall);
+    singleFlight.execute(KEY + "/subunits", this::pendingCall);
+
+    assertThat(calls.get(), equalTo(2));
+    assertThat(singleFlight.getInFlightCount(), equalTo(2));
+  }
+
+  @Test
+  void shouldPassFailureToEveryCallerAndReleaseKey() {
+    var first = singleFlight.execute(KEY, this::pendingCall);
+    var second = singleFlight.execute(KEY, this::pendingCall);
+    pending.completeExceptionally(new IllegalStateException());
+
+    assertThrows(ExecutionException.class, first::get);
+    assertThrows(ExecutionException.class, second::get);
+    assertThat(singleFlight.getInFlightCount(), equalTo(0));
+  }
+
+  @Test
+  void shouldNotAffectOtherCallersWhenOneCallerCancels() throws Exception {
+    var first = singleFlight.execute(KEY, this::pendingCall);
+    var second = singleFlight.execute(KEY, this::pendingCall);
+    first.cancel(true);
+    pending.complete("result");
+
+    assertThat(second.get(), equalTo("result"));
+  }
+
+  private CompletableFuture<String> pendingCall() {
+    calls.incrementAndGet();
+    return pending;
+  }
+
+  private CompletableFuture<String> completedCall(String result) {
+    calls.incrementAndGet();
+    return CompletableFuture.completedFuture(result);
+  }
+}
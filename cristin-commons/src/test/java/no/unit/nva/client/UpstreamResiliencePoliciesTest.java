@@ -0,0 +1,94 @@
+package no.unit.nva.client;
+
+import static no.unit.nva.client.UpstreamResiliencePolicies.BULKHEAD_MAX_CONCURRENT_CALLS;
+import static no.unit.nva.client.UpstreamResiliencePolicies.DEFAULT_ENDPOINT;
+import static no.unit.nva.testutils.RandomDataGenerator.randomUri;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class UpstreamResiliencePoliciesTest {
+
+  private UpstreamResiliencePolicies policies;
+
+  @BeforeEach
+  void setup() {
+    policies = new UpstreamResiliencePolicies("/v2");
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+    "https://api.cristin-test.uio.no/v2/persons/12345?lang=en, persons",
+    "https://api.cristin-test.uio.no/v2/persons?name=Ola, persons",
+    "https://api.cristin-test.uio.no/v2/persons/orcid, persons/orcid",
+    "https://api.cristin-test.uio.no/v2/persons/affiliations/positions, "
+        + "persons/affiliations/positions",
+    "https://api.cristin-test.uio.no/v2/projects/categories, projects/categories",
+    "https://api.cristin-test.uio.no/v2/projects/123, projects",
+    "https://api.cristin-test.uio.no/v2/units?parent_unit_id=185.90.0.0, units",
+    "https://api.cristin-test.uio.no/v2/fundings/sources, fundings/sources",
+    "https://api.cristin-test.uio.no/v2/personsOther, default",
+    "https://api.cristin-test.uio.no/v2, default"
+  })
+  void shouldResolveEndpointFromCristinPath(String uri, String expectedEndpoint) {
+    assertThat(policies.endpointOf(URI.create(uri)), equalTo(expectedEndpoint));
+  }
+
+  @Test
+  void shouldUseDefaultEndpointForUnknownUris() {
+    assertThat(policies.endpointOf(randomUri()), equalTo(DEFAULT_ENDPOINT));
+    assertThat(policies.endpointOf(null), equalTo(DEFAULT_ENDPOINT));
+  }
+
+  @Test
+  void shouldReuseSamePolicyForRequestsToSameEndpoint() {
+    var first = policies.forUri(URI.create("https://api.cristin-test.uio.no/v2/persons/1"));
+    var second = policies.forUri(URI.create("https://api.cristin-test.uio.no/v2/persons/2"));
+
+    assertThat(first, sameInstance(second));
+    assertThat(first.getRetry(), sameInstance(policies.getRetryRegistry().retry("persons")));
+  }
+
+  @Test
+  void shouldKeepSeparatePoliciesPerEndpoint() {
+    var persons = policies.forEndpoint("persons");
+    var projects = policies.forEndpoint("projects");
+
+    assertThat(persons.getCircuitBreaker(), not(sameInstance(projects.getCircuitBreaker())));
+    assertThat(persons.getBulkhead(), not(sameInstance(projects.getBulkhead())));
+    assertThat(persons.getRetry(), not(sameInstance(persons.getAsyncRetry())));
+  }
+
+  @Test
+  void shouldFailAsyncCallAtOnceInsteadOfWaitingWhenBulkheadIsFull() {
+    var decorated =
+        policies.forEndpoint("persons").decorateCompletableFuture(CompletableFuture<String>::new);
+    for (var call = 0; call < BULKHEAD_MAX_CONCURRENT_CALLS; call++) {
+      decorated.get();
+    }
+
+    var rejected = decorated.get();
+
+    var exception = assertThrows(ExecutionException.class, rejected::get);
+    assertThat(exception.getCause(), instanceOf(BulkheadFullException.class));
+  }
+
+  @Test
+  void shouldShareDefaultPoliciesWithinContainer() {
+    assertThat(
+        UpstreamResiliencePolicies.defaultPolicies(),
+        sameInstance(UpstreamResiliencePolicies.defaultPolicies()));
+  }
+}
@@ -0,0 +1,28 @@
+package no.unit.nva.cristin.common;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import org.junit.jupiter.api.Test;
+
+class Sha256Test {
+
+  private static final String ABC_DIGEST =
+      "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+
+  @Test
+  void shouldHexEncodeDigestOfBytes() {
+    assertThat(Sha256.hexOf("abc".getBytes(UTF_8)), equalTo(ABC_DIGEST));
+  }
+
+  @Test
+  void shouldHexEncodeDigestOfBytesGivenSoFarAndResetDigest() {
+    var digest = Sha256.newDigest();
+    digest.update("ab".getBytes(UTF_8));
+    digest.update("c".getBytes(UTF_8));
+
+    assertThat(Sha256.hexOf(digest), equalTo(ABC_DIGEST));
+    assertThat(Sha256.hexOf(digest), equalTo(Sha256.hexOf(new byte[0])));
+  }
+}
@@ -0,0 +1,117 @@
+package no.unit.nva.cristin.common.cache;
+
+import static no.unit.nva.cristin.common.cache.CacheScope.AUTHORIZED;
+import static no.unit.nva.cristin.common.cache.CacheScope.OPEN;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.aMapWithSize;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.lessThan;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EntityCacheTest {
+
+  private static final Duration TIME_TO_LIVE = Duration.ofMinutes(5);
+  private static final long MAX_WEIGHT_IN_BYTES = 1024 * 1024;
+
+  private AtomicLong clock;
+  private EntityCache<TestEntity> cache;
+
+  @BeforeEach
+  void setup() {
+    clock = new AtomicLong();
+    cache = new EntityCache<>(TestEntity.class, MAX_WEIGHT_IN_BYTES, TIME_TO_LIVE, clock::get);
+  }
+
+  @Test
+  void shouldReturnCachedEntityFromSameScopeOnly() {
+    var entity = new TestEntity("1", null);
+    cache.put(OPEN, "1", entity);
+
+    assertThat(cache.get(OPEN, "1"), equalTo(Optional.of(entity)));
+    assertThat(cache.get(AUTHORIZED, "1"), equalTo(Optional.empty()));
+  }
+
+  @Test
+  void shouldReturnOnlyCachedEntitiesWhenGettingMany() {
+    cache.put(OPEN, "1", new TestEntity("1", null));
+    cache.put(OPEN, "3", new TestEntity("3", null));
+
+    var cached = cache.getAll(OPEN, List.of("1", "2", "3"));
+
+    assertThat(cached, aMapWithSize(2));
+    assertThat(cached, hasEntry("3", new TestEntity("3", null)));
+    assertThat(cache.getHitCount(), equalTo(2L));
+    assertThat(cache.getMissCount(), equalTo(1L));
+  }
+
+  @Test
+  void shouldExpireEntitiesAfterTimeToLive() {
+    cache.put(OPEN, "1", new TestEntity("1", null));
+    clock.addAndGet(TIME_TO_LIVE.minusSeconds(1).toNanos());
+
+    assertThat(cache.get(OPEN, "1").isPresent(), equalTo(true));
+
+    clock.addAndGet(Duration.ofSeconds(2).toNanos());
+
+    assertThat(cache.get(OPEN, "1").isPresent(), equalTo(false));
+  }
+
+  @Test
+  void shouldEvictEntitiesWhenSerializedSizeExceedsMaxWeight() {
+    var smallCache = new EntityCache<>(TestEntity.class, 10_000, TIME_TO_LIVE, clock::get);
+    var largeValue = "x".repeat(1000);
+
+    IntStream.range(0, 50)
+        .mapToObj(String::valueOf)
+        .forEach(id -> smallCache.put(OPEN, id, new TestEntity(id, largeValue)));
+
+    assertThat(smallCache.getEvictionCount(), greaterThan(0L));
+    assertThat(smallCache.getEstimatedSize(), lessThan(10L));
+  }
+
+  @Test
+  void shouldNotReturnInvalidatedEntity() {
+    cache.put(AUTHORIZED, "1", new TestEntity("1", null));
+    cache.invalidate(AUTHORIZED, "1");
+
+    assertThat(cache.get(AUTHORIZED, "1").isPresent(), equalTo(false));
+  }
+
+  @Test
+  void shouldHandOutCopiesSoChangesDoNotReachLaterRequests() {
+    var entity = new MutableEntity();
+    entity.setName("original");
+    var mutableCache =
+        new EntityCache<>(MutableEntity.class, MAX_WEIGHT_IN_BYTES, TIME_TO_LIVE, clock::get);
+    mutableCache.put(OPEN, "1", entity);
+
+    entity.setName("changed before read");
+    mutableCache.get(OPEN, "1").orElseThrow().setName("changed by first request");
+
+    assertThat(mutableCache.get(OPEN, "1").orElseThrow().getName(), equalTo("original"));
+  }
+
+  private record TestEntity(String id, String value) {}
+
+  private static final class MutableEntity {
+
+    private String name;
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package no.unit.nva.cristin.common.cache;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class IdentityResolutionCacheTest {
+
+  private static final Duration TIME_TO_LIVE = Duration.ofMinutes(5);
+  private static final String IDENTITY_NUMBER = "07117631634";
+  private static final String OTHER_IDENTITY_NUMBER = "07117631635";
+  private static final String CRISTIN_IDENTIFIER = "359084";
+
+  private AtomicLong clock;
+  private IdentityResolutionCache cache;
+
+  @BeforeEach
+  void setup() {
+    clock = new AtomicLong();
+    cache = new IdentityResolutionCache(100, TIME_TO_LIVE, clock::get);
+  }
+
+  @Test
+  void shouldResolveRememberedIdentifierAndCountHitsAndMisses() {
+    cache.put(IDENTITY_NUMBER, CRISTIN_IDENTIFIER);
+
+    assertThat(cache.get(IDENTITY_NUMBER), equalTo(Optional.of(CRISTIN_IDENTIFIER)));
+    assertThat(cache.get(OTHER_IDENTITY_NUMBER), equalTo(Optional.empty()));
+    assertThat(cache.getHitCount(), equalTo(1L));
+    assertThat(cache.getMissCount(), equalTo(1L));
+    assertThat(cache.getHitRate(), equalTo(0.5));
+  }
+
+  @Test
+  void shouldForgetIdentifierAfterTimeToLiveOrWhenInvalidated() {
+    cache.put(IDENTITY_NUMBER, CRISTIN_IDENTIFIER);
+    cache.put(OTHER_IDENTITY_NUMBER, CRISTIN_IDENTIFIER);
+
+    cache.invalidate(OTHER_IDENTITY_NUMBER);
+    assertThat(cache.get(OTHER_IDENTITY_NUMBER), equalTo(Optional.empty()));
+
+    clock.addAndGet(TIME_TO_LIVE.toNanos());
+    assertThat(cache.get(IDENTITY_NUMBER), equalTo(Optional.empty()));
+  }
+
+  @Test
+  void shouldNotShowIdentifiersWhenLogged() {
+    cache.put(IDENTITY_NUMBER, CRISTIN_IDENTIFIER);
+    cache.get(IDENTITY_NUMBER);
+
+    var logged = cache.toString();
+
+    assertThat(logged, not(containsString(IDENTITY_NUMBER)));
+    assertThat(logged, not(containsString(CRISTIN_IDENTIFIER)));
+    assertThat(logged, containsString("hitRate=1.00"));
+  }
+}
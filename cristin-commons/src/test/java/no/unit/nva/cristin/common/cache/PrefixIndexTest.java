@@ -0,0 +1,64 @@
+package no.unit.nva.cristin.common.cache;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class PrefixIndexTest {
+
+  private static final Map<String, String> NFR =
+      Map.of("nb", "Norges forskningsråd", "en", "Research Council of Norway");
+  private static final Map<String, String> H2020 = Map.of("en", "EC/H2020");
+  private static final Map<String, String> UNNAMED = Map.of();
+  private static final List<Map<String, String>> ENTRIES = List.of(NFR, H2020, UNNAMED);
+
+  @Test
+  void shouldFindEntriesByStartOfAnyWordInAnyNameIgnoringCase() {
+    var index = PrefixIndex.of(ENTRIES, Map::values);
+
+    assertThat(index.search("NORWAY"), contains(NFR));
+    assertThat(index.search("forsk"), contains(NFR));
+    assertThat(index.search("h20"), contains(H2020));
+    assertThat(index.search("orway"), empty());
+  }
+
+  @Test
+  void shouldMatchPrefixSpanningSeveralWordsAndReturnEachEntryOnce() {
+    var index = PrefixIndex.of(ENTRIES, Map::values);
+
+    assertThat(index.search("council of n"), contains(NFR));
+    assertThat(index.search("no"), contains(NFR));
+  }
+
+  @Test
+  void shouldReturnMatchesInOrderOfEntriesIndexed() {
+    var index = PrefixIndex.of(List.of(H2020, NFR), Map::values);
+
+    assertThat(index.search("e"), contains(H2020));
+    assertThat(index.search("r"), contains(NFR));
+    assertThat(PrefixIndex.of(List.of(NFR, H2020), Map::values).search("e"), contains(H2020));
+  }
+
+  @Test
+  void shouldReturnAllEntriesForBlankPrefixAndKnowListItWasBuiltFrom() {
+    var index = PrefixIndex.of(ENTRIES, Map::values);
+
+    assertThat(index.search(" "), sameInstance(ENTRIES));
+    assertThat(index.isBuiltFrom(ENTRIES), equalTo(true));
+    assertThat(index.isBuiltFrom(List.of(NFR, H2020, UNNAMED)), equalTo(false));
+  }
+
+  @Test
+  void shouldMatchNamesWrittenWithCombiningCharacters() {
+    var decomposed = Map.of("nb", "Forskningsra\u030Ad");
+    var index = PrefixIndex.of(List.of(decomposed), Map::values);
+
+    assertThat(index.search("forskningsr\u00E5d"), contains(decomposed));
+  }
+}
@@ -0,0 +1,154 @@
+package no.unit.nva.cristin.common.cache;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import nva.commons.apigateway.exceptions.ApiGatewayException;
+import nva.commons.apigateway.exceptions.BadGatewayException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ReferenceDataCacheTest {
+
+  private static final Duration REFRESH_AFTER = Duration.ofMinutes(15);
+  private static final Duration MAX_AGE = Duration.ofHours(24);
+  private static final String NAME = "countries";
+
+  private AtomicLong clock;
+  private AtomicInteger loads;
+  private Queue<Runnable> pendingLoads;
+  private Queue<List<String>> upstreamLists;
+  private boolean deferLoads;
+  private ReferenceDataCache<String> cache;
+
+  @BeforeEach
+  void setup() {
+    clock = new AtomicLong();
+    loads = new AtomicInteger();
+    pendingLoads = new ArrayDeque<>();
+    upstreamLists = new ArrayDeque<>();
+    cache =
+        new ReferenceDataCache<>(
+            NAME,
+            this::loadFromUpstream,
+            entry -> entry.substring(0, 2),
+            REFRESH_AFTER,
+            MAX_AGE,
+            this::runLoad,
+            clock::get);
+  }
+
+  @Test
+  void shouldLoadListOnceAndLookUpEntriesByCode() throws ApiGatewayException {
+    upstreamLists.add(List.of("NO-Norway", "SE-Sweden", "NO-Duplicate"));
+
+    var list = cache.getAll();
+    var norway = cache.get("NO");
+    var unknown = cache.get("XX");
+
+    assertThat(list, contains("NO-Norway", "SE-Sweden", "NO-Duplicate"));
+    assertThat(norway, equalTo(Optional.of("NO-Norway")));
+    assertThat(unknown, equalTo(Optional.empty()));
+    assertThat(loads.get(), equalTo(1));
+  }
+
+  @Test
+  void shouldCreateLazyCacheOnceWithLoaderGivenOnFirstUse() throws ApiGatewayException {
+    var lazy = ReferenceDataCache.<String>lazy(NAME, entry -> entry.substring(0, 2));
+
+    var first = lazy.get(() -> List.of("NO-Norway"));
+    var second = lazy.get(() -> List.of("SE-Sweden"));
+
+    assertThat(second, sameInstance(first));
+    assertThat(second.getAll(), contains("NO-Norway"));
+  }
+
+  @Test
+  void shouldHandOutHeldListWhileRefreshingInBackground() throws ApiGatewayException {
+    upstreamLists.add(List.of("NO-Norway"));
+    upstreamLists.add(List.of("NO-Norway", "SE-Sweden"));
+    cache.getAll();
+    clock.addAndGet(REFRESH_AFTER.toNanos());
+    deferLoads = true;
+
+    assertThat(cache.getAll(), contains("NO-Norway"));
+    assertThat(cache.getAll(), contains("NO-Norway"));
+    assertThat(pendingLoads.size(), equalTo(1));
+
+    pendingLoads.poll().run();
+
+    assertThat(cache.getAll(), contains("NO-Norway", "SE-Sweden"));
+    assertThat(loads.get(), equalTo(2));
+  }
+
+  @Test
+  void shouldStartLoadWithoutWaitingWhenAskedForListIfLoaded() {
+    upstreamLists.add(List.of("NO-Norway"));
+    deferLoads = true;
+
+    assertThat(cache.getAllIfLoaded(), equalTo(Optional.empty()));
+    assertThat(cache.getAllIfLoaded(), equalTo(Optional.empty()));
+    assertThat(pendingLoads.size(), equalTo(1));
+
+    pendingLoads.poll().run();
+
+    assertThat(cache.getAllIfLoaded(), equalTo(Optional.of(List.of("NO-Norway"))));
+    assertThat(loads.get(), equalTo(1));
+  }
+
+  @Test
+  void shouldKeepHeldListWhenBackgroundRefreshFails() throws ApiGatewayException {
+    upstreamLists.add(List.of("NO-Norway"));
+    cache.getAll();
+    clock.addAndGet(REFRESH_AFTER.toNanos());
+    deferLoads = true;
+
+    cache.getAll();
+    pendingLoads.poll().run();
+
+    assertThat(cache.get("NO"), equalTo(Optional.of("NO-Norway")));
+    assertThat(loads.get(), equalTo(2));
+  }
+
+  @Test
+  void shouldThrowWhenNoListIsHeldAndLoadFails() {
+    assertThrows(BadGatewayException.class, () -> cache.getAll());
+  }
+
+  @Test
+  void shouldWaitForNewListWhenHeldListIsPastMaximumAge() throws ApiGatewayException {
+    upstreamLists.add(List.of("NO-Norway"));
+    cache.getAll();
+    clock.addAndGet(MAX_AGE.toNanos());
+    upstreamLists.add(List.of("SE-Sweden"));
+
+    assertThat(cache.getAll(), contains("SE-Sweden"));
+  }
+
+  private void runLoad(Runnable load) {
+    if (deferLoads) {
+      pendingLoads.add(load);
+    } else {
+      load.run();
+    }
+  }
+
+  private List<String> loadFromUpstream() throws ApiGatewayException {
+    loads.incrementAndGet();
+    var list = upstreamLists.poll();
+    if (list == null) {
+      throw new BadGatewayException("Upstream is unavailable");
+    }
+    return list;
+  }
+}
@@ -13,13 +13,20 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import no.unit.nva.cristin.common.client.CristinCredentialsProvider.Credentials;
 import no.unit.nva.exception.FailedHttpRequestException;
+import nva.commons.apigateway.exceptions.BadGatewayException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -111,10 +118,113 @@ class ApiClientTest {
   void shouldThrowCorrectExceptionWhenAllAttemptsFailAsync() {
     mockResponseThatThrowsExceptionOnAllRequestsAsync();
 
-    assertThrows(RuntimeException.class, () -> apiClient.fetchGetResultAsync(randomUri()).get());
+    var response = apiClient.fetchGetResultAsync(randomUri());
+
+    assertThrows(ExecutionException.class, response::get);
     verify(httpClient, times(3)).sendAsync(any(), any());
   }
 
+  @Test
+  void shouldSendIdenticalConcurrentAsyncRequestsOnlyOnce() throws Exception {
+    var pendingResponse = new CompletableFuture<HttpResponse<String>>();
+    doReturn(pendingResponse).when(httpClient).sendAsync(any(), any());
+    var uri = randomUri();
+
+    var first = apiClient.fetchGetResultAsync(uri);
+    var second = apiClient.fetchGetResultAsync(uri);
+    pendingResponse.complete(okResponse);
+
+    assertThat(first.get().body(), equalTo(EMPTY_ARRAY));
+    assertThat(second.get().body(), equalTo(EMPTY_ARRAY));
+    verify(httpClient, times(1)).sendAsync(any(), any());
+  }
+
+  @Test
+  void shouldNotShareAsyncRequestsWithDifferentCredentials() throws Exception {
+    var pendingResponse = new CompletableFuture<HttpResponse<String>>();
+    doReturn(pendingResponse).when(httpClient).sendAsync(any(), any());
+    var uri = randomUri();
+
+    var open = apiClient.fetchGetResultAsync(uri);
+    var authenticated = apiClient.authenticatedFetchGetResultAsync(uri);
+    pendingResponse.complete(okResponse);
+    open.get();
+    authenticated.get();
+
+    verify(httpClient, times(2)).sendAsync(any(), any());
+  }
+
+  @Test
+  void shouldResendAuthenticatedRequestWithRefreshedCredentialsWhenRejected() throws Exception {
+    var unauthorized = createUnauthorizedResponse();
+    doReturn(completedFuture(unauthorized), completedFuture(okResponse))
+        .when(httpClient)
+        .sendAsync(any(), any());
+    var resolveCount = new AtomicInteger();
+    var credentials =
+        new CristinCredentialsProvider(
+            () -> new Credentials(randomString(), "password-" + resolveCount.incrementAndGet()));
+    apiClient =
+        new ApiClient(httpClient) {
+          @Override
+          protected CristinCredentialsProvider credentialsProvider() {
+            return credentials;
+          }
+        };
+
+    var response = apiClient.authenticatedFetchGetResultAsync(randomUri()).get();
+
+    assertThat(response.statusCode(), equalTo(HttpURLConnection.HTTP_OK));
+    assertThat(resolveCount.get(), equalTo(2));
+    verify(httpClient, times(2)).sendAsync(any(), any());
+  }
+
+  @Test
+  void shouldDeserializeResponseBodyGivenAsStringBytesOrStream() throws Exception {
+    var json = "[\"Bokmål\",\"Nynorsk\"]";
+    var bytes = json.getBytes(StandardCharsets.UTF_8);
+    var expected = new String[] {"Bokmål", "Nynorsk"};
+
+    assertThat(
+        apiClient.getDeserializedResponse(responseWithBody(json), String[].class),
+        equalTo(expected));
+    assertThat(
+        apiClient.getDeserializedResponse(responseWithBody(bytes), String[].class),
+        equalTo(expected));
+    assertThat(
+        apiClient.getDeserializedResponse(
+            responseWithBody(new ByteArrayInputStream(bytes)), String[].class),
+        equalTo(expected));
+  }
+
+  @Test
+  void shouldThrowBadGatewayWhenResponseBytesCannotBeDeserialized() {
+    var response = responseWithBody("not json".getBytes(StandardCharsets.UTF_8));
+
+    assertThrows(
+        BadGatewayException.class,
+        () -> apiClient.getDeserializedResponse(response, String[].class));
+    assertThat(ApiClient.bodyAsString(response), equalTo("not json"));
+  }
+
+  @Test
+  void shouldFetchResponseBodyAsBytes() throws Exception {
+    var response = responseWithBody(EMPTY_ARRAY.getBytes(StandardCharsets.UTF_8));
+    doReturn(response).when(httpClient).send(any(), any());
+
+    var fetched = apiClient.fetchGetResultAsBytes(randomUri());
+
+    assertThat(apiClient.getDeserializedResponse(fetched, String[].class), equalTo(new String[0]));
+  }
+
+  private static <T> HttpResponse<T> responseWithBody(T body) {
+    @SuppressWarnings("unchecked")
+    HttpResponse<T> response = mock(HttpResponse.class);
+    doReturn(HttpURLConnection.HTTP_OK).when(response).statusCode();
+    doReturn(body).when(response).body();
+    return response;
+  }
+
   private void
       mockResponseWithErrorStatusCodeTheFirstTwoTimesButReturnsSuccessStatusCodeTheLastTime()
           throws IOException, InterruptedException {
@@ -216,6 +326,13 @@ class ApiClientTest {
     return response;
   }
 
+  @SuppressWarnings("unchecked")
+  private HttpResponse<String> createUnauthorizedResponse() {
+    var response = (HttpResponse<String>) mock(HttpResponse.class);
+    doReturn(HttpURLConnection.HTTP_UNAUTHORIZED).when(response).statusCode();
+    return response;
+  }
+
   private HttpTimeoutException timeoutException() {
     return new HttpTimeoutException(randomString());
   }
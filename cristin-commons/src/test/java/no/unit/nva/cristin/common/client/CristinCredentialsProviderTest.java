@@ -0,0 +1,118 @@
+package no.unit.nva.cristin.common.client;
+
+import static no.unit.nva.cristin.common.client.CristinCredentialsProvider.MIN_INTERVAL_BETWEEN_FORCED_REFRESHES;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import no.unit.nva.cristin.common.client.CristinCredentialsProvider.Credentials;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CristinCredentialsProviderTest {
+
+  private static final Duration REFRESH_INTERVAL = Duration.ofMinutes(15);
+
+  private AtomicLong clock;
+  private AtomicInteger resolveCount;
+  private CristinCredentialsProvider provider;
+  private boolean failResolving;
+
+  @BeforeEach
+  void setup() {
+    clock = new AtomicLong();
+    resolveCount = new AtomicInteger();
+    failResolving = false;
+    provider =
+        new CristinCredentialsProvider(this::resolveCredentials, REFRESH_INTERVAL, clock::get);
+  }
+
+  @Test
+  void shouldResolveCredentialsOnceWithinRefreshInterval() {
+    var first = provider.basicAuthHeader();
+    clock.addAndGet(REFRESH_INTERVAL.minusSeconds(1).toNanos());
+    var second = provider.basicAuthHeader();
+
+    assertThat(second, equalTo(first));
+    assertThat(resolveCount.get(), equalTo(1));
+  }
+
+  @Test
+  void shouldEncodeCredentialsAsBasicAuthHeader() {
+    var header = provider.basicAuthHeader();
+    var decoded =
+        new String(
+            Base64.getDecoder().decode(header.substring("Basic ".length())),
+            StandardCharsets.UTF_8);
+
+    assertThat(decoded, equalTo("user:password-1"));
+  }
+
+  @Test
+  void shouldResolveCredentialsAgainWhenRefreshIntervalHasPassed() {
+    var first = provider.basicAuthHeader();
+    clock.addAndGet(REFRESH_INTERVAL.toNanos());
+
+    assertThat(provider.basicAuthHeader(), not(equalTo(first)));
+    assertThat(resolveCount.get(), equalTo(2));
+  }
+
+  @Test
+  void shouldKeepHeldCredentialsWhenRefreshFails() {
+    var first = provider.basicAuthHeader();
+    clock.addAndGet(REFRESH_INTERVAL.toNanos());
+    failResolving = true;
+
+    assertThat(provider.basicAuthHeader(), equalTo(first));
+  }
+
+  @Test
+  void shouldRefreshCredentialsWhenRejected() {
+    var rejected = provider.basicAuthHeader();
+
+    assertThat(provider.refreshAfterRejection(rejected), equalTo(true));
+    assertThat(provider.basicAuthHeader(), not(equalTo(rejected)));
+    assertThat(resolveCount.get(), equalTo(2));
+  }
+
+  @Test
+  void shouldNotRefreshAgainWhenRejectedCredentialsAreAlreadyReplaced() {
+    var rejected = provider.basicAuthHeader();
+    provider.refreshAfterRejection(rejected);
+
+    assertThat(provider.refreshAfterRejection(rejected), equalTo(true));
+    assertThat(resolveCount.get(), equalTo(2));
+  }
+
+  @Test
+  void shouldLimitHowOftenRejectionsForceRefresh() {
+    provider.refreshAfterRejection(provider.basicAuthHeader());
+    var rejectedAgain = provider.basicAuthHeader();
+
+    assertThat(provider.refreshAfterRejection(rejectedAgain), equalTo(false));
+
+    clock.addAndGet(MIN_INTERVAL_BETWEEN_FORCED_REFRESHES.toNanos());
+
+    assertThat(provider.refreshAfterRejection(rejectedAgain), equalTo(true));
+    assertThat(resolveCount.get(), equalTo(3));
+  }
+
+  @Test
+  void shouldNotRevealPasswordInToString() {
+    var credentials = new Credentials("user", "secret");
+
+    assertThat(credentials.toString().contains("secret"), equalTo(false));
+  }
+
+  private Credentials resolveCredentials() {
+    if (failResolving) {
+      throw new IllegalStateException("SecretsManager unavailable");
+    }
+    return new Credentials("user", "password-" + resolveCount.incrementAndGet());
+  }
+}
@@ -0,0 +1,139 @@
+package no.unit.nva.utils;
+
+import static no.unit.nva.utils.BackendAccessTokenCache.EXPIRY_MARGIN;
+import static no.unit.nva.utils.BackendAccessTokenCache.PROACTIVE_REFRESH_WINDOW;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BackendAccessTokenCacheTest {
+
+  private static final Duration EXPIRES_IN = Duration.ofHours(1);
+  private static final URI TOKEN_ENDPOINT = URI.create("https://auth.example.com/oauth2/token");
+
+  private HttpClient httpClient;
+  private AtomicLong clock;
+  private AtomicInteger issuedTokens;
+  private BackendAccessTokenCache cache;
+
+  @BeforeEach
+  void setup() {
+    httpClient = mock(HttpClient.class);
+    clock = new AtomicLong();
+    issuedTokens = new AtomicInteger();
+    cache =
+        new BackendAccessTokenCache(
+            httpClient, () -> HttpRequest.newBuilder(TOKEN_ENDPOINT).build(), clock::get);
+  }
+
+  @Test
+  void shouldReuseTokenUntilCloseToExpiry() throws Exception {
+    respondWithNewTokens();
+
+    var first = cache.getAccessToken();
+    clock.addAndGet(EXPIRES_IN.minus(PROACTIVE_REFRESH_WINDOW).minusSeconds(1).toNanos());
+    var second = cache.getAccessToken();
+
+    assertThat(second, equalTo(first));
+    verify(httpClient, times(1)).sendAsync(any(), any());
+  }
+
+  @Test
+  void shouldHandOutHeldTokenWhileRefreshingInBackgroundCloseToExpiry() throws Exception {
+    var pendingRefresh = new CompletableFuture<HttpResponse<String>>();
+    var firstToken = tokenResponse("token-1");
+    when(httpClient.<String>sendAsync(any(), any()))
+        .thenReturn(CompletableFuture.completedFuture(firstToken))
+        .thenReturn(pendingRefresh);
+
+    cache.getAccessToken();
+    clock.addAndGet(EXPIRES_IN.minus(PROACTIVE_REFRESH_WINDOW).toNanos());
+
+    assertThat(cache.getAccessToken(), equalTo("token-1"));
+    assertThat(cache.getAccessToken(), equalTo("token-1"));
+
+    pendingRefresh.complete(tokenResponse("token-2"));
+
+    assertThat(cache.getAccessToken(), equalTo("token-2"));
+    verify(httpClient, times(2)).sendAsync(any(), any());
+  }
+
+  @Test
+  void shouldWaitForNewTokenWhenHeldTokenHasExpired() throws Exception {
+    respondWithNewTokens();
+
+    var first = cache.getAccessToken();
+    clock.addAndGet(EXPIRES_IN.minus(EXPIRY_MARGIN).toNanos());
+
+    assertThat(cache.getAccessToken(), equalTo("token-2"));
+    assertThat(first, equalTo("token-1"));
+  }
+
+  @Test
+  void shouldKeepHeldTokenWhenBackgroundRefreshFails() throws Exception {
+    var firstToken = tokenResponse("token-1");
+    var secondToken = tokenResponse("token-2");
+    when(httpClient.<String>sendAsync(any(), any()))
+        .thenReturn(CompletableFuture.completedFuture(firstToken))
+        .thenReturn(CompletableFuture.failedFuture(new IOException("Connection reset")))
+        .thenReturn(CompletableFuture.completedFuture(secondToken));
+
+    cache.getAccessToken();
+    clock.addAndGet(EXPIRES_IN.minus(PROACTIVE_REFRESH_WINDOW).toNanos());
+
+    assertThat(cache.getAccessToken(), equalTo("token-1"));
+    assertThat(cache.getAccessToken(), equalTo("token-2"));
+  }
+
+  @Test
+  void shouldThrowIoExceptionWhenNoTokenCanBeFetched() {
+    var unauthorized = response(HttpURLConnection.HTTP_UNAUTHORIZED, "");
+    when(httpClient.<String>sendAsync(any(), any()))
+        .thenReturn(CompletableFuture.completedFuture(unauthorized));
+
+    assertThrows(IOException.class, cache::getAccessToken);
+  }
+
+  private void respondWithNewTokens() {
+    var tokens = List.of(tokenResponse("token-1"), tokenResponse("token-2"));
+    when(httpClient.<String>sendAsync(any(), any()))
+        .thenAnswer(
+            invocation ->
+                CompletableFuture.completedFuture(tokens.get(issuedTokens.getAndIncrement())));
+  }
+
+  private static HttpResponse<String> tokenResponse(String token) {
+    var body =
+        String.format(
+            "{\"access_token\":\"%s\",\"expires_in\":%d,\"token_type\":\"Bearer\"}",
+            token, EXPIRES_IN.toSeconds());
+    return response(HttpURLConnection.HTTP_OK, body);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static HttpResponse<String> response(int statusCode, String body) {
+    var response = (HttpResponse<String>) mock(HttpResponse.class);
+    when(response.statusCode()).thenReturn(statusCode);
+    when(response.body()).thenReturn(body);
+    return response;
+  }
+}
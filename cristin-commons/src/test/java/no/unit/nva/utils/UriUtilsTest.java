@@ -2,6 +2,7 @@ package no.unit.nva.utils;
 
 import static no.unit.nva.utils.UriUtils.addLanguage;
 import static no.unit.nva.utils.UriUtils.maskSensitiveData;
+import static no.unit.nva.utils.UriUtils.normalizeForComparison;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.not;
@@ -37,4 +38,14 @@ class UriUtilsTest {
 
     assertThat(actual, containsString(expected));
   }
+
+  @Test
+  void shouldNormalizeUrisAddressingSameResourceToSameString() {
+    var uri = URI.create("HTTPS://Api.Cristin-Test.uio.no/v2/./persons?lang=en&name=Ola#top");
+    var equivalent = URI.create("https://api.cristin-test.uio.no/v2/persons?name=Ola&lang=en");
+    var other = URI.create("https://api.cristin-test.uio.no/v2/persons?name=Kari&lang=en");
+
+    assertThat(normalizeForComparison(uri), equalTo(normalizeForComparison(equivalent)));
+    assertThat(normalizeForComparison(uri), not(equalTo(normalizeForComparison(other))));
+  }
 }
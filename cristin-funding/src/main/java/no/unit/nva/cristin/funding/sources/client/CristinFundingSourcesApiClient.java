@@ -1,11 +1,14 @@
 package no.unit.nva.cristin.funding.sources.client;
 
+import static java.util.Objects.isNull;
 import static no.unit.nva.client.HttpClientProvider.defaultHttpClient;
 
 import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.util.List;
+import no.unit.nva.cristin.common.cache.PrefixIndex;
+import no.unit.nva.cristin.common.cache.ReferenceDataCache;
 import no.unit.nva.cristin.common.client.ApiClient;
 import no.unit.nva.cristin.funding.sources.common.EnvironmentKeys;
 import no.unit.nva.cristin.funding.sources.model.cristin.CristinFundingSource;
@@ -28,8 +31,12 @@ public class CristinFundingSourcesApiClient extends ApiClient {
   public static final String FUNDING_SOURCE_NOT_FOUND = "Funding source not found";
   public static final String FUNDINGS_PATH = "fundings";
   public static final String SOURCES_PATH = "sources";
+  public static final String FUNDING_SOURCES = "funding sources";
 
   private final transient URI cristinBaseUri;
+  private final transient ReferenceDataCache.Lazy<CristinFundingSource> fundingSourceCache =
+      ReferenceDataCache.lazy(FUNDING_SOURCES, CristinFundingSource::code);
+  private transient PrefixIndex<CristinFundingSource> fundingSourceIndex;
 
   @JacocoGenerated
   public static CristinFundingSourcesApiClient defaultClient() {
@@ -49,6 +56,40 @@ public class CristinFundingSourcesApiClient extends ApiClient {
   }
 
   public List<CristinFundingSource> queryFundingSources() throws ApiGatewayException {
+    return fundingSourceCache.get(this::fetchFundingSources).getAll();
+  }
+
+  /**
+   * Funding sources having a name with a word starting with given prefix, looked up in an index
+   * built from the list held by this client.
+   *
+   * @param namePrefix start of a word in the name, case is ignored
+   * @return matching funding sources, all if prefix is blank
+   * @throws ApiGatewayException if no list is held and loading it failed
+   */
+  public List<CristinFundingSource> queryFundingSources(String namePrefix)
+      throws ApiGatewayException {
+    return getFundingSourceIndex().search(namePrefix);
+  }
+
+  public CristinFundingSource fetchFundingSource(String code) throws ApiGatewayException {
+    return fundingSourceCache
+        .get(this::fetchFundingSources)
+        .get(code)
+        .orElseThrow(() -> new NotFoundException(FUNDING_SOURCE_NOT_FOUND));
+  }
+
+  private synchronized PrefixIndex<CristinFundingSource> getFundingSourceIndex()
+      throws ApiGatewayException {
+    var fundingSources = queryFundingSources();
+    // The cache hands out the same list instance until it has loaded a new one
+    if (isNull(fundingSourceIndex) || !fundingSourceIndex.isBuiltFrom(fundingSources)) {
+      fundingSourceIndex = PrefixIndex.of(fundingSources, source -> source.name().values());
+    }
+    return fundingSourceIndex;
+  }
+
+  private List<CristinFundingSource> fetchFundingSources() throws ApiGatewayException {
     var uri = getFundingSourcesUri();
     var response = fetchQueryResults(uri);
 
@@ -62,15 +103,6 @@ public class CristinFundingSourcesApiClient extends ApiClient {
     }
   }
 
-  public CristinFundingSource fetchFundingSource(String code) throws ApiGatewayException {
-    var fundingSources = queryFundingSources();
-
-    return fundingSources.stream()
-        .filter(fundingSource -> fundingSource.code().equals(code))
-        .findFirst()
-        .orElseThrow(() -> new NotFoundException(FUNDING_SOURCE_NOT_FOUND));
-  }
-
   private URI getFundingSourcesUri() {
     return UriWrapper.fromUri(this.cristinBaseUri).addChild(FUNDINGS_PATH, SOURCES_PATH).getUri();
   }
@@ -1,17 +1,21 @@
 package no.unit.nva.cristin.funding.sources.query;
 
+import static java.util.Objects.isNull;
 import static no.unit.nva.cristin.funding.sources.client.CristinFundingSourcesApiClient.defaultClient;
 import static no.unit.nva.cristin.funding.sources.common.EnvironmentKeys.ENV_KEY_BASE_PATH;
 import static no.unit.nva.cristin.funding.sources.common.EnvironmentKeys.ENV_KEY_DOMAIN_NAME;
+import static no.unit.nva.cristin.model.JsonPropertyNames.NAME;
 
 import com.amazonaws.services.lambda.runtime.Context;
 import java.net.HttpURLConnection;
 import java.net.URI;
+import java.util.List;
 import java.util.stream.Collectors;
 import no.unit.nva.cristin.common.handler.CristinQueryHandler;
 import no.unit.nva.cristin.funding.sources.client.CristinFundingSourcesApiClient;
 import no.unit.nva.cristin.funding.sources.common.DomainUriUtils;
 import no.unit.nva.cristin.funding.sources.common.MappingUtils;
+import no.unit.nva.cristin.funding.sources.model.cristin.CristinFundingSource;
 import no.unit.nva.cristin.funding.sources.model.nva.FundingSources;
 import nva.commons.apigateway.RequestInfo;
 import nva.commons.apigateway.exceptions.ApiGatewayException;
@@ -19,6 +23,11 @@ import nva.commons.core.Environment;
 import nva.commons.core.JacocoGenerated;
 import nva.commons.core.paths.UriWrapper;
 
+/**
+ * Lists funding sources. The optional query parameter name narrows the list to funding sources
+ * having a name with a word starting with its value, looked up in the index kept by the client, so
+ * filtering does not call Cristin.
+ */
 public class ListFundingSourcesHandler extends CristinQueryHandler<Void, FundingSources> {
 
   private static final URI CONTEXT_URI =
@@ -49,15 +58,27 @@ public class ListFundingSourcesHandler extends CristinQueryHandler<Void, Funding
     var domainName = environment.readEnv(ENV_KEY_DOMAIN_NAME);
     var basePath = environment.readEnvOpt(ENV_KEY_BASE_PATH).orElse(EMPTY_STRING);
 
+    var namePrefix = requestInfo.getQueryParameterOpt(NAME);
+
     var sources =
-        cristinClient.queryFundingSources().stream()
+        queryFundingSources(namePrefix.orElse(null)).stream()
             .map(cfs -> MappingUtils.cristinModelToNvaModel(cfs, domainName, basePath))
             .collect(Collectors.toList());
     var resultId = DomainUriUtils.getFundingSourcesUri(domainName, basePath);
+    if (namePrefix.isPresent()) {
+      resultId = UriWrapper.fromUri(resultId).addQueryParameter(NAME, namePrefix.get()).getUri();
+    }
 
     return new FundingSources(CONTEXT_URI, resultId, sources);
   }
 
+  private List<CristinFundingSource> queryFundingSources(String namePrefix)
+      throws ApiGatewayException {
+    return isNull(namePrefix)
+        ? cristinClient.queryFundingSources()
+        : cristinClient.queryFundingSources(namePrefix);
+  }
+
   @Override
   protected Integer getSuccessStatusCode(Void input, FundingSources output) {
     return HttpURLConnection.HTTP_OK;
@@ -102,6 +102,31 @@ public class ListFundingSourcesHandlerTest {
     assertThat(secondEntry.identifier(), is(equalTo("EC/H2020")));
   }
 
+  @Test
+  public void shouldReturnFundingSourcesWithNameStartingWithGivenName() throws IOException {
+    try (var input =
+        new HandlerRequestBuilder<Void>(dtoObjectMapper)
+            .withQueryParameters(Map.of("name", "h20"))
+            .build()) {
+      cristinFundingSourcesStubs.stubSuccess();
+      handlerUnderTest.handleRequest(input, output, context);
+    }
+
+    GatewayResponse<FundingSources> response =
+        GatewayResponse.fromOutputStream(output, FundingSources.class);
+
+    assertThat(response.getStatusCode(), is(equalTo(HttpURLConnection.HTTP_OK)));
+
+    var fundingSources = response.getBodyObject(FundingSources.class);
+
+    var expectedId =
+        URI.create("https://api.sandbox.nva.aws.unit.no/cristin/funding-sources?name=h20");
+    assertThat(fundingSources.id(), is(equalTo(expectedId)));
+
+    assertThat(fundingSources.sources(), iterableWithSize(1));
+    assertThat(fundingSources.sources().get(0).identifier(), is(equalTo("EC/H2020")));
+  }
+
   @Test
   public void shouldReturnBadGatewayWhenCristinReturnsMalformedJson() throws IOException {
     var input = new HandlerRequestBuilder<Void>(dtoObjectMapper).build();
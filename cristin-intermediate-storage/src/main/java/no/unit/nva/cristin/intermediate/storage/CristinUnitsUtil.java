@@ -3,14 +3,21 @@ package no.unit.nva.cristin.intermediate.storage;
 import static io.vavr.control.Try.of;
 import static nva.commons.core.attempt.Try.attempt;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import io.github.resilience4j.core.IntervalFunction;
 import io.github.resilience4j.decorators.Decorators;
+import io.github.resilience4j.ratelimiter.RateLimiter;
 import io.github.resilience4j.ratelimiter.RateLimiterConfig;
 import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.retry.Retry;
 import io.github.resilience4j.retry.RetryConfig;
 import io.github.resilience4j.retry.RetryRegistry;
 import io.vavr.control.Try;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.http.HttpClient;
@@ -19,6 +26,10 @@ import java.net.http.HttpResponse;
 import java.net.http.HttpResponse.BodyHandlers;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
 import java.util.function.Supplier;
 import no.unit.nva.commons.json.JsonUtils;
 import nva.commons.core.Environment;
@@ -29,11 +40,21 @@ import org.slf4j.LoggerFactory;
 /**
  * Utility class for retrieving all Norwegian cristin units where you want to do repeated lookups
  * and keep a large cache like migrations and other bulk operations.
+ *
+ * <p>The number of pages is read from the total count of the first page, and the remaining pages
+ * are fetched concurrently. All requests of one instance share the same rate limiter and retry
+ * policy.
  */
 public class CristinUnitsUtil {
 
   private static final Logger logger = LoggerFactory.getLogger(CristinUnitsUtil.class);
-  private static final String API_ARGUMENTS = "/units?lang=nb,nn,en&per_page=1000&country=NO&page=";
+  private static final int PER_PAGE = 1000;
+  private static final int FIRST_PAGE = 1;
+  private static final String API_ARGUMENTS =
+      "/units?lang=nb,nn,en&per_page=" + PER_PAGE + "&country=NO&page=";
+  private static final String EXECUTE_REQUEST = "executeRequest";
+  public static final String X_TOTAL_COUNT = "X-Total-Count";
+  public static final int MAX_CONCURRENT_PAGES = 8;
   public static final String APPLICATION_JSON = "application/json";
   public static final String ACCEPT = "Accept";
   public static final String USER_AGENT = "User-Agent";
@@ -47,6 +68,8 @@ public class CristinUnitsUtil {
   private final Class<?> caller;
   private final String cristinBotFilterBypassHeaderName;
   private final String cristinBotFilterBypassHeaderValue;
+  private final RateLimiter rateLimiter;
+  private final Retry retry;
 
   public CristinUnitsUtil(
       HttpClient httpClient,
@@ -61,69 +84,146 @@ public class CristinUnitsUtil {
     this.caller = caller;
     this.cristinBotFilterBypassHeaderName = cristinBotFilterBypassHeaderName;
     this.cristinBotFilterBypassHeaderValue = cristinBotFilterBypassHeaderValue;
+    this.rateLimiter = createRateLimiter();
+    this.retry = createRetry();
   }
 
+  /**
+   * Fetches all pages of units.
+   *
+   * @return JSON array of all units
+   * @see #writeAllData(OutputStream)
+   */
   public String getAllData() {
-    int pageNum = 1;
-    ArrayNode mergedArray = JsonUtils.dtoObjectMapper.createArrayNode();
-
-    while (true) {
-      var units = getApiData(pageNum);
-      if (units.isEmpty()) {
-        break;
-      } else {
-        mergedArray.addAll(units);
+    var output = new ByteArrayOutputStream();
+    try {
+      writeAllData(output);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return output.toString(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Fetches all pages of units and writes them to the output as one JSON array, page by page. Pages
+   * known from the total count of the first page are fetched concurrently and written in page
+   * order. Pages are then fetched one by one until a page is not full, so that units added while
+   * harvesting, or a missing total count, do not cut the result. At most {@link
+   * #MAX_CONCURRENT_PAGES} pages are held in memory at a time, however many units there are.
+   *
+   * @param output where the JSON array is written, closed when done
+   * @throws IOException if writing to the output fails
+   */
+  public void writeAllData(OutputStream output) throws IOException {
+    try (var generator = JsonUtils.dtoObjectMapper.getFactory().createGenerator(output)) {
+      generator.writeStartArray();
+      var firstPage = fetchResponseWithRetry(pageUri(FIRST_PAGE));
+      var lastPage = toUnits(firstPage);
+      writeUnits(generator, lastPage);
+
+      var pageNum = totalCount(firstPage).map(CristinUnitsUtil::pageCount).orElse(FIRST_PAGE);
+      if (pageNum > FIRST_PAGE) {
+        lastPage = writePagesConcurrently(generator, FIRST_PAGE + 1, pageNum);
+      }
+      while (isFull(lastPage)) {
         pageNum++;
+        lastPage = getApiData(pageNum);
+        writeUnits(generator, lastPage);
       }
+      generator.writeEndArray();
     }
+  }
 
-    return mergedArray.toString();
+  private ArrayNode writePagesConcurrently(JsonGenerator generator, int fromPage, int toPage)
+      throws IOException {
+    try (var executor = Executors.newFixedThreadPool(MAX_CONCURRENT_PAGES)) {
+      var pending = new ArrayDeque<CompletableFuture<ArrayNode>>();
+      var nextPage = fromPage;
+      ArrayNode page = null;
+      while (nextPage <= toPage || !pending.isEmpty()) {
+        while (nextPage <= toPage && pending.size() < MAX_CONCURRENT_PAGES) {
+          var pageNum = nextPage;
+          pending.add(CompletableFuture.supplyAsync(() -> getApiData(pageNum), executor));
+          nextPage++;
+        }
+        page = pending.remove().join();
+        writeUnits(generator, page);
+      }
+      return page;
+    }
+  }
+
+  private static void writeUnits(JsonGenerator generator, ArrayNode units) throws IOException {
+    for (var unit : units) {
+      generator.writeTree(unit);
+    }
   }
 
   private ArrayNode getApiData(int pageNum) {
+    return toUnits(fetchResponseWithRetry(pageUri(pageNum)));
+  }
+
+  private static ArrayNode toUnits(HttpResponse<byte[]> response) {
+    return attempt(() -> (ArrayNode) JsonUtils.dtoObjectMapper.readTree(response.body()))
+        .orElseThrow();
+  }
+
+  private static boolean isFull(ArrayNode units) {
+    return units.size() >= PER_PAGE;
+  }
+
+  private static Optional<Integer> totalCount(HttpResponse<byte[]> response) {
+    return Optional.ofNullable(response.headers())
+        .flatMap(headers -> headers.firstValue(X_TOTAL_COUNT))
+        .flatMap(value -> attempt(() -> Integer.parseInt(value)).toOptional());
+  }
+
+  private static int pageCount(int totalCount) {
+    return (totalCount + PER_PAGE - 1) / PER_PAGE;
+  }
+
+  private URI pageUri(int pageNum) {
     try {
-      var response = fetchResponseWithRetry(new URI(apiUri + API_ARGUMENTS + pageNum));
-      return attempt(() -> (ArrayNode) JsonUtils.dtoObjectMapper.readTree(response)).orElseThrow();
+      return new URI(apiUri + API_ARGUMENTS + pageNum);
     } catch (URISyntaxException e) {
       throw new RuntimeException(e);
     }
   }
 
-  private String fetchResponseWithRetry(URI requestUri) {
+  private static RateLimiter createRateLimiter() {
     var config =
         RateLimiterConfig.custom()
             .limitRefreshPeriod(Duration.ofMinutes(1))
             .limitForPeriod(100)
             .timeoutDuration(Duration.ofSeconds(10))
             .build();
-    var rateLimiterRegistry = RateLimiterRegistry.of(config);
-    var rateLimiter = rateLimiterRegistry.rateLimiter("executeRequest");
+    return RateLimiterRegistry.of(config).rateLimiter(EXECUTE_REQUEST);
+  }
+
+  private static Retry createRetry() {
     var retryRegistry =
         RetryRegistry.of(
             RetryConfig.custom()
                 .maxAttempts(5)
                 .intervalFunction(IntervalFunction.ofExponentialRandomBackoff())
                 .build());
-    var retryWithDefaultConfig = retryRegistry.retry("executeRequest");
+    return retryRegistry.retry(EXECUTE_REQUEST);
+  }
 
-    Supplier<String> decoratedSupplier =
+  private HttpResponse<byte[]> fetchResponseWithRetry(URI requestUri) {
+    Supplier<HttpResponse<byte[]>> decoratedSupplier =
         Decorators.ofSupplier(() -> executeRequest(requestUri))
             .withRateLimiter(rateLimiter)
-            .withRetry(retryWithDefaultConfig)
+            .withRetry(retry)
             .decorate();
 
     return Try.ofSupplier(decoratedSupplier).get();
   }
 
-  private String executeRequest(URI requestUri) {
+  private HttpResponse<byte[]> executeRequest(URI requestUri) {
     logger.info("Fetching data from {}", requestUri);
     return of(() ->
-            attempt(
-                    () ->
-                        httpClient.send(
-                            buildHttpRequest(requestUri),
-                            BodyHandlers.ofString(StandardCharsets.UTF_8)))
-                .map(HttpResponse::body)
+            attempt(() -> httpClient.send(buildHttpRequest(requestUri), BodyHandlers.ofByteArray()))
                 .toOptional()
                 .orElseThrow())
         .get();
@@ -0,0 +1,198 @@
+package no.unit.nva.cristin.intermediate.storage;
+
+import static java.util.Objects.isNull;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import no.unit.nva.commons.json.JsonUtils;
+import no.unit.nva.cristin.common.Sha256;
+
+/**
+ * Changes between two units snapshots, written next to the snapshot so that consumers holding the
+ * previous snapshot can apply the changes instead of loading the whole snapshot again. Units are
+ * compared by id and a digest of their content. The change log is a JSON object:
+ *
+ * <pre>{@code
+ * {
+ *   "fromDigest": "<SHA-256 of the previous snapshot>",
+ *   "toDigest": "<SHA-256 of the new snapshot>",
+ *   "upserted": [ <units added or changed, as they are in the new snapshot> ],
+ *   "removed": [ "<id of a unit no longer in the snapshot>" ]
+ * }
+ * }</pre>
+ *
+ * <p>Only a consumer holding the snapshot with digest fromDigest may apply the changes, it then
+ * holds the snapshot with digest toDigest. Any other consumer must load the whole snapshot. When
+ * there is no previous snapshot fromDigest is empty and there are no changes, see {@link
+ * #to(InputStream)}.
+ */
+public final class UnitsChangeLog {
+
+  public static final String UNIT_ID = "cristin_unit_id";
+  public static final String FROM_DIGEST = "fromDigest";
+  public static final String TO_DIGEST = "toDigest";
+  public static final String UPSERTED = "upserted";
+  public static final String REMOVED = "removed";
+  public static final String NOT_A_SNAPSHOT = "Units snapshot must be a JSON array of units";
+  public static final String NO_SNAPSHOT_DIGEST = "";
+
+  private final String fromDigest;
+  private final String toDigest;
+  private final List<JsonNode> upserted;
+  private final List<String> removed;
+
+  private UnitsChangeLog(
+      String fromDigest, String toDigest, List<JsonNode> upserted, List<String> removed) {
+    this.fromDigest = fromDigest;
+    this.toDigest = toDigest;
+    this.upserted = upserted;
+    this.removed = removed;
+  }
+
+  /**
+   * Digest of a snapshot and of each of its units.
+   *
+   * @param snapshotDigest SHA-256 of the snapshot as stored
+   * @param unitDigests SHA-256 of each unit by id
+   */
+  public record SnapshotDigests(String snapshotDigest, Map<String, String> unitDigests) {}
+
+  /**
+   * Reads a snapshot and digests it, keeping only the digests in memory.
+   *
+   * @param snapshot stream of the snapshot
+   * @return digests of the snapshot and its units
+   * @throws IOException if the snapshot cannot be read or parsed
+   */
+  public static SnapshotDigests digestsOf(InputStream snapshot) throws IOException {
+    var unitDigests = new HashMap<String, String>();
+    var snapshotDigest = readUnits(snapshot, unit -> unitDigests.put(idOf(unit), digestOf(unit)));
+    return new SnapshotDigests(snapshotDigest, unitDigests);
+  }
+
+  /**
+   * Compares a snapshot with the digests of the previous one. Only changed units are kept in
+   * memory.
+   *
+   * @param previous digests of the previous snapshot
+   * @param current stream of the new snapshot
+   * @return the changes from the previous snapshot to the new one
+   * @throws IOException if the snapshot cannot be read or parsed
+   */
+  public static UnitsChangeLog between(SnapshotDigests previous, InputStream current)
+      throws IOException {
+    var upserted = new ArrayList<JsonNode>();
+    var removed = new HashSet<>(previous.unitDigests().keySet());
+    var currentDigest =
+        readUnits(
+            current,
+            unit -> {
+              var id = idOf(unit);
+              removed.remove(id);
+              if (!digestOf(unit).equals(previous.unitDigests().get(id))) {
+                upserted.add(unit);
+              }
+            });
+    return new UnitsChangeLog(
+        previous.snapshotDigest(), currentDigest, upserted, removed.stream().sorted().toList());
+  }
+
+  /**
+   * A change log to a snapshot from no known snapshot, so that consumers holding a snapshot other
+   * than the new one load the whole snapshot.
+   *
+   * @param current stream of the new snapshot
+   * @return change log without changes, from {@link #NO_SNAPSHOT_DIGEST} to the new snapshot
+   * @throws IOException if the snapshot cannot be read or parsed
+   */
+  public static UnitsChangeLog to(InputStream current) throws IOException {
+    var currentDigest = readUnits(current, unit -> {});
+    return new UnitsChangeLog(NO_SNAPSHOT_DIGEST, currentDigest, List.of(), List.of());
+  }
+
+  /**
+   * Writes the change log as JSON.
+   *
+   * @param output where the change log is written, closed when done
+   * @throws IOException if writing fails
+   */
+  public void writeTo(OutputStream output) throws IOException {
+    try (var generator = JsonUtils.dtoObjectMapper.getFactory().createGenerator(output)) {
+      generator.writeStartObject();
+      generator.writeStringField(FROM_DIGEST, fromDigest);
+      generator.writeStringField(TO_DIGEST, toDigest);
+      generator.writeArrayFieldStart(UPSERTED);
+      for (var unit : upserted) {
+        generator.writeTree(unit);
+      }
+      generator.writeEndArray();
+      generator.writeArrayFieldStart(REMOVED);
+      for (var id : removed) {
+        generator.writeString(id);
+      }
+      generator.writeEndArray();
+      generator.writeEndObject();
+    }
+  }
+
+  public String getFromDigest() {
+    return fromDigest;
+  }
+
+  public String getToDigest() {
+    return toDigest;
+  }
+
+  public List<JsonNode> getUpserted() {
+    return upserted;
+  }
+
+  public List<String> getRemoved() {
+    return removed;
+  }
+
+  private static String readUnits(InputStream snapshot, Consumer<JsonNode> unitConsumer)
+      throws IOException {
+    var digest = Sha256.newDigest();
+    var digestingSnapshot = new DigestInputStream(snapshot, digest);
+    try (var parser = JsonUtils.dtoObjectMapper.getFactory().createParser(digestingSnapshot)) {
+      if (parser.nextToken() != JsonToken.START_ARRAY) {
+        throw new IOException(NOT_A_SNAPSHOT);
+      }
+      while (parser.nextToken() == JsonToken.START_OBJECT) {
+        acceptUnit(parser, unitConsumer);
+      }
+      digestingSnapshot.transferTo(OutputStream.nullOutputStream());
+    }
+    return Sha256.hexOf(digest);
+  }
+
+  private static void acceptUnit(JsonParser parser, Consumer<JsonNode> unitConsumer)
+      throws IOException {
+    JsonNode unit = parser.readValueAsTree();
+    if (!isNull(idOf(unit))) {
+      unitConsumer.accept(unit);
+    }
+  }
+
+  private static String idOf(JsonNode unit) {
+    var id = unit.get(UNIT_ID);
+    return isNull(id) ? null : id.asText();
+  }
+
+  private static String digestOf(JsonNode unit) {
+    return Sha256.hexOf(unit.toString().getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -1,17 +1,26 @@
 package no.unit.nva.cristin.intermediate.storage;
 
+import static no.unit.nva.cristin.intermediate.storage.CristinUnitsUtil.APPLICATION_JSON;
+
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import no.unit.nva.cristin.intermediate.storage.UnitsChangeLog.SnapshotDigests;
 import nva.commons.core.Environment;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 
 public class UpdateUnitsHandler implements RequestStreamHandler {
@@ -19,7 +28,10 @@ public class UpdateUnitsHandler implements RequestStreamHandler {
   private static final Logger logger = LoggerFactory.getLogger(UpdateUnitsHandler.class);
   private static final String BUCKET_NAME_ENV = "INTERMEDIATE_STORAGE_BUCKET_NAME";
   private static final String BUCKET_KEY_FILE_NAME = "units-norway.json";
+  private static final String CHANGE_LOG_KEY_FILE_NAME = "units-norway-changes.json";
   private static final String CRISTIN_API_URL_ENV = "CRISTIN_API_URL";
+  private static final String TEMP_FILE_PREFIX = "units-norway";
+  private static final String TEMP_FILE_SUFFIX = ".json";
   public static final String CRISTIN_BOT_FILTER_BYPASS_HEADER_NAME_ENV =
       "CRISTIN_BOT_FILTER_BYPASS_HEADER_NAME";
   public static final String CRISTIN_BOT_FILTER_BYPASS_HEADER_VALUE_ENV =
@@ -38,31 +50,84 @@ public class UpdateUnitsHandler implements RequestStreamHandler {
     this.httpClient = httpClient;
   }
 
+  /**
+   * Harvests all units and uploads them as one JSON file. The units are written to a temporary file
+   * in /tmp while harvested and uploaded from there, so that memory use does not grow with the
+   * number of units. A {@link UnitsChangeLog} from the previous snapshot to the new one is uploaded
+   * before the snapshot is replaced, so that the snapshot is never next to a change log leading to
+   * an older snapshot.
+   */
   @Override
   public void handleRequest(InputStream inputStream, OutputStream outputStream, Context context)
       throws IOException {
+    var bucketName = environment.readEnv(BUCKET_NAME_ENV);
+
     logger.info("Loading data...");
-    var jsonData = loadData();
+    var snapshot = Files.createTempFile(TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX);
+    try {
+      try (var snapshotOutput = Files.newOutputStream(snapshot)) {
+        createCristinUnitsUtil().writeAllData(snapshotOutput);
+      }
+
+      uploadChangeLog(bucketName, snapshot);
+
+      s3Client.putObject(
+          putObjectRequest(bucketName, BUCKET_KEY_FILE_NAME, APPLICATION_JSON),
+          RequestBody.fromFile(snapshot));
+      logger.info("Data loaded successfully. Length of data {}", Files.size(snapshot));
+    } finally {
+      Files.deleteIfExists(snapshot);
+    }
+  }
 
+  private Optional<SnapshotDigests> readPreviousSnapshot(String bucketName) {
     var objectRequest =
-        PutObjectRequest.builder()
-            .bucket(environment.readEnv(BUCKET_NAME_ENV))
-            .key(BUCKET_KEY_FILE_NAME)
-            .build();
+        GetObjectRequest.builder().bucket(bucketName).key(BUCKET_KEY_FILE_NAME).build();
+    try (var previousSnapshot = s3Client.getObject(objectRequest)) {
+      return Optional.of(UnitsChangeLog.digestsOf(previousSnapshot));
+    } catch (IOException | SdkException exception) {
+      logger.warn("No previous snapshot to compare with, change log has no changes", exception);
+      return Optional.empty();
+    }
+  }
+
+  private void uploadChangeLog(String bucketName, Path snapshot) throws IOException {
+    var previousSnapshot = readPreviousSnapshot(bucketName);
+    UnitsChangeLog changeLog;
+    try (var currentSnapshot = Files.newInputStream(snapshot)) {
+      changeLog =
+          previousSnapshot.isPresent()
+              ? UnitsChangeLog.between(previousSnapshot.get(), currentSnapshot)
+              : UnitsChangeLog.to(currentSnapshot);
+    }
+    var changeLogOutput = new ByteArrayOutputStream();
+    changeLog.writeTo(changeLogOutput);
+
+    s3Client.putObject(
+        putObjectRequest(bucketName, CHANGE_LOG_KEY_FILE_NAME, APPLICATION_JSON),
+        RequestBody.fromBytes(changeLogOutput.toByteArray()));
+    logger.info(
+        "Change log loaded successfully. Upserted units {}, removed units {}",
+        changeLog.getUpserted().size(),
+        changeLog.getRemoved().size());
+  }
 
-    s3Client.putObject(objectRequest, RequestBody.fromString(jsonData));
-    logger.info("Data loaded successfully. Length of data {}", jsonData.length());
+  private static PutObjectRequest putObjectRequest(
+      String bucketName, String key, String contentType) {
+    return PutObjectRequest.builder()
+        .bucket(bucketName)
+        .key(key)
+        .contentType(contentType)
+        .build();
   }
 
-  private String loadData() {
-    var cristinUntisUtil =
-        new CristinUnitsUtil(
-            httpClient,
-            URI.create(environment.readEnv(CRISTIN_API_URL_ENV)),
-            environment,
-            UpdateUnitsHandler.class,
-            environment.readEnv(CRISTIN_BOT_FILTER_BYPASS_HEADER_NAME_ENV),
-            environment.readEnv(CRISTIN_BOT_FILTER_BYPASS_HEADER_VALUE_ENV));
-    return cristinUntisUtil.getAllData();
+  private CristinUnitsUtil createCristinUnitsUtil() {
+    return new CristinUnitsUtil(
+        httpClient,
+        URI.create(environment.readEnv(CRISTIN_API_URL_ENV)),
+        environment,
+        UpdateUnitsHandler.class,
+        environment.readEnv(CRISTIN_BOT_FILTER_BYPASS_HEADER_NAME_ENV),
+        environment.readEnv(CRISTIN_BOT_FILTER_BYPASS_HEADER_VALUE_ENV));
   }
 }
@@ -1,23 +1,35 @@
 package no.unit.nva.cristin.intermediate.storage;
 
+import static no.unit.nva.cristin.intermediate.storage.CristinUnitsUtil.X_TOTAL_COUNT;
 import static no.unit.nva.cristin.model.Constants.OBJECT_MAPPER;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.amazonaws.services.lambda.runtime.Context;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
-import java.util.Scanner;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import no.unit.nva.testutils.HandlerRequestBuilder;
 import nva.commons.core.Environment;
 import nva.commons.core.ioutils.IoUtils;
@@ -26,24 +38,35 @@ import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 import org.mockito.stubbing.Answer;
+import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.AbortableInputStream;
 import software.amazon.awssdk.http.ContentStreamProvider;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
 
 public class UpdateUnitsHandlerTest {
   public static final String TEST_BUCKET = "test-bucket";
-  public static final String DELIMITER = "\\A";
   public static final String UNITS_JSON_FILENAME = "units-norway.json";
+  public static final String CHANGES_JSON_FILENAME = "units-norway-changes.json";
+  public static final String ACRONYM = "acronym";
+  public static final String RENAMED_ACRONYM = "RENAMED";
+  public static final String REMOVED_UNIT_ID = "99999.0.0.0";
+  public static final String TOTAL_COUNT = "6504";
+  public static final int NUMBER_OF_PAGES = 7;
   private Environment environment;
   private S3Client s3Client;
   private HttpClient httpClient;
   private Context context;
   private ByteArrayOutputStream output;
   private InputStream input;
+  private Map<String, byte[]> uploads;
 
   @BeforeEach
-  @SuppressWarnings("unchecked")
   void setUp() throws IOException, InterruptedException {
     this.environment = mock(Environment.class);
     this.s3Client = mock(S3Client.class);
@@ -51,22 +74,19 @@ public class UpdateUnitsHandlerTest {
     this.context = mock(Context.class);
     this.output = new ByteArrayOutputStream();
     this.input = new HandlerRequestBuilder<Void>(OBJECT_MAPPER).build();
-    when(httpClient.send(
-            any(HttpRequest.class), ArgumentMatchers.<HttpResponse.BodyHandler<String>>any()))
+    this.uploads = new ConcurrentHashMap<>();
+    stubUnitsPages(null);
+    when(s3Client.getObject(any(GetObjectRequest.class)))
+        .thenThrow(NoSuchKeyException.builder().build());
+    when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
         .thenAnswer(
-            (Answer<HttpResponse<String>>)
-                invocationOnMock -> {
-                  HttpRequest request = invocationOnMock.getArgument(0);
-                  int lastDigit =
-                      Character.getNumericValue(
-                          request.uri().toString().charAt(request.uri().toString().length() - 1));
-                  var result =
-                      IoUtils.stringFromResources(
-                          Path.of("cristinUnits/units%d.json".formatted(lastDigit)));
-                  HttpResponse<String> httpResponse = mock(HttpResponse.class);
-                  when(httpResponse.body()).thenReturn(result);
-                  return httpResponse;
-                });
+            invocationOnMock -> {
+              PutObjectRequest putObjectRequest = invocationOnMock.getArgument(0);
+              RequestBody requestBody = invocationOnMock.getArgument(1);
+              uploads.put(
+                  putObjectRequest.key(), getFileContent(requestBody.contentStreamProvider()));
+              return PutObjectResponse.builder().build();
+            });
 
     when(environment.readEnv("CRISTIN_API_URL")).thenReturn("https://api.unittest.nva.aws.sikt.no");
     when(environment.readEnv("INTERMEDIATE_STORAGE_BUCKET_NAME")).thenReturn(TEST_BUCKET);
@@ -83,24 +103,134 @@ public class UpdateUnitsHandlerTest {
     handler.handleRequest(input, output, context);
 
     var putObjectRequestCaptor = ArgumentCaptor.forClass(PutObjectRequest.class);
-    var requestBodyCaptor = ArgumentCaptor.forClass(RequestBody.class);
 
-    verify(s3Client).putObject(putObjectRequestCaptor.capture(), requestBodyCaptor.capture());
+    verify(s3Client, times(2))
+        .putObject(putObjectRequestCaptor.capture(), any(RequestBody.class));
 
-    var capturedPutObjectRequest = putObjectRequestCaptor.getValue();
-    var capturedRequestBody = requestBodyCaptor.getValue();
-    var contentStreamProvider = capturedRequestBody.contentStreamProvider();
-    var fileContent = getFileContent(contentStreamProvider);
+    var capturedPutObjectRequest = putObjectRequestCaptor.getAllValues().get(1);
 
     assertEquals(TEST_BUCKET, capturedPutObjectRequest.bucket());
     assertEquals(UNITS_JSON_FILENAME, capturedPutObjectRequest.key());
-    assertEquals(1370603, fileContent.length());
-    assertTrue(fileContent.contains("https://api.cristin.no/v2/units/184.13.53.0"));
+    var uploadedContent = uploaded(UNITS_JSON_FILENAME);
+    assertEquals(1370603, uploadedContent.length());
+    assertTrue(uploadedContent.contains("https://api.cristin.no/v2/units/184.13.53.0"));
+  }
+
+  @Test
+  void shouldUploadChangeLogBeforeReplacingSnapshot() throws IOException {
+    var handler = new UpdateUnitsHandler(environment, s3Client, httpClient);
+
+    handler.handleRequest(input, output, context);
+
+    var putObjectRequestCaptor = ArgumentCaptor.forClass(PutObjectRequest.class);
+    verify(s3Client, times(2))
+        .putObject(putObjectRequestCaptor.capture(), any(RequestBody.class));
+    var uploadedKeys = putObjectRequestCaptor.getAllValues().stream().map(PutObjectRequest::key);
+    assertEquals(
+        List.of(CHANGES_JSON_FILENAME, UNITS_JSON_FILENAME), uploadedKeys.toList());
+  }
+
+  @Test
+  void shouldUploadChangeLogWithoutChangesWhenThereIsNoPreviousSnapshot()
+      throws IOException, NoSuchAlgorithmException {
+    var handler = new UpdateUnitsHandler(environment, s3Client, httpClient);
+
+    handler.handleRequest(input, output, context);
+
+    var changeLog = OBJECT_MAPPER.readTree(uploaded(CHANGES_JSON_FILENAME));
+    assertEquals(
+        UnitsChangeLog.NO_SNAPSHOT_DIGEST, changeLog.get(UnitsChangeLog.FROM_DIGEST).asText());
+    assertEquals(
+        sha256(uploaded(UNITS_JSON_FILENAME)), changeLog.get(UnitsChangeLog.TO_DIGEST).asText());
+    assertEquals(0, changeLog.get(UnitsChangeLog.UPSERTED).size());
+    assertEquals(0, changeLog.get(UnitsChangeLog.REMOVED).size());
+  }
+
+  @Test
+  void shouldFetchEachPageOnceWhenUpstreamTellsTotalCount()
+      throws IOException, InterruptedException {
+    var headers =
+        HttpHeaders.of(Map.of(X_TOTAL_COUNT, List.of(TOTAL_COUNT)), (name, value) -> true);
+    stubUnitsPages(headers);
+    var handler = new UpdateUnitsHandler(environment, s3Client, httpClient);
+
+    handler.handleRequest(input, output, context);
+
+    var requestCaptor = ArgumentCaptor.forClass(HttpRequest.class);
+    verify(httpClient, times(NUMBER_OF_PAGES)).send(requestCaptor.capture(), any());
+    var requestedUris = requestCaptor.getAllValues().stream().map(HttpRequest::uri).distinct();
+    assertEquals(NUMBER_OF_PAGES, requestedUris.count());
+    assertEquals(1370603, uploaded(UNITS_JSON_FILENAME).length());
+  }
+
+  @Test
+  void shouldUploadChangesSincePreviousSnapshot() throws IOException, NoSuchAlgorithmException {
+    var handler = new UpdateUnitsHandler(environment, s3Client, httpClient);
+    handler.handleRequest(input, output, context);
+    var harvested = (ArrayNode) OBJECT_MAPPER.readTree(uploaded(UNITS_JSON_FILENAME));
+    var previous = harvested.deepCopy();
+    previous.remove(0);
+    ((ObjectNode) previous.get(0)).put(ACRONYM, RENAMED_ACRONYM);
+    previous.add(OBJECT_MAPPER.createObjectNode().put(UnitsChangeLog.UNIT_ID, REMOVED_UNIT_ID));
+    doReturn(responseInputStream(previous.toString()))
+        .when(s3Client)
+        .getObject(any(GetObjectRequest.class));
+
+    handler.handleRequest(input, output, context);
+
+    var changeLog = OBJECT_MAPPER.readTree(uploaded(CHANGES_JSON_FILENAME));
+    var upserted = changeLog.get(UnitsChangeLog.UPSERTED);
+    assertEquals(2, upserted.size());
+    assertEquals(harvested.get(0), upserted.get(0));
+    assertEquals(harvested.get(1), upserted.get(1));
+    assertEquals(REMOVED_UNIT_ID, changeLog.get(UnitsChangeLog.REMOVED).get(0).asText());
+    assertEquals(1, changeLog.get(UnitsChangeLog.REMOVED).size());
+    assertEquals(
+        sha256(uploaded(UNITS_JSON_FILENAME)), changeLog.get(UnitsChangeLog.TO_DIGEST).asText());
+    assertEquals(sha256(previous.toString()), changeLog.get(UnitsChangeLog.FROM_DIGEST).asText());
+  }
+
+  private String uploaded(String key) {
+    return new String(uploads.get(key), StandardCharsets.UTF_8);
+  }
+
+  private static ResponseInputStream<GetObjectResponse> responseInputStream(String content) {
+    return new ResponseInputStream<>(
+        GetObjectResponse.builder().build(),
+        AbortableInputStream.create(
+            new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8))));
+  }
+
+  private static String sha256(String content) throws NoSuchAlgorithmException {
+    var digest = MessageDigest.getInstance("SHA-256");
+    return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @SuppressWarnings("unchecked")
+  private void stubUnitsPages(HttpHeaders headers) throws IOException, InterruptedException {
+    when(httpClient.send(
+            any(HttpRequest.class), ArgumentMatchers.<HttpResponse.BodyHandler<byte[]>>any()))
+        .thenAnswer(
+            (Answer<HttpResponse<byte[]>>)
+                invocationOnMock -> {
+                  HttpRequest request = invocationOnMock.getArgument(0);
+                  int lastDigit =
+                      Character.getNumericValue(
+                          request.uri().toString().charAt(request.uri().toString().length() - 1));
+                  var result =
+                      IoUtils.stringFromResources(
+                          Path.of("cristinUnits/units%d.json".formatted(lastDigit)));
+                  HttpResponse<byte[]> httpResponse = mock(HttpResponse.class);
+                  when(httpResponse.body()).thenReturn(result.getBytes(StandardCharsets.UTF_8));
+                  when(httpResponse.headers()).thenReturn(headers);
+                  return httpResponse;
+                });
   }
 
-  private static String getFileContent(ContentStreamProvider contentStreamProvider) {
-    return new Scanner(contentStreamProvider.newStream(), StandardCharsets.UTF_8)
-        .useDelimiter(DELIMITER)
-        .next();
+  private static byte[] getFileContent(ContentStreamProvider contentStreamProvider)
+      throws IOException {
+    try (var content = contentStreamProvider.newStream()) {
+      return content.readAllBytes();
+    }
   }
 }
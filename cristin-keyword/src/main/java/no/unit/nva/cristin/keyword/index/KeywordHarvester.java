@@ -0,0 +1,60 @@
+package no.unit.nva.cristin.keyword.index;
+
+import static no.unit.nva.client.HttpClientProvider.defaultHttpClient;
+import static no.unit.nva.cristin.keyword.KeywordConstants.CRISTIN_KEYWORDS_PATH;
+import static no.unit.nva.cristin.keyword.KeywordConstants.KEYWORD_ID_URI;
+import static no.unit.nva.cristin.model.Constants.CRISTIN_PER_PAGE_PARAM;
+import static no.unit.nva.cristin.model.JsonPropertyNames.PAGE;
+import static no.unit.nva.utils.UriUtils.createCristinQueryUri;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import no.unit.nva.cristin.common.cache.ReferenceDataCache;
+import no.unit.nva.cristin.common.client.ApiClient;
+import no.unit.nva.cristin.keyword.model.nva.Keyword;
+import no.unit.nva.cristin.keyword.model.nva.adapter.KeywordFromCristin;
+import no.unit.nva.cristin.model.CristinTypedLabel;
+import nva.commons.apigateway.exceptions.ApiGatewayException;
+
+/** Harvests every keyword in Cristin by reading the keywords endpoint page by page. */
+public class KeywordHarvester extends ApiClient implements ReferenceDataCache.Loader<Keyword> {
+
+  public static final int PAGE_SIZE = 1000; // Max in upstream
+
+  public KeywordHarvester() {
+    this(defaultHttpClient());
+  }
+
+  public KeywordHarvester(HttpClient client) {
+    super(client);
+  }
+
+  @Override
+  public List<Keyword> load() throws ApiGatewayException {
+    var keywords = new ArrayList<Keyword>();
+    for (var page = 1; ; page++) {
+      var cristinKeywords = fetchPage(page);
+      Arrays.stream(cristinKeywords).map(new KeywordFromCristin(null)).forEach(keywords::add);
+      if (cristinKeywords.length < PAGE_SIZE) {
+        return keywords;
+      }
+    }
+  }
+
+  private CristinTypedLabel[] fetchPage(int page) throws ApiGatewayException {
+    var response = fetchQueryResults(pageUri(page));
+    checkHttpStatusCode(KEYWORD_ID_URI, response.statusCode(), response.body());
+
+    return getDeserializedResponse(response, CristinTypedLabel[].class);
+  }
+
+  private static URI pageUri(int page) {
+    var params =
+        Map.of(PAGE, String.valueOf(page), CRISTIN_PER_PAGE_PARAM, String.valueOf(PAGE_SIZE));
+    return createCristinQueryUri(params, CRISTIN_KEYWORDS_PATH);
+  }
+}
@@ -0,0 +1,74 @@
+package no.unit.nva.cristin.keyword.index;
+
+import static java.util.Objects.isNull;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import no.unit.nva.cristin.common.cache.PrefixIndex;
+import no.unit.nva.cristin.common.cache.ReferenceDataCache;
+import no.unit.nva.cristin.keyword.model.nva.Keyword;
+
+/**
+ * Every keyword in Cristin, harvested once per container and searchable by the start of a word in
+ * any of their labels. The harvest is kept in a {@link ReferenceDataCache}, so it is refreshed in
+ * the background, and the labels are indexed in a {@link PrefixIndex} whenever a new harvest is
+ * handed out.
+ *
+ * <p>A search never waits for a harvest. Until the first harvest of the container is done, it
+ * finds nothing and the query is left to Cristin. A keyword created since the last harvest is
+ * found after the next one, at most 15 minutes later.
+ */
+public class KeywordIndex {
+
+  public static final String KEYWORDS = "keywords";
+
+  private final transient ReferenceDataCache<Keyword> harvest;
+  private transient PrefixIndex<Keyword> index;
+
+  public KeywordIndex(ReferenceDataCache.Loader<Keyword> harvester) {
+    this(new ReferenceDataCache<>(KEYWORDS, harvester, Keyword::getIdentifier));
+  }
+
+  public KeywordIndex(ReferenceDataCache<Keyword> harvest) {
+    this.harvest = harvest;
+  }
+
+  /** The index shared by every handler in this container. */
+  public static KeywordIndex defaultIndex() {
+    return DefaultIndexHolder.DEFAULT_INDEX;
+  }
+
+  /**
+   * Keywords having a label with a word starting with given query, if a harvest is held. If not,
+   * the harvest is started in the background.
+   *
+   * @param query start of a word in the label, case is ignored
+   * @return matching keywords in harvest order, all if blank, empty if no harvest is held
+   */
+  public Optional<List<Keyword>> search(String query) {
+    return current().map(current -> current.search(query));
+  }
+
+  private synchronized Optional<PrefixIndex<Keyword>> current() {
+    var keywords = harvest.getAllIfLoaded();
+    if (keywords.isEmpty()) {
+      return Optional.empty();
+    }
+    // The cache hands out the same list instance until it has harvested again
+    if (isNull(index) || !index.isBuiltFrom(keywords.get())) {
+      index = PrefixIndex.of(keywords.get(), KeywordIndex::labelsOf);
+    }
+    return Optional.of(index);
+  }
+
+  private static Collection<String> labelsOf(Keyword keyword) {
+    return isNull(keyword.getLabels()) ? List.of() : keyword.getLabels().values();
+  }
+
+  /** Defers creating the index until first used. */
+  private static final class DefaultIndexHolder {
+
+    private static final KeywordIndex DEFAULT_INDEX = new KeywordIndex(new KeywordHarvester());
+  }
+}
@@ -1,9 +1,13 @@
 package no.unit.nva.cristin.keyword.query;
 
 import static java.util.Arrays.asList;
+import static java.util.Objects.isNull;
 import static no.unit.nva.client.HttpClientProvider.defaultHttpClient;
 import static no.unit.nva.cristin.keyword.KeywordConstants.CRISTIN_KEYWORDS_PATH;
 import static no.unit.nva.cristin.keyword.KeywordConstants.KEYWORD_ID_URI;
+import static no.unit.nva.cristin.model.JsonPropertyNames.NUMBER_OF_RESULTS;
+import static no.unit.nva.cristin.model.JsonPropertyNames.PAGE;
+import static no.unit.nva.cristin.model.JsonPropertyNames.QUERY;
 import static no.unit.nva.utils.UriUtils.createCristinQueryUri;
 
 import java.net.URI;
@@ -11,9 +15,11 @@ import java.net.http.HttpClient;
 import java.net.http.HttpResponse;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import no.unit.nva.cristin.common.client.ApiClient;
 import no.unit.nva.cristin.common.client.CristinQueryApiClient;
+import no.unit.nva.cristin.keyword.index.KeywordIndex;
 import no.unit.nva.cristin.keyword.model.nva.Keyword;
 import no.unit.nva.cristin.keyword.model.nva.adapter.KeywordFromCristin;
 import no.unit.nva.cristin.model.CristinTypedLabel;
@@ -22,23 +28,75 @@ import nva.commons.apigateway.exceptions.ApiGatewayException;
 import nva.commons.apigateway.exceptions.BadGatewayException;
 import nva.commons.core.paths.UriWrapper;
 
+/**
+ * Searches keywords. A client with a {@link KeywordIndex} answers queries and pages from the index,
+ * and forwards a query to Cristin while no harvest of keywords is held, e.g. while the first
+ * harvest of the container runs in the background.
+ */
 public class QueryKeywordsApiClient extends ApiClient
     implements CristinQueryApiClient<Map<String, String>, Keyword> {
 
   public static final String KEYWORD_CONTEXT_JSON =
       "https://bibsysdev.github.io/src/keyword-search-context.json";
 
+  private final transient KeywordIndex keywordIndex;
+
   public QueryKeywordsApiClient() {
-    this(defaultHttpClient());
+    this(defaultHttpClient(), KeywordIndex.defaultIndex());
   }
 
+  /** Client forwarding every query to Cristin. */
   public QueryKeywordsApiClient(HttpClient client) {
+    this(client, null);
+  }
+
+  /**
+   * Client answering queries from given index, forwarding them to Cristin while the index is
+   * unavailable.
+   *
+   * @param client client used for queries forwarded to Cristin
+   * @param keywordIndex the index, null to forward every query
+   */
+  public QueryKeywordsApiClient(HttpClient client, KeywordIndex keywordIndex) {
     super(client);
+    this.keywordIndex = keywordIndex;
   }
 
   @Override
   public SearchResponse<Keyword> executeQuery(Map<String, String> params)
       throws ApiGatewayException {
+    var start = System.currentTimeMillis();
+    var matches = searchIndex(params);
+    if (matches.isEmpty()) {
+      return executeUpstreamQuery(params);
+    }
+    var hits = pageOf(matches.get(), params);
+    var totalProcessingTime = calculateProcessingTime(start, System.currentTimeMillis());
+
+    return new SearchResponse<Keyword>(appendSearchStringToId(params))
+        .withContext(KEYWORD_CONTEXT_JSON)
+        .withHits(hits)
+        .usingTotalCountAndQueryParams(matches.get().size(), params)
+        .withProcessingTime(totalProcessingTime);
+  }
+
+  private Optional<List<Keyword>> searchIndex(Map<String, String> params) {
+    if (isNull(keywordIndex)) {
+      return Optional.empty();
+    }
+    return keywordIndex.search(params.get(QUERY));
+  }
+
+  private static List<Keyword> pageOf(List<Keyword> matches, Map<String, String> params) {
+    var page = Long.parseLong(params.get(PAGE));
+    var resultsPerPage = Long.parseLong(params.get(NUMBER_OF_RESULTS));
+    var from = (int) Math.min((page - 1) * resultsPerPage, matches.size());
+    var to = (int) Math.min(from + resultsPerPage, matches.size());
+    return matches.subList(from, to);
+  }
+
+  private SearchResponse<Keyword> executeUpstreamQuery(Map<String, String> params)
+      throws ApiGatewayException {
     var convertedParams = new QueryParamConverter(params).convert().getResult();
     var queryUri = createCristinQueryUri(convertedParams, CRISTIN_KEYWORDS_PATH);
     var start = System.currentTimeMillis();
@@ -0,0 +1,118 @@
+package no.unit.nva.cristin.keyword.index;
+
+import static no.unit.nva.cristin.model.Constants.OBJECT_MAPPER;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.net.http.HttpClient;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.stream.IntStream;
+import no.unit.nva.cristin.common.cache.ReferenceDataCache;
+import no.unit.nva.cristin.keyword.model.nva.Keyword;
+import no.unit.nva.cristin.model.CristinTypedLabel;
+import no.unit.nva.cristin.testing.HttpResponseFaker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class KeywordIndexTest {
+
+  private static final Keyword EDUCATIONAL_MANAGEMENT =
+      keyword("1197", Map.of("en", "Educational management", "nb", "Utdanningsledelse"));
+  private static final Keyword ASTROPHYSICS = keyword("1200", Map.of("en", "Astrophysics"));
+  private static final Keyword MANAGEMENT = keyword("1300", Map.of("en", "Management"));
+
+  private Queue<List<Keyword>> harvests;
+  private Queue<Runnable> pendingHarvests;
+  private boolean deferHarvests;
+  private KeywordIndex keywordIndex;
+
+  @BeforeEach
+  void setUp() {
+    harvests = new ArrayDeque<>();
+    pendingHarvests = new ArrayDeque<>();
+    var harvest =
+        new ReferenceDataCache<>(
+            KeywordIndex.KEYWORDS,
+            () -> harvests.poll(),
+            Keyword::getIdentifier,
+            ReferenceDataCache.DEFAULT_REFRESH_AFTER,
+            ReferenceDataCache.DEFAULT_MAX_AGE,
+            this::runHarvest,
+            System::nanoTime);
+    keywordIndex = new KeywordIndex(harvest);
+  }
+
+  @Test
+  void shouldFindKeywordsByStartOfWordInAnyLabel() {
+    harvests.add(List.of(EDUCATIONAL_MANAGEMENT, ASTROPHYSICS));
+
+    assertThat(
+        keywordIndex.search("manage"), equalTo(Optional.of(List.of(EDUCATIONAL_MANAGEMENT))));
+    assertThat(
+        keywordIndex.search("UTDANNING"), equalTo(Optional.of(List.of(EDUCATIONAL_MANAGEMENT))));
+    assertThat(
+        keywordIndex.search(null),
+        equalTo(Optional.of(List.of(EDUCATIONAL_MANAGEMENT, ASTROPHYSICS))));
+  }
+
+  @Test
+  void shouldFindNothingWithoutWaitingWhileFirstHarvestRuns() {
+    harvests.add(List.of(EDUCATIONAL_MANAGEMENT, MANAGEMENT));
+    deferHarvests = true;
+
+    assertThat(keywordIndex.search("manage"), equalTo(Optional.empty()));
+    assertThat(pendingHarvests.size(), equalTo(1));
+
+    pendingHarvests.poll().run();
+
+    assertThat(
+        keywordIndex.search("manage"),
+        equalTo(Optional.of(List.of(EDUCATIONAL_MANAGEMENT, MANAGEMENT))));
+  }
+
+  @Test
+  void shouldHarvestEveryPageOfKeywords() throws Exception {
+    var harvester = spy(new KeywordHarvester(mock(HttpClient.class)));
+    var fullPage = cristinKeywords(KeywordHarvester.PAGE_SIZE);
+    var lastPage = cristinKeywords(1);
+    doReturn(new HttpResponseFaker(fullPage), new HttpResponseFaker(lastPage))
+        .when(harvester)
+        .fetchQueryResults(any());
+
+    var harvested = harvester.load();
+
+    assertThat(harvested.size(), equalTo(KeywordHarvester.PAGE_SIZE + 1));
+    verify(harvester, times(2)).fetchQueryResults(any());
+  }
+
+  private void runHarvest(Runnable harvest) {
+    if (deferHarvests) {
+      pendingHarvests.add(harvest);
+    } else {
+      harvest.run();
+    }
+  }
+
+  private static String cristinKeywords(int count) throws JsonProcessingException {
+    var keywords =
+        IntStream.range(0, count)
+            .mapToObj(code -> new CristinTypedLabel(String.valueOf(code), Map.of("en", "Label")))
+            .toList();
+    return OBJECT_MAPPER.writeValueAsString(keywords);
+  }
+
+  private static Keyword keyword(String identifier, Map<String, String> labels) {
+    return new Keyword.Builder().withIdentifier(identifier).withLabels(labels).build();
+  }
+}
@@ -9,6 +9,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 
@@ -24,6 +25,9 @@ import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import no.unit.nva.cristin.common.cache.ReferenceDataCache;
+import no.unit.nva.cristin.keyword.index.KeywordHarvester;
+import no.unit.nva.cristin.keyword.index.KeywordIndex;
 import no.unit.nva.cristin.keyword.model.nva.Keyword;
 import no.unit.nva.cristin.model.SearchResponse;
 import no.unit.nva.cristin.testing.HttpResponseFaker;
@@ -51,6 +55,7 @@ class QueryKeywordsHandlerTest {
   public static final String NVA_QUERY_KEYWORDS_RESPONSE_JSON = "nvaQueryKeywordsResponse.json";
   public static final String EXPECTED_CONTEXT =
       "https://bibsysdev.github.io/src/keyword-search-context.json";
+  public static final String INDEXED_QUERY_VALUE = "astro";
   public static final String EXPECTED_ID =
       "https://api.dev.nva.aws.unit.no/cristin/keyword?page=1&results=100";
 
@@ -105,6 +110,32 @@ class QueryKeywordsHandlerTest {
         .fetchQueryResults(UriWrapper.fromUri(EXPECTED_CRISTIN_URI_WITH_QUERY_PARAM).getUri());
   }
 
+  @Test
+  void shouldAnswerQueryFromIndexWithoutForwardingItUpstream() throws Exception {
+    var harvester = spy(new KeywordHarvester(mock(HttpClient.class)));
+    var fakeHarvest = IoUtils.stringFromResources(Path.of(CRISTIN_KEYWORDS_RESPONSE_JSON));
+    doReturn(new HttpResponseFaker(fakeHarvest)).when(harvester).fetchQueryResults(any());
+    var harvest =
+        new ReferenceDataCache<>(
+            KeywordIndex.KEYWORDS,
+            harvester,
+            Keyword::getIdentifier,
+            ReferenceDataCache.DEFAULT_REFRESH_AFTER,
+            ReferenceDataCache.DEFAULT_MAX_AGE,
+            Runnable::run,
+            System::nanoTime);
+    apiClient = spy(new QueryKeywordsApiClient(mock(HttpClient.class), new KeywordIndex(harvest)));
+    handler = new QueryKeywordsHandler(apiClient, environment);
+
+    var response = sendQuery(Map.of(QUERY, INDEXED_QUERY_VALUE));
+    var responseBody = response.getBodyObject(SearchResponse.class);
+
+    assertThat(response.getStatusCode(), equalTo(HTTP_OK));
+    assertThat(responseBody.getHits().size(), equalTo(1));
+    assertThat(responseBody.getSize(), equalTo(1));
+    verify(apiClient, never()).fetchQueryResults(any());
+  }
+
   @Test
   void shouldThrowBadRequestOnInvalidQueryParams() throws IOException {
     var queryParams = Map.of(INVALID_PARAM, INVALID_PARAM);
@@ -0,0 +1,96 @@
+package no.unit.nva.cristin.organization.dto.v20230526;
+
+import static no.unit.nva.cristin.model.Constants.OBJECT_MAPPER;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import no.unit.nva.cristin.common.client.ApiClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares deserializing a page of units from upstream the way it used to be done, decoding the
+ * body into a String and parsing it with the ObjectMapper, against parsing the UTF-8 bytes or a
+ * stream of them with a prebuilt ObjectReader. A page of 1000 units is the largest upstream
+ * returns. Run with the gc profiler and compare gc.alloc.rate.norm to see allocation per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UnitDtoDeserializationBenchmark {
+
+  private static final String UNIT_TEMPLATE =
+      """
+      {
+        "cristin_unit_id": "185.53.18.%1$d",
+        "unit_name": {"nb": "Avdeling for medisinsk biokjemi %1$d", "en": "Department %1$d"},
+        "institution": {
+          "cristin_institution_id": "185",
+          "url": "https://api.cristin.no/v2/institutions/185"
+        },
+        "acronym": "KLM-MBK",
+        "parent_unit": {
+          "cristin_unit_id": "185.53.18.0",
+          "unit_name": {"nb": "Klinikk for laboratoriemedisin"},
+          "url": "https://api.cristin.no/v2/units/185.53.18.0"
+        },
+        "parent_units": [
+          {
+            "cristin_unit_id": "185.90.0.0",
+            "unit_name": {"nb": "Universitetet i Oslo", "en": "University of Oslo"},
+            "url": "https://api.cristin.no/v2/units/185.90.0.0"
+          },
+          {
+            "cristin_unit_id": "185.50.0.0",
+            "unit_name": {"nb": "Det medisinske fakultet", "en": "Faculty of Medicine"},
+            "url": "https://api.cristin.no/v2/units/185.50.0.0"
+          },
+          {
+            "cristin_unit_id": "185.53.18.0",
+            "unit_name": {"nb": "Klinikk for laboratoriemedisin"},
+            "url": "https://api.cristin.no/v2/units/185.53.18.0"
+          }
+        ],
+        "url": "https://api.cristin.no/v2/units/185.53.18.%1$d"
+      }""";
+
+  @Param({"1000"})
+  private int numberOfUnits;
+
+  private byte[] body;
+
+  @Setup
+  public void setup() {
+    body =
+        IntStream.range(0, numberOfUnits)
+            .mapToObj(identifier -> String.format(UNIT_TEMPLATE, identifier))
+            .collect(Collectors.joining(",", "[", "]"))
+            .getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public UnitDto[] stringBodyWithObjectMapper() throws IOException {
+    var string = new String(body, StandardCharsets.UTF_8);
+    return OBJECT_MAPPER.readValue(string, UnitDto[].class);
+  }
+
+  @Benchmark
+  public UnitDto[] byteBodyWithObjectReader() throws IOException {
+    return ApiClient.fromJson(body, UnitDto[].class);
+  }
+
+  @Benchmark
+  public UnitDto[] streamedBodyWithObjectReader() throws IOException {
+    return ApiClient.fromJson(new ByteArrayInputStream(body), UnitDto[].class);
+  }
+}
@@ -0,0 +1,132 @@
+package no.unit.nva.cristin.organization.dto.v20230526.mapper;
+
+import static java.util.Objects.nonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import no.unit.nva.cristin.organization.dto.v20230526.UnitDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares building the organization tree with the index based mappers against the previous
+ * approach of scanning all remaining units for every node. The sub tree is a synthetic institution
+ * where every unit has up to ten subunits, listed in random order as upstream does not sort them.
+ * The parent trail is a chain as long as the number of units, a worst case that shows how each
+ * approach scales with the number of parents.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrganizationTreeMapperBenchmark {
+
+  private static final int SUB_UNITS_PER_UNIT = 10;
+  private static final String ROOT_ID = "0";
+  private static final long SEED = 42;
+
+  @Param({"2000", "20000"})
+  private int numberOfUnits;
+
+  private UnitDto institution;
+  private UnitDto leaf;
+
+  @Setup(Level.Invocation)
+  public void setup() {
+    var random = new Random(SEED);
+    var units = new ArrayList<UnitDto>();
+    for (int index = 1; index <= numberOfUnits; index++) {
+      units.add(unit(String.valueOf(index), String.valueOf((index - 1) / SUB_UNITS_PER_UNIT)));
+    }
+    Collections.shuffle(units, random);
+    institution = new UnitDto(ROOT_ID, Map.of(), null, null, null, null, units, null, null);
+
+    var parents = new ArrayList<UnitDto>();
+    for (int index = 1; index <= numberOfUnits; index++) {
+      parents.add(unit(String.valueOf(index), String.valueOf(index - 1)));
+    }
+    Collections.shuffle(parents, random);
+    leaf =
+        new UnitDto(
+            "leaf",
+            Map.of(),
+            null,
+            null,
+            unit(String.valueOf(numberOfUnits), null),
+            parents,
+            null,
+            null,
+            null);
+  }
+
+  @Benchmark
+  public UnitDto subTreeFromIndex() {
+    return new SubTreeMapper(institution).getWithSubUnitTree();
+  }
+
+  @Benchmark
+  public UnitDto subTreeByScanning() {
+    scanForSubUnits(institution, new ArrayList<>(institution.getSubUnits()));
+    return institution;
+  }
+
+  @Benchmark
+  public UnitDto parentTrailFromIndex() {
+    return new ParentTrailMapper(leaf).getWithParentTrail();
+  }
+
+  @Benchmark
+  public UnitDto parentTrailByScanning() {
+    var allParents = new ArrayList<>(leaf.getParentUnits());
+    var current = leaf;
+    while (nonNull(current)) {
+      current = scanForParent(current, allParents);
+    }
+    return leaf;
+  }
+
+  private static void scanForSubUnits(UnitDto unitDto, List<UnitDto> allSubUnits) {
+    var results =
+        allSubUnits.stream()
+            .filter(subUnit -> nonNull(subUnit.getParentUnit()))
+            .filter(subUnit -> subUnit.getParentUnit().getId().equals(unitDto.getId()))
+            .toList();
+    unitDto.setSubUnits(results);
+    allSubUnits.removeAll(results);
+    results.forEach(result -> scanForSubUnits(result, allSubUnits));
+  }
+
+  private static UnitDto scanForParent(UnitDto unitDto, List<UnitDto> allParents) {
+    if (unitDto.getParentUnit() == null) {
+      return null;
+    }
+    var match =
+        allParents.stream()
+            .filter(parent -> parent.getId().equals(unitDto.getParentUnit().getId()))
+            .findAny();
+    match.ifPresent(
+        parent -> {
+          unitDto.setParentUnit(parent);
+          allParents.remove(parent);
+        });
+    return match.orElse(null);
+  }
+
+  private static UnitDto unit(String id, String parentId) {
+    var parentUnit =
+        nonNull(parentId)
+            ? new UnitDto(parentId, Map.of(), null, null, null, null, null, null, null)
+            : null;
+    return new UnitDto(id, Map.of(), null, null, parentUnit, null, null, null, null);
+  }
+}
@@ -0,0 +1,26 @@
+package no.unit.nva.cristin.organization.ancestry;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+/**
+ * Pairs of units to answer ancestry questions for.
+ *
+ * @param pairs the pairs, each answered on its own
+ */
+public record AncestryQuery(@JsonProperty(PAIRS) List<UnitPair> pairs) {
+
+  public static final String PAIRS = "pairs";
+
+  /**
+   * Two units identified by their Cristin identifiers, e.g. 185.15.0.25.
+   *
+   * @param unit the unit asked about
+   * @param other the unit it is compared with
+   */
+  public record UnitPair(@JsonProperty(UNIT) String unit, @JsonProperty(OTHER) String other) {
+
+    public static final String UNIT = "unit";
+    public static final String OTHER = "other";
+  }
+}
@@ -0,0 +1,47 @@
+package no.unit.nva.cristin.organization.ancestry;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+/**
+ * Answers to an {@link AncestryQuery}, one result per pair in the order asked.
+ *
+ * @param results the answers
+ * @param unknownUnits units asked about that are not in the units snapshot, every answer involving
+ *     them is negative
+ */
+public record AncestryResponse(
+    @JsonProperty(RESULTS) List<Result> results,
+    @JsonProperty(UNKNOWN_UNITS) List<String> unknownUnits) {
+
+  public static final String RESULTS = "results";
+  public static final String UNKNOWN_UNITS = "unknownUnits";
+
+  /**
+   * Ancestry of one pair of units.
+   *
+   * @param unit the unit asked about
+   * @param other the unit it is compared with
+   * @param isPartOf true if unit is somewhere below other
+   * @param hasPart true if other is somewhere below unit
+   * @param lowestCommonAncestor the lowest unit both are part of or equal to, absent if the units
+   *     are in different institutions
+   */
+  @JsonInclude(NON_NULL)
+  public record Result(
+      @JsonProperty(UNIT) String unit,
+      @JsonProperty(OTHER) String other,
+      @JsonProperty(IS_PART_OF) boolean isPartOf,
+      @JsonProperty(HAS_PART) boolean hasPart,
+      @JsonProperty(LOWEST_COMMON_ANCESTOR) String lowestCommonAncestor) {
+
+    public static final String UNIT = "unit";
+    public static final String OTHER = "other";
+    public static final String IS_PART_OF = "isPartOf";
+    public static final String HAS_PART = "hasPart";
+    public static final String LOWEST_COMMON_ANCESTOR = "lowestCommonAncestor";
+  }
+}
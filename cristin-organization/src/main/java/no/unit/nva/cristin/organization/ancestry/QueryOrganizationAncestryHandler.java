@@ -0,0 +1,119 @@
+package no.unit.nva.cristin.organization.ancestry;
+
+import static java.util.Objects.isNull;
+import static no.unit.nva.model.Organization.ORGANIZATION_IDENTIFIER_PATTERN;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import no.unit.nva.cristin.common.handler.CristinHandler;
+import no.unit.nva.cristin.organization.ancestry.AncestryQuery.UnitPair;
+import no.unit.nva.cristin.organization.ancestry.AncestryResponse.Result;
+import no.unit.nva.cristin.organization.graph.AncestryIndex;
+import no.unit.nva.cristin.organization.graph.OrganizationGraph;
+import nva.commons.apigateway.RequestInfo;
+import nva.commons.apigateway.exceptions.ApiGatewayException;
+import nva.commons.apigateway.exceptions.BadGatewayException;
+import nva.commons.apigateway.exceptions.BadRequestException;
+import nva.commons.core.Environment;
+import nva.commons.core.JacocoGenerated;
+
+/**
+ * Answers for pairs of units whether one is part of the other and which unit is the lowest both
+ * are part of, from the {@link AncestryIndex} of the units snapshot. Nothing is fetched from
+ * upstream, so units created since the snapshot was harvested are reported as unknown.
+ */
+public class QueryOrganizationAncestryHandler
+    extends CristinHandler<AncestryQuery, AncestryResponse> {
+
+  public static final int MAX_PAIRS = 1000;
+  public static final Pattern PATTERN = Pattern.compile(ORGANIZATION_IDENTIFIER_PATTERN);
+  public static final String ERROR_MESSAGE_NO_PAIRS =
+      "Payload must have at least one pair of units";
+  public static final String ERROR_MESSAGE_TOO_MANY_PAIRS =
+      "Payload can have at most " + MAX_PAIRS + " pairs of units";
+  public static final String ERROR_MESSAGE_INVALID_UNIT =
+      "Units must be Cristin unit identifiers of four numbers, e.g. 185.15.0.25";
+  public static final String ERROR_MESSAGE_SNAPSHOT_NOT_AVAILABLE =
+      "Units snapshot is not available, try again later";
+
+  private final transient Supplier<OrganizationGraph> graph;
+
+  @JacocoGenerated
+  @SuppressWarnings("unused")
+  public QueryOrganizationAncestryHandler() {
+    this(OrganizationGraph.loadingDefaultGraph(), new Environment());
+  }
+
+  public QueryOrganizationAncestryHandler(
+      Supplier<OrganizationGraph> graph, Environment environment) {
+    super(AncestryQuery.class, environment);
+    this.graph = graph;
+  }
+
+  @Override
+  protected void validateRequest(AncestryQuery input, RequestInfo requestInfo, Context context)
+      throws ApiGatewayException {
+    if (isNull(input) || isNull(input.pairs()) || input.pairs().isEmpty()) {
+      throw new BadRequestException(ERROR_MESSAGE_NO_PAIRS);
+    }
+    if (input.pairs().size() > MAX_PAIRS) {
+      throw new BadRequestException(ERROR_MESSAGE_TOO_MANY_PAIRS);
+    }
+    for (var pair : input.pairs()) {
+      if (isNull(pair) || !isValidUnit(pair.unit()) || !isValidUnit(pair.other())) {
+        throw new BadRequestException(ERROR_MESSAGE_INVALID_UNIT);
+      }
+    }
+  }
+
+  @Override
+  protected AncestryResponse processInput(
+      AncestryQuery input, RequestInfo requestInfo, Context context) throws ApiGatewayException {
+    var currentGraph = graph.get();
+    if (currentGraph.size() == 0) {
+      throw new BadGatewayException(ERROR_MESSAGE_SNAPSHOT_NOT_AVAILABLE);
+    }
+    var index = currentGraph.ancestryIndex();
+    var results = new ArrayList<Result>();
+    var unknownUnits = new LinkedHashSet<String>();
+    for (var pair : input.pairs()) {
+      results.add(resultOf(index, pair));
+      addUnknownUnits(index, pair, unknownUnits);
+    }
+    return new AncestryResponse(results, List.copyOf(unknownUnits));
+  }
+
+  @Override
+  protected Integer getSuccessStatusCode(AncestryQuery input, AncestryResponse output) {
+    return HttpURLConnection.HTTP_OK;
+  }
+
+  private static boolean isValidUnit(String identifier) {
+    return !isNull(identifier) && PATTERN.matcher(identifier).matches();
+  }
+
+  private static void addUnknownUnits(
+      AncestryIndex index, UnitPair pair, Set<String> unknownUnits) {
+    if (!index.contains(pair.unit())) {
+      unknownUnits.add(pair.unit());
+    }
+    if (!index.contains(pair.other())) {
+      unknownUnits.add(pair.other());
+    }
+  }
+
+  private static Result resultOf(AncestryIndex index, UnitPair pair) {
+    return new Result(
+        pair.unit(),
+        pair.other(),
+        index.isPartOf(pair.unit(), pair.other()),
+        index.isPartOf(pair.other(), pair.unit()),
+        index.lowestCommonAncestor(pair.unit(), pair.other()).orElse(null));
+  }
+}
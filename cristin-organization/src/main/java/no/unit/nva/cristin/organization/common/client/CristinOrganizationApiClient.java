@@ -32,8 +32,10 @@ import java.net.http.HttpClient;
 import java.net.http.HttpResponse;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import no.unit.nva.client.FetchApiClient;
@@ -50,6 +52,8 @@ import nva.commons.apigateway.exceptions.BadRequestException;
 import nva.commons.apigateway.exceptions.NotFoundException;
 import nva.commons.core.attempt.Failure;
 import nva.commons.core.paths.UriWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 @SuppressWarnings("PMD.GodClass")
 public class CristinOrganizationApiClient extends ApiClient
@@ -61,7 +65,11 @@ public class CristinOrganizationApiClient extends ApiClient
   public static final int SINGLE_HIT = 1;
   public static final String UNIQUELY_IDENTIFY_ORGANIZATION =
       "Identifier does not uniquely identify organization";
+  public static final String UNITS_FETCHED_FROM_UPSTREAM = "Fetched {} units from upstream";
   private static final int NO_HITS = 0;
+  private static final Logger logger = LoggerFactory.getLogger(CristinOrganizationApiClient.class);
+
+  private transient UnitTreeWalker walker;
 
   /** Create a CristinOrganizationApiClient with default HTTPClient. */
   public CristinOrganizationApiClient() {
@@ -80,7 +88,7 @@ public class CristinOrganizationApiClient extends ApiClient
    * @throws NotFoundException when the URI does not correspond to an existing unit.
    */
   public Organization getOrganization(URI uri) throws ApiGatewayException {
-    return fromSubSubunit(getSubSubUnitDtoWithMultipleEfforts(uri));
+    return fromSubSubunit(getWalker().unit(uri));
   }
 
   /**
@@ -111,10 +119,22 @@ public class CristinOrganizationApiClient extends ApiClient
       var cristinUri = getCristinUri(params.get(IDENTIFIER), UNITS_PATH);
       var organization = getOrganization(cristinUri);
       organization.setContext(ORGANIZATION_CONTEXT);
+      logger.info(UNITS_FETCHED_FROM_UPSTREAM, getWalker().getUpstreamCalls());
       return organization;
     }
   }
 
+  /**
+   * Walker fetching the units of this client, each unit at most once. Providers create a new client
+   * for every request, so units are remembered for one request only.
+   */
+  protected synchronized UnitTreeWalker getWalker() {
+    if (isNull(walker)) {
+      walker = new UnitTreeWalker(this::getSubSubUnitDtoWithMultipleEfforts);
+    }
+    return walker;
+  }
+
   private Organization extractOrganization(String identifier, HttpResponse<String> response)
       throws ApiGatewayException {
     var type = new TypeReference<List<SubUnitDto>>() {};
@@ -156,6 +176,7 @@ public class CristinOrganizationApiClient extends ApiClient
     final long start = System.currentTimeMillis();
     SearchResponse<Organization> searchResponse = query(queryUri);
     final long totalProcessingTime = System.currentTimeMillis() - start;
+    logger.info(UNITS_FETCHED_FROM_UPSTREAM, getWalker().getUpstreamCalls());
     return updateSearchResponseMetadata(searchResponse, requestQueryParams, totalProcessingTime);
   }
 
@@ -218,14 +239,7 @@ public class CristinOrganizationApiClient extends ApiClient
   }
 
   private Organization getParentOrganization(SubSubUnitDto subSubUnitDto) {
-    URI parent =
-        Optional.ofNullable(subSubUnitDto.getParentUnit()).map(InstitutionDto::getUri).orElse(null);
-    final Set<Organization> partOf =
-        isNull(parent)
-            ? null
-            : Set.of(
-                getParentOrganization(
-                    attempt(() -> getSubSubUnitDtoWithMultipleEfforts(parent)).orElseThrow()));
+    final Set<Organization> partOf = getPartOf(subSubUnitDto);
     return new Organization.Builder()
         .withId(getNvaApiId(subSubUnitDto.getId(), ORGANIZATION_PATH))
         .withPartOf(partOf)
@@ -233,47 +247,45 @@ public class CristinOrganizationApiClient extends ApiClient
         .build();
   }
 
-  private Organization fromSubSubunit(SubSubUnitDto subSubUnitDto) {
+  private Set<Organization> getPartOf(SubSubUnitDto subSubUnitDto) {
     URI parent =
         Optional.ofNullable(subSubUnitDto.getParentUnit()).map(InstitutionDto::getUri).orElse(null);
-    final Set<Organization> partOf =
-        isNull(parent)
-            ? null
-            : Set.of(
-                getParentOrganization(
-                    attempt(() -> getSubSubUnitDtoWithMultipleEfforts(parent)).orElseThrow()));
+    return isNull(parent)
+        ? null
+        : Set.of(getParentOrganization(attempt(() -> getWalker().unit(parent)).orElseThrow()));
+  }
+
+  private Organization fromSubSubunit(SubSubUnitDto subSubUnitDto) {
+    final Set<Organization> partOf = getPartOf(subSubUnitDto);
+    final Map<URI, SubSubUnitDto> subTree =
+        attempt(() -> getWalker().subTreeOf(subSubUnitDto)).orElseThrow();
     return new Organization.Builder()
         .withId(getNvaApiId(subSubUnitDto.getId(), ORGANIZATION_PATH))
         .withPartOf(partOf)
-        .withHasPart(getSubUnits(subSubUnitDto))
+        .withHasPart(getSubUnits(subSubUnitDto, subTree))
         .withLabels(subSubUnitDto.getUnitName())
         .withCountry(subSubUnitDto.getCountry())
         .withAcronym(subSubUnitDto.getAcronym())
         .build();
   }
 
-  private Set<Organization> getSubUnits(SubSubUnitDto subSubUnitDto) {
+  private Set<Organization> getSubUnits(
+      SubSubUnitDto subSubUnitDto, Map<URI, SubSubUnitDto> subTree) {
     List<SubUnitDto> subUnits = subSubUnitDto.getSubUnits();
     return !isNull(subUnits)
         ? subUnits.stream()
-            .parallel()
-            .map((SubUnitDto subUnitDto) -> getSubUnitDto(subUnitDto.getUri()))
+            .map(SubUnitDto::getUri)
+            .map(subTree::get)
+            .filter(Objects::nonNull)
+            .map(subUnit -> getHasParts(subUnit, subTree))
             .collect(Collectors.toSet())
         : null;
   }
 
-  private Organization getSubUnitDto(URI cristinUri) {
-    return attempt(() -> getSubOrganization(cristinUri)).orElseThrow();
-  }
-
-  private Organization getSubOrganization(URI uri) throws ApiGatewayException {
-    return getHasParts(getSubSubUnitDtoWithMultipleEfforts(uri));
-  }
-
-  private Organization getHasParts(SubSubUnitDto subSubUnitDto) {
+  private Organization getHasParts(SubSubUnitDto subSubUnitDto, Map<URI, SubSubUnitDto> subTree) {
     return new Organization.Builder()
         .withId(getNvaApiId(subSubUnitDto.getId(), ORGANIZATION_PATH))
-        .withHasPart(getSubUnits(subSubUnitDto))
+        .withHasPart(getSubUnits(subSubUnitDto, subTree))
         .withLabels(subSubUnitDto.getUnitName())
         .build();
   }
@@ -281,11 +293,19 @@ public class CristinOrganizationApiClient extends ApiClient
   private List<Organization> getOrganizations(HttpResponse<String> response)
       throws JsonProcessingException {
     List<SubUnitDto> units = OBJECT_MAPPER.readValue(response.body(), new TypeReference<>() {});
-    return units.stream()
-        .parallel()
-        .map(SubUnitDto::getUri)
-        .map(uri -> attempt(() -> getOrganization(uri)).orElseThrow())
-        .collect(Collectors.toList());
+    var organizations =
+        units.stream()
+            .map(SubUnitDto::getUri)
+            .map(
+                uri ->
+                    CompletableFuture.supplyAsync(
+                        () -> getOrganizationOrThrow(uri), UnitTreeWalker.defaultExecutor()))
+            .toList();
+    return organizations.stream().map(CompletableFuture::join).collect(Collectors.toList());
+  }
+
+  private Organization getOrganizationOrThrow(URI uri) {
+    return attempt(() -> getOrganization(uri)).orElseThrow();
   }
 
   /** Sends calls to upstream with multiple retries. */
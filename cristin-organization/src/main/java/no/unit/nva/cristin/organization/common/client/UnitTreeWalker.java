@@ -0,0 +1,170 @@
+package no.unit.nva.cristin.organization.common.client;
+
+import static java.util.Objects.isNull;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import no.unit.nva.cristin.organization.dto.SubSubUnitDto;
+import no.unit.nva.cristin.organization.dto.SubUnitDto;
+import nva.commons.apigateway.exceptions.ApiGatewayException;
+import nva.commons.core.attempt.FunctionWithException;
+
+/**
+ * Fetches the units needed to answer one request, each unit at most once. Fetches are remembered as
+ * futures, so a unit asked for while it is being fetched is not fetched again, e.g. a parent shared
+ * by several hits of a query. Sub trees are walked breadth first, all units of a level are fetched
+ * concurrently before the next level is started.
+ *
+ * <p>Fetches run on virtual threads of an executor dedicated to walking unit trees, not on the
+ * common pool, and at most {@link #MAX_CONCURRENT_FETCHES} fetches of one walker are in flight at
+ * the same time. A walker is meant to live for one request only.
+ */
+public class UnitTreeWalker {
+
+  public static final int MAX_CONCURRENT_FETCHES = 20;
+  public static final String THREAD_NAME_PREFIX = "unit-tree-walker-";
+
+  private final transient FunctionWithException<URI, SubSubUnitDto, ApiGatewayException> fetcher;
+  private final transient Executor executor;
+  private final transient Semaphore permits;
+  private final transient Map<URI, CompletableFuture<SubSubUnitDto>> units;
+  private final transient AtomicInteger upstreamCalls;
+
+  /**
+   * Creates a walker using the shared executor and the default concurrency limit.
+   *
+   * @param fetcher fetches one unit from upstream
+   */
+  public UnitTreeWalker(FunctionWithException<URI, SubSubUnitDto, ApiGatewayException> fetcher) {
+    this(fetcher, defaultExecutor(), MAX_CONCURRENT_FETCHES);
+  }
+
+  /**
+   * Creates a walker.
+   *
+   * @param fetcher fetches one unit from upstream
+   * @param executor runs the fetches
+   * @param maxConcurrentFetches fetches of this walker allowed in flight at the same time
+   */
+  public UnitTreeWalker(
+      FunctionWithException<URI, SubSubUnitDto, ApiGatewayException> fetcher,
+      Executor executor,
+      int maxConcurrentFetches) {
+    this.fetcher = fetcher;
+    this.executor = executor;
+    this.permits = new Semaphore(maxConcurrentFetches);
+    this.units = new ConcurrentHashMap<>();
+    this.upstreamCalls = new AtomicInteger();
+  }
+
+  /** Executor shared by every walker in this container, running each fetch on a virtual thread. */
+  public static ExecutorService defaultExecutor() {
+    return DefaultExecutorHolder.DEFAULT_EXECUTOR;
+  }
+
+  /**
+   * Unit with given URI, fetched unless already fetched by this walker.
+   *
+   * @param uri Cristin unit URI
+   * @return the unit
+   * @throws ApiGatewayException when the unit could not be fetched
+   */
+  public SubSubUnitDto unit(URI uri) throws ApiGatewayException {
+    return await(unitAsync(uri));
+  }
+
+  /**
+   * Starts fetching the unit with given URI unless already fetched or being fetched by this walker.
+   *
+   * @param uri Cristin unit URI
+   * @return future completing with the unit
+   */
+  public CompletableFuture<SubSubUnitDto> unitAsync(URI uri) {
+    return units.computeIfAbsent(uri, this::fetchAsync);
+  }
+
+  /**
+   * All units below a unit, walked breadth first.
+   *
+   * @param root the unit to walk from
+   * @return the units below the root by URI, not including the root
+   * @throws ApiGatewayException when a unit in the sub tree could not be fetched
+   */
+  public Map<URI, SubSubUnitDto> subTreeOf(SubSubUnitDto root) throws ApiGatewayException {
+    var subTree = new LinkedHashMap<URI, SubSubUnitDto>();
+    var level = subUnitUris(root);
+    while (!level.isEmpty()) {
+      var fetches = new LinkedHashMap<URI, CompletableFuture<SubSubUnitDto>>();
+      level.stream()
+          .filter(uri -> !subTree.containsKey(uri))
+          .forEach(uri -> fetches.computeIfAbsent(uri, this::unitAsync));
+      var nextLevel = new ArrayList<URI>();
+      for (var fetch : fetches.entrySet()) {
+        var unit = await(fetch.getValue());
+        subTree.put(fetch.getKey(), unit);
+        nextLevel.addAll(subUnitUris(unit));
+      }
+      level = nextLevel;
+    }
+    return subTree;
+  }
+
+  /** Number of units this walker has fetched from upstream. */
+  public int getUpstreamCalls() {
+    return upstreamCalls.get();
+  }
+
+  private CompletableFuture<SubSubUnitDto> fetchAsync(URI uri) {
+    upstreamCalls.incrementAndGet();
+    return CompletableFuture.supplyAsync(() -> fetchWithPermit(uri), executor);
+  }
+
+  private SubSubUnitDto fetchWithPermit(URI uri) {
+    permits.acquireUninterruptibly();
+    try {
+      return fetcher.apply(uri);
+    } catch (ApiGatewayException exception) {
+      throw new CompletionException(exception);
+    } finally {
+      permits.release();
+    }
+  }
+
+  private static List<URI> subUnitUris(SubSubUnitDto unit) {
+    return isNull(unit.getSubUnits())
+        ? List.of()
+        : unit.getSubUnits().stream().map(SubUnitDto::getUri).filter(Objects::nonNull).toList();
+  }
+
+  private static SubSubUnitDto await(CompletableFuture<SubSubUnitDto> fetch)
+      throws ApiGatewayException {
+    try {
+      return fetch.join();
+    } catch (CompletionException exception) {
+      if (exception.getCause() instanceof ApiGatewayException cause) {
+        throw cause;
+      }
+      throw exception;
+    }
+  }
+
+  /** Defers creating the executor until a walker first needs it. */
+  private static final class DefaultExecutorHolder {
+
+    private static final ExecutorService DEFAULT_EXECUTOR =
+        Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name(THREAD_NAME_PREFIX, 0).factory());
+  }
+}
@@ -21,6 +21,10 @@ import java.net.http.HttpResponse;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import no.unit.nva.client.FetchApiClient;
 import no.unit.nva.cristin.common.client.ApiClient;
 import no.unit.nva.cristin.organization.dto.v20230526.UnitDto;
@@ -35,14 +39,29 @@ public class FetchCristinOrgClient20230526 extends ApiClient
 
   public static final String ALL_RESULTS = "1000"; // Max in upstream for first page
   public static final String FIRST_PAGE = "1";
-  public static final String SECOND_PAGE = "2"; // Edge case where search result has up to size 2000
+  public static final String SUB_UNITS_PAGE_FAILED = "Failed to fetch page of sub units";
+  public static final int MAX_CONCURRENT_PAGE_FETCHES = 4;
+
+  private final transient int maxConcurrentPageFetches;
 
   public FetchCristinOrgClient20230526() {
     this(defaultHttpClient());
   }
 
   public FetchCristinOrgClient20230526(HttpClient client) {
+    this(client, MAX_CONCURRENT_PAGE_FETCHES);
+  }
+
+  /**
+   * Creates a client.
+   *
+   * @param client the HTTP client
+   * @param maxConcurrentPageFetches pages of sub units of one fetch allowed in flight at the same
+   *     time
+   */
+  public FetchCristinOrgClient20230526(HttpClient client, int maxConcurrentPageFetches) {
     super(client);
+    this.maxConcurrentPageFetches = maxConcurrentPageFetches;
   }
 
   /**
@@ -61,18 +80,12 @@ public class FetchCristinOrgClient20230526 extends ApiClient
         getNvaApiId(identifier, ORGANIZATION_PATH), response.statusCode(), response.body());
 
     if (wantsDepth(params)) {
-      var fetchSubsUri =
-          createCristinQueryUri(translateParamsForSubUnits(identifier, FIRST_PAGE), UNITS_PATH);
-      var responseWithSubs = fetchGetResult(fetchSubsUri);
+      var responseWithSubs = fetchGetResultAsBytes(subUnitsPageUri(identifier, FIRST_PAGE));
       var subUnitsDto = new ArrayList<>(deserializeSubUnits(responseWithSubs));
 
       var multiPageProcessor = new MultiPageProcessor(responseWithSubs);
       if (multiPageProcessor.hasAdditionalPages()) {
-        var fetchSubsUriPageTwo =
-            createCristinQueryUri(translateParamsForSubUnits(identifier, SECOND_PAGE), UNITS_PATH);
-        var responseWithSubsPageTwo = fetchGetResult(fetchSubsUriPageTwo);
-
-        subUnitsDto.addAll(deserializeSubUnits(responseWithSubsPageTwo));
+        subUnitsDto.addAll(fetchRemainingPages(identifier, multiPageProcessor.remainingPages()));
       }
 
       var organization = getMultiLevelOrganization(response, subUnitsDto);
@@ -97,11 +110,67 @@ public class FetchCristinOrgClient20230526 extends ApiClient
     return UriWrapper.fromUri(CRISTIN_API_URL).addChild(UNITS_PATH).addChild(identifier).getUri();
   }
 
+  /**
+   * Fetches the pages after the first page of sub units concurrently, one virtual thread per page,
+   * with at most {@code maxConcurrentPageFetches} pages in flight at the same time, so that an
+   * institution with many pages neither takes as long as fetching them one by one nor exhausts the
+   * upstream bulkhead. Each page is deserialized as soon as it arrives and the sub units are
+   * returned in page order.
+   */
+  private List<UnitDto> fetchRemainingPages(String identifier, List<String> pages)
+      throws ApiGatewayException {
+    var permits = new Semaphore(maxConcurrentPageFetches);
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      var fetches =
+          pages.stream()
+              .map(page -> executor.submit(() -> fetchWithPermit(permits, identifier, page)))
+              .toList();
+      var subUnits = new ArrayList<UnitDto>();
+      for (var fetch : fetches) {
+        subUnits.addAll(await(fetch));
+      }
+      return subUnits;
+    }
+  }
+
+  private List<UnitDto> fetchWithPermit(Semaphore permits, String identifier, String page)
+      throws ApiGatewayException {
+    permits.acquireUninterruptibly();
+    try {
+      return fetchSubUnitsPage(identifier, page);
+    } finally {
+      permits.release();
+    }
+  }
+
+  private List<UnitDto> fetchSubUnitsPage(String identifier, String page)
+      throws ApiGatewayException {
+    return deserializeSubUnits(fetchGetResultAsBytes(subUnitsPageUri(identifier, page)));
+  }
+
+  private static List<UnitDto> await(Future<List<UnitDto>> fetch) throws ApiGatewayException {
+    try {
+      return fetch.get();
+    } catch (ExecutionException exception) {
+      if (exception.getCause() instanceof ApiGatewayException cause) {
+        throw cause;
+      }
+      throw new BadGatewayException(exception, SUB_UNITS_PAGE_FAILED);
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      throw new BadGatewayException(exception, SUB_UNITS_PAGE_FAILED);
+    }
+  }
+
+  private URI subUnitsPageUri(String identifier, String page) {
+    return createCristinQueryUri(translateParamsForSubUnits(identifier, page), UNITS_PATH);
+  }
+
   private Map<String, String> translateParamsForSubUnits(String identifier, String page) {
     return Map.of(PARENT_UNIT_ID, identifier, PAGE, page, CRISTIN_PER_PAGE_PARAM, ALL_RESULTS);
   }
 
-  private List<UnitDto> deserializeSubUnits(HttpResponse<String> responseWithSubs)
+  private List<UnitDto> deserializeSubUnits(HttpResponse<byte[]> responseWithSubs)
       throws BadGatewayException {
     return asList(getDeserializedResponse(responseWithSubs, UnitDto[].class));
   }
@@ -0,0 +1,71 @@
+package no.unit.nva.cristin.organization.common.client.v20230526;
+
+import static no.unit.nva.cristin.model.Constants.NONE;
+import static no.unit.nva.cristin.model.JsonPropertyNames.DEPTH;
+import static no.unit.nva.cristin.model.JsonPropertyNames.IDENTIFIER;
+import static no.unit.nva.model.Organization.ORGANIZATION_CONTEXT;
+
+import java.util.Map;
+import java.util.function.Supplier;
+import no.unit.nva.client.FetchApiClient;
+import no.unit.nva.cristin.organization.dto.v20230526.mapper.OrganizationFromUnitMapper;
+import no.unit.nva.cristin.organization.graph.OrganizationGraph;
+import no.unit.nva.model.Organization;
+import nva.commons.apigateway.exceptions.ApiGatewayException;
+
+/**
+ * Fetches organizations from the units snapshot held in the {@link OrganizationGraph}, giving the
+ * same result as {@link FetchCristinOrgClient20230526} without calling upstream. Units missing from
+ * the snapshot, e.g. units created since it was harvested, are fetched from upstream.
+ */
+public class FetchOrgFromGraphClient20230526
+    implements FetchApiClient<Map<String, String>, Organization> {
+
+  private final transient Supplier<OrganizationGraph> graph;
+  private final transient FetchApiClient<Map<String, String>, Organization> upstreamClient;
+
+  public FetchOrgFromGraphClient20230526() {
+    this(OrganizationGraph.loadingDefaultGraph(), new FetchCristinOrgClient20230526());
+  }
+
+  /**
+   * Client fetching from the graph handed out by given supplier, asked once per fetch.
+   *
+   * @param graph supplies the current graph
+   * @param upstreamClient fetches units missing from the graph
+   */
+  public FetchOrgFromGraphClient20230526(
+      Supplier<OrganizationGraph> graph,
+      FetchApiClient<Map<String, String>, Organization> upstreamClient) {
+    this.graph = graph;
+    this.upstreamClient = upstreamClient;
+  }
+
+  /**
+   * Fetch one organization, from the snapshot if it has the unit. By specifying query param depth
+   * one can choose if the response should include sub organization tree downwards or just have the
+   * upwards parent trail.
+   *
+   * @param params Map containing verified query parameters
+   */
+  @Override
+  public Organization executeFetch(Map<String, String> params) throws ApiGatewayException {
+    var identifier = params.get(IDENTIFIER);
+    var currentGraph = graph.get();
+    var unit = currentGraph.unitWithParentTrail(identifier);
+    if (unit.isEmpty()) {
+      return upstreamClient.executeFetch(params);
+    }
+
+    var wantsDepth = !NONE.equals(params.get(DEPTH));
+    if (wantsDepth) {
+      unit.get().setSubUnits(currentGraph.subUnitsOf(identifier));
+    }
+    var organization = new OrganizationFromUnitMapper().apply(unit.get());
+    organization.setContext(ORGANIZATION_CONTEXT);
+    if (!wantsDepth) {
+      organization.setHasPart(null);
+    }
+    return organization;
+  }
+}
@@ -3,21 +3,45 @@ package no.unit.nva.cristin.organization.common.client.v20230526;
 import static no.unit.nva.cristin.model.Constants.X_TOTAL_COUNT;
 
 import java.net.http.HttpResponse;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.IntStream;
 
 public class MultiPageProcessor {
 
   public static final String FALLBACK_TOTAL_COUNT_MISSING = "0";
   public static final int MAX_PAGE_SIZE = 1000;
 
-  private final HttpResponse<String> httpResponse;
+  private final HttpResponse<?> httpResponse;
 
-  public MultiPageProcessor(HttpResponse<String> httpResponse) {
+  public MultiPageProcessor(HttpResponse<?> httpResponse) {
     this.httpResponse = httpResponse;
   }
 
   public boolean hasAdditionalPages() {
-    return numeric(totalCountHeader().orElse(FALLBACK_TOTAL_COUNT_MISSING)) > MAX_PAGE_SIZE;
+    return totalCount() > MAX_PAGE_SIZE;
+  }
+
+  /**
+   * Pages needed for all hits of the query, as told by the total count header of the first page.
+   *
+   * @return the number of pages, at least one
+   */
+  public int numberOfPages() {
+    return Math.max(1, (totalCount() + MAX_PAGE_SIZE - 1) / MAX_PAGE_SIZE);
+  }
+
+  /**
+   * Page numbers after the first page, in order.
+   *
+   * @return page numbers from two to the number of pages, empty if there is only one page
+   */
+  public List<String> remainingPages() {
+    return IntStream.rangeClosed(2, numberOfPages()).mapToObj(String::valueOf).toList();
+  }
+
+  private int totalCount() {
+    return numeric(totalCountHeader().orElse(FALLBACK_TOTAL_COUNT_MISSING));
   }
 
   private Optional<String> totalCountHeader() {
@@ -2,59 +2,59 @@ package no.unit.nva.cristin.organization.dto.v20230526.mapper;
 
 import static java.util.Objects.nonNull;
 
-import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
-import java.util.function.Predicate;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 import no.unit.nva.cristin.organization.dto.v20230526.UnitDto;
 
 public class ParentTrailMapper {
 
-  public static final int MAX_TRAVERSALS = 2000;
-  public static final int FIRST_TRAVERSAL = 1;
-
   private final transient UnitDto input;
-  private final transient List<UnitDto> allParents;
 
   /**
    * Enrichment class which enriches given input with the parent path structure derived from the
-   * parameter's list of parents.
+   * parameter's list of parents. The parents are indexed by identifier in one pass, so each level
+   * of the trail is a lookup instead of a scan of all parents.
    *
    * @param input The input model
    */
   public ParentTrailMapper(UnitDto input) {
     this.input = input;
-    allParents = new ArrayList<>(input.getParentUnits());
-    if (allParents.isEmpty()) {
+    if (input.getParentUnits().isEmpty()) {
       return;
     }
-    calculate(input, FIRST_TRAVERSAL);
+    calculate(input, indexById(input.getParentUnits()));
   }
 
-  private void calculate(UnitDto unitDto, int traversals) {
-    if (!hasParentUnit(unitDto) || traversals > MAX_TRAVERSALS) {
-      return;
-    }
-
-    var match = allParents.stream().filter(hasId()).filter(hasMatch(unitDto)).findAny();
-
-    if (match.isPresent()) {
-      var presentMatch = match.get();
-      unitDto.setParentUnit(presentMatch);
-      allParents.remove(presentMatch);
-      calculate(unitDto.getParentUnit(), traversals + 1);
+  private void calculate(UnitDto unitDto, Map<String, Deque<UnitDto>> parentsById) {
+    var current = Optional.of(unitDto);
+    while (current.isPresent()) {
+      var child = current.get();
+      current = nextParent(child, parentsById);
+      current.ifPresent(child::setParentUnit);
     }
   }
 
-  private boolean hasParentUnit(UnitDto unitDto) {
-    return nonNull(unitDto.getParentUnit()) && nonNull(unitDto.getParentUnit().getId());
+  /** Each parent is used once, so the walk ends even if upstream returns a cycle. */
+  private Optional<UnitDto> nextParent(UnitDto unitDto, Map<String, Deque<UnitDto>> parentsById) {
+    return hasParentUnit(unitDto)
+        ? Optional.ofNullable(parentsById.get(unitDto.getParentUnit().getId()))
+            .map(Deque::poll)
+        : Optional.empty();
   }
 
-  private Predicate<UnitDto> hasId() {
-    return possibleParent -> nonNull(possibleParent.getId());
+  private static Map<String, Deque<UnitDto>> indexById(List<UnitDto> parents) {
+    return parents.stream()
+        .filter(possibleParent -> nonNull(possibleParent.getId()))
+        .collect(
+            Collectors.groupingBy(UnitDto::getId, Collectors.toCollection(ArrayDeque::new)));
   }
 
-  private Predicate<UnitDto> hasMatch(UnitDto unitDto) {
-    return possibleParent -> possibleParent.getId().equals(unitDto.getParentUnit().getId());
+  private static boolean hasParentUnit(UnitDto unitDto) {
+    return nonNull(unitDto.getParentUnit()) && nonNull(unitDto.getParentUnit().getId());
   }
 
   public UnitDto getWithParentTrail() {
@@ -2,57 +2,60 @@ package no.unit.nva.cristin.organization.dto.v20230526.mapper;
 
 import static java.util.Objects.nonNull;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
-import java.util.function.Predicate;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import no.unit.nva.cristin.organization.dto.v20230526.UnitDto;
 
 public class SubTreeMapper {
 
-  public static final int MAX_TRAVERSALS = 2000;
-  public static final int FIRST_TRAVERSAL = 1;
-
   private final transient UnitDto input;
-  private final transient List<UnitDto> allSubUnits;
 
   /**
    * Enrichment class which enriches given input with the subunit path tree structure derived from
-   * the parameter's list of subunits.
+   * the parameter's list of subunits. The subunits are indexed by the identifier of their parent
+   * unit in one pass, and the tree is then built depth first from the index, so the work is linear
+   * in the number of subunits regardless of how deep the tree is.
    *
    * @param input The input model
    */
   public SubTreeMapper(UnitDto input) {
     this.input = input;
-    allSubUnits = new ArrayList<>(input.getSubUnits());
-    if (allSubUnits.isEmpty()) {
+    if (input.getSubUnits().isEmpty()) {
       return;
     }
-    calculate(input, FIRST_TRAVERSAL);
+    calculate(input, indexByParentId(input.getSubUnits()));
   }
 
-  private void calculate(UnitDto unitDto, int traversals) {
-    if (traversals > MAX_TRAVERSALS) {
-      return;
-    }
+  private void calculate(UnitDto root, Map<String, List<UnitDto>> subUnitsByParentId) {
+    Deque<UnitDto> pending = new ArrayDeque<>();
+    pending.push(root);
+    while (!pending.isEmpty()) {
+      var unitDto = pending.pop();
+      var results =
+          Optional.ofNullable(subUnitsByParentId.remove(unitDto.getId()))
+              .orElseGet(ArrayList::new);
 
-    var results =
-        allSubUnits.stream()
-            .filter(hasParentUnit())
-            .filter(hasMatch(unitDto))
-            .collect(Collectors.toList());
-
-    unitDto.setSubUnits(results);
-    allSubUnits.removeAll(results);
-    results.forEach(result -> calculate(result, traversals + 1));
+      unitDto.setSubUnits(results);
+      results.reversed().forEach(pending::push);
+    }
   }
 
-  private Predicate<UnitDto> hasParentUnit() {
-    return subUnit -> nonNull(subUnit.getParentUnit()) && nonNull(subUnit.getParentUnit().getId());
+  private static Map<String, List<UnitDto>> indexByParentId(List<UnitDto> subUnits) {
+    return subUnits.stream()
+        .filter(SubTreeMapper::hasParentUnit)
+        .collect(
+            Collectors.groupingBy(
+                subUnit -> subUnit.getParentUnit().getId(),
+                Collectors.toCollection(ArrayList::new)));
   }
 
-  private Predicate<UnitDto> hasMatch(UnitDto unitDto) {
-    return subUnit -> subUnit.getParentUnit().getId().equals(unitDto.getId());
+  private static boolean hasParentUnit(UnitDto subUnit) {
+    return nonNull(subUnit.getParentUnit()) && nonNull(subUnit.getParentUnit().getId());
   }
 
   public UnitDto getWithSubUnitTree() {
@@ -4,10 +4,13 @@ import static java.util.Objects.nonNull;
 import static nva.commons.core.StringUtils.EMPTY_STRING;
 
 import java.util.Map;
+import java.util.function.Supplier;
 import no.unit.nva.client.ClientProvider;
 import no.unit.nva.client.FetchApiClient;
 import no.unit.nva.cristin.organization.common.client.CristinOrganizationApiClient;
 import no.unit.nva.cristin.organization.common.client.v20230526.FetchCristinOrgClient20230526;
+import no.unit.nva.cristin.organization.common.client.v20230526.FetchOrgFromGraphClient20230526;
+import no.unit.nva.cristin.organization.graph.OrganizationGraph;
 import no.unit.nva.model.Organization;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,6 +20,17 @@ public class DefaultOrgFetchClientProvider
 
   private static final Logger logger = LoggerFactory.getLogger(DefaultOrgFetchClientProvider.class);
 
+  private final transient Supplier<OrganizationGraph> graph;
+
+  /** Uses the graph of the container, loading the units snapshot on first use. */
+  public DefaultOrgFetchClientProvider() {
+    this(OrganizationGraph.loadingDefaultGraph());
+  }
+
+  public DefaultOrgFetchClientProvider(Supplier<OrganizationGraph> graph) {
+    this.graph = graph;
+  }
+
   @Override
   public FetchApiClient<Map<String, String>, Organization> getClient(String apiVersion) {
     return switch (nonNull(apiVersion) ? apiVersion : EMPTY_STRING) {
@@ -40,6 +54,6 @@ public class DefaultOrgFetchClientProvider
   }
 
   protected FetchApiClient<Map<String, String>, Organization> getVersion20230526() {
-    return new FetchCristinOrgClient20230526();
+    return new FetchOrgFromGraphClient20230526(graph, new FetchCristinOrgClient20230526());
   }
 }
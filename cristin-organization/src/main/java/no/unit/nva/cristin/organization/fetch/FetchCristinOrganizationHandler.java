@@ -1,5 +1,6 @@
 package no.unit.nva.cristin.organization.fetch;
 
+import static no.unit.nva.client.ClientProvider.VERSION_ONE;
 import static no.unit.nva.cristin.common.ErrorMessages.ERROR_MESSAGE_INVALID_PATH_PARAMETER_FOR_ID_FOUR_NUMBERS;
 import static no.unit.nva.cristin.model.JsonPropertyNames.DEPTH;
 import static no.unit.nva.cristin.model.JsonPropertyNames.IDENTIFIER;
@@ -9,12 +10,17 @@ import static no.unit.nva.utils.VersioningUtils.ACCEPT_HEADER_KEY_NAME;
 import static no.unit.nva.utils.VersioningUtils.extractVersionFromRequestInfo;
 
 import com.amazonaws.services.lambda.runtime.Context;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import java.net.HttpURLConnection;
 import java.util.Map;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 import no.unit.nva.client.ClientProvider;
 import no.unit.nva.client.FetchApiClient;
 import no.unit.nva.cristin.common.handler.CristinQueryHandler;
+import no.unit.nva.cristin.organization.common.client.v20230526.FetchOrgFromGraphClient20230526;
+import no.unit.nva.cristin.organization.graph.OrganizationGraph;
+import no.unit.nva.exception.FailedHttpRequestException;
 import no.unit.nva.model.Organization;
 import nva.commons.apigateway.RequestInfo;
 import nva.commons.apigateway.exceptions.ApiGatewayException;
@@ -22,25 +28,60 @@ import nva.commons.apigateway.exceptions.BadRequestException;
 import nva.commons.core.Environment;
 import nva.commons.core.JacocoGenerated;
 
-public class FetchCristinOrganizationHandler extends CristinQueryHandler<Void, Organization> {
+/**
+ * Fetches one organization. Organizations served from the units snapshot are kept serialized in an
+ * {@link OrganizationResponseCache}, so fetching the same unit and depth again neither maps nor
+ * serializes the organization tree. Every response has an ETag, and a request whose If-None-Match
+ * header matches it is answered with 304 Not Modified without a body. The graph is asked for once
+ * per request, so that a cached response is keyed by the version of the graph it was rendered
+ * from.
+ */
+public class FetchCristinOrganizationHandler
+    extends CristinQueryHandler<Void, RenderedOrganization> {
 
   public static final Pattern PATTERN = Pattern.compile(ORGANIZATION_IDENTIFIER_PATTERN);
+  public static final String ETAG = "ETag";
+  public static final String IF_NONE_MATCH = "If-None-Match";
   private final transient ClientProvider<FetchApiClient<Map<String, String>, Organization>>
       clientProvider;
+  private final transient Supplier<OrganizationGraph> graph;
+  private final transient OrganizationResponseCache responseCache;
 
   @JacocoGenerated
   @SuppressWarnings("unused")
   public FetchCristinOrganizationHandler() {
-    this(new DefaultOrgFetchClientProvider(), new Environment());
+    this(
+        new DefaultOrgFetchClientProvider(),
+        OrganizationGraph.loadingDefaultGraph(),
+        OrganizationResponseCache.defaultCache(),
+        new Environment());
   }
 
-  /** Fetch organization constructor with params. */
+  /** Fetch organization constructor with params, caching no responses. */
   public FetchCristinOrganizationHandler(
       ClientProvider<FetchApiClient<Map<String, String>, Organization>> clientProvider,
       Environment environment) {
+    this(clientProvider, OrganizationGraph::empty, new OrganizationResponseCache(), environment);
+  }
+
+  /**
+   * Fetch organization constructor caching responses for units in the snapshot.
+   *
+   * @param clientProvider provides the client fetching the organization
+   * @param graph supplies the units snapshot, deciding which responses are cached and for how long
+   * @param responseCache where responses are cached
+   * @param environment the environment
+   */
+  public FetchCristinOrganizationHandler(
+      ClientProvider<FetchApiClient<Map<String, String>, Organization>> clientProvider,
+      Supplier<OrganizationGraph> graph,
+      OrganizationResponseCache responseCache,
+      Environment environment) {
 
     super(Void.class, environment);
     this.clientProvider = clientProvider;
+    this.graph = graph;
+    this.responseCache = responseCache;
   }
 
   @Override
@@ -50,20 +91,62 @@ public class FetchCristinOrganizationHandler extends CristinQueryHandler<Void, O
   }
 
   @Override
-  protected Organization processInput(Void input, RequestInfo requestInfo, Context context)
-      throws ApiGatewayException {
+  protected RenderedOrganization processInput(
+      Void input, RequestInfo requestInfo, Context context) throws ApiGatewayException {
 
     final var identifier = getValidId(requestInfo);
     final var depth = getValidDepth(requestInfo);
-    var params = Map.of(DEPTH, depth, IDENTIFIER, identifier);
     var apiVersion = getApiVersion(requestInfo);
+    var currentGraph = graph.get();
 
-    return clientProvider.getClient(apiVersion).executeFetch(params);
+    var response =
+        isServedFromSnapshot(currentGraph, identifier, apiVersion)
+            ? fetchCached(currentGraph, identifier, depth, apiVersion)
+            : fetch(clientProvider.getClient(apiVersion), identifier, depth);
+    addAdditionalHeaders(() -> Map.of(ETAG, response.etag()));
+    return requestInfo.getHeaderOpt(IF_NONE_MATCH).filter(response::matches).isPresent()
+        ? response.notModified()
+        : response;
   }
 
   @Override
-  protected Integer getSuccessStatusCode(Void input, Organization output) {
-    return HttpURLConnection.HTTP_OK;
+  protected Integer getSuccessStatusCode(Void input, RenderedOrganization output) {
+    return output.isNotModified()
+        ? HttpURLConnection.HTTP_NOT_MODIFIED
+        : HttpURLConnection.HTTP_OK;
+  }
+
+  private static boolean isServedFromSnapshot(
+      OrganizationGraph currentGraph, String identifier, String apiVersion) {
+    return !VERSION_ONE.equals(apiVersion) && currentGraph.contains(identifier);
+  }
+
+  private RenderedOrganization fetchCached(
+      OrganizationGraph currentGraph, String identifier, String depth, String apiVersion)
+      throws ApiGatewayException {
+    var version = currentGraph.version();
+    var cached = responseCache.get(identifier, depth, version);
+    if (cached.isPresent()) {
+      return cached.get();
+    }
+    var client =
+        new FetchOrgFromGraphClient20230526(
+            () -> currentGraph, clientProvider.getClient(apiVersion));
+    var response = fetch(client, identifier, depth);
+    responseCache.put(identifier, depth, version, response);
+    return response;
+  }
+
+  private static RenderedOrganization fetch(
+      FetchApiClient<Map<String, String>, Organization> client, String identifier, String depth)
+      throws ApiGatewayException {
+    var params = Map.of(DEPTH, depth, IDENTIFIER, identifier);
+    var organization = client.executeFetch(params);
+    try {
+      return RenderedOrganization.render(organization);
+    } catch (JsonProcessingException e) {
+      throw new FailedHttpRequestException(e);
+    }
   }
 
   private void validateThatSuppliedParamsIsSupported(RequestInfo requestInfo)
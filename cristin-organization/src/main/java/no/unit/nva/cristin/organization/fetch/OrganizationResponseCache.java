@@ -0,0 +1,95 @@
+package no.unit.nva.cristin.organization.fetch;
+
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.Optional;
+import no.unit.nva.cristin.organization.graph.OrganizationGraph;
+
+/**
+ * Organizations fetched from the units snapshot, kept serialized so that repeated fetches of the
+ * same unit and depth are served without mapping and serializing the organization tree again.
+ * Responses are keyed by the version of the snapshot they were rendered from, and all responses
+ * are dropped when a response of another version is stored, i.e. when the graph of the container
+ * has been refreshed to a new snapshot, see {@link OrganizationGraph#defaultGraph()}. The least
+ * recently used responses are dropped when the bodies held exceed the size limit.
+ */
+public final class OrganizationResponseCache {
+
+  public static final long DEFAULT_MAX_BYTES = 32L * 1024 * 1024;
+
+  private final transient LinkedHashMap<Key, RenderedOrganization> responses;
+  private final transient long maxBytes;
+  private transient String version;
+  private transient long bytes;
+
+  public OrganizationResponseCache() {
+    this(DEFAULT_MAX_BYTES);
+  }
+
+  /**
+   * Creates an empty cache.
+   *
+   * @param maxBytes upper limit for the size of the bodies held
+   */
+  public OrganizationResponseCache(long maxBytes) {
+    this.responses = new LinkedHashMap<>(16, 0.75f, true);
+    this.maxBytes = maxBytes;
+  }
+
+  /** The cache shared by every handler in this container. */
+  public static OrganizationResponseCache defaultCache() {
+    return DefaultCacheHolder.DEFAULT_CACHE;
+  }
+
+  /**
+   * A response rendered earlier from the same snapshot.
+   *
+   * @param identifier of the unit
+   * @param depth depth asked for
+   * @param snapshotVersion version of the snapshot the response would be rendered from
+   * @return the response, empty if not held
+   */
+  public synchronized Optional<RenderedOrganization> get(
+      String identifier, String depth, String snapshotVersion) {
+    return Optional.ofNullable(responses.get(new Key(identifier, depth, snapshotVersion)));
+  }
+
+  /**
+   * Holds a rendered response, unless its body alone exceeds the size limit.
+   *
+   * @param identifier of the unit
+   * @param depth depth asked for
+   * @param snapshotVersion version of the snapshot the response was rendered from
+   * @param response the response
+   */
+  public synchronized void put(
+      String identifier, String depth, String snapshotVersion, RenderedOrganization response) {
+    if (!Objects.equals(version, snapshotVersion)) {
+      responses.clear();
+      bytes = 0;
+      version = snapshotVersion;
+    }
+    if (response.size() > maxBytes) {
+      return;
+    }
+    var previous = responses.put(new Key(identifier, depth, snapshotVersion), response);
+    bytes += response.size() - (previous == null ? 0 : previous.size());
+    var eldest = responses.values().iterator();
+    while (bytes > maxBytes) {
+      bytes -= eldest.next().size();
+      eldest.remove();
+    }
+  }
+
+  public synchronized int size() {
+    return responses.size();
+  }
+
+  private record Key(String identifier, String depth, String version) {}
+
+  /** Defers creating the cache until first used. */
+  private static final class DefaultCacheHolder {
+
+    private static final OrganizationResponseCache DEFAULT_CACHE = new OrganizationResponseCache();
+  }
+}
@@ -0,0 +1,110 @@
+package no.unit.nva.cristin.organization.fetch;
+
+import static no.unit.nva.cristin.model.Constants.OBJECT_MAPPER;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HexFormat;
+import no.unit.nva.cristin.common.Sha256;
+import no.unit.nva.model.Organization;
+
+/**
+ * An organization serialized once, written as is whenever the response is serialized. The ETag is
+ * derived from the serialized body, so it is the same in every container serving the same body.
+ */
+public final class RenderedOrganization implements JsonSerializable {
+
+  private static final int ETAG_BYTES = 16;
+  private static final String QUOTE = "\"";
+  private static final SerializableString NO_BODY = new SerializedString("");
+
+  private final transient SerializableString body;
+  private final transient String etag;
+  private final transient int size;
+  private final transient boolean notModified;
+
+  private RenderedOrganization(
+      SerializableString body, String etag, int size, boolean notModified) {
+    this.body = body;
+    this.etag = etag;
+    this.size = size;
+    this.notModified = notModified;
+  }
+
+  /**
+   * Serializes an organization.
+   *
+   * @param organization the organization
+   * @return the organization serialized as a response body
+   * @throws JsonProcessingException if the organization cannot be serialized
+   */
+  public static RenderedOrganization render(Organization organization)
+      throws JsonProcessingException {
+    var json = OBJECT_MAPPER.writeValueAsBytes(organization);
+    return new RenderedOrganization(
+        new SerializedString(new String(json, StandardCharsets.UTF_8)),
+        etagOf(json),
+        json.length,
+        false);
+  }
+
+  /** Strong ETag of the body, quoted as sent in the ETag header. */
+  public String etag() {
+    return etag;
+  }
+
+  /** Size of the body in bytes. */
+  public int size() {
+    return size;
+  }
+
+  /** True if the client already has this body, see {@link #notModified()}. */
+  public boolean isNotModified() {
+    return notModified;
+  }
+
+  /** The same response without body, for a client that already has it. */
+  public RenderedOrganization notModified() {
+    return new RenderedOrganization(NO_BODY, etag, 0, true);
+  }
+
+  /**
+   * Tells if an If-None-Match header matches the ETag of this response. Weak ETags match on their
+   * value, since the body is the only thing they are compared on.
+   *
+   * @param ifNoneMatch value of the If-None-Match header
+   * @return true if the client already has this body
+   */
+  public boolean matches(String ifNoneMatch) {
+    return Arrays.stream(ifNoneMatch.split(","))
+        .map(String::strip)
+        .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+        .anyMatch(tag -> "*".equals(tag) || etag.equals(tag));
+  }
+
+  @Override
+  public void serialize(JsonGenerator generator, SerializerProvider serializers)
+      throws IOException {
+    generator.writeRawValue(body);
+  }
+
+  @Override
+  public void serializeWithType(
+      JsonGenerator generator, SerializerProvider serializers, TypeSerializer typeSerializer)
+      throws IOException {
+    serialize(generator, serializers);
+  }
+
+  private static String etagOf(byte[] json) {
+    var digest = Sha256.newDigest().digest(json);
+    return QUOTE + HexFormat.of().formatHex(digest, 0, ETAG_BYTES) + QUOTE;
+  }
+}
@@ -0,0 +1,203 @@
+package no.unit.nva.cristin.organization.graph;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Answers whether one unit is below another and which unit is the lowest above two units, without
+ * walking parent trails. Every unit gets the interval of a depth first walk over its sub tree, a
+ * unit is above another when its interval encloses the interval of the other, which takes constant
+ * time. The lowest common ancestor is found by jumping up the tree in powers of two, which takes
+ * time logarithmic in the depth of the tree.
+ *
+ * <p>Units whose parent is not in the graph are top level units. Units in a parent loop, which
+ * upstream data should not have, are walked from the first of them in snapshot order.
+ */
+public final class AncestryIndex {
+
+  private static final int NOT_VISITED = -1;
+
+  private final transient Map<String, Integer> indexes;
+  private final transient String[] identifiers;
+  private final transient int[] enter;
+  private final transient int[] exit;
+  private final transient int[] root;
+  private final transient int[][] ancestors;
+
+  private AncestryIndex(
+      Map<String, Integer> indexes,
+      String[] identifiers,
+      int[] enter,
+      int[] exit,
+      int[] root,
+      int[][] ancestors) {
+    this.indexes = indexes;
+    this.identifiers = identifiers;
+    this.enter = enter;
+    this.exit = exit;
+    this.root = root;
+    this.ancestors = ancestors;
+  }
+
+  /**
+   * Builds the index for the units of a graph.
+   *
+   * @param identifiers every unit in the graph, in snapshot order
+   * @param parentOf parent of a unit, empty for top level units
+   * @param childrenOf direct subunits of a unit
+   * @return the index
+   */
+  static AncestryIndex build(
+      Collection<String> identifiers,
+      Function<String, Optional<String>> parentOf,
+      Function<String, List<String>> childrenOf) {
+    var ids = identifiers.toArray(String[]::new);
+    var indexes = new HashMap<String, Integer>();
+    for (int unit = 0; unit < ids.length; unit++) {
+      indexes.put(ids[unit], unit);
+    }
+    var children = new int[ids.length][];
+    for (int unit = 0; unit < ids.length; unit++) {
+      children[unit] =
+          childrenOf.apply(ids[unit]).stream()
+              .filter(indexes::containsKey)
+              .mapToInt(indexes::get)
+              .toArray();
+    }
+
+    var walk = new DepthFirstWalk(children);
+    for (int unit = 0; unit < ids.length; unit++) {
+      var parent = parentOf.apply(ids[unit]);
+      if (parent.isEmpty() || !indexes.containsKey(parent.get())) {
+        walk.from(unit);
+      }
+    }
+    for (int unit = 0; unit < ids.length; unit++) {
+      if (walk.enter[unit] == NOT_VISITED) {
+        walk.from(unit);
+      }
+    }
+    return new AncestryIndex(
+        indexes, ids, walk.enter, walk.exit, walk.root, jumpTable(walk.parents));
+  }
+
+  public boolean contains(String identifier) {
+    return indexes.containsKey(identifier);
+  }
+
+  /**
+   * Tells if a unit is somewhere below another unit. A unit is not below itself.
+   *
+   * @param unit identifier of the unit
+   * @param ancestor identifier of the unit that may be above it
+   * @return true if ancestor is on the parent trail of unit
+   */
+  public boolean isPartOf(String unit, String ancestor) {
+    var unitIndex = indexes.get(unit);
+    var ancestorIndex = indexes.get(ancestor);
+    return unitIndex != null
+        && ancestorIndex != null
+        && !unitIndex.equals(ancestorIndex)
+        && isAncestorOrSelf(ancestorIndex, unitIndex);
+  }
+
+  /**
+   * The lowest unit that both units are part of or equal to, e.g. the unit itself when the other
+   * unit is below it.
+   *
+   * @param first identifier of a unit
+   * @param second identifier of another unit
+   * @return identifier of the lowest common unit, empty if the units are in different trees or not
+   *     in the index
+   */
+  public Optional<String> lowestCommonAncestor(String first, String second) {
+    var firstIndex = indexes.get(first);
+    var secondIndex = indexes.get(second);
+    if (firstIndex == null || secondIndex == null || root[firstIndex] != root[secondIndex]) {
+      return Optional.empty();
+    }
+    if (isAncestorOrSelf(firstIndex, secondIndex)) {
+      return Optional.of(first);
+    }
+    var current = (int) firstIndex;
+    for (int level = ancestors.length - 1; level >= 0; level--) {
+      var candidate = ancestors[level][current];
+      if (!isAncestorOrSelf(candidate, secondIndex)) {
+        current = candidate;
+      }
+    }
+    return Optional.of(identifiers[ancestors[0][current]]);
+  }
+
+  private boolean isAncestorOrSelf(int ancestor, int unit) {
+    return enter[ancestor] <= enter[unit] && exit[unit] <= exit[ancestor];
+  }
+
+  private static int[][] jumpTable(int[] parents) {
+    var levels = 1;
+    while (1 << levels < parents.length) {
+      levels++;
+    }
+    var table = new int[levels][];
+    table[0] = parents;
+    for (int level = 1; level < levels; level++) {
+      var below = table[level - 1];
+      table[level] = new int[parents.length];
+      for (int unit = 0; unit < parents.length; unit++) {
+        table[level][unit] = below[below[unit]];
+      }
+    }
+    return table;
+  }
+
+  /** Numbers each unit when the walk enters and leaves its sub tree. */
+  private static final class DepthFirstWalk {
+
+    private final int[][] children;
+    private final int[] enter;
+    private final int[] exit;
+    private final int[] root;
+    private final int[] parents;
+    private int clock;
+
+    private DepthFirstWalk(int[][] children) {
+      this.children = children;
+      this.enter = new int[children.length];
+      this.exit = new int[children.length];
+      this.root = new int[children.length];
+      this.parents = new int[children.length];
+      Arrays.fill(enter, NOT_VISITED);
+    }
+
+    private void from(int start) {
+      var pending = new ArrayDeque<int[]>();
+      visit(start, start, start, pending);
+      while (!pending.isEmpty()) {
+        var frame = pending.peek();
+        var unit = frame[0];
+        if (frame[1] < children[unit].length) {
+          var child = children[unit][frame[1]++];
+          if (enter[child] == NOT_VISITED) {
+            visit(child, unit, start, pending);
+          }
+        } else {
+          exit[unit] = clock++;
+          pending.pop();
+        }
+      }
+    }
+
+    private void visit(int unit, int parent, int start, ArrayDeque<int[]> pending) {
+      enter[unit] = clock++;
+      root[unit] = start;
+      parents[unit] = parent;
+      pending.push(new int[] {unit, 0});
+    }
+  }
+}
@@ -0,0 +1,379 @@
+package no.unit.nva.cristin.organization.graph;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static no.unit.nva.cristin.model.Constants.OBJECT_MAPPER;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import no.unit.nva.cristin.common.Sha256;
+import no.unit.nva.cristin.common.client.ApiClient;
+import no.unit.nva.cristin.organization.dto.v20230526.UnitDto;
+import nva.commons.core.Environment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+
+/**
+ * All Norwegian units from the snapshot harvested by UpdateUnitsHandler, indexed by identifier and
+ * by parent, so that the parent trail and sub tree of a unit can be built without calling
+ * upstream. The graph is read-only once loaded, units handed out are copies that callers are free
+ * to modify.
+ *
+ * <p>One graph is held per container, see {@link #defaultGraph()}. It is loaded in the background
+ * and refreshed from the change log UpdateUnitsHandler writes next to the snapshot, see {@link
+ * #refreshedFrom(S3Client, String)}. Until it is loaded, or if the snapshot is not configured or
+ * cannot be read, the graph is empty, and callers fall back to upstream.
+ */
+public final class OrganizationGraph {
+
+  private static final Logger logger = LoggerFactory.getLogger(OrganizationGraph.class);
+
+  public static final String BUCKET_NAME_ENV = "INTERMEDIATE_STORAGE_BUCKET_NAME";
+  public static final String SNAPSHOT_KEY = "units-norway.json";
+  public static final String CHANGE_LOG_KEY = "units-norway-changes.json";
+  public static final Duration REFRESH_AFTER = Duration.ofMinutes(15);
+  public static final String SNAPSHOT_NOT_CONFIGURED =
+      "No units snapshot configured, organizations are fetched from upstream";
+  public static final String SNAPSHOT_LOADED = "Loaded {} units from snapshot in {} ms";
+  public static final String SNAPSHOT_LOAD_FAILED =
+      "Could not load units snapshot, organizations are fetched from upstream";
+  public static final String CHANGES_APPLIED = "Applied {} changed and {} removed units to graph";
+  public static final String REFRESH_FAILED = "Could not refresh units graph, keeping held graph";
+  public static final String EMPTY_VERSION = "";
+  private static final ObjectReader SNAPSHOT_READER =
+      OBJECT_MAPPER.readerFor(UnitDto[].class).without(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+
+  private final transient Map<String, UnitDto> unitsById;
+  private final transient Map<String, List<String>> childrenById;
+  private final transient AncestryIndex ancestryIndex;
+  private final transient String version;
+
+  private OrganizationGraph(Map<String, UnitDto> unitsById, String version) {
+    this.unitsById = unitsById;
+    this.version = version;
+    this.childrenById = indexChildren(unitsById);
+    this.ancestryIndex = AncestryIndex.build(unitsById.keySet(), this::parentOf, this::childrenOf);
+  }
+
+  /**
+   * The graph shared by every client in this container. It is empty until loaded in the background
+   * after first use. Callers ask for it per request, as it is replaced by a refreshed graph in the
+   * background once it was last checked more than {@link #REFRESH_AFTER} ago.
+   *
+   * @return the current graph
+   */
+  public static OrganizationGraph defaultGraph() {
+    return DefaultGraphHolder.DEFAULT_GRAPH.get();
+  }
+
+  /**
+   * Starts loading the graph shared by every client in this container in the background, so that
+   * it is likely loaded by the time the first request is handled. Handlers call this when created.
+   *
+   * @return supplier of the current graph, see {@link #defaultGraph()}
+   */
+  public static Supplier<OrganizationGraph> loadingDefaultGraph() {
+    DefaultGraphHolder.DEFAULT_GRAPH.get();
+    return OrganizationGraph::defaultGraph;
+  }
+
+  /** A graph without units. */
+  public static OrganizationGraph empty() {
+    return new OrganizationGraph(Map.of(), EMPTY_VERSION);
+  }
+
+  /**
+   * Builds a graph from a snapshot, a JSON array of units as returned by the units endpoint of
+   * upstream. If a unit occurs more than once the first occurrence is used.
+   *
+   * @param snapshot stream of the snapshot, closed when read
+   * @return the graph
+   * @throws IOException if the snapshot cannot be read or parsed
+   */
+  public static OrganizationGraph fromSnapshot(InputStream snapshot) throws IOException {
+    var digest = Sha256.newDigest();
+    var unitsById = new LinkedHashMap<String, UnitDto>();
+    try (var digestingSnapshot = new DigestInputStream(snapshot, digest)) {
+      UnitDto[] units = SNAPSHOT_READER.readValue(digestingSnapshot);
+      for (var unit : units) {
+        if (nonNull(unit.getId())) {
+          unitsById.putIfAbsent(unit.getId(), unit);
+        }
+      }
+      // The version must be the digest of the whole snapshot, as in the change log
+      digestingSnapshot.transferTo(OutputStream.nullOutputStream());
+    }
+    return new OrganizationGraph(unitsById, Sha256.hexOf(digest));
+  }
+
+  /**
+   * The graph as of the latest snapshot in the intermediate storage bucket. If the change log next
+   * to the snapshot is from the version of this graph its changes are applied, otherwise the whole
+   * snapshot is loaded. An empty graph loads the whole snapshot without reading the change log. If
+   * neither can be read this graph is kept.
+   *
+   * @param s3Client client for the bucket
+   * @param bucketName name of the intermediate storage bucket
+   * @return the refreshed graph, this graph if it is up to date or refreshing failed
+   */
+  public OrganizationGraph refreshedFrom(S3Client s3Client, String bucketName) {
+    var request = GetObjectRequest.builder().bucket(bucketName).key(CHANGE_LOG_KEY).build();
+    try {
+      if (EMPTY_VERSION.equals(version)) {
+        return loadSnapshot(s3Client, bucketName);
+      }
+      Optional<OrganizationGraph> changed;
+      try (var changeLog = s3Client.getObject(request)) {
+        changed = withChanges(changeLog);
+      }
+      return changed.isPresent() ? changed.get() : loadSnapshot(s3Client, bucketName);
+    } catch (IOException | SdkException exception) {
+      logger.warn(REFRESH_FAILED, exception);
+      return this;
+    }
+  }
+
+  /**
+   * Applies a change log written by UpdateUnitsHandler. Changed units replace the units held, and
+   * added units come after them.
+   *
+   * @param changeLog stream of the change log, closed when read
+   * @return the graph with the changes applied, this graph if it already is at the version the
+   *     change log leads to, empty if the change log is not from the version of this graph
+   * @throws IOException if the change log cannot be read or parsed
+   */
+  public Optional<OrganizationGraph> withChanges(InputStream changeLog) throws IOException {
+    var changes = ApiClient.fromJson(changeLog, ChangeLog.class);
+    if (version.equals(changes.toDigest())) {
+      return Optional.of(this);
+    }
+    if (!version.equals(changes.fromDigest())) {
+      return Optional.empty();
+    }
+    var changedUnits = new LinkedHashMap<>(unitsById);
+    changes.removed().forEach(changedUnits::remove);
+    changes.upserted().stream()
+        .filter(unit -> nonNull(unit.getId()))
+        .forEach(unit -> changedUnits.put(unit.getId(), unit));
+    logger.info(CHANGES_APPLIED, changes.upserted().size(), changes.removed().size());
+    return Optional.of(new OrganizationGraph(changedUnits, changes.toDigest()));
+  }
+
+  public boolean contains(String identifier) {
+    return unitsById.containsKey(identifier);
+  }
+
+  public int size() {
+    return unitsById.size();
+  }
+
+  /**
+   * Version of the snapshot the graph was built from, the SHA-256 of the snapshot as stored. A
+   * graph loaded or refreshed from a changed snapshot has a different version, so anything derived
+   * from the graph can be keyed by it.
+   *
+   * @return hex encoded digest, {@link #EMPTY_VERSION} for a graph without units
+   */
+  public String version() {
+    return version;
+  }
+
+  /** Index answering if a unit is below another without walking the parent trail. */
+  public AncestryIndex ancestryIndex() {
+    return ancestryIndex;
+  }
+
+  /**
+   * Identifier of the parent of a unit.
+   *
+   * @param identifier of the unit
+   * @return identifier of the parent, empty for top level units and units not in the graph
+   */
+  public Optional<String> parentOf(String identifier) {
+    return Optional.ofNullable(unitsById.get(identifier)).map(OrganizationGraph::parentIdOf);
+  }
+
+  /**
+   * Identifiers of the direct subunits of a unit, in snapshot order.
+   *
+   * @param identifier of the unit
+   * @return identifiers of the subunits, empty if none
+   */
+  public List<String> childrenOf(String identifier) {
+    return childrenById.getOrDefault(identifier, List.of());
+  }
+
+  /**
+   * Identifiers of the units above a unit, starting with the top level unit. The trail ends where a
+   * parent is missing from the graph or where upstream data would make it loop.
+   *
+   * @param identifier of the unit
+   * @return identifiers from the top level unit down to the parent of the unit
+   */
+  public List<String> parentTrailOf(String identifier) {
+    var trail = new ArrayList<String>();
+    var visited = new HashSet<String>();
+    visited.add(identifier);
+    var parent = parentOf(identifier);
+    while (parent.isPresent() && contains(parent.get()) && visited.add(parent.get())) {
+      trail.add(parent.get());
+      parent = parentOf(parent.get());
+    }
+    Collections.reverse(trail);
+    return trail;
+  }
+
+  /**
+   * Identifiers of all units below a unit, depth first with siblings in snapshot order.
+   *
+   * @param identifier of the unit
+   * @return identifiers of the sub tree, not including the unit itself
+   */
+  public List<String> descendantsOf(String identifier) {
+    var descendants = new ArrayList<String>();
+    var visited = new HashSet<String>();
+    visited.add(identifier);
+    var pending = new ArrayDeque<>(childrenOf(identifier));
+    while (!pending.isEmpty()) {
+      var current = pending.pop();
+      if (visited.add(current)) {
+        descendants.add(current);
+        childrenOf(current).reversed().forEach(pending::push);
+      }
+    }
+    return descendants;
+  }
+
+  /**
+   * A copy of a unit with its parent trail, shaped like the unit as fetched from upstream.
+   *
+   * @param identifier of the unit
+   * @return the unit, empty if not in the graph
+   */
+  public Optional<UnitDto> unitWithParentTrail(String identifier) {
+    return Optional.ofNullable(unitsById.get(identifier))
+        .map(unit -> copyOf(unit, parentTrailOf(identifier).stream().map(this::copyOf).toList()));
+  }
+
+  /**
+   * Copies of all units below a unit, shaped like the subunits as queried from upstream.
+   *
+   * @param identifier of the unit
+   * @return the sub tree as a flat list, see {@link #descendantsOf(String)}
+   */
+  public List<UnitDto> subUnitsOf(String identifier) {
+    return descendantsOf(identifier).stream().map(this::copyOf).toList();
+  }
+
+  private UnitDto copyOf(String identifier) {
+    return copyOf(unitsById.get(identifier), null);
+  }
+
+  private static UnitDto copyOf(UnitDto unit, List<UnitDto> parentUnits) {
+    return isNull(unit)
+        ? null
+        : new UnitDto(
+            unit.getId(),
+            unit.getUnitName(),
+            unit.getInstitution(),
+            unit.getAcronym(),
+            copyOf(unit.getParentUnit(), null),
+            parentUnits,
+            null,
+            unit.getUri(),
+            unit.getCountry());
+  }
+
+  private static String parentIdOf(UnitDto unit) {
+    return Optional.ofNullable(unit.getParentUnit()).map(UnitDto::getId).orElse(null);
+  }
+
+  private static Map<String, List<String>> indexChildren(Map<String, UnitDto> unitsById) {
+    var childrenById = new HashMap<String, List<String>>();
+    unitsById.values().stream()
+        .filter(unit -> nonNull(parentIdOf(unit)))
+        .forEach(
+            unit ->
+                childrenById
+                    .computeIfAbsent(parentIdOf(unit), parentId -> new ArrayList<>())
+                    .add(unit.getId()));
+    return childrenById;
+  }
+
+  private static OrganizationGraph loadSnapshot(S3Client s3Client, String bucketName)
+      throws IOException {
+    var start = System.currentTimeMillis();
+    var request = GetObjectRequest.builder().bucket(bucketName).key(SNAPSHOT_KEY).build();
+    try (var snapshot = s3Client.getObject(request)) {
+      var graph = fromSnapshot(snapshot);
+      logger.info(SNAPSHOT_LOADED, graph.size(), System.currentTimeMillis() - start);
+      return graph;
+    }
+  }
+
+  /**
+   * A change log as written by UpdateUnitsHandler.
+   *
+   * @param fromDigest version of the graph the changes apply to
+   * @param toDigest version of the graph with the changes applied
+   * @param upserted units added or changed, none if missing
+   * @param removed identifiers of units removed, none if missing
+   */
+  private record ChangeLog(
+      String fromDigest, String toDigest, List<UnitDto> upserted, List<String> removed) {
+
+    ChangeLog {
+      upserted = isNull(upserted) ? List.of() : upserted;
+      removed = isNull(removed) ? List.of() : removed;
+    }
+  }
+
+  /** Defers loading the snapshot until the graph is first used, then loads it in the background. */
+  private static final class DefaultGraphHolder {
+
+    private static final RefreshingGraph DEFAULT_GRAPH = load(new Environment());
+
+    private static RefreshingGraph load(Environment environment) {
+      var bucketName = environment.readEnvOpt(BUCKET_NAME_ENV);
+      if (bucketName.isEmpty()) {
+        logger.info(SNAPSHOT_NOT_CONFIGURED);
+        return new RefreshingGraph(empty(), graph -> graph);
+      }
+      var graph =
+          new RefreshingGraph(
+              empty(),
+              held -> withClient(s3Client -> held.refreshedFrom(s3Client, bucketName.get()), held));
+      graph.startRefresh();
+      return graph;
+    }
+
+    private static OrganizationGraph withClient(
+        Function<S3Client, OrganizationGraph> read, OrganizationGraph fallback) {
+      try (var s3Client = S3Client.create()) {
+        return read.apply(s3Client);
+      } catch (SdkException exception) {
+        logger.warn(SNAPSHOT_LOAD_FAILED, exception);
+        return fallback;
+      }
+    }
+  }
+}
@@ -0,0 +1,94 @@
+package no.unit.nva.cristin.organization.graph;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.function.LongSupplier;
+import java.util.function.UnaryOperator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Holds the graph of a container and refreshes it in the background. The held graph is handed out
+ * while it is refreshed, and a graph last checked less than the refresh interval ago is handed out
+ * without refreshing it. Concurrent callers share one refresh, and if it fails the held graph is
+ * kept until the next refresh is due.
+ */
+final class RefreshingGraph {
+
+  private static final Logger logger = LoggerFactory.getLogger(RefreshingGraph.class);
+
+  private final transient UnaryOperator<OrganizationGraph> refresh;
+  private final transient Duration refreshAfter;
+  private final transient Executor executor;
+  private final transient LongSupplier nanoClock;
+  private transient OrganizationGraph graph;
+  private transient long checkedAt;
+  private transient boolean refreshing;
+
+  /**
+   * Holds a graph refreshed every {@link OrganizationGraph#REFRESH_AFTER} on a virtual thread.
+   *
+   * @param graph the graph as loaded
+   * @param refresh the graph as refreshed from the held one
+   */
+  RefreshingGraph(OrganizationGraph graph, UnaryOperator<OrganizationGraph> refresh) {
+    this(
+        graph,
+        refresh,
+        OrganizationGraph.REFRESH_AFTER,
+        Thread.ofVirtual()::start,
+        System::nanoTime);
+  }
+
+  RefreshingGraph(
+      OrganizationGraph graph,
+      UnaryOperator<OrganizationGraph> refresh,
+      Duration refreshAfter,
+      Executor executor,
+      LongSupplier nanoClock) {
+    this.graph = graph;
+    this.refresh = refresh;
+    this.refreshAfter = refreshAfter;
+    this.executor = executor;
+    this.nanoClock = nanoClock;
+    this.checkedAt = nanoClock.getAsLong();
+  }
+
+  /**
+   * The held graph, starting a refresh if it is due.
+   *
+   * @return the held graph
+   */
+  synchronized OrganizationGraph get() {
+    if (nanoClock.getAsLong() - checkedAt >= refreshAfter.toNanos()) {
+      startRefresh();
+    }
+    return graph;
+  }
+
+  /** Starts refreshing the held graph in the background, unless it is already being refreshed. */
+  synchronized void startRefresh() {
+    if (!refreshing) {
+      refreshing = true;
+      var held = graph;
+      executor.execute(() -> refreshFrom(held));
+    }
+  }
+
+  private void refreshFrom(OrganizationGraph held) {
+    var refreshedGraph = held;
+    try {
+      refreshedGraph = refresh.apply(held);
+    } catch (RuntimeException exception) {
+      logger.warn(OrganizationGraph.REFRESH_FAILED, exception);
+    } finally {
+      refreshed(refreshedGraph);
+    }
+  }
+
+  private synchronized void refreshed(OrganizationGraph refreshedGraph) {
+    graph = refreshedGraph;
+    checkedAt = nanoClock.getAsLong();
+    refreshing = false;
+  }
+}
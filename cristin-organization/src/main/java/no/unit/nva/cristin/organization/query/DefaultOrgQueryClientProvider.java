@@ -1,13 +1,18 @@
 package no.unit.nva.cristin.organization.query;
 
 import static java.util.Objects.nonNull;
+import static no.unit.nva.client.HttpClientProvider.defaultHttpClient;
 import static nva.commons.core.StringUtils.EMPTY_STRING;
 
 import java.util.Map;
+import java.util.function.Supplier;
 import no.unit.nva.client.ClientProvider;
 import no.unit.nva.cristin.common.client.CristinQueryApiClient;
 import no.unit.nva.cristin.organization.common.client.CristinOrganizationApiClient;
+import no.unit.nva.cristin.organization.common.client.v20230526.FetchCristinOrgClient20230526;
+import no.unit.nva.cristin.organization.common.client.v20230526.FetchOrgFromGraphClient20230526;
 import no.unit.nva.cristin.organization.common.client.v20230526.QueryCristinOrgClient20230526;
+import no.unit.nva.cristin.organization.graph.OrganizationGraph;
 import no.unit.nva.model.Organization;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,6 +22,17 @@ public class DefaultOrgQueryClientProvider
 
   private static final Logger logger = LoggerFactory.getLogger(DefaultOrgQueryClientProvider.class);
 
+  private final transient Supplier<OrganizationGraph> graph;
+
+  /** Uses the graph of the container, loading the units snapshot on first use. */
+  public DefaultOrgQueryClientProvider() {
+    this(OrganizationGraph.loadingDefaultGraph());
+  }
+
+  public DefaultOrgQueryClientProvider(Supplier<OrganizationGraph> graph) {
+    this.graph = graph;
+  }
+
   @Override
   public CristinQueryApiClient<Map<String, String>, Organization> getClient(String apiVersion) {
     return switch (nonNull(apiVersion) ? apiVersion : EMPTY_STRING) {
@@ -40,6 +56,9 @@ public class DefaultOrgQueryClientProvider
   }
 
   public CristinQueryApiClient<Map<String, String>, Organization> getVersion20230526() {
-    return new QueryCristinOrgClient20230526();
+    var client = defaultHttpClient();
+    return new QueryCristinOrgClient20230526(
+        client,
+        new FetchOrgFromGraphClient20230526(graph, new FetchCristinOrgClient20230526(client)));
   }
 }
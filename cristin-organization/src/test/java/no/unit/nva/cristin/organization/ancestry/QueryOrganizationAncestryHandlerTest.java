@@ -0,0 +1,130 @@
+package no.unit.nva.cristin.organization.ancestry;
+
+import static java.net.HttpURLConnection.HTTP_BAD_GATEWAY;
+import static java.net.HttpURLConnection.HTTP_BAD_REQUEST;
+import static java.net.HttpURLConnection.HTTP_OK;
+import static no.unit.nva.cristin.model.Constants.OBJECT_MAPPER;
+import static no.unit.nva.cristin.organization.ancestry.QueryOrganizationAncestryHandler.ERROR_MESSAGE_INVALID_UNIT;
+import static no.unit.nva.cristin.organization.ancestry.QueryOrganizationAncestryHandler.ERROR_MESSAGE_NO_PAIRS;
+import static no.unit.nva.cristin.organization.ancestry.QueryOrganizationAncestryHandler.ERROR_MESSAGE_TOO_MANY_PAIRS;
+import static no.unit.nva.cristin.organization.ancestry.QueryOrganizationAncestryHandler.MAX_PAIRS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Mockito.mock;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import no.unit.nva.cristin.organization.ancestry.AncestryQuery.UnitPair;
+import no.unit.nva.cristin.organization.graph.OrganizationGraph;
+import no.unit.nva.testutils.HandlerRequestBuilder;
+import nva.commons.apigateway.GatewayResponse;
+import nva.commons.core.Environment;
+import nva.commons.core.ioutils.IoUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class QueryOrganizationAncestryHandlerTest {
+
+  public static final String UNITS_SNAPSHOT_JSON = "units_norway_snapshot.json";
+  public static final String UIO = "185.90.0.0";
+  public static final String FACULTY = "185.15.0.0";
+  public static final String IT_SECTION = "185.15.0.25";
+  public static final String PHARMACY = "185.15.5.0";
+  public static final String OTHER_INSTITUTION_UNIT = "194.63.0.0";
+  public static final String UNKNOWN_UNIT = "185.99.0.0";
+
+  private Context context;
+  private ByteArrayOutputStream output;
+  private QueryOrganizationAncestryHandler handler;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    context = mock(Context.class);
+    output = new ByteArrayOutputStream();
+    var graph =
+        OrganizationGraph.fromSnapshot(IoUtils.inputStreamFromResources(UNITS_SNAPSHOT_JSON));
+    handler = new QueryOrganizationAncestryHandler(() -> graph, new Environment());
+  }
+
+  @Test
+  void shouldAnswerEveryPairInOrderAsked() throws IOException {
+    var gatewayResponse =
+        sendQuery(
+            new AncestryQuery(
+                List.of(
+                    new UnitPair(IT_SECTION, UIO),
+                    new UnitPair(FACULTY, IT_SECTION),
+                    new UnitPair(IT_SECTION, PHARMACY))));
+
+    assertThat(gatewayResponse.getStatusCode(), equalTo(HTTP_OK));
+    var results = gatewayResponse.getBodyObject(AncestryResponse.class).results();
+    assertThat(results.get(0).isPartOf(), equalTo(true));
+    assertThat(results.get(0).lowestCommonAncestor(), equalTo(UIO));
+    assertThat(results.get(1).hasPart(), equalTo(true));
+    assertThat(results.get(1).isPartOf(), equalTo(false));
+    assertThat(results.get(2).isPartOf(), equalTo(false));
+    assertThat(results.get(2).hasPart(), equalTo(false));
+    assertThat(results.get(2).lowestCommonAncestor(), equalTo(FACULTY));
+  }
+
+  @Test
+  void shouldReportUnknownUnitsAndUnitsInDifferentInstitutions() throws IOException {
+    var gatewayResponse =
+        sendQuery(
+            new AncestryQuery(
+                List.of(
+                    new UnitPair(IT_SECTION, OTHER_INSTITUTION_UNIT),
+                    new UnitPair(UNKNOWN_UNIT, UIO))));
+
+    var response = gatewayResponse.getBodyObject(AncestryResponse.class);
+    assertThat(response.results().get(0).lowestCommonAncestor(), nullValue());
+    assertThat(response.results().get(1).isPartOf(), equalTo(false));
+    assertThat(response.unknownUnits(), contains(UNKNOWN_UNIT));
+  }
+
+  @Test
+  void shouldReturnBadRequestWhenPayloadHasNoPairs() throws IOException {
+    var gatewayResponse = sendQuery(new AncestryQuery(List.of()));
+
+    assertThat(gatewayResponse.getStatusCode(), equalTo(HTTP_BAD_REQUEST));
+    assertThat(gatewayResponse.getBody(), containsString(ERROR_MESSAGE_NO_PAIRS));
+  }
+
+  @Test
+  void shouldReturnBadRequestWhenPayloadHasTooManyPairs() throws IOException {
+    var pairs = Collections.nCopies(MAX_PAIRS + 1, new UnitPair(IT_SECTION, UIO));
+    var gatewayResponse = sendQuery(new AncestryQuery(pairs));
+
+    assertThat(gatewayResponse.getStatusCode(), equalTo(HTTP_BAD_REQUEST));
+    assertThat(gatewayResponse.getBody(), containsString(ERROR_MESSAGE_TOO_MANY_PAIRS));
+  }
+
+  @Test
+  void shouldReturnBadRequestWhenUnitIsNotAnIdentifier() throws IOException {
+    var gatewayResponse = sendQuery(new AncestryQuery(List.of(new UnitPair("uio", UIO))));
+
+    assertThat(gatewayResponse.getStatusCode(), equalTo(HTTP_BAD_REQUEST));
+    assertThat(gatewayResponse.getBody(), containsString(ERROR_MESSAGE_INVALID_UNIT));
+  }
+
+  @Test
+  void shouldReturnBadGatewayWhenSnapshotIsNotAvailable() throws IOException {
+    handler = new QueryOrganizationAncestryHandler(OrganizationGraph::empty, new Environment());
+
+    var gatewayResponse = sendQuery(new AncestryQuery(List.of(new UnitPair(IT_SECTION, UIO))));
+
+    assertThat(gatewayResponse.getStatusCode(), equalTo(HTTP_BAD_GATEWAY));
+  }
+
+  private GatewayResponse<AncestryResponse> sendQuery(AncestryQuery query) throws IOException {
+    var input = new HandlerRequestBuilder<AncestryQuery>(OBJECT_MAPPER).withBody(query).build();
+    handler.handleRequest(input, output, context);
+    return GatewayResponse.fromOutputStream(output, AncestryResponse.class);
+  }
+}
@@ -0,0 +1,125 @@
+package no.unit.nva.cristin.organization.common.client;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import no.unit.nva.cristin.organization.dto.SubSubUnitDto;
+import no.unit.nva.cristin.organization.dto.SubUnitDto;
+import nva.commons.apigateway.exceptions.ApiGatewayException;
+import nva.commons.apigateway.exceptions.NotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class UnitTreeWalkerTest {
+
+  private static final String UNITS_URI = "https://api.cristin-test.uio.no/v2/units/";
+  private static final int MAX_CONCURRENT_FETCHES = 2;
+  private static final int FETCH_TIME_MILLIS = 20;
+
+  private Map<URI, SubSubUnitDto> upstream;
+  private Map<URI, AtomicInteger> fetchCounts;
+  private AtomicInteger inFlight;
+  private AtomicInteger maxInFlight;
+  private UnitTreeWalker walker;
+
+  @BeforeEach
+  void setup() {
+    upstream = new ConcurrentHashMap<>();
+    fetchCounts = new ConcurrentHashMap<>();
+    inFlight = new AtomicInteger();
+    maxInFlight = new AtomicInteger();
+    addUnit("185.90.0.0", "185.15.0.0", "185.50.0.0", "185.60.0.0");
+    addUnit("185.15.0.0", "185.15.1.0", "185.15.2.0");
+    addUnit("185.50.0.0", "185.50.1.0");
+    addUnit("185.60.0.0");
+    addUnit("185.15.1.0");
+    addUnit("185.15.2.0", "185.15.2.1");
+    addUnit("185.50.1.0");
+    addUnit("185.15.2.1");
+    walker =
+        new UnitTreeWalker(this::fetch, UnitTreeWalker.defaultExecutor(), MAX_CONCURRENT_FETCHES);
+  }
+
+  @Test
+  void shouldWalkSubTreeBreadthFirst() throws ApiGatewayException {
+    var subTree = walker.subTreeOf(walker.unit(uriOf("185.90.0.0")));
+
+    assertThat(
+        subTree.keySet(),
+        contains(
+            uriOf("185.15.0.0"),
+            uriOf("185.50.0.0"),
+            uriOf("185.60.0.0"),
+            uriOf("185.15.1.0"),
+            uriOf("185.15.2.0"),
+            uriOf("185.50.1.0"),
+            uriOf("185.15.2.1")));
+  }
+
+  @Test
+  void shouldFetchEachUnitOnceAndCountUpstreamCalls() throws ApiGatewayException {
+    var root = walker.unit(uriOf("185.90.0.0"));
+    walker.subTreeOf(root);
+    walker.subTreeOf(walker.unit(uriOf("185.15.0.0")));
+    walker.unit(uriOf("185.15.2.1"));
+
+    assertThat(walker.getUpstreamCalls(), equalTo(upstream.size()));
+    fetchCounts.values().forEach(count -> assertThat(count.get(), equalTo(1)));
+  }
+
+  @Test
+  void shouldNotHaveMoreFetchesInFlightThanAllowed() throws ApiGatewayException {
+    walker.subTreeOf(walker.unit(uriOf("185.90.0.0")));
+
+    assertThat(maxInFlight.get(), lessThanOrEqualTo(MAX_CONCURRENT_FETCHES));
+  }
+
+  @Test
+  void shouldThrowExceptionFromFetcherWhenUnitCannotBeFetched() {
+    addUnit("185.90.0.0", "185.15.0.0", "185.99.0.0");
+    var root = upstream.get(uriOf("185.90.0.0"));
+
+    assertThrows(NotFoundException.class, () -> walker.subTreeOf(root));
+    assertThrows(NotFoundException.class, () -> walker.unit(uriOf("185.99.0.0")));
+    assertThat(fetchCounts.get(uriOf("185.99.0.0")).get(), equalTo(1));
+  }
+
+  private SubSubUnitDto fetch(URI uri) throws NotFoundException {
+    fetchCounts.computeIfAbsent(uri, key -> new AtomicInteger()).incrementAndGet();
+    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+    try {
+      Thread.sleep(FETCH_TIME_MILLIS);
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+    } finally {
+      inFlight.decrementAndGet();
+    }
+    var unit = upstream.get(uri);
+    if (unit == null) {
+      throw new NotFoundException(uri.toString());
+    }
+    return unit;
+  }
+
+  private void addUnit(String identifier, String... subUnitIdentifiers) {
+    List<SubUnitDto> subUnits =
+        Arrays.stream(subUnitIdentifiers)
+            .map(id -> new SubUnitDto(id, null, null, uriOf(id).toString(), null, null))
+            .toList();
+    var unit = new SubSubUnitDto(identifier, null, null, null, null, subUnits, null, null);
+    upstream.put(uriOf(identifier), unit);
+  }
+
+  private static URI uriOf(String identifier) {
+    return URI.create(UNITS_URI + identifier);
+  }
+}
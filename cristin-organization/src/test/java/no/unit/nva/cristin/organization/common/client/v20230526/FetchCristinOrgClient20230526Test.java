@@ -0,0 +1,161 @@
+package no.unit.nva.cristin.organization.common.client.v20230526;
+
+import static no.unit.nva.cristin.model.Constants.FULL;
+import static no.unit.nva.cristin.model.JsonPropertyNames.DEPTH;
+import static no.unit.nva.cristin.model.JsonPropertyNames.IDENTIFIER;
+import static no.unit.nva.cristin.model.JsonPropertyNames.PAGE;
+import static no.unit.nva.cristin.testing.HttpResponseFaker.LINK_EXAMPLE_VALUE;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItems;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import no.unit.nva.cristin.testing.ByteArrayHttpResponseFaker;
+import no.unit.nva.cristin.testing.HttpResponseFaker;
+import no.unit.nva.model.Organization;
+import nva.commons.apigateway.exceptions.ApiGatewayException;
+import nva.commons.apigateway.exceptions.BadGatewayException;
+import nva.commons.core.ioutils.IoUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class FetchCristinOrgClient20230526Test {
+
+  public static final String CRISTIN_GET_RESPONSE_JSON = "cristinGetResponse.json";
+  public static final String CRISTIN_GET_RESPONSE_SUB_UNITS_JSON =
+      "cristinGetResponseSubUnits.json";
+  public static final String CRISTIN_GET_RESPONSE_ADDITIONAL_SUB_UNITS_JSON =
+      "cristinGetResponseAdditionalSubUnits.json";
+  public static final String IDENTIFIER_WITH_THREE_PAGES = "185.15.0.10";
+  public static final String X_TOTAL_COUNT_OVER_TWO_PAGES = "2500";
+  public static final String UNIT_ON_THIRD_PAGE = "185.15.0.333";
+  public static final String THIRD_PAGE =
+      """
+      [{"cristin_unit_id": "185.15.0.333", "unit_name": {"en": "Third page section"},
+        "url": "https://api.cristin-test.uio.no/v2/units/185.15.0.333",
+        "parent_unit": {"cristin_unit_id": "185.15.0.10"}}]
+      """;
+  public static final int FETCH_TIME_MILLIS = 50;
+
+  private FetchCristinOrgClient20230526 client;
+  private AtomicInteger inFlight;
+  private AtomicInteger maxInFlight;
+
+  @BeforeEach
+  void setup() throws ApiGatewayException {
+    client = spy(new FetchCristinOrgClient20230526(mock(HttpClient.class)));
+    inFlight = new AtomicInteger();
+    maxInFlight = new AtomicInteger();
+    doReturn(new HttpResponseFaker(stringFromResources(CRISTIN_GET_RESPONSE_JSON), 200))
+        .when(client)
+        .fetchGetResult(any());
+  }
+
+  @Test
+  void shouldFetchEveryPageOfSubUnitsConcurrentlyWhenTotalCountSpansSeveralPages()
+      throws ApiGatewayException {
+    doAnswer(invocation -> respond(invocation.getArgument(0)))
+        .when(client)
+        .fetchGetResultAsBytes(any());
+
+    var organization =
+        client.executeFetch(Map.of(IDENTIFIER, IDENTIFIER_WITH_THREE_PAGES, DEPTH, FULL));
+
+    verify(client, times(1)).fetchGetResult(any());
+    verify(client, times(3)).fetchGetResultAsBytes(any());
+    assertThat(maxInFlight.get(), equalTo(2));
+    assertThat(
+        organization.getHasPart().stream().map(Organization::getId).map(URI::toString).toList(),
+        hasItems(endsWith("185.15.0.25"), endsWith("185.15.0.111"), endsWith(UNIT_ON_THIRD_PAGE)));
+  }
+
+  @Test
+  void shouldKeepNoMorePagesOfSubUnitsInFlightThanAllowed() throws ApiGatewayException {
+    client = spy(new FetchCristinOrgClient20230526(mock(HttpClient.class), 1));
+    doReturn(new HttpResponseFaker(stringFromResources(CRISTIN_GET_RESPONSE_JSON), 200))
+        .when(client)
+        .fetchGetResult(any());
+    doAnswer(invocation -> respond(invocation.getArgument(0)))
+        .when(client)
+        .fetchGetResultAsBytes(any());
+
+    var organization =
+        client.executeFetch(Map.of(IDENTIFIER, IDENTIFIER_WITH_THREE_PAGES, DEPTH, FULL));
+
+    verify(client, times(3)).fetchGetResultAsBytes(any());
+    assertThat(maxInFlight.get(), equalTo(1));
+    assertThat(
+        organization.getHasPart().stream().map(Organization::getId).map(URI::toString).toList(),
+        hasItems(endsWith("185.15.0.111"), endsWith(UNIT_ON_THIRD_PAGE)));
+  }
+
+  @Test
+  void shouldThrowWhenOnePageOfSubUnitsCannotBeFetched() throws ApiGatewayException {
+    doAnswer(
+            invocation -> {
+              URI uri = invocation.getArgument(0);
+              if ("3".equals(pageOf(uri))) {
+                throw new BadGatewayException(uri.toString());
+              }
+              return respond(uri);
+            })
+        .when(client)
+        .fetchGetResultAsBytes(any());
+
+    assertThrows(
+        BadGatewayException.class,
+        () -> client.executeFetch(Map.of(IDENTIFIER, IDENTIFIER_WITH_THREE_PAGES, DEPTH, FULL)));
+  }
+
+  private ByteArrayHttpResponseFaker respond(URI uri) throws InterruptedException {
+    var page = pageOf(uri);
+    if ("1".equals(page)) {
+      var headers =
+          HttpHeaders.of(
+              HttpResponseFaker.headerMap(X_TOTAL_COUNT_OVER_TWO_PAGES, LINK_EXAMPLE_VALUE),
+              HttpResponseFaker.filter());
+      return new ByteArrayHttpResponseFaker(
+          stringFromResources(CRISTIN_GET_RESPONSE_SUB_UNITS_JSON), 200, headers);
+    }
+    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+    try {
+      Thread.sleep(FETCH_TIME_MILLIS);
+    } finally {
+      inFlight.decrementAndGet();
+    }
+    return "2".equals(page)
+        ? new ByteArrayHttpResponseFaker(
+            stringFromResources(CRISTIN_GET_RESPONSE_ADDITIONAL_SUB_UNITS_JSON))
+        : new ByteArrayHttpResponseFaker(THIRD_PAGE);
+  }
+
+  private static String pageOf(URI uri) {
+    if (uri.getQuery() == null) {
+      return null;
+    }
+    return Arrays.stream(uri.getQuery().split("&"))
+        .filter(parameter -> parameter.startsWith(PAGE + "="))
+        .map(parameter -> parameter.substring(PAGE.length() + 1))
+        .findFirst()
+        .orElse(null);
+  }
+
+  private static String stringFromResources(String resource) {
+    return IoUtils.stringFromResources(Path.of(resource));
+  }
+}
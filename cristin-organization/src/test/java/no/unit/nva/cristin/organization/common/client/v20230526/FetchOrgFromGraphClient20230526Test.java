@@ -0,0 +1,76 @@
+package no.unit.nva.cristin.organization.common.client.v20230526;
+
+import static no.unit.nva.cristin.model.Constants.FULL;
+import static no.unit.nva.cristin.model.Constants.NONE;
+import static no.unit.nva.cristin.model.JsonPropertyNames.DEPTH;
+import static no.unit.nva.cristin.model.JsonPropertyNames.IDENTIFIER;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.Map;
+import no.unit.nva.client.FetchApiClient;
+import no.unit.nva.cristin.organization.graph.OrganizationGraph;
+import no.unit.nva.model.Organization;
+import nva.commons.apigateway.exceptions.ApiGatewayException;
+import nva.commons.core.ioutils.IoUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class FetchOrgFromGraphClient20230526Test {
+
+  public static final String UNITS_SNAPSHOT_JSON = "units_norway_snapshot.json";
+  public static final String FACULTY = "185.15.0.0";
+  public static final String ADMINISTRATION = "185.15.0.10";
+  public static final String UNKNOWN_UNIT = "185.99.0.0";
+
+  private FetchApiClient<Map<String, String>, Organization> upstreamClient;
+  private FetchOrgFromGraphClient20230526 client;
+
+  @SuppressWarnings("unchecked")
+  @BeforeEach
+  void setup() throws IOException {
+    var graph =
+        OrganizationGraph.fromSnapshot(IoUtils.inputStreamFromResources(UNITS_SNAPSHOT_JSON));
+    upstreamClient = mock(FetchApiClient.class);
+    client = new FetchOrgFromGraphClient20230526(() -> graph, upstreamClient);
+  }
+
+  @Test
+  void shouldBuildSubTreeAndParentTrailFromGraphWithoutCallingUpstream()
+      throws ApiGatewayException {
+    var organization = client.executeFetch(Map.of(IDENTIFIER, FACULTY, DEPTH, FULL));
+
+    assertThat(organization.getId().toString(), endsWith(FACULTY));
+    assertThat(organization.getHasPart(), hasSize(2));
+    assertThat(organization.getHasPart().getFirst().getId().toString(), endsWith(ADMINISTRATION));
+    assertThat(organization.getHasPart().getFirst().getHasPart(), hasSize(2));
+    assertThat(organization.getPartOf(), hasSize(1));
+    verify(upstreamClient, never()).executeFetch(any());
+  }
+
+  @Test
+  void shouldLeaveOutSubTreeWhenDepthIsNone() throws ApiGatewayException {
+    var organization = client.executeFetch(Map.of(IDENTIFIER, ADMINISTRATION, DEPTH, NONE));
+
+    assertThat(organization.getHasPart(), nullValue());
+    assertThat(organization.getPartOf().getFirst().getId().toString(), endsWith(FACULTY));
+  }
+
+  @Test
+  void shouldFetchFromUpstreamWhenUnitIsNotInGraph() throws ApiGatewayException {
+    var params = Map.of(IDENTIFIER, UNKNOWN_UNIT, DEPTH, FULL);
+    var upstreamOrganization = new Organization.Builder().build();
+    when(upstreamClient.executeFetch(params)).thenReturn(upstreamOrganization);
+
+    assertThat(client.executeFetch(params), sameInstance(upstreamOrganization));
+  }
+}
@@ -2,6 +2,8 @@ package no.unit.nva.cristin.organization.common.client.v20230526;
 
 import static no.unit.nva.cristin.testing.HttpResponseFaker.LINK_EXAMPLE_VALUE;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 
 import java.net.http.HttpHeaders;
@@ -12,6 +14,7 @@ class MultiPageProcessorTest {
 
   public static final String X_TOTAL_COUNT_OVER_PAGE_LIMIT = "1500";
   public static final String X_TOTAL_COUNT_UNDER_PAGE_LIMIT = "500";
+  public static final String X_TOTAL_COUNT_OVER_FOUR_PAGES = "4001";
   public static final String EMPTY_ARRAY = "[]";
 
   @Test
@@ -37,4 +40,30 @@ class MultiPageProcessorTest {
 
     assertThat(multiPageProcessor.hasAdditionalPages(), equalTo(false));
   }
+
+  @Test
+  void shouldListEveryPageAfterFirstPageWhenTotalCountSpansSeveralPages() {
+    var multiPageProcessor =
+        new MultiPageProcessor(responseWithTotalCount(X_TOTAL_COUNT_OVER_FOUR_PAGES));
+
+    assertThat(multiPageProcessor.numberOfPages(), equalTo(5));
+    assertThat(multiPageProcessor.remainingPages(), contains("2", "3", "4", "5"));
+  }
+
+  @Test
+  void shouldHaveNoRemainingPagesWhenAllHitsFitOnFirstPage() {
+    var multiPageProcessor =
+        new MultiPageProcessor(responseWithTotalCount(X_TOTAL_COUNT_UNDER_PAGE_LIMIT));
+
+    assertThat(multiPageProcessor.numberOfPages(), equalTo(1));
+    assertThat(multiPageProcessor.remainingPages(), empty());
+  }
+
+  private static HttpResponseFaker responseWithTotalCount(String totalCount) {
+    var fakeHeaders =
+        HttpHeaders.of(
+            HttpResponseFaker.headerMap(totalCount, LINK_EXAMPLE_VALUE),
+            HttpResponseFaker.filter());
+    return new HttpResponseFaker(EMPTY_ARRAY, 200, fakeHeaders);
+  }
 }
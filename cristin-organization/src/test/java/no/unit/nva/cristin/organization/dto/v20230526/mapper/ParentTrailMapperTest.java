@@ -0,0 +1,51 @@
+package no.unit.nva.cristin.organization.dto.v20230526.mapper;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.List;
+import java.util.Map;
+import no.unit.nva.cristin.organization.dto.v20230526.UnitDto;
+import org.junit.jupiter.api.Test;
+
+class ParentTrailMapperTest {
+
+  public static final String TOP_LEVEL_ID = "185.90.0.0";
+  public static final String FACULTY_ID = "185.50.0.0";
+  public static final String DEPARTMENT_ID = "185.53.0.0";
+
+  @Test
+  void shouldLinkParentTrailFromListOfParents() {
+    var topLevel = unit(TOP_LEVEL_ID, null, null);
+    var faculty = unit(FACULTY_ID, TOP_LEVEL_ID, null);
+    var department = unit(DEPARTMENT_ID, FACULTY_ID, null);
+    var unit = unit("185.53.18.0", DEPARTMENT_ID, List.of(department, topLevel, faculty));
+
+    var withTrail = new ParentTrailMapper(unit).getWithParentTrail();
+
+    assertThat(withTrail.getParentUnit(), sameInstance(department));
+    assertThat(department.getParentUnit(), sameInstance(faculty));
+    assertThat(faculty.getParentUnit(), sameInstance(topLevel));
+    assertThat(topLevel.getParentUnit(), nullValue());
+  }
+
+  @Test
+  void shouldStopWhenParentsReferToEachOther() {
+    var faculty = unit(FACULTY_ID, DEPARTMENT_ID, null);
+    var department = unit(DEPARTMENT_ID, FACULTY_ID, null);
+    var unit = unit("185.53.18.0", DEPARTMENT_ID, List.of(department, faculty));
+
+    var withTrail = new ParentTrailMapper(unit).getWithParentTrail();
+
+    assertThat(withTrail.getParentUnit(), sameInstance(department));
+    assertThat(department.getParentUnit(), sameInstance(faculty));
+    assertThat(faculty.getParentUnit().getId(), equalTo(DEPARTMENT_ID));
+  }
+
+  private static UnitDto unit(String id, String parentId, List<UnitDto> parentUnits) {
+    var parentUnit = parentId == null ? null : unit(parentId, null, null);
+    return new UnitDto(id, Map.of(), null, null, parentUnit, parentUnits, null, null, null);
+  }
+}
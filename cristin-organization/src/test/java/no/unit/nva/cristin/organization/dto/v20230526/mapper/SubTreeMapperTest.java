@@ -0,0 +1,70 @@
+package no.unit.nva.cristin.organization.dto.v20230526.mapper;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import no.unit.nva.cristin.organization.dto.v20230526.UnitDto;
+import org.junit.jupiter.api.Test;
+
+class SubTreeMapperTest {
+
+  public static final String ROOT_ID = "185.90.0.0";
+  public static final int DEEPER_THAN_STACK_ALLOWS = 20_000;
+
+  @Test
+  void shouldBuildSubUnitTreeKeepingUpstreamOrderOfSiblings() {
+    var second = unit("185.2.0.0", ROOT_ID);
+    var firstChild = unit("185.1.1.0", "185.1.0.0");
+    var first = unit("185.1.0.0", ROOT_ID);
+    var secondChild = unit("185.2.1.0", "185.2.0.0");
+    var orphan = unit("185.3.1.0", "185.3.0.0");
+    var root = unit(ROOT_ID, null, List.of(second, firstChild, first, secondChild, orphan));
+
+    var tree = new SubTreeMapper(root).getWithSubUnitTree();
+
+    assertThat(tree.getSubUnits(), contains(second, first));
+    assertThat(first.getSubUnits(), contains(firstChild));
+    assertThat(second.getSubUnits(), contains(secondChild));
+    assertThat(secondChild.getSubUnits(), empty());
+  }
+
+  @Test
+  void shouldBuildSubUnitTreeOfAnyDepth() {
+    var subUnits = new ArrayList<UnitDto>();
+    var parentId = ROOT_ID;
+    for (int level = 0; level < DEEPER_THAN_STACK_ALLOWS; level++) {
+      var subUnit = unit(String.valueOf(level), parentId);
+      subUnits.add(subUnit);
+      parentId = subUnit.getId();
+    }
+    var root = unit(ROOT_ID, null, subUnits);
+
+    var tree = new SubTreeMapper(root).getWithSubUnitTree();
+
+    assertThat(depthOf(tree), equalTo(DEEPER_THAN_STACK_ALLOWS));
+  }
+
+  private static int depthOf(UnitDto root) {
+    var depth = 0;
+    var current = root;
+    while (!current.getSubUnits().isEmpty()) {
+      current = current.getSubUnits().getFirst();
+      depth++;
+    }
+    return depth;
+  }
+
+  private static UnitDto unit(String id, String parentId) {
+    return unit(id, parentId, null);
+  }
+
+  private static UnitDto unit(String id, String parentId, List<UnitDto> subUnits) {
+    var parentUnit = parentId == null ? null : unit(parentId, null, null);
+    return new UnitDto(id, Map.of(), null, null, parentUnit, null, subUnits, null, null);
+  }
+}
@@ -2,6 +2,7 @@ package no.unit.nva.cristin.organization.fetch;
 
 import static java.net.HttpURLConnection.HTTP_BAD_REQUEST;
 import static java.net.HttpURLConnection.HTTP_NOT_FOUND;
+import static java.net.HttpURLConnection.HTTP_NOT_MODIFIED;
 import static java.net.HttpURLConnection.HTTP_OK;
 import static java.util.Collections.emptyMap;
 import static java.util.Objects.nonNull;
@@ -12,6 +13,8 @@ import static no.unit.nva.cristin.model.Constants.NOT_FOUND_MESSAGE_TEMPLATE;
 import static no.unit.nva.cristin.model.Constants.ORGANIZATION_PATH;
 import static no.unit.nva.cristin.model.Constants.UNITS_PATH;
 import static no.unit.nva.cristin.model.JsonPropertyNames.DEPTH;
+import static no.unit.nva.cristin.organization.fetch.FetchCristinOrganizationHandler.ETAG;
+import static no.unit.nva.cristin.organization.fetch.FetchCristinOrganizationHandler.IF_NONE_MATCH;
 import static no.unit.nva.cristin.testing.HttpResponseFaker.LINK_EXAMPLE_VALUE;
 import static no.unit.nva.testutils.RandomDataGenerator.randomString;
 import static no.unit.nva.utils.UriUtils.getCristinUri;
@@ -41,12 +44,17 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpHeaders;
 import java.nio.file.Path;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 import no.unit.nva.commons.json.JsonUtils;
 import no.unit.nva.cristin.organization.common.client.CristinOrganizationApiClient;
 import no.unit.nva.cristin.organization.common.client.v20230526.FetchCristinOrgClient20230526;
 import no.unit.nva.cristin.organization.dto.SubSubUnitDto;
+import no.unit.nva.cristin.organization.graph.OrganizationGraph;
+import no.unit.nva.cristin.testing.ByteArrayHttpResponseFaker;
 import no.unit.nva.cristin.testing.HttpResponseFaker;
 import no.unit.nva.model.Organization;
 import no.unit.nva.testutils.HandlerRequestBuilder;
@@ -98,6 +106,8 @@ class FetchCristinOrganizationHandlerTest {
       "The requested resource 'https://api.dev.nva.aws.unit.no/cristin/organization/1.0.0.0' was"
           + " not found";
   public static final String X_TOTAL_COUNT_OVER_PAGE_LIMIT = "1500";
+  public static final String UNITS_SNAPSHOT_JSON = "units_norway_snapshot.json";
+  public static final String UNIT_IN_SNAPSHOT = "185.15.0.10";
 
   private FetchCristinOrganizationHandler fetchCristinOrganizationHandler;
   private CristinOrganizationApiClient cristinApiClient;
@@ -118,6 +128,9 @@ class FetchCristinOrganizationHandlerTest {
     fetchOrgClient20230526 = new FetchCristinOrgClient20230526(mockHttpClient);
     fetchOrgClient20230526 = spy(fetchOrgClient20230526);
     doReturn(new HttpResponseFaker(EMPTY_JSON)).when(fetchOrgClient20230526).fetchGetResult(any());
+    doReturn(new ByteArrayHttpResponseFaker(EMPTY_JSON))
+        .when(fetchOrgClient20230526)
+        .fetchGetResultAsBytes(any());
     clientProvider = new DefaultOrgFetchClientProvider();
     clientProvider = spy(clientProvider);
     doReturn(cristinApiClient).when(clientProvider).getVersionOne();
@@ -299,9 +312,11 @@ class FetchCristinOrganizationHandlerTest {
       throws Exception {
 
     doReturn(new HttpResponseFaker(cristinPayload))
-        .doReturn(new HttpResponseFaker(cristinSubsPayload))
         .when(fetchOrgClient20230526)
         .fetchGetResult(any());
+    doReturn(new ByteArrayHttpResponseFaker(cristinSubsPayload))
+        .when(fetchOrgClient20230526)
+        .fetchGetResultAsBytes(any());
     fetchCristinOrganizationHandler =
         new FetchCristinOrganizationHandler(clientProvider, new Environment());
     Map<String, String> queryParams = nonNull(depth) ? Map.of(DEPTH, depth) : emptyMap();
@@ -319,12 +334,10 @@ class FetchCristinOrganizationHandlerTest {
     var resource = stringFromResources(CRISTIN_GET_RESPONSE_JSON);
     var fakeHttpResponse = new HttpResponseFaker(resource, HTTP_OK);
     var cristinSubsPayload = getFromResources(CRISTIN_GET_RESPONSE_SUB_UNITS_JSON);
-    var fakeSubUnitResponse = new HttpResponseFaker(cristinSubsPayload);
+    var fakeSubUnitResponse = new ByteArrayHttpResponseFaker(cristinSubsPayload);
 
-    doReturn(fakeHttpResponse)
-        .doReturn(fakeSubUnitResponse)
-        .when(fetchOrgClient20230526)
-        .fetchGetResult(any());
+    doReturn(fakeHttpResponse).when(fetchOrgClient20230526).fetchGetResult(any());
+    doReturn(fakeSubUnitResponse).when(fetchOrgClient20230526).fetchGetResultAsBytes(any());
 
     fetchCristinOrganizationHandler =
         new FetchCristinOrganizationHandler(clientProvider, new Environment());
@@ -333,7 +346,8 @@ class FetchCristinOrganizationHandlerTest {
 
     var gatewayResponse = GatewayResponse.fromOutputStream(output, Organization.class);
 
-    verify(fetchOrgClient20230526, times(2)).fetchGetResult(any());
+    verify(fetchOrgClient20230526, times(1)).fetchGetResult(any());
+    verify(fetchOrgClient20230526, times(1)).fetchGetResultAsBytes(any());
     verify(cristinApiClient, times(0)).fetchGetResult(any());
     assertThat(gatewayResponse.getStatusCode(), equalTo(HTTP_OK));
   }
@@ -342,12 +356,10 @@ class FetchCristinOrganizationHandlerTest {
   void shouldReturnsNotFoundResponseWhenUpstreamReturnNotFoundAndVersionIs20230526()
       throws Exception {
     var fakeHttpResponse = new HttpResponseFaker(EMPTY_JSON, HTTP_NOT_FOUND);
-    var fakeSubUnitHttpResponse = new HttpResponseFaker("[]", HTTP_OK);
+    var fakeSubUnitHttpResponse = new ByteArrayHttpResponseFaker("[]", HTTP_OK);
 
-    doReturn(fakeHttpResponse)
-        .doReturn(fakeSubUnitHttpResponse)
-        .when(fetchOrgClient20230526)
-        .fetchGetResult(any());
+    doReturn(fakeHttpResponse).when(fetchOrgClient20230526).fetchGetResult(any());
+    doReturn(fakeSubUnitHttpResponse).when(fetchOrgClient20230526).fetchGetResultAsBytes(any());
 
     fetchCristinOrganizationHandler =
         new FetchCristinOrganizationHandler(clientProvider, new Environment());
@@ -383,10 +395,13 @@ class FetchCristinOrganizationHandlerTest {
   @RepeatedTest(10)
   void shouldReturnHitsInSortedOrderForVersion20230526() throws Exception {
     doReturn(new HttpResponseFaker(getFromResources(CRISTIN_GET_RESPONSE_JSON)))
-        .doReturn(
-            new HttpResponseFaker(getFromResources(CRISTIN_GET_RESPONSE_SUB_UNITS_SORTED_JSON)))
         .when(fetchOrgClient20230526)
         .fetchGetResult(any());
+    doReturn(
+            new ByteArrayHttpResponseFaker(
+                getFromResources(CRISTIN_GET_RESPONSE_SUB_UNITS_SORTED_JSON)))
+        .when(fetchOrgClient20230526)
+        .fetchGetResultAsBytes(any());
     fetchCristinOrganizationHandler =
         new FetchCristinOrganizationHandler(clientProvider, new Environment());
     Map<String, String> queryParams = emptyMap();
@@ -419,18 +434,18 @@ class FetchCristinOrganizationHandlerTest {
     var headersIndicatingMoreResults = headerMapWithMoreResultsThanFirstPageHas();
     var cristinSubsPayload = getFromResources(CRISTIN_GET_RESPONSE_SUB_UNITS_JSON);
     var fakeSubUnitResponse =
-        new HttpResponseFaker(cristinSubsPayload, HTTP_OK, headersIndicatingMoreResults);
+        new ByteArrayHttpResponseFaker(cristinSubsPayload, HTTP_OK, headersIndicatingMoreResults);
 
     var cristinAdditionalSubsPayload =
         getFromResources(CRISTIN_GET_RESPONSE_ADDITIONAL_SUB_UNITS_JSON);
     var fakeAdditionalSubUnitResponse =
-        new HttpResponseFaker(cristinAdditionalSubsPayload, HTTP_OK);
+        new ByteArrayHttpResponseFaker(cristinAdditionalSubsPayload, HTTP_OK);
 
-    doReturn(fakeHttpResponse)
-        .doReturn(fakeSubUnitResponse)
+    doReturn(fakeHttpResponse).when(fetchOrgClient20230526).fetchGetResult(any());
+    doReturn(fakeSubUnitResponse)
         .doReturn(fakeAdditionalSubUnitResponse)
         .when(fetchOrgClient20230526)
-        .fetchGetResult(any());
+        .fetchGetResultAsBytes(any());
 
     fetchCristinOrganizationHandler =
         new FetchCristinOrganizationHandler(clientProvider, new Environment());
@@ -439,7 +454,8 @@ class FetchCristinOrganizationHandlerTest {
 
     var gatewayResponse = GatewayResponse.fromOutputStream(output, Organization.class);
 
-    verify(fetchOrgClient20230526, times(3)).fetchGetResult(any());
+    verify(fetchOrgClient20230526, times(1)).fetchGetResult(any());
+    verify(fetchOrgClient20230526, times(2)).fetchGetResultAsBytes(any());
     verify(cristinApiClient, times(0)).fetchGetResult(any());
     assertThat(gatewayResponse.getStatusCode(), equalTo(HTTP_OK));
 
@@ -449,6 +465,86 @@ class FetchCristinOrganizationHandlerTest {
     assertThat(containsIdentifier(actualOrg, "185.15.0.222"), equalTo(true));
   }
 
+  @Test
+  void shouldServeRepeatedFetchOfUnitInSnapshotFromResponseCache() throws Exception {
+    var graph =
+        OrganizationGraph.fromSnapshot(IoUtils.inputStreamFromResources(UNITS_SNAPSHOT_JSON));
+    var graphClientProvider = spy(new DefaultOrgFetchClientProvider(() -> graph));
+    fetchCristinOrganizationHandler =
+        new FetchCristinOrganizationHandler(
+            graphClientProvider, () -> graph, new OrganizationResponseCache(), new Environment());
+
+    var first = fetchFromSnapshot(Map.of());
+    output = new ByteArrayOutputStream();
+    var second = fetchFromSnapshot(Map.of());
+
+    verify(graphClientProvider, times(1)).getClient(any());
+    assertThat(second.getStatusCode(), equalTo(HTTP_OK));
+    assertThat(second.getBody(), equalTo(first.getBody()));
+    assertThat(second.getHeaders().get(ETAG), equalTo(first.getHeaders().get(ETAG)));
+    assertThat(
+        second.getBodyObject(Organization.class).getId(),
+        equalTo(getNvaApiId(UNIT_IN_SNAPSHOT, ORGANIZATION_PATH)));
+  }
+
+  @Test
+  void shouldAskForGraphOncePerRequestWhenServingFromSnapshot() throws Exception {
+    var graph =
+        OrganizationGraph.fromSnapshot(IoUtils.inputStreamFromResources(UNITS_SNAPSHOT_JSON));
+    var graphRequests = new AtomicInteger();
+    Supplier<OrganizationGraph> countingGraph =
+        () -> {
+          graphRequests.incrementAndGet();
+          return graph;
+        };
+    fetchCristinOrganizationHandler =
+        new FetchCristinOrganizationHandler(
+            new DefaultOrgFetchClientProvider(countingGraph),
+            countingGraph,
+            new OrganizationResponseCache(),
+            new Environment());
+
+    var response = fetchFromSnapshot(Map.of());
+
+    assertThat(response.getStatusCode(), equalTo(HTTP_OK));
+    assertThat(graphRequests.get(), equalTo(1));
+  }
+
+  @Test
+  void shouldReturnNotModifiedWhenIfNoneMatchHasEtagOfResponse() throws Exception {
+    var graph =
+        OrganizationGraph.fromSnapshot(IoUtils.inputStreamFromResources(UNITS_SNAPSHOT_JSON));
+    fetchCristinOrganizationHandler =
+        new FetchCristinOrganizationHandler(
+            new DefaultOrgFetchClientProvider(() -> graph),
+            () -> graph,
+            new OrganizationResponseCache(),
+            new Environment());
+
+    var etag = fetchFromSnapshot(Map.of()).getHeaders().get(ETAG);
+    output = new ByteArrayOutputStream();
+    var notModified = fetchFromSnapshot(Map.of(IF_NONE_MATCH, etag));
+    output = new ByteArrayOutputStream();
+    var otherEtag = fetchFromSnapshot(Map.of(IF_NONE_MATCH, "\"" + randomString() + "\""));
+
+    assertThat(notModified.getStatusCode(), equalTo(HTTP_NOT_MODIFIED));
+    assertThat(notModified.getHeaders().get(ETAG), equalTo(etag));
+    assertThat(otherEtag.getStatusCode(), equalTo(HTTP_OK));
+  }
+
+  private GatewayResponse<Organization> fetchFromSnapshot(Map<String, String> additionalHeaders)
+      throws IOException {
+    var headers = new HashMap<>(additionalHeaders);
+    headers.put(ACCEPT_HEADER_KEY_NAME, String.format(ACCEPT_HEADER_EXAMPLE, VERSION_2023_05_26));
+    var input =
+        new HandlerRequestBuilder<>(restApiMapper)
+            .withHeaders(headers)
+            .withPathParameters(Map.of(IDENTIFIER, UNIT_IN_SNAPSHOT))
+            .build();
+    fetchCristinOrganizationHandler.handleRequest(input, output, context);
+    return GatewayResponse.fromOutputStream(output, Organization.class);
+  }
+
   private boolean containsIdentifier(Organization actualOrg, String identifier) {
     return actualOrg.getHasPart().stream()
         .anyMatch(organization -> organization.getId().toString().contains(identifier));
@@ -0,0 +1,97 @@
+package no.unit.nva.cristin.organization.fetch;
+
+import static no.unit.nva.cristin.model.Constants.FULL;
+import static no.unit.nva.cristin.model.Constants.NONE;
+import static no.unit.nva.cristin.model.Constants.OBJECT_MAPPER;
+import static no.unit.nva.cristin.model.Constants.ORGANIZATION_PATH;
+import static no.unit.nva.utils.UriUtils.getNvaApiId;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.util.Map;
+import java.util.Optional;
+import no.unit.nva.model.Organization;
+import org.junit.jupiter.api.Test;
+
+class OrganizationResponseCacheTest {
+
+  public static final String UNIT = "185.15.0.10";
+  public static final String OTHER_UNIT = "185.15.0.25";
+  public static final String VERSION = "v1";
+  public static final String NEW_VERSION = "v2";
+
+  @Test
+  void shouldHoldResponsesPerUnitDepthAndVersion() throws JsonProcessingException {
+    var cache = new OrganizationResponseCache();
+    var response = render(UNIT);
+
+    cache.put(UNIT, FULL, VERSION, response);
+
+    assertThat(cache.get(UNIT, FULL, VERSION), equalTo(Optional.of(response)));
+    assertThat(cache.get(UNIT, NONE, VERSION), equalTo(Optional.empty()));
+    assertThat(cache.get(UNIT, FULL, NEW_VERSION), equalTo(Optional.empty()));
+  }
+
+  @Test
+  void shouldDropResponsesOfPreviousSnapshotWhenNewSnapshotIsSeen()
+      throws JsonProcessingException {
+    var cache = new OrganizationResponseCache();
+    cache.put(UNIT, FULL, VERSION, render(UNIT));
+
+    cache.put(OTHER_UNIT, FULL, NEW_VERSION, render(OTHER_UNIT));
+
+    assertThat(cache.size(), equalTo(1));
+    assertThat(cache.get(OTHER_UNIT, FULL, NEW_VERSION).isPresent(), equalTo(true));
+  }
+
+  @Test
+  void shouldDropLeastRecentlyUsedResponseWhenOverSizeLimit() throws JsonProcessingException {
+    var response = render(UNIT);
+    var cache = new OrganizationResponseCache(2L * response.size());
+    cache.put(UNIT, FULL, VERSION, response);
+    cache.put(UNIT, NONE, VERSION, response);
+
+    cache.get(UNIT, FULL, VERSION);
+    cache.put(OTHER_UNIT, FULL, VERSION, render(OTHER_UNIT));
+
+    assertThat(cache.get(UNIT, FULL, VERSION).isPresent(), equalTo(true));
+    assertThat(cache.get(UNIT, NONE, VERSION), equalTo(Optional.empty()));
+    assertThat(cache.get(OTHER_UNIT, FULL, VERSION).isPresent(), equalTo(true));
+  }
+
+  @Test
+  void shouldWriteRenderedBodyAsIsAndDeriveEtagFromBody() throws JsonProcessingException {
+    var organization = organization(UNIT);
+    var response = RenderedOrganization.render(organization);
+
+    var body = OBJECT_MAPPER.writeValueAsString(Map.of("body", response));
+
+    assertThat(body, equalTo("{\"body\":" + OBJECT_MAPPER.writeValueAsString(organization) + "}"));
+    assertThat(response.etag(), equalTo(RenderedOrganization.render(organization(UNIT)).etag()));
+    assertThat(response.etag(), not(equalTo(render(OTHER_UNIT).etag())));
+  }
+
+  @Test
+  void shouldMatchIfNoneMatchListingEtagOfResponse() throws JsonProcessingException {
+    var response = render(UNIT);
+
+    assertThat(response.matches(response.etag()), equalTo(true));
+    assertThat(response.matches("\"other\", W/" + response.etag()), equalTo(true));
+    assertThat(response.matches("*"), equalTo(true));
+    assertThat(response.matches("\"other\""), equalTo(false));
+    assertThat(response.notModified().isNotModified(), equalTo(true));
+  }
+
+  private static RenderedOrganization render(String identifier) throws JsonProcessingException {
+    return RenderedOrganization.render(organization(identifier));
+  }
+
+  private static Organization organization(String identifier) {
+    return new Organization.Builder()
+        .withId(getNvaApiId(identifier, ORGANIZATION_PATH))
+        .withLabels(Map.of("en", identifier))
+        .build();
+  }
+}
@@ -0,0 +1,136 @@
+package no.unit.nva.cristin.organization.graph;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import nva.commons.core.ioutils.IoUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AncestryIndexTest {
+
+  public static final String UNITS_SNAPSHOT_JSON = "units_norway_snapshot.json";
+  public static final String UIO = "185.90.0.0";
+  public static final String FACULTY = "185.15.0.0";
+  public static final String ADMINISTRATION = "185.15.0.10";
+  public static final String IT_SECTION = "185.15.0.25";
+  public static final String FINANCE_SECTION = "185.15.0.11";
+  public static final String PHARMACY = "185.15.5.0";
+  public static final String MEDICINE = "185.50.0.0";
+  public static final String OTHER_INSTITUTION_UNIT = "194.63.0.0";
+  public static final String UNKNOWN_UNIT = "1.0.0.0";
+  public static final int NUMBER_OF_RANDOM_UNITS = 2000;
+  public static final long SEED = 42;
+
+  private AncestryIndex index;
+
+  @BeforeEach
+  void setup() throws IOException {
+    var graph =
+        OrganizationGraph.fromSnapshot(IoUtils.inputStreamFromResources(UNITS_SNAPSHOT_JSON));
+    index = graph.ancestryIndex();
+  }
+
+  @Test
+  void shouldTellIfUnitIsBelowAnotherUnit() {
+    assertThat(index.isPartOf(IT_SECTION, UIO), equalTo(true));
+    assertThat(index.isPartOf(IT_SECTION, ADMINISTRATION), equalTo(true));
+    assertThat(index.isPartOf(UIO, IT_SECTION), equalTo(false));
+    assertThat(index.isPartOf(IT_SECTION, IT_SECTION), equalTo(false));
+    assertThat(index.isPartOf(FINANCE_SECTION, MEDICINE), equalTo(false));
+    assertThat(index.isPartOf(OTHER_INSTITUTION_UNIT, UIO), equalTo(false));
+    assertThat(index.isPartOf(UNKNOWN_UNIT, UIO), equalTo(false));
+  }
+
+  @Test
+  void shouldFindLowestCommonAncestor() {
+    assertThat(index.lowestCommonAncestor(IT_SECTION, PHARMACY), equalTo(Optional.of(FACULTY)));
+    assertThat(
+        index.lowestCommonAncestor(IT_SECTION, FINANCE_SECTION),
+        equalTo(Optional.of(ADMINISTRATION)));
+    assertThat(index.lowestCommonAncestor(FACULTY, IT_SECTION), equalTo(Optional.of(FACULTY)));
+    assertThat(index.lowestCommonAncestor(IT_SECTION, FACULTY), equalTo(Optional.of(FACULTY)));
+    assertThat(index.lowestCommonAncestor(PHARMACY, MEDICINE), equalTo(Optional.of(UIO)));
+    assertThat(index.lowestCommonAncestor(MEDICINE, MEDICINE), equalTo(Optional.of(MEDICINE)));
+  }
+
+  @Test
+  void shouldHaveNoCommonAncestorForUnitsInDifferentTreesOrUnknownUnits() {
+    assertThat(
+        index.lowestCommonAncestor(IT_SECTION, OTHER_INSTITUTION_UNIT), equalTo(Optional.empty()));
+    assertThat(index.lowestCommonAncestor(IT_SECTION, UNKNOWN_UNIT), equalTo(Optional.empty()));
+  }
+
+  @Test
+  void shouldIndexUnitsInParentLoop() {
+    var parents = Map.of("a", "b", "b", "a", "c", "a");
+    var children = Map.of("a", List.of("b", "c"), "b", List.of("a"));
+    var loopIndex =
+        AncestryIndex.build(
+            List.of("a", "b", "c"),
+            unit -> Optional.ofNullable(parents.get(unit)),
+            unit -> children.getOrDefault(unit, List.of()));
+
+    assertThat(loopIndex.isPartOf("c", "a"), equalTo(true));
+    assertThat(loopIndex.lowestCommonAncestor("b", "c"), equalTo(Optional.of("a")));
+  }
+
+  @Test
+  void shouldAgreeWithParentTrailsOnRandomTree() {
+    var random = new Random(SEED);
+    var parents = new HashMap<String, String>();
+    var children = new HashMap<String, List<String>>();
+    var units = new ArrayList<String>();
+    for (int unit = 0; unit < NUMBER_OF_RANDOM_UNITS; unit++) {
+      var identifier = String.valueOf(unit);
+      units.add(identifier);
+      if (unit > 0 && random.nextInt(50) > 0) {
+        var parent = String.valueOf(random.nextInt(unit));
+        parents.put(identifier, parent);
+        children.computeIfAbsent(parent, key -> new ArrayList<>()).add(identifier);
+      }
+    }
+    var randomIndex =
+        AncestryIndex.build(
+            units,
+            unit -> Optional.ofNullable(parents.get(unit)),
+            unit -> children.getOrDefault(unit, List.of()));
+
+    for (int pair = 0; pair < NUMBER_OF_RANDOM_UNITS; pair++) {
+      var first = units.get(random.nextInt(units.size()));
+      var second = units.get(random.nextInt(units.size()));
+      assertThat(
+          randomIndex.lowestCommonAncestor(first, second),
+          equalTo(lowestCommonAncestorByTrails(parents, first, second)));
+      assertThat(
+          randomIndex.isPartOf(first, second), equalTo(trailOf(parents, first).contains(second)));
+    }
+  }
+
+  private static Optional<String> lowestCommonAncestorByTrails(
+      Map<String, String> parents, String first, String second) {
+    var firstTrail = new HashSet<>(trailOf(parents, first));
+    firstTrail.add(first);
+    var current = second;
+    while (current != null && !firstTrail.contains(current)) {
+      current = parents.get(current);
+    }
+    return Optional.ofNullable(current);
+  }
+
+  private static List<String> trailOf(Map<String, String> parents, String unit) {
+    var trail = new ArrayList<String>();
+    for (var parent = parents.get(unit); parent != null; parent = parents.get(parent)) {
+      trail.add(parent);
+    }
+    return trail;
+  }
+}
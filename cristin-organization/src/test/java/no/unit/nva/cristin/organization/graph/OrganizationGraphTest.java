@@ -0,0 +1,215 @@
+package no.unit.nva.cristin.organization.graph;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Optional;
+import nva.commons.core.ioutils.IoUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+class OrganizationGraphTest {
+
+  public static final String UNITS_SNAPSHOT_JSON = "units_norway_snapshot.json";
+  public static final String UIO = "185.90.0.0";
+  public static final String FACULTY = "185.15.0.0";
+  public static final String ADMINISTRATION = "185.15.0.10";
+  public static final String IT_SECTION = "185.15.0.25";
+  public static final String FINANCE_SECTION = "185.15.0.11";
+  public static final String PHARMACY = "185.15.5.0";
+  public static final String MEDICINE = "185.50.0.0";
+  public static final String BUCKET_NAME = "intermediate-storage";
+  public static final String NEW_SECTION = "185.15.0.30";
+  public static final String NEW_SECTION_JSON =
+      "{\"cristin_unit_id\":\"185.15.0.30\",\"parent_unit\":{\"cristin_unit_id\":\"185.15.0.10\"}}";
+  public static final String NEXT_VERSION = "next";
+  public static final String OTHER_VERSION = "other";
+
+  private OrganizationGraph graph;
+
+  @BeforeEach
+  void setup() throws IOException {
+    graph = OrganizationGraph.fromSnapshot(IoUtils.inputStreamFromResources(UNITS_SNAPSHOT_JSON));
+  }
+
+  @Test
+  void shouldIndexUnitsByIdentifierAndParentOnce() {
+    assertThat(graph.size(), equalTo(9));
+    assertThat(graph.parentOf(IT_SECTION), equalTo(Optional.of(ADMINISTRATION)));
+    assertThat(graph.parentOf(UIO), equalTo(Optional.empty()));
+    assertThat(graph.childrenOf(ADMINISTRATION), contains(IT_SECTION, FINANCE_SECTION));
+    assertThat(graph.childrenOf(IT_SECTION), empty());
+  }
+
+  @Test
+  void shouldReturnParentTrailStartingWithTopLevelUnit() {
+    assertThat(graph.parentTrailOf(IT_SECTION), contains(UIO, FACULTY, ADMINISTRATION));
+    assertThat(graph.parentTrailOf(UIO), empty());
+  }
+
+  @Test
+  void shouldReturnDescendantsDepthFirstInSnapshotOrder() {
+    assertThat(
+        graph.descendantsOf(UIO),
+        contains(FACULTY, ADMINISTRATION, IT_SECTION, FINANCE_SECTION, PHARMACY, MEDICINE));
+  }
+
+  @Test
+  void shouldHandOutCopiesOfUnits() {
+    var first = graph.unitWithParentTrail(IT_SECTION).orElseThrow();
+    var second = graph.unitWithParentTrail(IT_SECTION).orElseThrow();
+
+    assertThat(first, not(sameInstance(second)));
+    assertThat(first.getParentUnits().getFirst().getId(), equalTo(UIO));
+    assertThat(graph.unitWithParentTrail("1.0.0.0"), equalTo(Optional.empty()));
+  }
+
+  @Test
+  void shouldVersionGraphByContentOfSnapshot() throws IOException {
+    var sameSnapshot =
+        OrganizationGraph.fromSnapshot(IoUtils.inputStreamFromResources(UNITS_SNAPSHOT_JSON));
+    var otherSnapshot =
+        OrganizationGraph.fromSnapshot(
+            new ByteArrayInputStream("[]".getBytes(StandardCharsets.UTF_8)));
+
+    assertThat(sameSnapshot.version(), equalTo(graph.version()));
+    assertThat(otherSnapshot.version(), not(equalTo(graph.version())));
+    assertThat(OrganizationGraph.empty().version(), equalTo(OrganizationGraph.EMPTY_VERSION));
+  }
+
+  @Test
+  void shouldVersionGraphByDigestOfWholeSnapshotAsStored() throws Exception {
+    var stored = IoUtils.inputStreamFromResources(UNITS_SNAPSHOT_JSON).readAllBytes();
+    var digest = MessageDigest.getInstance("SHA-256").digest(stored);
+
+    assertThat(graph.version(), equalTo(HexFormat.of().formatHex(digest)));
+  }
+
+  @Test
+  void shouldApplyChangeLogFromVersionOfGraph() throws IOException {
+    var changed =
+        graph.withChanges(changeLog(graph.version(), NEXT_VERSION, NEW_SECTION_JSON, MEDICINE));
+
+    var next = changed.orElseThrow();
+    assertThat(next.version(), equalTo(NEXT_VERSION));
+    assertThat(next.contains(MEDICINE), equalTo(false));
+    assertThat(next.childrenOf(ADMINISTRATION), contains(IT_SECTION, FINANCE_SECTION, NEW_SECTION));
+    assertThat(next.parentTrailOf(NEW_SECTION), contains(UIO, FACULTY, ADMINISTRATION));
+    assertThat(graph.contains(MEDICINE), equalTo(true));
+  }
+
+  @Test
+  void shouldApplyChangeLogWithoutUpsertedOrRemovedUnits() throws IOException {
+    var changeLog =
+        String.format("{\"fromDigest\":\"%s\",\"toDigest\":\"%s\"}", graph.version(), NEXT_VERSION);
+
+    var next =
+        graph.withChanges(new ByteArrayInputStream(changeLog.getBytes(StandardCharsets.UTF_8)));
+
+    assertThat(next.orElseThrow().version(), equalTo(NEXT_VERSION));
+    assertThat(next.orElseThrow().size(), equalTo(graph.size()));
+  }
+
+  @Test
+  void shouldOnlyApplyChangeLogToVersionItIsFrom() throws IOException {
+    var alreadyApplied =
+        graph.withChanges(changeLog(OTHER_VERSION, graph.version(), NEW_SECTION_JSON, MEDICINE));
+    var fromOtherVersion =
+        graph.withChanges(changeLog(OTHER_VERSION, NEXT_VERSION, NEW_SECTION_JSON, MEDICINE));
+
+    assertThat(alreadyApplied.orElseThrow(), sameInstance(graph));
+    assertThat(fromOtherVersion, equalTo(Optional.empty()));
+  }
+
+  @Test
+  void shouldLoadWholeSnapshotWhenChangeLogIsNotFromVersionOfGraph() throws IOException {
+    var s3Client = mock(S3Client.class);
+    doReturn(s3Object(changeLog(OTHER_VERSION, NEXT_VERSION, NEW_SECTION_JSON, MEDICINE)))
+        .when(s3Client)
+        .getObject(objectWithKey(OrganizationGraph.CHANGE_LOG_KEY));
+    doReturn(s3Object(IoUtils.inputStreamFromResources(UNITS_SNAPSHOT_JSON)))
+        .when(s3Client)
+        .getObject(objectWithKey(OrganizationGraph.SNAPSHOT_KEY));
+
+    var noUnits = new ByteArrayInputStream("[]".getBytes(StandardCharsets.UTF_8));
+    var otherGraph = OrganizationGraph.fromSnapshot(noUnits);
+    var refreshed = otherGraph.refreshedFrom(s3Client, BUCKET_NAME);
+
+    assertThat(refreshed.size(), equalTo(9));
+    assertThat(refreshed.version(), equalTo(graph.version()));
+  }
+
+  @Test
+  void shouldKeepGraphWhenRefreshingFails() {
+    var s3Client = mock(S3Client.class);
+    doThrow(SdkException.class).when(s3Client).getObject(any(GetObjectRequest.class));
+
+    assertThat(graph.refreshedFrom(s3Client, BUCKET_NAME), sameInstance(graph));
+  }
+
+  @Test
+  void shouldLoadWholeSnapshotWithoutReadingChangeLogWhenGraphIsEmpty() {
+    var s3Client = mock(S3Client.class);
+    doReturn(s3Object(IoUtils.inputStreamFromResources(UNITS_SNAPSHOT_JSON)))
+        .when(s3Client)
+        .getObject(objectWithKey(OrganizationGraph.SNAPSHOT_KEY));
+
+    var loaded = OrganizationGraph.empty().refreshedFrom(s3Client, BUCKET_NAME);
+
+    assertThat(loaded.size(), equalTo(9));
+    assertThat(loaded.version(), equalTo(graph.version()));
+    verify(s3Client, never()).getObject(objectWithKey(OrganizationGraph.CHANGE_LOG_KEY));
+  }
+
+  @Test
+  void shouldStayEmptyWhenSnapshotCannotBeRead() {
+    var s3Client = mock(S3Client.class);
+    doThrow(SdkException.class).when(s3Client).getObject(any(GetObjectRequest.class));
+
+    var emptyGraph = OrganizationGraph.empty().refreshedFrom(s3Client, BUCKET_NAME);
+
+    assertThat(emptyGraph.size(), equalTo(0));
+    assertThat(emptyGraph.contains(UIO), equalTo(false));
+  }
+
+  private static InputStream changeLog(
+      String fromDigest, String toDigest, String upsertedUnit, String removedUnit) {
+    var changeLog =
+        String.format(
+            "{\"fromDigest\":\"%s\",\"toDigest\":\"%s\",\"upserted\":[%s],\"removed\":[\"%s\"]}",
+            fromDigest, toDigest, upsertedUnit, removedUnit);
+    return new ByteArrayInputStream(changeLog.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static ResponseInputStream<GetObjectResponse> s3Object(InputStream content) {
+    return new ResponseInputStream<>(
+        GetObjectResponse.builder().build(), AbortableInputStream.create(content));
+  }
+
+  private static GetObjectRequest objectWithKey(String key) {
+    return argThat(request -> key.equals(request.key()));
+  }
+}
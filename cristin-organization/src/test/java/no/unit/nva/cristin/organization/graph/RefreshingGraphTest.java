@@ -0,0 +1,109 @@
+package no.unit.nva.cristin.organization.graph;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RefreshingGraphTest {
+
+  private static final Duration REFRESH_AFTER = Duration.ofMinutes(15);
+
+  private AtomicLong clock;
+  private AtomicInteger refreshes;
+  private Queue<Runnable> pendingRefreshes;
+  private OrganizationGraph loaded;
+  private OrganizationGraph refreshed;
+  private RefreshingGraph refreshingGraph;
+
+  @BeforeEach
+  void setup() {
+    clock = new AtomicLong();
+    refreshes = new AtomicInteger();
+    pendingRefreshes = new ArrayDeque<>();
+    loaded = OrganizationGraph.empty();
+    refreshed = OrganizationGraph.empty();
+    refreshingGraph =
+        new RefreshingGraph(
+            loaded, this::refresh, REFRESH_AFTER, pendingRefreshes::add, clock::get);
+  }
+
+  @Test
+  void shouldHandOutLoadedGraphUntilRefreshIsDue() {
+    clock.addAndGet(REFRESH_AFTER.toNanos() - 1);
+
+    assertThat(refreshingGraph.get(), sameInstance(loaded));
+    assertThat(pendingRefreshes.size(), equalTo(0));
+  }
+
+  @Test
+  void shouldHandOutHeldGraphWhileRefreshingInBackground() {
+    clock.addAndGet(REFRESH_AFTER.toNanos());
+
+    assertThat(refreshingGraph.get(), sameInstance(loaded));
+    assertThat(refreshingGraph.get(), sameInstance(loaded));
+    assertThat(pendingRefreshes.size(), equalTo(1));
+
+    pendingRefreshes.poll().run();
+
+    assertThat(refreshingGraph.get(), sameInstance(refreshed));
+    assertThat(pendingRefreshes.size(), equalTo(0));
+    assertThat(refreshes.get(), equalTo(1));
+  }
+
+  @Test
+  void shouldLoadInBackgroundWhenStartedBeforeRefreshIsDue() {
+    refreshingGraph.startRefresh();
+    refreshingGraph.startRefresh();
+
+    assertThat(refreshingGraph.get(), sameInstance(loaded));
+    assertThat(pendingRefreshes.size(), equalTo(1));
+
+    pendingRefreshes.poll().run();
+
+    assertThat(refreshingGraph.get(), sameInstance(refreshed));
+    assertThat(refreshes.get(), equalTo(1));
+  }
+
+  @Test
+  void shouldKeepHeldGraphAndRefreshAgainWhenDueAfterRefreshThrows() {
+    var failing =
+        new RefreshingGraph(
+            loaded,
+            held -> {
+              if (refreshes.incrementAndGet() == 1) {
+                throw new IllegalStateException("refresh failed");
+              }
+              return refreshed;
+            },
+            REFRESH_AFTER,
+            pendingRefreshes::add,
+            clock::get);
+    clock.addAndGet(REFRESH_AFTER.toNanos());
+    failing.get();
+    pendingRefreshes.poll().run();
+
+    assertThat(failing.get(), sameInstance(loaded));
+    assertThat(pendingRefreshes.size(), equalTo(0));
+
+    clock.addAndGet(REFRESH_AFTER.toNanos());
+    failing.get();
+    pendingRefreshes.poll().run();
+
+    assertThat(failing.get(), sameInstance(refreshed));
+    assertThat(refreshes.get(), equalTo(2));
+  }
+
+  private OrganizationGraph refresh(OrganizationGraph held) {
+    assertThat(held, sameInstance(loaded));
+    refreshes.incrementAndGet();
+    return refreshed;
+  }
+}
@@ -53,6 +53,7 @@ import no.unit.nva.cristin.organization.common.client.CristinOrganizationApiClie
 import no.unit.nva.cristin.organization.common.client.v20230526.FetchCristinOrgClient20230526;
 import no.unit.nva.cristin.organization.common.client.v20230526.OrganizationEnricher;
 import no.unit.nva.cristin.organization.common.client.v20230526.QueryCristinOrgClient20230526;
+import no.unit.nva.cristin.testing.ByteArrayHttpResponseFaker;
 import no.unit.nva.cristin.testing.HttpResponseFaker;
 import no.unit.nva.model.Organization;
 import no.unit.nva.testutils.HandlerRequestBuilder;
@@ -567,11 +568,11 @@ class QueryCristinOrganizationHandlerTest {
         IoUtils.stringFromResources(Path.of(CRISTIN_GET_RESPONSE_SUB_UNITS_JSON));
 
     doReturn(new HttpResponseFaker(fakeGetResponseResource))
-        .doReturn(new HttpResponseFaker(fakeGetSubsResponseResource))
-        .doReturn(new HttpResponseFaker(fakeGetResponseResource))
-        .doReturn(new HttpResponseFaker(fakeGetSubsResponseResource))
         .when(fetchOrgClient20230526)
         .fetchGetResult(any());
+    doReturn(new ByteArrayHttpResponseFaker(fakeGetSubsResponseResource))
+        .when(fetchOrgClient20230526)
+        .fetchGetResultAsBytes(any());
 
     return fetchOrgClient20230526;
   }
@@ -602,11 +603,13 @@ class QueryCristinOrganizationHandlerTest {
         IoUtils.stringFromResources(Path.of(CRISTIN_GET_RESPONSE_SUB_UNITS_JSON));
 
     doReturn(new HttpResponseFaker(fakeGetResponseResource))
-        .doReturn(new HttpResponseFaker(fakeGetSubsResponseResource))
         .doReturn(new HttpResponseFaker(EMPTY_OBJECT, HTTP_NOT_FOUND))
-        .doReturn(new HttpResponseFaker(EMPTY_ARRAY, HTTP_NOT_FOUND))
         .when(fetchClient)
         .fetchGetResult(any());
+    doReturn(new ByteArrayHttpResponseFaker(fakeGetSubsResponseResource))
+        .doReturn(new ByteArrayHttpResponseFaker(EMPTY_ARRAY, HTTP_NOT_FOUND))
+        .when(fetchClient)
+        .fetchGetResultAsBytes(any());
 
     return fetchClient;
   }
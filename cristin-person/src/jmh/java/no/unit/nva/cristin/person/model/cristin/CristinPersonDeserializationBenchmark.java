@@ -0,0 +1,88 @@
+package no.unit.nva.cristin.person.model.cristin;
+
+import static no.unit.nva.cristin.model.Constants.OBJECT_MAPPER;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import no.unit.nva.cristin.common.client.ApiClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares deserializing a page of persons from upstream the way it used to be done, decoding the
+ * body into a String and parsing it with the ObjectMapper, against parsing the UTF-8 bytes or a
+ * stream of them with a prebuilt ObjectReader. Run with the gc profiler and compare
+ * gc.alloc.rate.norm to see allocation per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CristinPersonDeserializationBenchmark {
+
+  private static final String PERSON_TEMPLATE =
+      """
+      {
+        "cristin_person_id": "%1$d",
+        "first_name": "Kjell Ola",
+        "surname": "Nordmann %1$d",
+        "identified_cristin_person": true,
+        "cristin_profile_url": "https://app.cristin.no/persons/show.jsf?id=%1$d",
+        "picture_url": "https://api.cristin.no/v2/persons/%1$d/picture",
+        "affiliations": [
+          {
+            "institution": {
+              "cristin_institution_id": "185",
+              "url": "https://api.cristin.no/v2/institutions/185"
+            },
+            "unit": {
+              "cristin_unit_id": "185.90.0.0",
+              "url": "https://api.cristin.no/v2/units/185.90.0.0"
+            },
+            "active": true,
+            "position": {"en": "Head Engineer", "nb": "Overingeniør"}
+          }
+        ],
+        "keywords": [{"code": "3548", "name": {"en": "Decision support"}}],
+        "background": {"en": "Academic Advisor at UiO", "nb": "Akademisk Rådgiver ved UiO"}
+      }""";
+
+  @Param({"1000"})
+  private int numberOfPersons;
+
+  private byte[] body;
+
+  @Setup
+  public void setup() {
+    body =
+        IntStream.range(0, numberOfPersons)
+            .mapToObj(identifier -> String.format(PERSON_TEMPLATE, identifier))
+            .collect(Collectors.joining(",", "[", "]"))
+            .getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public CristinPerson[] stringBodyWithObjectMapper() throws IOException {
+    var string = new String(body, StandardCharsets.UTF_8);
+    return OBJECT_MAPPER.readValue(string, CristinPerson[].class);
+  }
+
+  @Benchmark
+  public CristinPerson[] byteBodyWithObjectReader() throws IOException {
+    return ApiClient.fromJson(body, CristinPerson[].class);
+  }
+
+  @Benchmark
+  public CristinPerson[] streamedBodyWithObjectReader() throws IOException {
+    return ApiClient.fromJson(new ByteArrayInputStream(body), CristinPerson[].class);
+  }
+}
@@ -14,6 +14,7 @@ import java.net.http.HttpClient;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
+import no.unit.nva.cristin.common.cache.ReferenceDataCache;
 import no.unit.nva.cristin.common.client.ApiClient;
 import no.unit.nva.cristin.person.affiliations.model.CristinPositionCode;
 import no.unit.nva.cristin.person.affiliations.model.PositionCode;
@@ -26,6 +27,10 @@ public class CristinPositionCodesClient extends ApiClient {
   public static final URI CONTEXT =
       URI.create("https://bibsysdev.github.io/src/position-context.json");
   public static final String AFFILIATIONS_POSITIONS = "affiliations/positions";
+  public static final String POSITION_CODES = "position codes";
+
+  private final transient ReferenceDataCache.Lazy<CristinPositionCode> positionCodeCache =
+      ReferenceDataCache.lazy(POSITION_CODES, CristinPositionCode::getCode);
 
   /** Create CristinPositionCodesClient with default HTTP client. */
   public CristinPositionCodesClient() {
@@ -42,16 +47,20 @@ public class CristinPositionCodesClient extends ApiClient {
    * @param positionStatus query param to indicate position status
    */
   public PositionCodes generateQueryResponse(Boolean positionStatus) throws ApiGatewayException {
-    var response = fetchQueryResults(createUpstreamUri());
-    checkHttpStatusCode(createIdUri(), response.statusCode(), response.body());
     var cristinPositionCodes =
-        asList(getDeserializedResponse(response, CristinPositionCode[].class));
-    cristinPositionCodes = filterPositionCodeIfRequested(cristinPositionCodes, positionStatus);
+        filterPositionCodeIfRequested(
+            positionCodeCache.get(this::fetchPositionCodes).getAll(), positionStatus);
     var positionCodes = mapPositionCodesToNva(cristinPositionCodes);
 
     return new PositionCodes(CONTEXT, positionCodes);
   }
 
+  private List<CristinPositionCode> fetchPositionCodes() throws ApiGatewayException {
+    var response = fetchQueryResults(createUpstreamUri());
+    checkHttpStatusCode(createIdUri(), response.statusCode(), response.body());
+    return asList(getDeserializedResponse(response, CristinPositionCode[].class));
+  }
+
   private static URI createUpstreamUri() {
     return UriWrapper.fromUri(CRISTIN_API_URL)
         .addChild(PERSON_PATH)
@@ -3,6 +3,8 @@ package no.unit.nva.cristin.person.client;
 import static java.util.Arrays.asList;
 import static no.unit.nva.client.HttpClientProvider.defaultHttpClient;
 import static no.unit.nva.cristin.common.Utils.isOrcid;
+import static no.unit.nva.cristin.common.cache.CacheScope.AUTHORIZED;
+import static no.unit.nva.cristin.common.cache.CacheScope.OPEN;
 import static no.unit.nva.cristin.model.Constants.BASE_PATH;
 import static no.unit.nva.cristin.model.Constants.DOMAIN_NAME;
 import static no.unit.nva.cristin.model.Constants.HTTPS;
@@ -24,12 +26,17 @@ import java.net.HttpURLConnection;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpResponse;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import no.unit.nva.client.ClientVersion;
+import no.unit.nva.cristin.common.cache.CacheScope;
+import no.unit.nva.cristin.common.cache.EntityCache;
+import no.unit.nva.cristin.common.cache.IdentityResolutionCache;
 import no.unit.nva.cristin.common.client.ApiClient;
 import no.unit.nva.cristin.common.client.CristinAuthorizedQueryClient;
 import no.unit.nva.cristin.model.SearchResponse;
@@ -39,6 +46,8 @@ import nva.commons.apigateway.exceptions.ApiGatewayException;
 import nva.commons.apigateway.exceptions.NotFoundException;
 import nva.commons.core.attempt.Try;
 import nva.commons.core.paths.UriWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 @SuppressWarnings("PMD.CouplingBetweenObjects")
 public class CristinPersonApiClient extends ApiClient
@@ -48,14 +57,50 @@ public class CristinPersonApiClient extends ApiClient
   public static final String ERROR_MESSAGE_NO_MATCH_FOUND_FOR_SUPPLIED_PAYLOAD =
       "No match found for supplied " + "payload";
   public static final String VERSION_ONE = "1";
+  public static final String IDENTITY_NUMBER_LOOKUP =
+      "Identity number lookup resolved from cache: {}, {}";
+
+  private static final Logger logger = LoggerFactory.getLogger(CristinPersonApiClient.class);
+  private static final EntityCache<CristinPerson> SHARED_PERSON_CACHE =
+      new EntityCache<>(CristinPerson.class);
+
+  private final transient EntityCache<CristinPerson> personCache;
+  private final transient IdentityResolutionCache identityNumberCache;
 
   /** Create CristinPersonApiClient with default HTTP client. */
   public CristinPersonApiClient() {
     this(defaultHttpClient());
   }
 
+  /** Create CristinPersonApiClient with its own cache of enriched persons. */
   public CristinPersonApiClient(HttpClient client) {
+    this(client, new EntityCache<>(CristinPerson.class));
+  }
+
+  public CristinPersonApiClient(HttpClient client, EntityCache<CristinPerson> personCache) {
+    this(client, personCache, new IdentityResolutionCache());
+  }
+
+  /**
+   * Create CristinPersonApiClient with given caches.
+   *
+   * @param client client used for requests upstream
+   * @param personCache cache of enriched persons
+   * @param identityNumberCache cache of the Cristin person identifiers that national identity
+   *     numbers were resolved to
+   */
+  public CristinPersonApiClient(
+      HttpClient client,
+      EntityCache<CristinPerson> personCache,
+      IdentityResolutionCache identityNumberCache) {
     super(client);
+    this.personCache = personCache;
+    this.identityNumberCache = identityNumberCache;
+  }
+
+  /** Cache of enriched persons shared by the clients of this container. */
+  public static EntityCache<CristinPerson> sharedPersonCache() {
+    return SHARED_PERSON_CACHE;
   }
 
   /**
@@ -83,7 +128,8 @@ public class CristinPersonApiClient extends ApiClient
   }
 
   /**
-   * Create a list of CristinPersons from Cristin response.
+   * Create a list of CristinPersons from Cristin response. Full persons are fetched one by one,
+   * except those already cached.
    *
    * @param response from Cristin API
    * @return List of valid CristinPersons from Response
@@ -93,9 +139,7 @@ public class CristinPersonApiClient extends ApiClient
       throws ApiGatewayException {
 
     var personsFromQuery = asList(getDeserializedResponse(response, CristinPerson[].class));
-    var cristinUris = extractCristinUrisFromPersons(personsFromQuery);
-    var individualResponses = fetchQueryResultsOneByOne(cristinUris);
-    var enrichedCristinPersons = mapResponsesToCristinPersons(individualResponses);
+    var enrichedCristinPersons = fetchEnrichedPersons(personsFromQuery);
 
     return allPersonsWereEnriched(personsFromQuery, enrichedCristinPersons)
         ? enrichedCristinPersons
@@ -103,7 +147,9 @@ public class CristinPersonApiClient extends ApiClient
   }
 
   /**
-   * Create a list of CristinPersons from Cristin response for authorized user.
+   * Create a list of CristinPersons from Cristin response for authorized user. Persons fetched
+   * this way are cached apart from persons fetched without authorization, as they include national
+   * identity numbers.
    *
    * @param response from Cristin API
    * @return List of valid CristinPersons from Response
@@ -113,9 +159,18 @@ public class CristinPersonApiClient extends ApiClient
       HttpResponse<String> response) throws ApiGatewayException {
 
     var personsFromQuery = asList(getDeserializedResponse(response, CristinPerson[].class));
-    var cristinUris = extractCristinUrisFromPersons(personsFromQuery);
-    var individualResponses = authorizedFetchQueryResultsOneByOne(cristinUris);
-    var enrichedCristinPersons = mapResponsesToCristinPersons(individualResponses);
+    var identifiers = identifiersOf(personsFromQuery);
+    var enrichedById = new LinkedHashMap<>(personCache.getAll(AUTHORIZED, identifiers));
+    var missingUris =
+        identifiers.stream()
+            .filter(identifier -> !enrichedById.containsKey(identifier))
+            .map(CristinPersonQuery::fromId)
+            .toList();
+    if (!missingUris.isEmpty()) {
+      mapResponsesToCristinPersons(authorizedFetchQueryResultsOneByOne(missingUris))
+          .forEach(person -> addEnrichedPerson(enrichedById, AUTHORIZED, identifiers, person));
+    }
+    var enrichedCristinPersons = inQueryOrder(identifiers, enrichedById);
 
     return allPersonsWereEnriched(personsFromQuery, enrichedCristinPersons)
         ? enrichedCristinPersons
@@ -222,6 +277,53 @@ public class CristinPersonApiClient extends ApiClient
     return response;
   }
 
+  /**
+   * Fetches full persons for the persons from a query, using cached persons where possible.
+   * Persons are returned in query order, followed by any returned person not matching a query
+   * person. Id-list queries are not used, as they return the same summaries as the query.
+   */
+  protected List<CristinPerson> fetchEnrichedPersons(List<CristinPerson> personsFromQuery) {
+    var identifiers = identifiersOf(personsFromQuery);
+    var enrichedById = new LinkedHashMap<>(personCache.getAll(OPEN, identifiers));
+    var notCached = identifiers.stream().filter(id -> !enrichedById.containsKey(id)).toList();
+    var missingUris = notCached.stream().map(CristinPersonQuery::fromId).toList();
+    if (!missingUris.isEmpty()) {
+      mapResponsesToCristinPersons(fetchQueryResultsOneByOne(missingUris))
+          .forEach(person -> addEnrichedPerson(enrichedById, OPEN, notCached, person));
+    }
+
+    return inQueryOrder(identifiers, enrichedById);
+  }
+
+  private static List<String> identifiersOf(List<CristinPerson> persons) {
+    return persons.stream()
+        .map(CristinPerson::getCristinPersonId)
+        .filter(Objects::nonNull)
+        .distinct()
+        .toList();
+  }
+
+  private void addEnrichedPerson(
+      Map<String, CristinPerson> enrichedById,
+      CacheScope scope,
+      List<String> requested,
+      CristinPerson person) {
+    var identifier = person.getCristinPersonId();
+    if (requested.contains(identifier) && !enrichedById.containsKey(identifier)) {
+      personCache.put(scope, identifier, person);
+    }
+    enrichedById.putIfAbsent(identifier, person);
+  }
+
+  private static List<CristinPerson> inQueryOrder(
+      List<String> identifiers, Map<String, CristinPerson> enrichedById) {
+    return Stream.concat(identifiers.stream(), enrichedById.keySet().stream())
+        .distinct()
+        .map(enrichedById::get)
+        .filter(Objects::nonNull)
+        .toList();
+  }
+
   protected List<URI> extractCristinUrisFromPersons(List<CristinPerson> personsFromQuery) {
     return personsFromQuery.stream()
         .map(CristinPerson::getCristinPersonId)
@@ -298,7 +400,9 @@ public class CristinPersonApiClient extends ApiClient
   }
 
   /**
-   * Perform a query for Person matching National Identification Number in request body.
+   * Perform a query for Person matching National Identification Number in request body. The
+   * Cristin identifier the number resolved to is cached for a short time, so a repeated lookup of
+   * the same number fetches the person directly instead of querying for the number first.
    *
    * @param nationalIdentificationNumber National Identification Number uniquely identifying person
    * @return Person object with person data from upstream
@@ -306,14 +410,52 @@ public class CristinPersonApiClient extends ApiClient
    */
   public Person getPersonFromNationalIdentityNumber(String nationalIdentificationNumber)
       throws ApiGatewayException {
+    var resolved = fetchPersonResolvedFromCache(nationalIdentificationNumber);
+    logger.info(IDENTITY_NUMBER_LOOKUP, resolved.isPresent(), identityNumberCache);
+    var cristinPerson =
+        resolved.isPresent()
+            ? resolved.get()
+            : resolveFromUpstreamUsingIdentityNumber(nationalIdentificationNumber);
+
+    return cristinPerson.toPersonBuilderWithAuthorizedFields().withContext(PERSON_CONTEXT).build();
+  }
+
+  /**
+   * Fetches the person a national identity number was resolved to before. If the person is gone,
+   * or now has another number, the cached identifier is dropped and nothing is returned.
+   */
+  private Optional<CristinPerson> fetchPersonResolvedFromCache(String identityNumber)
+      throws ApiGatewayException {
+    var cristinPersonId = identityNumberCache.get(identityNumber);
+    if (cristinPersonId.isEmpty()) {
+      return Optional.empty();
+    }
+    var fetchResponse = fetchGetResult(CristinPersonQuery.fromId(cristinPersonId.get()));
+    if (fetchResponse.statusCode() == HttpURLConnection.HTTP_NOT_FOUND) {
+      identityNumberCache.invalidate(identityNumber);
+      return Optional.empty();
+    }
+    checkHttpStatusCode(idUriForIdentityNumber(), fetchResponse.statusCode(), fetchResponse.body());
+    var cristinPerson = getDeserializedResponse(fetchResponse, CristinPerson.class);
+    var otherIdentityNumber =
+        cristinPerson.getNorwegianNationalId().filter(number -> !number.equals(identityNumber));
+    if (otherIdentityNumber.isPresent()) {
+      identityNumberCache.invalidate(identityNumber);
+      return Optional.empty();
+    }
+    return Optional.of(cristinPerson);
+  }
+
+  private CristinPerson resolveFromUpstreamUsingIdentityNumber(String identityNumber)
+      throws ApiGatewayException {
     // Upstream uses a query for national id even though it only returns 1 hit
-    var cristinPersons = queryUpstreamUsingIdentityNumber(nationalIdentificationNumber);
+    var cristinPersons = queryUpstreamUsingIdentityNumber(identityNumber);
     throwNotFoundIfNoMatches(cristinPersons);
 
-    return enrichFirstMatchFromQueryResponse(cristinPersons)
-        .toPersonBuilderWithAuthorizedFields()
-        .withContext(PERSON_CONTEXT)
-        .build();
+    var cristinPerson = enrichFirstMatchFromQueryResponse(cristinPersons);
+    Optional.ofNullable(cristinPerson.getCristinPersonId())
+        .ifPresent(cristinPersonId -> identityNumberCache.put(identityNumber, cristinPersonId));
+    return cristinPerson;
   }
 
   private List<CristinPerson> queryUpstreamUsingIdentityNumber(String identifier)
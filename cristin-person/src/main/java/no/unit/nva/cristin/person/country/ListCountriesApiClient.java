@@ -12,6 +12,7 @@ import java.net.http.HttpResponse;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import no.unit.nva.cristin.common.cache.ReferenceDataCache;
 import no.unit.nva.cristin.common.client.ApiClient;
 import no.unit.nva.cristin.person.model.cristin.CristinCountry;
 import no.unit.nva.cristin.person.model.nva.Countries;
@@ -26,6 +27,10 @@ public class ListCountriesApiClient extends ApiClient {
   public static final String CRISTIN_COUNTRIES_PATH = "countries";
   public static final URI COUNTRY_CONTEXT_JSON =
       URI.create("https://example.org/country-context.json");
+  public static final String COUNTRIES = "countries";
+
+  private final transient ReferenceDataCache.Lazy<Country> countryCache =
+      ReferenceDataCache.lazy(COUNTRIES, Country::identifier);
 
   public ListCountriesApiClient() {
     this(defaultHttpClient());
@@ -36,12 +41,16 @@ public class ListCountriesApiClient extends ApiClient {
   }
 
   public Countries executeRequest() throws ApiGatewayException {
+    var countries = countryCache.get(this::fetchCountries).getAll();
+
+    return new Countries(COUNTRY_CONTEXT_JSON, COUNTRY_ID_URI, countries.size(), countries);
+  }
+
+  private List<Country> fetchCountries() throws ApiGatewayException {
     Map<String, String> params = emptyMap();
     var queryUri = createCristinQueryUri(params, CRISTIN_COUNTRIES_PATH);
     var response = queryUpstream(queryUri);
-    var countries = getCountries(response);
-
-    return new Countries(COUNTRY_CONTEXT_JSON, COUNTRY_ID_URI, countries.size(), countries);
+    return getCountries(response);
   }
 
   private HttpResponse<String> queryUpstream(URI uri) throws ApiGatewayException {
@@ -28,4 +28,5 @@ public class JsonPropertyNames {
   public static final String COUNTRIES = "countries";
   public static final String AWARDS = "awards";
   public static final String PICTURE = "picture";
+  public static final String CURSOR = "cursor";
 }
@@ -2,15 +2,23 @@ package no.unit.nva.cristin.person.orcid;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyMap;
+import static java.util.Objects.isNull;
 import static no.unit.nva.client.HttpClientProvider.defaultHttpClient;
+import static no.unit.nva.cristin.model.JsonPropertyNames.NUMBER_OF_RESULTS;
+import static no.unit.nva.cristin.person.model.nva.JsonPropertyNames.CURSOR;
 import static no.unit.nva.utils.UriUtils.createCristinQueryUri;
+import static no.unit.nva.utils.UriUtils.createIdUriFromParams;
 import static no.unit.nva.utils.UriUtils.getNvaApiUri;
 
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Optional;
 import no.unit.nva.client.FetchApiClient;
 import no.unit.nva.cristin.common.client.ApiClient;
 import no.unit.nva.cristin.person.orcid.model.CristinPersonOrcid;
@@ -19,43 +27,96 @@ import no.unit.nva.cristin.person.orcid.model.PersonsOrcid;
 import nva.commons.apigateway.exceptions.ApiGatewayException;
 import nva.commons.apigateway.exceptions.BadGatewayException;
 
+/**
+ * Lists the persons in Cristin having an ORCID. Cristin only hands out the whole list, so it is
+ * kept in a {@link PersonOrcidSnapshot} for {@link #SNAPSHOT_MAX_AGE} and pages are cut from it.
+ * Without parameters every person is returned, as before paging was supported.
+ */
 public class ListPersonOrcidApiClient extends ApiClient
-    implements FetchApiClient<Void, PersonsOrcid> {
+    implements FetchApiClient<Map<String, String>, PersonsOrcid> {
 
   public static final String PERSONS_ORCID_PATH = "person/orcid";
   public static final URI PERSONS_ORCID_ID_URI = getNvaApiUri(PERSONS_ORCID_PATH);
   public static final String CRISTIN_PERSONS_ORCID_PATH = "persons/orcid";
+  public static final Duration SNAPSHOT_MAX_AGE = Duration.ofMinutes(5);
+
+  private final transient Clock clock;
+  private transient PersonOrcidSnapshot snapshot;
 
   public ListPersonOrcidApiClient() {
     this(defaultHttpClient());
   }
 
   public ListPersonOrcidApiClient(HttpClient httpClient) {
+    this(httpClient, Clock.systemUTC());
+  }
+
+  public ListPersonOrcidApiClient(HttpClient httpClient, Clock clock) {
     super(httpClient);
+    this.clock = clock;
   }
 
+  /**
+   * Fetch a page of persons with ORCID.
+   *
+   * @param params optional {@code results} per page and {@code cursor} being the last Cristin
+   *     person identifier of the previous page
+   * @return the page, with a link to the next page when there are more persons
+   * @throws ApiGatewayException if the list could not be fetched from Cristin
+   */
   @Override
-  public PersonsOrcid executeFetch(Void params) throws ApiGatewayException {
+  public PersonsOrcid executeFetch(Map<String, String> params) throws ApiGatewayException {
+    var current = getSnapshot();
+    if (isNull(params) || params.isEmpty()) {
+      var all = current.page(0, Integer.MAX_VALUE);
+      return new PersonsOrcid(all.size(), toPersonsOrcid(all.hits()));
+    }
+
+    var cursor = Optional.ofNullable(params.get(CURSOR)).map(Integer::parseInt).orElse(0);
+    var results =
+        Optional.ofNullable(params.get(NUMBER_OF_RESULTS))
+            .map(Integer::parseInt)
+            .orElse(Integer.MAX_VALUE);
+    var page = current.page(cursor, results);
+    var nextResults = page.nextCursor().map(next -> nextResultsUri(params, next)).orElse(null);
+
+    return new PersonsOrcid(page.size(), toPersonsOrcid(page.hits()), nextResults);
+  }
+
+  private synchronized PersonOrcidSnapshot getSnapshot() throws ApiGatewayException {
+    var fetchedAt = clock.instant();
+    if (isNull(snapshot) || !fetchedAt.isBefore(snapshot.fetchedAt().plus(SNAPSHOT_MAX_AGE))) {
+      snapshot = PersonOrcidSnapshot.of(fetchPersonsOrcid(), fetchedAt);
+    }
+    return snapshot;
+  }
+
+  private List<CristinPersonOrcid> fetchPersonsOrcid() throws ApiGatewayException {
     var queryUri = createCristinQueryUri(emptyMap(), CRISTIN_PERSONS_ORCID_PATH);
     var response = queryUpstream(queryUri);
-    var personsOrcid = getPersonsOrcid(response);
-
-    return new PersonsOrcid(personsOrcid.size(), personsOrcid);
+    return getCristinPersonsOrcid(response);
   }
 
-  private HttpResponse<String> queryUpstream(URI uri) throws ApiGatewayException {
-    var response = fetchGetResultWithAuthentication(uri);
-    checkHttpStatusCode(PERSONS_ORCID_ID_URI, response.statusCode(), response.body());
+  private HttpResponse<byte[]> queryUpstream(URI uri) throws ApiGatewayException {
+    var response = fetchGetResultWithAuthenticationAsBytes(uri);
+    checkHttpStatusCode(PERSONS_ORCID_ID_URI, response);
 
     return response;
   }
 
-  private List<PersonOrcid> getPersonsOrcid(HttpResponse<String> response)
+  private List<CristinPersonOrcid> getCristinPersonsOrcid(HttpResponse<byte[]> response)
       throws BadGatewayException {
-    var cristinPersonsOrcid = asList(getDeserializedResponse(response, CristinPersonOrcid[].class));
+    return asList(getDeserializedResponse(response, CristinPersonOrcid[].class));
+  }
+
+  private static List<PersonOrcid> toPersonsOrcid(
+      List<CristinPersonOrcid> cristinPersonsOrcid) {
+    return cristinPersonsOrcid.stream().map(CristinPersonOrcid::toPersonOrcid).toList();
+  }
 
-    return cristinPersonsOrcid.stream()
-        .map(CristinPersonOrcid::toPersonOrcid)
-        .collect(Collectors.toList());
+  private static URI nextResultsUri(Map<String, String> params, int nextCursor) {
+    var nextParams = new HashMap<>(params);
+    nextParams.put(CURSOR, String.valueOf(nextCursor));
+    return createIdUriFromParams(nextParams, PERSONS_ORCID_PATH);
   }
 }
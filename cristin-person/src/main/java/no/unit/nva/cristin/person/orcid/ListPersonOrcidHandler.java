@@ -1,21 +1,28 @@
 package no.unit.nva.cristin.person.orcid;
 
 import static java.net.HttpURLConnection.HTTP_OK;
+import static no.unit.nva.cristin.common.ErrorMessages.ERROR_MESSAGE_INVALID_VALUE;
 import static no.unit.nva.cristin.model.Constants.DEFAULT_RESPONSE_MEDIA_TYPES;
+import static no.unit.nva.cristin.model.JsonPropertyNames.NUMBER_OF_RESULTS;
+import static no.unit.nva.cristin.person.model.nva.JsonPropertyNames.CURSOR;
 
 import com.amazonaws.services.lambda.runtime.Context;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import no.unit.nva.client.FetchApiClient;
+import no.unit.nva.cristin.common.Utils;
 import no.unit.nva.cristin.person.orcid.model.PersonsOrcid;
 import nva.commons.apigateway.ApiGatewayHandler;
 import nva.commons.apigateway.MediaType;
 import nva.commons.apigateway.RequestInfo;
 import nva.commons.apigateway.exceptions.ApiGatewayException;
+import nva.commons.apigateway.exceptions.BadRequestException;
 import nva.commons.core.Environment;
 
 public class ListPersonOrcidHandler extends ApiGatewayHandler<Void, PersonsOrcid> {
 
-  private final FetchApiClient<Void, PersonsOrcid> apiClient;
+  private final FetchApiClient<Map<String, String>, PersonsOrcid> apiClient;
 
   @SuppressWarnings("unused")
   public ListPersonOrcidHandler() {
@@ -23,7 +30,7 @@ public class ListPersonOrcidHandler extends ApiGatewayHandler<Void, PersonsOrcid
   }
 
   public ListPersonOrcidHandler(
-      Environment environment, FetchApiClient<Void, PersonsOrcid> apiClient) {
+      Environment environment, FetchApiClient<Map<String, String>, PersonsOrcid> apiClient) {
     super(Void.class, environment);
     this.apiClient = apiClient;
   }
@@ -32,7 +39,7 @@ public class ListPersonOrcidHandler extends ApiGatewayHandler<Void, PersonsOrcid
   protected PersonsOrcid processInput(Void input, RequestInfo requestInfo, Context context)
       throws ApiGatewayException {
 
-    return apiClient.executeFetch(null);
+    return apiClient.executeFetch(parseQueryParams(requestInfo));
   }
 
   @Override
@@ -50,4 +57,23 @@ public class ListPersonOrcidHandler extends ApiGatewayHandler<Void, PersonsOrcid
       throws ApiGatewayException {
     // no-op
   }
+
+  private static Map<String, String> parseQueryParams(RequestInfo requestInfo)
+      throws BadRequestException {
+    var queryParams = new HashMap<String, String>();
+    for (var key : List.of(NUMBER_OF_RESULTS, CURSOR)) {
+      var value = requestInfo.getQueryParameterOpt(key);
+      if (value.isPresent()) {
+        queryParams.put(key, validPositiveInteger(key, value.get()));
+      }
+    }
+    return queryParams;
+  }
+
+  private static String validPositiveInteger(String key, String value) throws BadRequestException {
+    if (Utils.isPositiveInteger(value)) {
+      return value;
+    }
+    throw new BadRequestException(String.format(ERROR_MESSAGE_INVALID_VALUE, key));
+  }
 }
@@ -0,0 +1,90 @@
+package no.unit.nva.cristin.person.orcid;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import no.unit.nva.cristin.common.Utils;
+import no.unit.nva.cristin.person.orcid.model.CristinPersonOrcid;
+
+/**
+ * The ORCIDs of persons in Cristin as fetched at one point in time, sorted by Cristin person
+ * identifier so that a page can continue after the identifier last returned.
+ */
+public final class PersonOrcidSnapshot {
+
+  private static final Comparator<Entry> BY_CRISTIN_PERSON_ID =
+      Comparator.comparingInt(Entry::cristinPersonId);
+
+  private final transient List<Entry> entries;
+  private final transient Instant fetchedAt;
+
+  private PersonOrcidSnapshot(List<Entry> entries, Instant fetchedAt) {
+    this.entries = entries;
+    this.fetchedAt = fetchedAt;
+  }
+
+  /**
+   * Builds a snapshot of a fetch.
+   *
+   * @param persons persons with ORCID as fetched from Cristin
+   * @param fetchedAt when the fetch started
+   * @return the snapshot
+   */
+  public static PersonOrcidSnapshot of(List<CristinPersonOrcid> persons, Instant fetchedAt) {
+    var entries =
+        persons.stream()
+            .filter(person -> Utils.isPositiveInteger(person.cristinPersonId()))
+            .map(person -> new Entry(Integer.parseInt(person.cristinPersonId()), person))
+            .sorted(BY_CRISTIN_PERSON_ID)
+            .toList();
+    return new PersonOrcidSnapshot(entries, fetchedAt);
+  }
+
+  public Instant fetchedAt() {
+    return fetchedAt;
+  }
+
+  /**
+   * Entries continuing after given identifier.
+   *
+   * @param after only entries with a greater Cristin person identifier, 0 to start from the first
+   * @param limit maximum number of entries in the page
+   * @return the page
+   */
+  public Page page(int after, int limit) {
+    var from = firstAfter(after);
+    var to = (int) Math.min((long) from + limit, entries.size());
+    var hits = entries.subList(from, to).stream().map(Entry::person).toList();
+    var nextCursor =
+        to < entries.size()
+            ? Optional.of(entries.get(to - 1).cristinPersonId())
+            : Optional.<Integer>empty();
+    return new Page(hits, entries.size(), nextCursor);
+  }
+
+  private int firstAfter(int after) {
+    var low = 0;
+    var high = entries.size();
+    while (low < high) {
+      var middle = (low + high) >>> 1;
+      if (entries.get(middle).cristinPersonId() <= after) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * A page of persons with ORCID.
+   *
+   * @param hits persons in the page
+   * @param size number of persons across all pages
+   * @param nextCursor identifier to continue after, empty if this is the last page
+   */
+  public record Page(List<CristinPersonOrcid> hits, int size, Optional<Integer> nextCursor) {}
+
+  private record Entry(int cristinPersonId, CristinPersonOrcid person) {}
+}
@@ -1,12 +1,15 @@
 package no.unit.nva.cristin.person.orcid.model;
 
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
 import static no.unit.nva.cristin.model.JsonPropertyNames.CONTEXT;
 import static no.unit.nva.cristin.model.JsonPropertyNames.HITS;
 import static no.unit.nva.cristin.model.JsonPropertyNames.ID;
+import static no.unit.nva.cristin.model.JsonPropertyNames.NEXT_RESULTS;
 import static no.unit.nva.cristin.model.JsonPropertyNames.SIZE;
 import static no.unit.nva.cristin.person.orcid.ListPersonOrcidApiClient.PERSONS_ORCID_PATH;
 import static no.unit.nva.utils.UriUtils.getNvaApiUri;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import java.net.URI;
@@ -18,7 +21,8 @@ public record PersonsOrcid(
     @JsonProperty(CONTEXT) URI context,
     @JsonProperty(ID) URI id,
     @JsonProperty(SIZE) int size,
-    @JsonProperty(HITS) List<PersonOrcid> hits)
+    @JsonProperty(HITS) List<PersonOrcid> hits,
+    @JsonProperty(NEXT_RESULTS) @JsonInclude(NON_NULL) URI nextResults)
     implements JsonSerializable {
 
   public static final URI PERSON_ORCID_CONTEXT =
@@ -26,7 +30,18 @@ public record PersonsOrcid(
   public static final URI PERSON_ORCID_ID = generatePersonOrcidId();
 
   public PersonsOrcid(@JsonProperty(SIZE) int size, @JsonProperty(HITS) List<PersonOrcid> hits) {
-    this(PERSON_ORCID_CONTEXT, PERSON_ORCID_ID, size, hits);
+    this(PERSON_ORCID_CONTEXT, PERSON_ORCID_ID, size, hits, null);
+  }
+
+  /**
+   * A page of the list.
+   *
+   * @param size number of persons matching the request across all pages
+   * @param hits persons in this page
+   * @param nextResults where to get the next page, null if this is the last page
+   */
+  public PersonsOrcid(int size, List<PersonOrcid> hits, URI nextResults) {
+    this(PERSON_ORCID_CONTEXT, PERSON_ORCID_ID, size, hits, nextResults);
   }
 
   @Override
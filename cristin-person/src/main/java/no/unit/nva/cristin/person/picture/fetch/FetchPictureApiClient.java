@@ -2,7 +2,6 @@ package no.unit.nva.cristin.person.picture.fetch;
 
 import static no.unit.nva.cristin.common.ErrorMessages.ERROR_MESSAGE_BACKEND_FAILED_WITH_EXCEPTION;
 import static no.unit.nva.cristin.common.ErrorMessages.ERROR_MESSAGE_BACKEND_FETCH_FAILED;
-import static no.unit.nva.cristin.common.client.CristinAuthenticator.basicAuthHeader;
 import static no.unit.nva.cristin.model.Constants.BASE_PATH;
 import static no.unit.nva.cristin.model.Constants.CRISTIN_API_URL;
 import static no.unit.nva.cristin.model.Constants.CRISTIN_BOT_FILTER_BYPASS_HEADER_NAME;
@@ -61,19 +60,26 @@ public class FetchPictureApiClient extends ApiClient {
   }
 
   /**
-   * Build and perform blocking synchronous GET request for given URI.
+   * Build and perform blocking synchronous GET request for given URI. Sent once more if upstream
+   * rejects the credentials and they have been refreshed since.
    *
    * @param uri to call
    * @return response containing data from requested URI or error
    */
   private HttpResponse<byte[]> fetchBinary(URI uri) throws ApiGatewayException {
-    var httpRequest =
-        HttpRequest.newBuilder(uri)
-            .header(CRISTIN_BOT_FILTER_BYPASS_HEADER_NAME, CRISTIN_BOT_FILTER_BYPASS_HEADER_VALUE)
-            .header(AUTHORIZATION, readBasicAuthHeader())
-            .GET()
-            .build();
-    return getSuccessfulBinaryResponseOrThrowException(httpRequest);
+    var authHeader = readBasicAuthHeader();
+    var response = getSuccessfulBinaryResponseOrThrowException(binaryRequest(uri, authHeader));
+    return credentialsWereRefreshedAfterRejection(response, authHeader)
+        ? getSuccessfulBinaryResponseOrThrowException(binaryRequest(uri, readBasicAuthHeader()))
+        : response;
+  }
+
+  private static HttpRequest binaryRequest(URI uri, String authHeader) {
+    return HttpRequest.newBuilder(uri)
+        .header(CRISTIN_BOT_FILTER_BYPASS_HEADER_NAME, CRISTIN_BOT_FILTER_BYPASS_HEADER_VALUE)
+        .header(AUTHORIZATION, authHeader)
+        .GET()
+        .build();
   }
 
   protected String readBasicAuthHeader() {
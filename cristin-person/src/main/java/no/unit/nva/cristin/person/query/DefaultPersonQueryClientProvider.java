@@ -1,6 +1,8 @@
 package no.unit.nva.cristin.person.query;
 
 import static java.util.Objects.nonNull;
+import static no.unit.nva.client.HttpClientProvider.defaultHttpClient;
+import static no.unit.nva.cristin.person.client.CristinPersonApiClient.sharedPersonCache;
 import static no.unit.nva.cristin.person.query.version.facet.QueryPersonWithFacetsClient.VERSION_WITH_AGGREGATIONS;
 import static nva.commons.core.StringUtils.EMPTY_STRING;
 
@@ -42,10 +44,10 @@ public class DefaultPersonQueryClientProvider
   }
 
   public CristinAuthorizedQueryClient<Map<String, String>, Person> getVersionOne() {
-    return new CristinPersonApiClient();
+    return new CristinPersonApiClient(defaultHttpClient(), sharedPersonCache());
   }
 
   public CristinAuthorizedQueryClient<Map<String, String>, Person> getVersionWithFacets() {
-    return new QueryPersonWithFacetsClient();
+    return new QueryPersonWithFacetsClient(defaultHttpClient(), sharedPersonCache());
   }
 }
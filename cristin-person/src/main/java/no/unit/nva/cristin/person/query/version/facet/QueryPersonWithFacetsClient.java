@@ -6,6 +6,7 @@ import static no.unit.nva.cristin.model.Constants.PERSON_QUERY_CONTEXT;
 import static no.unit.nva.utils.UriUtils.createIdUriFromParams;
 
 import java.net.URI;
+import java.net.http.HttpClient;
 import java.net.http.HttpResponse;
 import java.util.Arrays;
 import java.util.Collections;
@@ -13,6 +14,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import no.unit.nva.client.ClientVersion;
+import no.unit.nva.cristin.common.cache.EntityCache;
 import no.unit.nva.cristin.common.client.CristinAuthorizedQueryClient;
 import no.unit.nva.cristin.facet.CristinFacetConverter;
 import no.unit.nva.cristin.facet.CristinFacetUriParamAppender;
@@ -34,6 +36,10 @@ public class QueryPersonWithFacetsClient extends CristinPersonApiClient
     super(defaultHttpClient());
   }
 
+  public QueryPersonWithFacetsClient(HttpClient client, EntityCache<CristinPerson> personCache) {
+    super(client, personCache);
+  }
+
   /**
    * Creates a SearchResponse based on fetch from Cristin upstream including search facets.
    *
@@ -15,6 +15,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.amazonaws.services.lambda.runtime.Context;
@@ -105,6 +107,20 @@ public class PositionCodesHandlerTest {
         "All position codes should be in requested status");
   }
 
+  @Test
+  void shouldFetchPositionCodesFromUpstreamOnceForRepeatedRequests()
+      throws IOException, InterruptedException {
+    sendQuery(null);
+    output = new ByteArrayOutputStream();
+    var actual =
+        sendQuery(Map.of(ACTIVE_STATUS_QUERY_PARAM, "true")).getBodyObject(PositionCodes.class);
+    List<PositionCode> actualHits =
+        OBJECT_MAPPER.convertValue(actual.getPositions(), new TypeReference<>() {});
+
+    verify(mockHttpClient, times(1)).send(any(), any());
+    assertThat(actualHits, equalTo(List.of(getOneCode().toPositionCode())));
+  }
+
   @Test
   void shouldReturnBadRequestResponseWhenCallingWithInvalidActiveQueryParams() throws IOException {
     var queryParamMap = Map.of(ACTIVE_STATUS_QUERY_PARAM, randomString());
@@ -5,6 +5,8 @@ import static java.net.HttpURLConnection.HTTP_OK;
 import static no.unit.nva.cristin.common.ErrorMessages.ERROR_MESSAGE_INVALID_PAYLOAD;
 import static no.unit.nva.cristin.common.ErrorMessages.ERROR_MESSAGE_INVALID_QUERY_PARAMETER_ON_PERSON_LOOKUP;
 import static no.unit.nva.cristin.model.Constants.OBJECT_MAPPER;
+import static no.unit.nva.cristin.person.client.CristinPersonApiClientStub.CRISTIN_GET_PERSON_RESPONSE_JSON_FILE;
+import static no.unit.nva.cristin.person.client.CristinPersonApiClientStub.CRISTIN_QUERY_PERSONS_RESPONSE_JSON_FILE;
 import static no.unit.nva.cristin.person.fetch.FetchFromIdentityNumberHandler.NIN_TYPE;
 import static no.unit.nva.testutils.RandomDataGenerator.randomUri;
 import static no.unit.nva.utils.AccessUtils.ACCESS_TOKEN_CLAIMS_FIELD;
@@ -25,11 +27,13 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.amazonaws.services.lambda.runtime.Context;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -72,6 +76,8 @@ public class FetchFromIdentityNumberHandlerTest {
   private static final Map<String, String> EMPTY_MAP = Collections.emptyMap();
   private static final String NVA_API_GET_PERSON_RESPONSE_JSON = "nvaApiGetPersonResponse.json";
   private static final String DEFAULT_IDENTITY_NUMBER = "07117631634";
+  private static final String ANOTHER_IDENTITY_NUMBER = "01010112345";
+  private static final String NORWEGIAN_NATIONAL_ID = "norwegian_national_id";
   private static final String VALID_CRISTIN_NATIONAL_ID_URI =
       "https://api.cristin-test.uio.no/v2/persons?national_id=07117631634";
   private static final String URI_FIRST_HIT_FROM_CRISTIN =
@@ -112,6 +118,45 @@ public class FetchFromIdentityNumberHandlerTest {
     verify(apiClient).fetchGetResult(UriWrapper.fromUri(URI_FIRST_HIT_FROM_CRISTIN).getUri());
   }
 
+  @Test
+  void shouldFetchPersonWithoutQueryingForIdentityNumberWhenLookedUpAgain()
+      throws IOException, ApiGatewayException {
+    apiClient = spy(apiClient);
+    handler = new FetchFromIdentityNumberHandler(apiClient, environment);
+    sendQuery(defaultBody(), EMPTY_MAP);
+    output = new ByteArrayOutputStream();
+
+    var actual = sendQuery(defaultBody(), EMPTY_MAP);
+
+    assertThat(actual.getStatusCode(), equalTo(HTTP_OK));
+    verify(apiClient).fetchQueryResults(UriWrapper.fromUri(VALID_CRISTIN_NATIONAL_ID_URI).getUri());
+    verify(apiClient, times(2))
+        .fetchGetResult(UriWrapper.fromUri(URI_FIRST_HIT_FROM_CRISTIN).getUri());
+  }
+
+  @Test
+  void shouldQueryForIdentityNumberAgainWhenResolvedPersonNowHasAnotherNumber()
+      throws IOException, ApiGatewayException {
+    var personWithAnotherNumber =
+        (ObjectNode)
+            OBJECT_MAPPER.readTree(
+                IoUtils.stringFromResources(Path.of(CRISTIN_GET_PERSON_RESPONSE_JSON_FILE)));
+    personWithAnotherNumber.put(NORWEGIAN_NATIONAL_ID, ANOTHER_IDENTITY_NUMBER);
+    apiClient =
+        spy(
+            new CristinPersonApiClientStub(
+                personWithAnotherNumber.toString(),
+                IoUtils.stringFromResources(Path.of(CRISTIN_QUERY_PERSONS_RESPONSE_JSON_FILE))));
+    handler = new FetchFromIdentityNumberHandler(apiClient, environment);
+    sendQuery(defaultBody(), EMPTY_MAP);
+    output = new ByteArrayOutputStream();
+
+    sendQuery(defaultBody(), EMPTY_MAP);
+
+    verify(apiClient, times(2))
+        .fetchQueryResults(UriWrapper.fromUri(VALID_CRISTIN_NATIONAL_ID_URI).getUri());
+  }
+
   @Test
   void shouldReturnServerErrorWhenBackendAuthenticationNotSentToUpstreamOrNotValid()
       throws Exception {
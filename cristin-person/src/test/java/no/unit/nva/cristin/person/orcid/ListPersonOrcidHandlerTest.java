@@ -1,13 +1,16 @@
 package no.unit.nva.cristin.person.orcid;
 
+import static java.net.HttpURLConnection.HTTP_BAD_REQUEST;
 import static java.net.HttpURLConnection.HTTP_OK;
 import static no.unit.nva.cristin.model.Constants.OBJECT_MAPPER;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import com.amazonaws.services.lambda.runtime.Context;
@@ -17,8 +20,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.http.HttpClient;
 import java.nio.file.Path;
+import java.util.Map;
 import no.unit.nva.cristin.person.orcid.model.PersonsOrcid;
-import no.unit.nva.cristin.testing.HttpResponseFaker;
+import no.unit.nva.cristin.testing.ByteArrayHttpResponseFaker;
 import no.unit.nva.testutils.HandlerRequestBuilder;
 import nva.commons.apigateway.GatewayResponse;
 import nva.commons.apigateway.exceptions.ApiGatewayException;
@@ -51,9 +55,9 @@ class ListPersonOrcidHandlerTest {
     apiClient = spy(apiClient);
     var fakeCristinResponse =
         IoUtils.stringFromResources(Path.of(CRISTIN_PERSONS_ORCID_RESPONSE_JSON));
-    doReturn(new HttpResponseFaker(fakeCristinResponse))
+    doReturn(new ByteArrayHttpResponseFaker(fakeCristinResponse))
         .when(apiClient)
-        .fetchGetResultWithAuthentication(any());
+        .fetchGetResultWithAuthenticationAsBytes(any());
     context = mock(Context.class);
     output = new ByteArrayOutputStream();
     handler = new ListPersonOrcidHandler(environment, apiClient);
@@ -73,17 +77,53 @@ class ListPersonOrcidHandlerTest {
     sendQuery();
 
     verify(apiClient)
-        .fetchGetResultWithAuthentication(
+        .fetchGetResultWithAuthenticationAsBytes(
             UriWrapper.fromUri(EXPECTED_CRISTIN_URI_WITH_DEFAULT_PARAMS).getUri());
   }
 
+  @Test
+  void shouldReturnPagesContinuingFromCursorWithoutFetchingListAgain() throws Exception {
+    var firstPage = sendQuery(Map.of("results", "2"));
+    var firstBody = OBJECT_MAPPER.readTree(firstPage.getBody());
+    var nextResults = firstBody.get("nextResults").asText();
+
+    assertThat(firstBody.get("size").asInt(), equalTo(3));
+    assertThat(firstBody.get("hits").size(), equalTo(2));
+    assertThat(nextResults, containsString("cursor=738"));
+
+    output = new ByteArrayOutputStream();
+    var lastPage = sendQuery(Map.of("results", "2", "cursor", "738"));
+    var lastBody = OBJECT_MAPPER.readTree(lastPage.getBody());
+
+    assertThat(lastBody.get("hits").size(), equalTo(1));
+    assertThat(lastBody.has("nextResults"), equalTo(false));
+    verify(apiClient, times(1)).fetchGetResultWithAuthenticationAsBytes(any());
+  }
+
+  @Test
+  void shouldReturnBadRequestWhenCursorIsNotAPositiveInteger() throws Exception {
+    var response = sendQuery(Map.of("cursor", "yesterday"));
+
+    assertThat(response.getStatusCode(), equalTo(HTTP_BAD_REQUEST));
+    assertThat(response.getBody(), containsString("cursor"));
+  }
+
   private GatewayResponse<PersonsOrcid> sendQuery() throws IOException {
-    var input = generateRequest();
+    return sendQuery(Map.of());
+  }
+
+  private GatewayResponse<PersonsOrcid> sendQuery(Map<String, String> queryParameters)
+      throws IOException {
+    var input = generateRequest(queryParameters);
     handler.handleRequest(input, output, context);
     return GatewayResponse.fromOutputStream(output, PersonsOrcid.class);
   }
 
-  private InputStream generateRequest() throws JsonProcessingException {
-    return new HandlerRequestBuilder<Void>(OBJECT_MAPPER).withBody(null).build();
+  private InputStream generateRequest(Map<String, String> queryParameters)
+      throws JsonProcessingException {
+    return new HandlerRequestBuilder<Void>(OBJECT_MAPPER)
+        .withBody(null)
+        .withQueryParameters(queryParameters)
+        .build();
   }
 }
@@ -0,0 +1,65 @@
+package no.unit.nva.cristin.person.orcid;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import no.unit.nva.cristin.person.model.cristin.CristinOrcid;
+import no.unit.nva.cristin.person.orcid.model.CristinPersonOrcid;
+import org.junit.jupiter.api.Test;
+
+class PersonOrcidSnapshotTest {
+
+  private static final Instant FETCHED_AT = Instant.parse("2026-01-01T10:00:00Z");
+
+  @Test
+  void shouldPageInOrderOfCristinPersonIdentifier() {
+    var snapshot =
+        PersonOrcidSnapshot.of(
+            List.of(person("738", "1"), person("1306958", "2"), person("737", "3")), FETCHED_AT);
+
+    var firstPage = snapshot.page(0, 2);
+    var lastPage = snapshot.page(firstPage.nextCursor().orElseThrow(), 2);
+
+    assertThat(identifiersOf(firstPage), contains("737", "738"));
+    assertThat(firstPage.size(), equalTo(3));
+    assertThat(firstPage.nextCursor(), equalTo(Optional.of(738)));
+    assertThat(identifiersOf(lastPage), contains("1306958"));
+    assertThat(lastPage.nextCursor(), equalTo(Optional.empty()));
+  }
+
+  @Test
+  void shouldLeaveOutEntriesWithoutValidCristinPersonIdentifier() {
+    var snapshot =
+        PersonOrcidSnapshot.of(List.of(person("1", "a"), person("abc", "b")), FETCHED_AT);
+
+    var page = snapshot.page(0, 10);
+
+    assertThat(identifiersOf(page), contains("1"));
+    assertThat(snapshot.fetchedAt(), equalTo(FETCHED_AT));
+  }
+
+  @Test
+  void shouldReturnEmptyPageWhenCursorIsAfterLastEntry() {
+    var snapshot = PersonOrcidSnapshot.of(List.of(person("1", "a")), FETCHED_AT);
+
+    var page = snapshot.page(1, 10);
+
+    assertThat(page.hits(), empty());
+    assertThat(page.nextCursor(), equalTo(Optional.empty()));
+  }
+
+  private static List<String> identifiersOf(PersonOrcidSnapshot.Page page) {
+    return page.hits().stream().map(CristinPersonOrcid::cristinPersonId).toList();
+  }
+
+  private static CristinPersonOrcid person(String cristinPersonId, String orcid) {
+    var cristinOrcid = new CristinOrcid();
+    cristinOrcid.setId(orcid);
+    return new CristinPersonOrcid(cristinPersonId, cristinOrcid);
+  }
+}
@@ -3,8 +3,7 @@ package no.unit.nva.cristin.projects.category;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyMap;
 import static no.unit.nva.client.HttpClientProvider.defaultHttpClient;
-import static no.unit.nva.cristin.model.JsonPropertyNames.NUMBER_OF_RESULTS;
-import static no.unit.nva.cristin.model.JsonPropertyNames.PAGE;
+import static no.unit.nva.cristin.model.SearchResponse.FIRST_RECORD_ZERO_WHEN_NO_HITS;
 import static no.unit.nva.utils.UriUtils.createCristinQueryUri;
 import static no.unit.nva.utils.UriUtils.getNvaApiUri;
 
@@ -14,6 +13,7 @@ import java.net.http.HttpResponse;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import no.unit.nva.cristin.common.cache.ReferenceDataCache;
 import no.unit.nva.cristin.common.client.ApiClient;
 import no.unit.nva.cristin.common.client.CristinQueryApiClient;
 import no.unit.nva.cristin.model.CristinTypedLabel;
@@ -30,6 +30,11 @@ public class CategoryApiClient extends ApiClient
   public static final URI CATEGORY_ID_URI = getNvaApiUri(CATEGORY_PATH);
   public static final String CRISTIN_CATEGORIES_PATH = "projects/categories";
   public static final String CATEGORY_CONTEXT_JSON = "https://example.org/category-context.json";
+  public static final String CATEGORIES = "project categories";
+  private static final int FIRST_RECORD = 1;
+
+  private final transient ReferenceDataCache.Lazy<TypedLabel> categoryCache =
+      ReferenceDataCache.lazy(CATEGORIES, TypedLabel::getType);
 
   public CategoryApiClient() {
     this(defaultHttpClient());
@@ -41,19 +46,26 @@ public class CategoryApiClient extends ApiClient
 
   @Override
   public SearchResponse<TypedLabel> executeQuery(Void noValue) throws ApiGatewayException {
-    Map<String, String> emptyParams = emptyMap();
-    var queryUri = createCristinQueryUri(emptyParams, CRISTIN_CATEGORIES_PATH);
     var start = System.currentTimeMillis();
-    var response = queryUpstream(queryUri);
-    var categories = getCategories(response);
+    var categories = categoryCache.get(this::fetchCategories).getAll();
     var totalProcessingTime = calculateProcessingTime(start, System.currentTimeMillis());
-    var dummyParams = Map.of(PAGE, "1", NUMBER_OF_RESULTS, "2000");
 
-    return new SearchResponse<TypedLabel>(generateIdUri())
-        .withContext(CATEGORY_CONTEXT_JSON)
-        .withHits(categories)
-        .usingHeadersAndQueryParams(response.headers(), dummyParams)
-        .withProcessingTime(totalProcessingTime);
+    var searchResponse =
+        new SearchResponse<TypedLabel>(generateIdUri())
+            .withContext(CATEGORY_CONTEXT_JSON)
+            .withHits(categories)
+            .withSize(categories.size())
+            .withProcessingTime(totalProcessingTime);
+    // All categories are on one page, so size and first record follow from the list itself
+    searchResponse.setFirstRecord(
+        categories.isEmpty() ? FIRST_RECORD_ZERO_WHEN_NO_HITS : FIRST_RECORD);
+    return searchResponse;
+  }
+
+  private List<TypedLabel> fetchCategories() throws ApiGatewayException {
+    Map<String, String> emptyParams = emptyMap();
+    var queryUri = createCristinQueryUri(emptyParams, CRISTIN_CATEGORIES_PATH);
+    return getCategories(queryUpstream(queryUri));
   }
 
   private HttpResponse<String> queryUpstream(URI uri) throws ApiGatewayException {
@@ -2,16 +2,20 @@ package no.unit.nva.cristin.projects.common;
 
 import static java.util.Arrays.asList;
 import static no.unit.nva.client.HttpClientProvider.defaultHttpClient;
+import static no.unit.nva.cristin.common.cache.CacheScope.OPEN;
 import static nva.commons.core.attempt.Try.attempt;
 
 import java.net.HttpURLConnection;
-import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpResponse;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import no.unit.nva.cristin.common.cache.EntityCache;
 import no.unit.nva.cristin.common.client.ApiClient;
 import no.unit.nva.cristin.model.CristinQuery;
 import no.unit.nva.cristin.projects.model.cristin.CristinProject;
@@ -21,33 +25,85 @@ import nva.commons.core.attempt.Try;
 
 public class CristinProjectApiClient extends ApiClient {
 
+  private static final EntityCache<CristinProject> SHARED_PROJECT_CACHE =
+      new EntityCache<>(CristinProject.class);
+
+  private final transient EntityCache<CristinProject> projectCache;
+
   /** Create a generic cristin API client with default HTTP client. */
   public CristinProjectApiClient() {
     this(defaultHttpClient());
   }
 
+  /** Create a cristin API client with its own cache of enriched projects. */
   public CristinProjectApiClient(HttpClient client) {
+    this(client, new EntityCache<>(CristinProject.class));
+  }
+
+  public CristinProjectApiClient(HttpClient client, EntityCache<CristinProject> projectCache) {
     super(client);
+    this.projectCache = projectCache;
+  }
+
+  /** Cache of enriched projects shared by the clients of this container. */
+  public static EntityCache<CristinProject> sharedProjectCache() {
+    return SHARED_PROJECT_CACHE;
   }
 
   /**
-   * Takes a query response from upstream, extracts all project URI's, and fetches them one by one
-   * before merging them into a list of CristinProject. If individual fetch fails, it uses the query
-   * response for that project.
+   * Takes a query response from upstream and fetches the full projects not already cached one by
+   * one, before merging them into a list of CristinProject. If individual fetch fails, it uses the
+   * query response for that project.
    */
   public List<CristinProject> getEnrichedProjectsUsingQueryResponse(HttpResponse<String> response)
       throws ApiGatewayException {
 
     var projectsFromQuery = asList(getDeserializedResponse(response, CristinProject[].class));
-    var cristinUris = extractCristinUrisFromProjects(projectsFromQuery);
-    var individualResponses = fetchQueryResultsOneByOne(cristinUris);
-    var enrichedCristinProjects = mapValidResponsesToCristinProjects(individualResponses);
+    var enrichedCristinProjects = fetchEnrichedProjects(projectsFromQuery);
 
     return allProjectsWereEnriched(projectsFromQuery, enrichedCristinProjects)
         ? enrichedCristinProjects
         : combineResultsWithQueryInCaseEnrichmentFails(projectsFromQuery, enrichedCristinProjects);
   }
 
+  /**
+   * Fetches full projects for the projects from a query, using cached projects where possible.
+   * Projects are returned in query order, followed by any returned project not matching a query
+   * project. Cristin only returns the participants of a project when it is fetched by identifier,
+   * so projects not cached are fetched one by one.
+   */
+  protected List<CristinProject> fetchEnrichedProjects(List<CristinProject> projectsFromQuery) {
+    var identifiers =
+        projectsFromQuery.stream()
+            .map(CristinProject::getCristinProjectId)
+            .filter(Objects::nonNull)
+            .distinct()
+            .toList();
+    var enrichedById = new LinkedHashMap<>(projectCache.getAll(OPEN, identifiers));
+    var notCached = identifiers.stream().filter(id -> !enrichedById.containsKey(id)).toList();
+
+    var missingUris = notCached.stream().map(CristinQuery::fromIdentifier).toList();
+    if (!missingUris.isEmpty()) {
+      mapValidResponsesToCristinProjects(fetchQueryResultsOneByOne(missingUris))
+          .forEach(project -> addEnrichedProject(enrichedById, notCached, project));
+    }
+
+    return Stream.concat(identifiers.stream(), enrichedById.keySet().stream())
+        .distinct()
+        .map(enrichedById::get)
+        .filter(Objects::nonNull)
+        .toList();
+  }
+
+  private void addEnrichedProject(
+      Map<String, CristinProject> enrichedById, List<String> requested, CristinProject project) {
+    var identifier = project.getCristinProjectId();
+    if (requested.contains(identifier) && !enrichedById.containsKey(identifier)) {
+      projectCache.put(OPEN, identifier, project);
+    }
+    enrichedById.putIfAbsent(identifier, project);
+  }
+
   protected List<CristinProject> combineResultsWithQueryInCaseEnrichmentFails(
       List<CristinProject> projectsFromQuery, List<CristinProject> enrichedProjects) {
     final var enrichedProjectIds = getEnrichedProjectIds(enrichedProjects);
@@ -71,13 +127,6 @@ public class CristinProjectApiClient extends ApiClient {
     return projectsFromQuery.size() == enrichedCristinProjects.size();
   }
 
-  protected List<URI> extractCristinUrisFromProjects(List<CristinProject> projectsFromQuery) {
-    return projectsFromQuery.stream()
-        .map(CristinProject::getCristinProjectId)
-        .map(CristinQuery::fromIdentifier)
-        .toList();
-  }
-
   protected List<CristinProject> mapValidResponsesToCristinProjects(
       List<HttpResponse<String>> responses) {
     return responses.stream()
@@ -1,6 +1,8 @@
 package no.unit.nva.cristin.projects.query;
 
 import static java.util.Objects.nonNull;
+import static no.unit.nva.client.HttpClientProvider.defaultHttpClient;
+import static no.unit.nva.cristin.projects.common.CristinProjectApiClient.sharedProjectCache;
 import static no.unit.nva.cristin.projects.query.version.facet.QueryProjectWithFacetsClient.VERSION_WITH_AGGREGATIONS;
 import static nva.commons.core.StringUtils.EMPTY_STRING;
 
@@ -42,10 +44,10 @@ public class DefaultProjectQueryClientProvider
   }
 
   protected CristinQueryApiClient<QueryProject, NvaProject> getVersionOne() {
-    return new QueryCristinProjectApiClient();
+    return new QueryCristinProjectApiClient(defaultHttpClient(), sharedProjectCache());
   }
 
   protected CristinQueryApiClient<QueryProject, NvaProject> getVersionWithFacets() {
-    return new QueryProjectWithFacetsClient();
+    return new QueryProjectWithFacetsClient(defaultHttpClient(), sharedProjectCache());
   }
 }
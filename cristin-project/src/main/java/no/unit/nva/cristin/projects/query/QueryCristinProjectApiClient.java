@@ -6,10 +6,12 @@ import static no.unit.nva.cristin.model.Constants.PROJECT_SEARCH_CONTEXT_URL;
 import java.net.http.HttpClient;
 import java.net.http.HttpResponse;
 import no.unit.nva.client.ClientVersion;
+import no.unit.nva.cristin.common.cache.EntityCache;
 import no.unit.nva.cristin.common.client.CristinQueryApiClient;
 import no.unit.nva.cristin.model.SearchResponse;
 import no.unit.nva.cristin.projects.common.CristinProjectApiClient;
 import no.unit.nva.cristin.projects.common.QueryProject;
+import no.unit.nva.cristin.projects.model.cristin.CristinProject;
 import no.unit.nva.cristin.projects.model.nva.NvaProject;
 import nva.commons.apigateway.exceptions.ApiGatewayException;
 
@@ -24,6 +26,10 @@ public class QueryCristinProjectApiClient extends CristinProjectApiClient
     super(client);
   }
 
+  public QueryCristinProjectApiClient(HttpClient client, EntityCache<CristinProject> projectCache) {
+    super(client, projectCache);
+  }
+
   @Override
   public SearchResponse<NvaProject> executeQuery(QueryProject queryProject)
       throws ApiGatewayException {
@@ -2,12 +2,14 @@ package no.unit.nva.cristin.projects.query.version.facet;
 
 import static no.unit.nva.cristin.model.Constants.PROJECT_SEARCH_CONTEXT_URL;
 
+import java.net.http.HttpClient;
 import java.net.http.HttpResponse;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import no.unit.nva.client.ClientVersion;
+import no.unit.nva.cristin.common.cache.EntityCache;
 import no.unit.nva.cristin.common.client.CristinQueryApiClient;
 import no.unit.nva.cristin.facet.CristinFacetConverter;
 import no.unit.nva.cristin.model.SearchResponse;
@@ -29,6 +31,14 @@ public class QueryProjectWithFacetsClient extends CristinProjectApiClient
   public static final String VERSION_WITH_AGGREGATIONS = "2023-11-03-aggregations";
   public static final String CALLING_UPSTREAM_URI = "Calling upstream uri: ";
 
+  public QueryProjectWithFacetsClient() {
+    super();
+  }
+
+  public QueryProjectWithFacetsClient(HttpClient client, EntityCache<CristinProject> projectCache) {
+    super(client, projectCache);
+  }
+
   @Override
   public String getClientVersion() {
     return VERSION_WITH_AGGREGATIONS;
@@ -80,12 +90,10 @@ public class QueryProjectWithFacetsClient extends CristinProjectApiClient
 
   /**
    * Enrich list of CristinProject from query with more data by doing one extra lookup request per
-   * project.
+   * project not already cached.
    */
   private List<CristinProject> enrichProjects(List<CristinProject> cristinProjects) {
-    var cristinUris = extractCristinUrisFromProjects(cristinProjects);
-    var individualResponses = fetchQueryResultsOneByOne(cristinUris);
-    var enrichedCristinProjects = mapValidResponsesToCristinProjects(individualResponses);
+    var enrichedCristinProjects = fetchEnrichedProjects(cristinProjects);
 
     return allProjectsWereEnriched(cristinProjects, enrichedCristinProjects)
         ? enrichedCristinProjects
@@ -1,31 +1,43 @@
 package no.unit.nva.cristin.projects.common;
 
+import static no.unit.nva.cristin.model.Constants.OBJECT_MAPPER;
 import static nva.commons.core.StringUtils.EMPTY_STRING;
+import static nva.commons.core.attempt.Try.attempt;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.net.URI;
 import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
+import no.unit.nva.cristin.common.cache.EntityCache;
 import no.unit.nva.cristin.projects.model.cristin.CristinProject;
 import no.unit.nva.cristin.testing.HttpResponseFaker;
 import no.unit.nva.exception.FailedHttpRequestException;
 import nva.commons.apigateway.exceptions.ApiGatewayException;
+import nva.commons.core.ioutils.IoUtils;
+import nva.commons.core.paths.UriWrapper;
 import org.junit.jupiter.api.Test;
 
 public class CristinProjectApiClientTest {
@@ -34,6 +46,7 @@ public class CristinProjectApiClientTest {
   private static final URI LOCALHOST_URI = URI.create("http://localhost/cristin");
   private final Set<String> ids = Set.of("123", "456", "789");
   private static final String LANGUAGE_NB = "nb";
+  private static final String CRISTIN_GET_PROJECT_RESPONSE_JSON = "cristinGetProjectResponse.json";
 
   final CristinProjectApiClient cristinApiClient = new CristinProjectApiClient();
 
@@ -110,6 +123,66 @@ public class CristinProjectApiClientTest {
     assertNotNull(result);
   }
 
+  @Test
+  void shouldFetchEachProjectOneByOneAndKeepQueryOrder() throws Exception {
+    var mockHttpClient = mockUpstreamReturningFullProjects();
+    var client = new CristinProjectApiClient(mockHttpClient);
+
+    var enriched = client.fetchEnrichedProjects(projectsFromQuery("3", "1", "2"));
+
+    assertThat(projectIds(enriched), contains("3", "1", "2"));
+    verify(mockHttpClient, times(3)).sendAsync(any(), any());
+  }
+
+  @Test
+  void shouldOnlyFetchProjectsNotAlreadyCached() throws Exception {
+    var mockHttpClient = mockUpstreamReturningFullProjects();
+    var client =
+        new CristinProjectApiClient(mockHttpClient, new EntityCache<>(CristinProject.class));
+    client.fetchEnrichedProjects(projectsFromQuery("1", "2"));
+
+    var enriched = client.fetchEnrichedProjects(projectsFromQuery("2", "1", "3"));
+
+    assertThat(projectIds(enriched), contains("2", "1", "3"));
+    verify(mockHttpClient, times(3)).sendAsync(any(), any());
+  }
+
+  @SuppressWarnings("unchecked")
+  private HttpClient mockUpstreamReturningFullProjects() {
+    var mockHttpClient = mock(HttpClient.class);
+    when(mockHttpClient.sendAsync(any(), any()))
+        .thenAnswer(
+            invocation -> {
+              var uri = invocation.getArgument(0, HttpRequest.class).uri();
+              var body =
+                  OBJECT_MAPPER.writeValueAsString(
+                      fullProject(UriWrapper.fromUri(uri).getLastPathElement()));
+              return CompletableFuture.completedFuture(
+                  new HttpResponseFaker(body, HttpURLConnection.HTTP_OK));
+            });
+    return mockHttpClient;
+  }
+
+  private CristinProject fullProject(String id) {
+    var project =
+        attempt(
+                () ->
+                    OBJECT_MAPPER.readValue(
+                        IoUtils.stringFromResources(Path.of(CRISTIN_GET_PROJECT_RESPONSE_JSON)),
+                        CristinProject.class))
+            .orElseThrow();
+    project.setCristinProjectId(id);
+    return project;
+  }
+
+  private List<CristinProject> projectsFromQuery(String... ids) {
+    return Arrays.stream(ids).map(this::getValidCristinProjectFromId).toList();
+  }
+
+  private static List<String> projectIds(List<CristinProject> projects) {
+    return projects.stream().map(CristinProject::getCristinProjectId).toList();
+  }
+
   private Set<String> getCristinIdsFromProjects(List<CristinProject> projects) {
     return projects.stream().map(CristinProject::getCristinProjectId).collect(Collectors.toSet());
   }
@@ -0,0 +1,78 @@
+package no.unit.nva.cristin.testing;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.net.URI;
+import java.net.http.HttpClient.Version;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Optional;
+import javax.net.ssl.SSLSession;
+import nva.commons.core.JacocoGenerated;
+
+/** Stub of a HttpResponse keeping the body as UTF-8 bytes, like {@link HttpResponseFaker}. */
+@JacocoGenerated
+public class ByteArrayHttpResponseFaker implements HttpResponse<byte[]> {
+
+  private final transient HttpResponseFaker response;
+
+  public ByteArrayHttpResponseFaker(String bodyString) {
+    this.response = new HttpResponseFaker(bodyString);
+  }
+
+  public ByteArrayHttpResponseFaker(String bodyString, int status) {
+    this.response = new HttpResponseFaker(bodyString, status);
+  }
+
+  /**
+   * Main constructor for a stub of HttpResponse with a byte array body.
+   *
+   * @param bodyString Body content of HttpResponse, encoded as UTF-8
+   * @param status Http status code of HttpResponse
+   * @param httpHeaders HttpHeaders used in the HttpResponse
+   */
+  public ByteArrayHttpResponseFaker(String bodyString, int status, HttpHeaders httpHeaders) {
+    this.response = new HttpResponseFaker(bodyString, status, httpHeaders);
+  }
+
+  @Override
+  public int statusCode() {
+    return response.statusCode();
+  }
+
+  @Override
+  public HttpHeaders headers() {
+    return response.headers();
+  }
+
+  @Override
+  public HttpRequest request() {
+    return null;
+  }
+
+  @Override
+  public Optional<HttpResponse<byte[]>> previousResponse() {
+    return Optional.empty();
+  }
+
+  @Override
+  public byte[] body() {
+    return response.body().getBytes(UTF_8);
+  }
+
+  @Override
+  public Optional<SSLSession> sslSession() {
+    return Optional.empty();
+  }
+
+  @Override
+  public URI uri() {
+    return null;
+  }
+
+  @Override
+  public Version version() {
+    return null;
+  }
+}
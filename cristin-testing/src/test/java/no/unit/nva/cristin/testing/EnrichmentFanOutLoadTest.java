@@ -0,0 +1,123 @@
+package no.unit.nva.cristin.testing;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static no.unit.nva.client.AdaptiveConcurrencyLimiter.DEFAULT_MAX_LIMIT;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import no.unit.nva.client.UpstreamResiliencePolicies;
+import no.unit.nva.cristin.common.client.ApiClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs concurrent enrichment fan-outs of a full search page against a slow stand-in for Cristin
+ * and reports throughput, p99 and how many calls were in flight at most. Run with {@code gradle
+ * :cristin-testing:loadTest}.
+ */
+@Tag("loadTest")
+@WireMockTest
+class EnrichmentFanOutLoadTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(EnrichmentFanOutLoadTest.class);
+  private static final int HITS_PER_SEARCH = 100;
+  private static final int CONCURRENT_SEARCHES = 4;
+  private static final int SEARCHES_PER_CLIENT = 10;
+  private static final int MEDIAN_UPSTREAM_DELAY_MILLIS = 40;
+  private static final double UPSTREAM_DELAY_SIGMA = 0.4;
+  private static final double PERCENTILE_99 = 0.99;
+
+  private ApiClient apiClient;
+  private UpstreamResiliencePolicies policies;
+  private String baseUrl;
+
+  @BeforeEach
+  void setup(WireMockRuntimeInfo runtimeInfo) {
+    baseUrl = runtimeInfo.getHttpBaseUrl();
+    policies = new UpstreamResiliencePolicies(null);
+    apiClient = new ApiClient(HttpClient.newHttpClient(), policies);
+    stubFor(
+        get(urlPathMatching("/persons/.*"))
+            .willReturn(
+                aResponse()
+                    .withStatus(HttpURLConnection.HTTP_OK)
+                    .withBody("{}")
+                    .withLogNormalRandomDelay(MEDIAN_UPSTREAM_DELAY_MILLIS, UPSTREAM_DELAY_SIGMA)));
+  }
+
+  @Test
+  void shouldKeepFanOutWithinLimitUnderSlowUpstream() throws Exception {
+    var limiter = policies.getFanOutLimiter();
+    var maxInFlight = new AtomicInteger();
+    var sampler = Executors.newSingleThreadScheduledExecutor();
+    sampler.scheduleAtFixedRate(
+        () -> maxInFlight.accumulateAndGet(limiter.getInFlight(), Math::max),
+        0,
+        1,
+        TimeUnit.MILLISECONDS);
+
+    var searchDurations = Collections.synchronizedList(new ArrayList<Long>());
+    var start = System.nanoTime();
+    var clients =
+        IntStream.range(0, CONCURRENT_SEARCHES)
+            .mapToObj(client -> CompletableFuture.runAsync(() -> runSearches(searchDurations)))
+            .toList();
+    CompletableFuture.allOf(clients.toArray(CompletableFuture[]::new)).get();
+    var elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    sampler.shutdownNow();
+
+    var calls = CONCURRENT_SEARCHES * SEARCHES_PER_CLIENT * HITS_PER_SEARCH;
+    logger.info(
+        "Fan-out load: {} calls in {} ms ({} calls/s), search p99 {} ms, max in flight {}, {}",
+        calls,
+        elapsedMillis,
+        calls * 1000L / Math.max(1, elapsedMillis),
+        percentile(searchDurations, PERCENTILE_99),
+        maxInFlight.get(),
+        limiter);
+
+    assertThat(searchDurations.size(), equalTo(CONCURRENT_SEARCHES * SEARCHES_PER_CLIENT));
+    assertThat(maxInFlight.get(), lessThanOrEqualTo(DEFAULT_MAX_LIMIT));
+  }
+
+  private void runSearches(List<Long> searchDurations) {
+    for (int search = 0; search < SEARCHES_PER_CLIENT; search++) {
+      var start = System.nanoTime();
+      var responses = apiClient.fetchQueryResultsOneByOne(searchHits());
+      assertThat(responses.size(), equalTo(HITS_PER_SEARCH));
+      searchDurations.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+  }
+
+  private List<URI> searchHits() {
+    return IntStream.range(0, HITS_PER_SEARCH)
+        .mapToObj(id -> URI.create(baseUrl + "/persons/" + id))
+        .toList();
+  }
+
+  private static long percentile(List<Long> values, double percentile) {
+    var sorted = values.stream().sorted().toList();
+    var index = (int) Math.ceil(percentile * sorted.size()) - 1;
+    return sorted.get(Math.max(0, index));
+  }
+}